@@ -0,0 +1,65 @@
+package com.checkout.payment.gateway.bin;
+
+import com.checkout.payment.gateway.model.BinInfo;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Load time and lookup cost for a synthetic table of contiguous 8-digit ranges, each 100 BINs
+// wide, spread over a few thousand distinct issuers.
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BinTableBenchmark {
+
+  private static final String[] SCHEMES = {"VISA", "MASTERCARD", "AMEX", "DISCOVER"};
+  private static final String[] COUNTRIES = {"GB", "US", "DE", "FR", "ES", "IT", "NL", "IE"};
+
+  @Param({"100000", "500000"})
+  private int ranges;
+
+  private String csv;
+  private BinTable table;
+  private String[] cards;
+
+  @Setup
+  public void setUp() throws IOException {
+    StringBuilder builder = new StringBuilder(ranges * 48);
+    builder.append("start,end,scheme,issuer,country\n");
+    for (int i = 0; i < ranges; i++) {
+      int start = 10_000_000 + i * 100;
+      builder.append(start).append(',').append(start + 99).append(',')
+          .append(SCHEMES[i % SCHEMES.length]).append(",Issuer ").append(i % 5000).append(',')
+          .append(COUNTRIES[i % COUNTRIES.length]).append('\n');
+    }
+    csv = builder.toString();
+    table = BinTable.load(new StringReader(csv));
+
+    cards = new String[1024];
+    for (int i = 0; i < cards.length; i++) {
+      int bin = 10_000_000 + ThreadLocalRandom.current().nextInt(ranges * 100);
+      cards[i] = bin + "12345678";
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public BinTable load() throws IOException {
+    return BinTable.load(new StringReader(csv));
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  public BinInfo lookup() {
+    return table.find(cards[ThreadLocalRandom.current().nextInt(cards.length)]);
+  }
+}
@@ -0,0 +1,70 @@
+package com.checkout.payment.gateway.client;
+
+import com.checkout.payment.gateway.client.bank.ApiClient;
+import com.checkout.payment.gateway.client.bank.api.DefaultApi;
+import com.checkout.payment.gateway.loadtest.BankSimulator;
+import com.checkout.payment.gateway.loadtest.LatencyDistribution;
+import com.checkout.payment.gateway.loadtest.SimulatorProfile;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.model.PaymentStatus;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.web.client.RestTemplate;
+
+// Round trip through BankPaymentAdapter, the generated client and RestTemplate to the in-process
+// bank simulator. With no simulated latency this is the client-side cost per authorization;
+// the lognormal case shows how the bank's tail carries through to the caller.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class BankPaymentAdapterBenchmark {
+
+  @Param({"fixed:0ms", "lognormal:2ms:0.5"})
+  public String latency;
+
+  private BankSimulator simulator;
+  private BankPaymentAdapter adapter;
+  private final Payment payment = payment();
+
+  @Setup(Level.Trial)
+  public void start() throws IOException {
+    simulator = BankSimulator.start(0,
+        SimulatorProfile.instant().withLatency(LatencyDistribution.parse(latency)));
+    ApiClient apiClient = new ApiClient(new RestTemplate());
+    apiClient.setBasePath(simulator.url());
+    adapter = new BankPaymentAdapter(new DefaultApi(apiClient));
+  }
+
+  @TearDown(Level.Trial)
+  public void stop() {
+    simulator.close();
+  }
+
+  @Benchmark
+  public PaymentStatus authorize() {
+    return adapter.authorize(payment);
+  }
+
+  private static Payment payment() {
+    Payment payment = new Payment();
+    payment.setCardNumber("2222405343248877");
+    payment.setExpiryMonth(4);
+    payment.setExpiryYear(2027);
+    payment.setCurrency("GBP");
+    payment.setAmount(100);
+    payment.setCvv("123");
+    return payment;
+  }
+}
@@ -0,0 +1,76 @@
+package com.checkout.payment.gateway.codec;
+
+import com.checkout.payment.gateway.api.model.ProcessPaymentRequest;
+import com.checkout.payment.gateway.api.model.ProcessPaymentRequest.CurrencyEnum;
+import com.checkout.payment.gateway.mapper.PaymentApiMapper;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.model.PaymentStatus;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// POST /v1/payment body parsing and response writing per format, through Jackson's generated-DTO
+// binding and the PaymentResponseWriter the controller uses.
+// Run with -PjmhProfilers=gc to compare bytes allocated per op.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PaymentFormatBenchmark {
+
+  @Param({"JSON", "CBOR", "SMILE"})
+  public PaymentFormat format;
+
+  private PaymentResponseWriter writer;
+  private ObjectReader reader;
+  private byte[] request;
+  private Payment payment;
+
+  @Setup
+  public void setUp() throws IOException {
+    writer = new PaymentResponseWriter(new ObjectMapper(),
+        Mappers.getMapper(PaymentApiMapper.class));
+    JsonFactory factory = format.newFactory();
+    ObjectMapper mapper = (factory != null ? new ObjectMapper(factory) : new ObjectMapper())
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    reader = mapper.readerFor(ProcessPaymentRequest.class);
+    ProcessPaymentRequest body = new ProcessPaymentRequest();
+    body.setCardNumber("2222405343248877");
+    body.setExpiryMonth(4);
+    body.setExpiryYear(2030);
+    body.setCurrency(CurrencyEnum.GBP);
+    body.setAmount(100);
+    body.setCvv("123");
+    request = mapper.writeValueAsBytes(body);
+    payment = new Payment();
+    payment.setId(UUID.randomUUID());
+    payment.setStatus(PaymentStatus.AUTHORIZED);
+    payment.setCardNumberLastFour("8877");
+    payment.setExpiryMonth(4);
+    payment.setExpiryYear(2030);
+    payment.setCurrency("GBP");
+    payment.setAmount(100);
+  }
+
+  @Benchmark
+  public ProcessPaymentRequest parseRequest() throws IOException {
+    return reader.readValue(request);
+  }
+
+  @Benchmark
+  public byte[] writeResponse() {
+    return writer.write(payment, format);
+  }
+}
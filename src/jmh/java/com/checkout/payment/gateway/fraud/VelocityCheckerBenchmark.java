@@ -0,0 +1,71 @@
+package com.checkout.payment.gateway.fraud;
+
+import com.checkout.payment.gateway.configuration.VelocityProperties;
+import com.checkout.payment.gateway.configuration.VelocityProperties.Dimension;
+import com.checkout.payment.gateway.configuration.VelocityProperties.Rule;
+import com.checkout.payment.gateway.metrics.PaymentMetrics;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.validation.ValidationResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+// Full screen (1m/1h/24h card count and amount rules plus a 1m client rule) over a rotating set
+// of cards and IPs with limits high enough that every payment passes and is recorded.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VelocityCheckerBenchmark {
+
+  private VelocityChecker checker;
+  private Payment[] payments;
+
+  @Setup
+  public void setUp() {
+    VelocityProperties properties = new VelocityProperties();
+    properties.setRules(List.of(
+        rule(Dimension.CARD, Duration.ofMinutes(1), 6),
+        rule(Dimension.CARD, Duration.ofHours(1), 12),
+        rule(Dimension.CARD, Duration.ofHours(24), 24),
+        rule(Dimension.CLIENT, Duration.ofMinutes(1), 6)));
+    checker = new VelocityChecker(properties, new PaymentMetrics(new SimpleMeterRegistry()),
+        Clock.systemUTC());
+
+    payments = new Payment[4096];
+    for (int i = 0; i < payments.length; i++) {
+      Payment payment = new Payment();
+      payment.setCardNumber(String.valueOf(4_000_000_000_000_000L + i * 7919L));
+      payment.setCurrency("GBP");
+      payment.setAmount(100);
+      payment.setClientIp("10.0." + (i / 256) + "." + (i % 256));
+      payments[i] = payment;
+    }
+  }
+
+  @Benchmark
+  @Threads(4)
+  public ValidationResult screen() {
+    return checker.screen(payments[ThreadLocalRandom.current().nextInt(payments.length)]);
+  }
+
+  private static Rule rule(Dimension dimension, Duration window, int buckets) {
+    Rule rule = new Rule();
+    rule.setDimension(dimension);
+    rule.setWindow(window);
+    rule.setBuckets(buckets);
+    rule.setMaxCount(Long.MAX_VALUE / 2);
+    rule.setMaxAmount(Long.MAX_VALUE / 2);
+    return rule;
+  }
+}
@@ -0,0 +1,79 @@
+package com.checkout.payment.gateway.repository;
+
+import com.checkout.payment.gateway.entity.PaymentEntity;
+import com.checkout.payment.gateway.mapper.PaymentEntityMapper;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.model.PaymentStatus;
+import com.checkout.payment.gateway.model.PaymentSummary;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Compares save() with the creation-time index and running aggregates against a bare
+// primary-key put of the same mapped entity. Payments cycle over a fixed id set so the
+// store size stays constant and re-saves exercise the aggregate remove/add path.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InMemoryPaymentRepositoryBenchmark {
+
+  private static final int PAYMENTS = 1 << 16;
+  private static final String[] CURRENCIES = {"GBP", "USD", "EUR"};
+
+  private final PaymentEntityMapper entityMapper = Mappers.getMapper(PaymentEntityMapper.class);
+  private final Payment[] payments = new Payment[PAYMENTS];
+  private final ConcurrentHashMap<UUID, PaymentEntity> primaryOnly = new ConcurrentHashMap<>();
+  private InMemoryPaymentRepository repository;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    repository = new InMemoryPaymentRepository(entityMapper, Clock.systemUTC());
+    Instant start = Instant.parse("2026-01-01T00:00:00Z");
+    for (int i = 0; i < PAYMENTS; i++) {
+      Payment payment = new Payment();
+      payment.setId(UUID.randomUUID());
+      payment.setStatus(i % 2 == 0 ? PaymentStatus.AUTHORIZED : PaymentStatus.DECLINED);
+      payment.setCardNumberLastFour("8877");
+      payment.setExpiryMonth(1 + i % 12);
+      payment.setExpiryYear(2027 + i % 5);
+      payment.setCurrency(CURRENCIES[i % CURRENCIES.length]);
+      payment.setAmount(100 + i);
+      payment.setCreatedAt(start.plusMillis(i));
+      payments[i] = payment;
+      repository.save(payment);
+      primaryOnly.put(payment.getId(), entityMapper.toEntity(payment));
+    }
+  }
+
+  @Benchmark
+  public void saveWithIndexes() {
+    repository.save(nextPayment());
+  }
+
+  @Benchmark
+  public PaymentEntity savePrimaryKeyOnly() {
+    PaymentEntity entity = entityMapper.toEntity(nextPayment());
+    return primaryOnly.put(entity.getId(), entity);
+  }
+
+  @Benchmark
+  public PaymentSummary summarize() {
+    return repository.summarize();
+  }
+
+  private Payment nextPayment() {
+    next = (next + 1) & (PAYMENTS - 1);
+    return payments[next];
+  }
+}
@@ -0,0 +1,44 @@
+package com.checkout.payment.gateway.tokenization;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+// Fingerprint throughput with a per-thread Mac against looking up and initialising a Mac on
+// every call, across 8 threads as on the request path.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class CardFingerprinterBenchmark {
+
+  private static final byte[] KEY = "0123456789abcdef0123456789abcdef".getBytes(
+      StandardCharsets.US_ASCII);
+  private static final String CARD = "2222405343248877";
+
+  private final CardFingerprinter fingerprinter = new CardFingerprinter(KEY);
+  private final SecretKeySpec key = new SecretKeySpec(KEY, CardFingerprinter.ALGORITHM);
+
+  @Benchmark
+  public String threadLocalMac() {
+    return fingerprinter.fingerprint(CARD);
+  }
+
+  @Benchmark
+  public String macPerCall() throws GeneralSecurityException {
+    Mac mac = Mac.getInstance(CardFingerprinter.ALGORITHM);
+    mac.init(key);
+    byte[] digest = mac.doFinal(CARD.getBytes(StandardCharsets.US_ASCII));
+    return HexFormat.of().formatHex(digest, 0, CardFingerprinter.FINGERPRINT_BYTES);
+  }
+}
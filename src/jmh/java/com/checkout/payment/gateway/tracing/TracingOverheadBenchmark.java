@@ -0,0 +1,108 @@
+package com.checkout.payment.gateway.tracing;
+
+import com.checkout.payment.gateway.configuration.TailSamplingProperties;
+import com.checkout.payment.gateway.metrics.PaymentMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+// Tracing cost of one POST /v1/payment-shaped trace: an HTTP root span and the four nested
+// spans ProcessPaymentUseCase opens. off records nothing; full samples every trace (the
+// shipped probability of 1.0); head keeps 1% chosen up front; tail records everything, keeps
+// 1% plus slow and failed traces, and drops the rest before export. The exporter discards
+// batches, so OTLP serialization and network cost, which full sampling pays on every trace,
+// is not included. Run with -prof gc to compare allocation per trace.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class TracingOverheadBenchmark {
+
+  private static final String[] STAGES =
+      {"validate-payment", "velocity-check", "bank-authorize", "save-payment"};
+
+  @Param({"off", "full", "head", "tail"})
+  public String mode;
+
+  private SdkTracerProvider tracerProvider;
+  private Tracer tracer;
+
+  @Setup(Level.Trial)
+  public void start() {
+    SpanProcessor export = BatchSpanProcessor.builder(new DiscardingExporter()).build();
+    TailSamplingProperties properties = new TailSamplingProperties();
+    properties.setSampleRate(0.01);
+    tracerProvider = SdkTracerProvider.builder()
+        .setSampler(switch (mode) {
+          case "off" -> Sampler.alwaysOff();
+          case "head" -> Sampler.parentBased(Sampler.traceIdRatioBased(0.01));
+          default -> Sampler.alwaysOn();
+        })
+        .addSpanProcessor("tail".equals(mode)
+            ? new TailSamplingSpanProcessor(export, properties,
+                new PaymentMetrics(new SimpleMeterRegistry()))
+            : export)
+        .build();
+    tracer = tracerProvider.get("benchmark");
+  }
+
+  @TearDown(Level.Trial)
+  public void stop() {
+    tracerProvider.close();
+  }
+
+  @Benchmark
+  public Span trace() {
+    Span root = tracer.spanBuilder("http post /v1/payment").setNoParent().startSpan();
+    root.setAttribute("uri", "/v1/payment");
+    root.setAttribute("outcome", "SUCCESS");
+    Context context = Context.root().with(root);
+    Span process = tracer.spanBuilder("process-payment").setParent(context).startSpan();
+    Context processContext = context.with(process);
+    for (String stage : STAGES) {
+      tracer.spanBuilder(stage).setParent(processContext).startSpan().end();
+    }
+    process.end();
+    root.end();
+    return root;
+  }
+
+  private static final class DiscardingExporter implements SpanExporter {
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+      return CompletableResultCode.ofSuccess();
+    }
+  }
+}
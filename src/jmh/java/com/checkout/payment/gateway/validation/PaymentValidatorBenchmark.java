@@ -0,0 +1,68 @@
+package com.checkout.payment.gateway.validation;
+
+import com.checkout.payment.gateway.model.Payment;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Single-pass validate() against the previous ProcessPaymentUseCase path, reproduced in
+// legacyPath(): isCardNumberValid() then isValid(), i.e. Luhn twice plus two YearMonth
+// instances per call. Run with -prof gc to compare allocation rates.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PaymentValidatorBenchmark {
+
+  private final Clock clock = Clock.systemDefaultZone();
+  private PaymentValidator validator;
+  private Payment payment;
+
+  @Setup
+  public void setUp() {
+    validator = new PaymentValidator(clock);
+    payment = new Payment();
+    payment.setCardNumber("2222405343248877");
+    payment.setExpiryMonth(4);
+    payment.setExpiryYear(YearMonth.now(clock).getYear() + 2);
+  }
+
+  @Benchmark
+  public ValidationResult singlePass() {
+    return validator.validate(payment);
+  }
+
+  @Benchmark
+  public boolean legacyPath() {
+    return legacyIsLuhnValid(payment.getCardNumber())
+        && legacyIsLuhnValid(payment.getCardNumber())
+        && YearMonth.of(payment.getExpiryYear(), payment.getExpiryMonth())
+            .isAfter(YearMonth.now(clock));
+  }
+
+  private static boolean legacyIsLuhnValid(String cardNumber) {
+    if (cardNumber == null || cardNumber.isEmpty()) {
+      return false;
+    }
+    int sum = 0;
+    boolean alternate = false;
+    for (int i = cardNumber.length() - 1; i >= 0; i--) {
+      int n = cardNumber.charAt(i) - '0';
+      if (alternate) {
+        n *= 2;
+        if (n > 9) {
+          n -= 9;
+        }
+      }
+      sum += n;
+      alternate = !alternate;
+    }
+    return sum % 10 == 0;
+  }
+}
@@ -0,0 +1,62 @@
+package com.checkout.payment.gateway.validation;
+
+import com.checkout.payment.gateway.configuration.ValidationRulesProperties;
+import com.checkout.payment.gateway.configuration.ValidationRulesProperties.RuleSet;
+import com.checkout.payment.gateway.configuration.ValidationRulesProperties.SchemeRule;
+import com.checkout.payment.gateway.model.Payment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Full rule pass (allowed BINs, 1000 blocked ranges, scheme length, amount limit) for a payment
+// that passes every rule, i.e. the worst case with no short-circuit.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidationRuleEngineBenchmark {
+
+  private ValidationRuleEngine engine;
+  private Payment payment;
+
+  @Setup
+  public void setUp() {
+    SchemeRule mastercard = new SchemeRule();
+    mastercard.setName("mastercard");
+    mastercard.setPrefixes(List.of("51-55", "2221-2720"));
+    mastercard.setLengths(List.of(16));
+
+    List<String> blocked = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      int start = 400000 + i * 50;
+      blocked.add(start + "-" + (start + 9));
+    }
+    RuleSet defaults = new RuleSet();
+    defaults.setAllowedBins(List.of("2", "4", "5"));
+    defaults.setBlockedBins(blocked);
+    defaults.setMaxAmount(1_000_000L);
+
+    ValidationRulesProperties properties = new ValidationRulesProperties();
+    properties.setSchemes(List.of(mastercard));
+    properties.setDefaults(defaults);
+    engine = new ValidationRuleEngine(properties, new ObjectMapper(), Clock.systemUTC());
+
+    payment = new Payment();
+    payment.setCardNumber("2222405343248877");
+    payment.setCurrency("GBP");
+    payment.setAmount(100);
+  }
+
+  @Benchmark
+  public ValidationResult evaluate() {
+    return engine.evaluate(payment);
+  }
+}
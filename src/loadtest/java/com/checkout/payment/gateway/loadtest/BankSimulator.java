@@ -0,0 +1,191 @@
+package com.checkout.payment.gateway.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// In-process stand-in for the mountebank imposter in imposters/bank_simulator.ejs. It applies
+// the same rules to POST /payments: a missing field is 400, a card number ending in an odd
+// digit is authorized, one ending in 2, 4, 6 or 8 is declined and one ending in 0 gets 503.
+// On top of that, a SimulatorProfile adds sampled latency, random 500s and 503 bursts.
+// Delayed responses are sent from a scheduler, so a slow response holds no thread.
+// Randomness comes from the profile seed and the request's arrival number, so a run can be
+// replayed.
+public final class BankSimulator implements AutoCloseable {
+
+  private static final List<String> REQUIRED_FIELDS =
+      List.of("card_number", "expiry_date", "currency", "amount", "cvv");
+
+  private final HttpServer server;
+  private final ExecutorService acceptor;
+  private final ScheduledExecutorService responder;
+  private final SimulatorProfile profile;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final AtomicLong sequence = new AtomicLong();
+  private final LongAdder authorized = new LongAdder();
+  private final LongAdder declined = new LongAdder();
+  private final LongAdder unavailable = new LongAdder();
+  private final LongAdder errors = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+
+  private BankSimulator(HttpServer server, SimulatorProfile profile) {
+    this.server = server;
+    this.profile = profile;
+    this.acceptor = Executors.newFixedThreadPool(2, daemon("bank-simulator-"));
+    this.responder = Executors.newScheduledThreadPool(2, daemon("bank-simulator-delay-"));
+    server.setExecutor(acceptor);
+    server.createContext("/", this::handle);
+  }
+
+  // Port 0 picks a free port
+  public static BankSimulator start(int port, SimulatorProfile profile) throws IOException {
+    HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+    BankSimulator simulator = new BankSimulator(server, profile);
+    server.start();
+    return simulator;
+  }
+
+  public int port() {
+    return server.getAddress().getPort();
+  }
+
+  public String url() {
+    return "http://127.0.0.1:" + port();
+  }
+
+  public long requests() {
+    return sequence.get();
+  }
+
+  public long authorized() {
+    return authorized.sum();
+  }
+
+  public long declined() {
+    return declined.sum();
+  }
+
+  // 503s, from card numbers ending in 0 and from bursts
+  public long unavailable() {
+    return unavailable.sum();
+  }
+
+  public long errors() {
+    return errors.sum();
+  }
+
+  public long rejected() {
+    return rejected.sum();
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    acceptor.shutdownNow();
+    responder.shutdownNow();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    long number = sequence.getAndIncrement();
+    SplittableRandom random =
+        new SplittableRandom(profile.seed() ^ number * 0x9E3779B97F4A7C15L);
+    byte[] body;
+    try (InputStream in = exchange.getRequestBody()) {
+      body = in.readAllBytes();
+    }
+    Response response = respond(exchange.getRequestMethod(), exchange.getRequestURI().getPath(),
+        body, number, random);
+    long delayMicros = Math.max(0, profile.latency().sampleMicros(random));
+    if (delayMicros == 0) {
+      send(exchange, response);
+    } else {
+      responder.schedule(() -> send(exchange, response), delayMicros, TimeUnit.MICROSECONDS);
+    }
+  }
+
+  private Response respond(String method, String path, byte[] body, long number,
+      SplittableRandom random) {
+    if (!"POST".equals(method) || !"/payments".equals(path)) {
+      rejected.increment();
+      return new Response(400,
+          "{\"errorMessage\":\"The request supplied is not supported by the simulator\"}");
+    }
+    JsonNode request = parse(body);
+    if (request == null || REQUIRED_FIELDS.stream().anyMatch(field -> !request.has(field))) {
+      rejected.increment();
+      return new Response(400,
+          "{\"error_message\":\"Not all required properties were sent in the request\"}");
+    }
+    if (profile.inBurst(number)) {
+      unavailable.increment();
+      return new Response(503, "{}");
+    }
+    if (random.nextDouble() < profile.errorRate()) {
+      errors.increment();
+      return new Response(500, "{}");
+    }
+    String cardNumber = request.get("card_number").asText();
+    int lastDigit = cardNumber.isEmpty() ? -1 : cardNumber.charAt(cardNumber.length() - 1) - '0';
+    if (lastDigit == 0) {
+      unavailable.increment();
+      return new Response(503, "{}");
+    }
+    if (lastDigit > 0 && lastDigit <= 9 && lastDigit % 2 == 1) {
+      authorized.increment();
+      return new Response(200, "{\"authorized\":true,\"authorization_code\":\""
+          + new UUID(random.nextLong(), random.nextLong()) + "\"}");
+    }
+    declined.increment();
+    return new Response(200, "{\"authorized\":false,\"authorization_code\":\"\"}");
+  }
+
+  private JsonNode parse(byte[] body) {
+    try {
+      return objectMapper.readTree(body);
+    } catch (IOException ex) {
+      return null;
+    }
+  }
+
+  private void send(HttpExchange exchange, Response response) {
+    byte[] bytes = response.body().getBytes(StandardCharsets.UTF_8);
+    try (OutputStream out = exchange.getResponseBody()) {
+      exchange.getResponseHeaders().set("Content-Type", "application/json");
+      exchange.sendResponseHeaders(response.status(), bytes.length);
+      out.write(bytes);
+    } catch (IOException ex) {
+      // Client gave up, e.g. a read timeout in the gateway; nothing to report back to
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private static ThreadFactory daemon(String prefix) {
+    AtomicInteger threads = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + threads.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private record Response(int status, String body) {
+  }
+}
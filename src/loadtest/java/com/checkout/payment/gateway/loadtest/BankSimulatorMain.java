@@ -0,0 +1,25 @@
+package com.checkout.payment.gateway.loadtest;
+
+import java.util.concurrent.CountDownLatch;
+
+// ./gradlew bankSimulator -Psim.latency=lognormal:20ms:0.5 -Psim.burstEvery=1000 ...
+// Listens on sim.port (8080, like the imposter) until the process is stopped.
+public final class BankSimulatorMain {
+
+  private BankSimulatorMain() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    SimulatorProfile profile = new SimulatorProfile(
+        LatencyDistribution.parse(System.getProperty("sim.latency", "fixed:0ms")),
+        Double.parseDouble(System.getProperty("sim.errorRate", "0")),
+        Integer.parseInt(System.getProperty("sim.burstEvery", "0")),
+        Integer.parseInt(System.getProperty("sim.burstLength", "0")),
+        Long.parseLong(System.getProperty("sim.seed", "42")));
+    BankSimulator simulator =
+        BankSimulator.start(Integer.parseInt(System.getProperty("sim.port", "8080")), profile);
+    Runtime.getRuntime().addShutdownHook(new Thread(simulator::close));
+    System.out.println("Bank simulator listening on " + simulator.url() + " — " + profile);
+    new CountDownLatch(1).await();
+  }
+}
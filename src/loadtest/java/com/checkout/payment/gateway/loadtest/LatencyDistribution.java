@@ -0,0 +1,71 @@
+package com.checkout.payment.gateway.loadtest;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+
+// Response delay of the bank simulator, sampled per request from a seeded generator
+public interface LatencyDistribution {
+
+  long sampleMicros(RandomGenerator random);
+
+  static LatencyDistribution fixed(Duration delay) {
+    long micros = delay.toNanos() / 1000;
+    return random -> micros;
+  }
+
+  // Heavy right tail typical of network services: half of the samples fall below the median,
+  // and sigma controls the tail (0.5 puts p99 at about 3.2 x median)
+  static LatencyDistribution lognormal(Duration median, double sigma) {
+    double medianMicros = median.toNanos() / 1000.0;
+    return random -> Math.round(medianMicros * Math.exp(sigma * random.nextGaussian()));
+  }
+
+  // Mostly fast responses with a fraction of slow ones, e.g. a cold cache or a GC pause
+  static LatencyDistribution bimodal(LatencyDistribution fast, LatencyDistribution slow,
+      double slowFraction) {
+    return random -> random.nextDouble() < slowFraction
+        ? slow.sampleMicros(random)
+        : fast.sampleMicros(random);
+  }
+
+  // fixed:<delay> | lognormal:<median>:<sigma> | bimodal:<median>:<sigma>:<slow median>:<slow
+  // fraction>, with delays such as 20ms or 1s. Bimodal uses lognormal for both modes.
+  static LatencyDistribution parse(String spec) {
+    String[] parts = spec.trim().split(":");
+    return switch (parts[0].toLowerCase(Locale.ROOT)) {
+      case "fixed" -> {
+        requireParts(spec, parts, 2);
+        yield fixed(duration(parts[1]));
+      }
+      case "lognormal" -> {
+        requireParts(spec, parts, 3);
+        yield lognormal(duration(parts[1]), Double.parseDouble(parts[2]));
+      }
+      case "bimodal" -> {
+        requireParts(spec, parts, 5);
+        double sigma = Double.parseDouble(parts[2]);
+        yield bimodal(lognormal(duration(parts[1]), sigma),
+            lognormal(duration(parts[3]), sigma), Double.parseDouble(parts[4]));
+      }
+      default -> throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+    };
+  }
+
+  private static void requireParts(String spec, String[] parts, int expected) {
+    if (parts.length != expected) {
+      throw new IllegalArgumentException("Malformed latency distribution: " + spec);
+    }
+  }
+
+  private static Duration duration(String value) {
+    String trimmed = value.trim().toLowerCase(Locale.ROOT);
+    if (trimmed.endsWith("ms")) {
+      return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+    }
+    if (trimmed.endsWith("s")) {
+      return Duration.ofSeconds(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+    }
+    return Duration.ofMillis(Long.parseLong(trimmed));
+  }
+}
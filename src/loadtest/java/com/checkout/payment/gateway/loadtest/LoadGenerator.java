@@ -0,0 +1,195 @@
+package com.checkout.payment.gateway.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Year;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+// Open-model load: requests are issued on a fixed schedule of intended start times whatever
+// the responses are doing, the way independent clients arrive. Latency is measured from the
+// intended start, not the actual send, so a stalled server or client is charged for every
+// request it delayed (no coordinated omission). Service time, from the actual send, is kept
+// separately to show how much of the latency was queueing.
+public final class LoadGenerator {
+
+  static final String POST = "POST /v1/payment";
+  static final String GET = "GET /v1/payment/{id}";
+
+  // Recently created payment ids for GETs to read back
+  private static final int ID_RING_SIZE = 4096;
+
+  private final LoadTestConfig config;
+  private final URI base;
+  private final HttpClient client;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Map<String, Operation> operations = new TreeMap<>();
+  private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+  private final AtomicReferenceArray<String> ids = new AtomicReferenceArray<>(ID_RING_SIZE);
+  private final AtomicLong created = new AtomicLong();
+  private final AtomicLong inFlight = new AtomicLong();
+  private final String expiryYear = String.valueOf(Year.now().getValue() + 2);
+
+  public LoadGenerator(LoadTestConfig config) {
+    this.config = config;
+    this.base = URI.create(config.target());
+    this.client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(config.timeout())
+        .build();
+    operations.put(POST, new Operation());
+    operations.put(GET, new Operation());
+  }
+
+  public LoadTestReport run() throws InterruptedException {
+    SplittableRandom random = new SplittableRandom(config.seed());
+    long start = System.nanoTime();
+    long measureFrom = start + config.warmup().toNanos();
+    long end = measureFrom + config.duration().toNanos();
+    double intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+    long issued = 0;
+    long maxDispatchLagNanos = 0;
+    for (long i = 0; ; i++) {
+      long intended = start + (long) (i * intervalNanos);
+      if (intended >= end) {
+        break;
+      }
+      long wait = intended - System.nanoTime();
+      if (wait > 0) {
+        LockSupport.parkNanos(wait);
+      } else if (intended >= measureFrom) {
+        maxDispatchLagNanos = Math.max(maxDispatchLagNanos, -wait);
+      }
+      boolean get = random.nextDouble() < config.getRatio();
+      boolean declined = random.nextInt(5) == 0;
+      fire(get ? randomId(random) : null, declined, intended, intended >= measureFrom);
+      issued++;
+    }
+    long drainDeadline = System.nanoTime() + config.timeout().toNanos() * 2;
+    while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+      Thread.sleep(10);
+    }
+    if (inFlight.get() > 0) {
+      errors.computeIfAbsent("unfinished at end of run", key -> new LongAdder())
+          .add(inFlight.get());
+    }
+    return report(issued, maxDispatchLagNanos);
+  }
+
+  private void fire(String id, boolean declined, long intended, boolean measured) {
+    String name = id != null ? GET : POST;
+    HttpRequest request = id != null
+        ? HttpRequest.newBuilder(base.resolve("/v1/payment/" + id))
+            .timeout(config.timeout())
+            .GET()
+            .build()
+        : HttpRequest.newBuilder(base.resolve("/v1/payment"))
+            .timeout(config.timeout())
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(payment(declined)))
+            .build();
+    long sent = System.nanoTime();
+    inFlight.incrementAndGet();
+    CompletableFuture<HttpResponse<String>> response =
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    response.whenComplete((result, failure) -> {
+      try {
+        long now = System.nanoTime();
+        if (result != null && id == null && result.statusCode() == 201) {
+          remember(result.body());
+        }
+        if (measured) {
+          Operation operation = operations.get(name);
+          operation.latency.recordValue(TimeUnit.NANOSECONDS.toMicros(now - intended));
+          operation.serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(now - sent));
+          String outcome = failure != null
+              ? rootCause(failure).getClass().getSimpleName()
+              : result.statusCode() == (id == null ? 201 : 200)
+                  ? null
+                  : String.valueOf(result.statusCode());
+          if (outcome != null) {
+            errors.computeIfAbsent(name + " " + outcome, key -> new LongAdder()).increment();
+          }
+        }
+      } finally {
+        inFlight.decrementAndGet();
+      }
+    });
+  }
+
+  private String randomId(SplittableRandom random) {
+    long count = created.get();
+    if (count == 0) {
+      return null;
+    }
+    int slot = (int) (random.nextLong(Math.min(count, ID_RING_SIZE)));
+    return ids.get(slot);
+  }
+
+  private void remember(String body) {
+    try {
+      JsonNode node = objectMapper.readTree(body);
+      if (node.hasNonNull("id")) {
+        long index = created.getAndIncrement();
+        ids.set((int) (index % ID_RING_SIZE), node.get("id").asText());
+      }
+    } catch (IOException ex) {
+      errors.computeIfAbsent(POST + " unreadable body", key -> new LongAdder()).increment();
+    }
+  }
+
+  // The simulator authorizes card numbers ending in an odd digit and declines even ones
+  private String payment(boolean declined) {
+    return "{\"cardNumber\":\"" + (declined ? "2222405343248878" : "2222405343248877")
+        + "\",\"expiryMonth\":4,\"expiryYear\":" + expiryYear
+        + ",\"currency\":\"GBP\",\"amount\":100,\"cvv\":\"123\"}";
+  }
+
+  private LoadTestReport report(long issued, long maxDispatchLagNanos) {
+    Map<String, LoadTestReport.OperationResult> results = new TreeMap<>();
+    double seconds = config.duration().toNanos() / 1e9;
+    operations.forEach((name, operation) -> {
+      Histogram latency = operation.latency.copy();
+      Histogram serviceTime = operation.serviceTime.copy();
+      long failed = errors.entrySet().stream()
+          .filter(entry -> entry.getKey().startsWith(name + " "))
+          .mapToLong(entry -> entry.getValue().sum())
+          .sum();
+      results.put(name, LoadTestReport.OperationResult.of(latency, serviceTime, failed, seconds));
+    });
+    Map<String, Long> errorCounts = new TreeMap<>();
+    errors.forEach((key, count) -> errorCounts.put(key, count.sum()));
+    return new LoadTestReport(config, issued,
+        TimeUnit.NANOSECONDS.toMicros(maxDispatchLagNanos) / 1000.0, results, errorCounts);
+  }
+
+  private static Throwable rootCause(Throwable failure) {
+    Throwable cause = failure;
+    while (cause.getCause() != null && cause.getCause() != cause) {
+      cause = cause.getCause();
+    }
+    return cause;
+  }
+
+  private static final class Operation {
+
+    // Microseconds, auto-resizing, 3 significant digits
+    private final Histogram latency = new ConcurrentHistogram(3);
+    private final Histogram serviceTime = new ConcurrentHistogram(3);
+  }
+}
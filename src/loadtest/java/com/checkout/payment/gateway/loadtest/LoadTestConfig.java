@@ -0,0 +1,33 @@
+package com.checkout.payment.gateway.loadtest;
+
+import java.time.Duration;
+
+// rate is the constant arrival rate in requests per second across both operations; getRatio is
+// the share of arrivals that read back a payment created earlier in the run
+public record LoadTestConfig(String target, double rate, Duration warmup, Duration duration,
+    double getRatio, Duration timeout, long seed) {
+
+  public LoadTestConfig {
+    if (rate <= 0) {
+      throw new IllegalArgumentException("Arrival rate must be positive: " + rate);
+    }
+    if (getRatio < 0 || getRatio > 1) {
+      throw new IllegalArgumentException("GET ratio must be between 0 and 1: " + getRatio);
+    }
+  }
+
+  public static LoadTestConfig fromSystemProperties() {
+    return new LoadTestConfig(
+        System.getProperty("lt.target", ""),
+        Double.parseDouble(System.getProperty("lt.rate", "500")),
+        Duration.ofSeconds(Long.parseLong(System.getProperty("lt.warmupSeconds", "10"))),
+        Duration.ofSeconds(Long.parseLong(System.getProperty("lt.durationSeconds", "60"))),
+        Double.parseDouble(System.getProperty("lt.getRatio", "0.5")),
+        Duration.ofSeconds(Long.parseLong(System.getProperty("lt.timeoutSeconds", "10"))),
+        Long.parseLong(System.getProperty("lt.seed", "42")));
+  }
+
+  public LoadTestConfig withTarget(String target) {
+    return new LoadTestConfig(target, rate, warmup, duration, getRatio, timeout, seed);
+  }
+}
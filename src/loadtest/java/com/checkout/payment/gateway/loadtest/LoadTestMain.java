@@ -0,0 +1,80 @@
+package com.checkout.payment.gateway.loadtest;
+
+import com.checkout.payment.gateway.PaymentGatewayApplication;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// ./gradlew loadTest -Plt.rate=1000 -Plt.durationSeconds=120 -Psim.latency=lognormal:20ms:0.5
+// Without lt.target, starts the bank simulator and the gateway in this JVM on free ports, with
+// rate limits raised out of the way, so the numbers measure the gateway and not the limiter.
+// Tokenization keys are random per run; nothing the run stores outlives it.
+// The report is printed and written to build/reports/loadtest for comparing builds.
+public final class LoadTestMain {
+
+  private static final String UNLIMITED = "1000000000";
+
+  private LoadTestMain() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+    BankSimulator simulator = null;
+    ConfigurableApplicationContext gateway = null;
+    try {
+      if (config.target().isBlank()) {
+        simulator = BankSimulator.start(0, profile());
+        gateway = SpringApplication.run(PaymentGatewayApplication.class,
+            "--server.port=0",
+            "--bank.simulator.url=" + simulator.url(),
+            "--rate-limit.post.capacity=" + UNLIMITED,
+            "--rate-limit.post.refill-rate=" + UNLIMITED,
+            "--rate-limit.get.capacity=" + UNLIMITED,
+            "--rate-limit.get.refill-rate=" + UNLIMITED,
+            "--tokenization.fingerprint-key=" + randomKey(),
+            "--tokenization.vault-key=" + randomKey());
+        int port = ((WebServerApplicationContext) gateway).getWebServer().getPort();
+        config = config.withTarget("http://127.0.0.1:" + port);
+      }
+      LoadTestReport report = new LoadGenerator(config).run();
+      report.print(System.out);
+      if (simulator != null) {
+        System.out.printf("Bank simulator: %d requests, %d authorized, %d declined, "
+                + "%d unavailable, %d errors%n", simulator.requests(), simulator.authorized(),
+            simulator.declined(), simulator.unavailable(), simulator.errors());
+      }
+      Path file = Path.of(System.getProperty("lt.reportDir", "build/reports/loadtest"),
+          "loadtest-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))
+              + ".json");
+      report.write(file);
+      System.out.println("Report written to " + file.toAbsolutePath());
+    } finally {
+      if (gateway != null) {
+        gateway.close();
+      }
+      if (simulator != null) {
+        simulator.close();
+      }
+    }
+  }
+
+  private static SimulatorProfile profile() {
+    return new SimulatorProfile(
+        LatencyDistribution.parse(System.getProperty("sim.latency", "fixed:0ms")),
+        Double.parseDouble(System.getProperty("sim.errorRate", "0")),
+        Integer.parseInt(System.getProperty("sim.burstEvery", "0")),
+        Integer.parseInt(System.getProperty("sim.burstLength", "0")),
+        Long.parseLong(System.getProperty("sim.seed", "42")));
+  }
+
+  private static String randomKey() {
+    byte[] key = new byte[32];
+    new SecureRandom().nextBytes(key);
+    return Base64.getEncoder().encodeToString(key);
+  }
+}
@@ -0,0 +1,60 @@
+package com.checkout.payment.gateway.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+// Latencies are in milliseconds. latency is measured from the intended start time and is the
+// number to compare between builds; serviceTime, from the actual send, is kept next to it so a
+// gap between the two shows queueing rather than slow handling.
+public record LoadTestReport(LoadTestConfig config, long issued, double maxDispatchLagMillis,
+    Map<String, OperationResult> operations, Map<String, Long> errors) {
+
+  public void print(PrintStream out) {
+    out.printf("Load test: %.0f req/s for %ds after %ds warm-up against %s%n", config.rate(),
+        config.duration().toSeconds(), config.warmup().toSeconds(), config.target());
+    out.printf("%-22s %8s %7s %9s %8s %8s %8s %8s %8s %10s %10s%n", "operation", "count",
+        "errors", "req/s", "p50", "p90", "p99", "p99.9", "max", "svc p50", "svc p99");
+    operations.forEach((name, result) -> out.printf(
+        "%-22s %8d %7d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f %10.2f %10.2f%n", name,
+        result.count(), result.errors(), result.throughput(), result.p50(), result.p90(),
+        result.p99(), result.p999(), result.max(), result.serviceP50(), result.serviceP99()));
+    out.printf("Issued %d requests, generator fell behind schedule by at most %.2f ms%n", issued,
+        maxDispatchLagMillis);
+    if (!errors.isEmpty()) {
+      out.println("Errors:");
+      errors.forEach((key, count) -> out.printf("  %-40s %8d%n", key, count));
+    }
+  }
+
+  public void write(Path file) throws IOException {
+    Files.createDirectories(file.getParent());
+    new ObjectMapper().findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+        .writerWithDefaultPrettyPrinter()
+        .writeValue(file.toFile(), this);
+  }
+
+  public record OperationResult(long count, long errors, double throughput, double p50,
+      double p90, double p99, double p999, double max, double serviceP50, double serviceP99) {
+
+    static OperationResult of(Histogram latency, Histogram serviceTime, long errors,
+        double seconds) {
+      return new OperationResult(latency.getTotalCount(), errors,
+          latency.getTotalCount() / seconds,
+          millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(90)),
+          millis(latency.getValueAtPercentile(99)), millis(latency.getValueAtPercentile(99.9)),
+          millis(latency.getMaxValue()), millis(serviceTime.getValueAtPercentile(50)),
+          millis(serviceTime.getValueAtPercentile(99)));
+    }
+
+    private static double millis(long micros) {
+      return micros / 1000.0;
+    }
+  }
+}
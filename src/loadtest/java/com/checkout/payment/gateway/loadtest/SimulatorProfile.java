@@ -0,0 +1,44 @@
+package com.checkout.payment.gateway.loadtest;
+
+import java.time.Duration;
+
+// How the bank simulator misbehaves. errorRate is the fraction of requests answered 500;
+// a burst answers burstLength consecutive requests out of every burstEvery with 503.
+public record SimulatorProfile(LatencyDistribution latency, double errorRate, int burstEvery,
+    int burstLength, long seed) {
+
+  public SimulatorProfile {
+    if (errorRate < 0 || errorRate > 1) {
+      throw new IllegalArgumentException("Error rate must be between 0 and 1: " + errorRate);
+    }
+    if (burstEvery < 0 || burstLength < 0 || burstLength > burstEvery) {
+      throw new IllegalArgumentException(
+          "Bursts need 0 <= length <= every: " + burstLength + "/" + burstEvery);
+    }
+  }
+
+  // No delay and no failures beyond the card-number rules
+  public static SimulatorProfile instant() {
+    return new SimulatorProfile(LatencyDistribution.fixed(Duration.ZERO), 0, 0, 0, 42);
+  }
+
+  public SimulatorProfile withLatency(LatencyDistribution latency) {
+    return new SimulatorProfile(latency, errorRate, burstEvery, burstLength, seed);
+  }
+
+  public SimulatorProfile withErrorRate(double errorRate) {
+    return new SimulatorProfile(latency, errorRate, burstEvery, burstLength, seed);
+  }
+
+  public SimulatorProfile withBursts(int every, int length) {
+    return new SimulatorProfile(latency, errorRate, every, length, seed);
+  }
+
+  public SimulatorProfile withSeed(long seed) {
+    return new SimulatorProfile(latency, errorRate, burstEvery, burstLength, seed);
+  }
+
+  boolean inBurst(long sequence) {
+    return burstLength > 0 && sequence % burstEvery < burstLength;
+  }
+}
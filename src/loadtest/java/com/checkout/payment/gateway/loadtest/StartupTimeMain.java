@@ -0,0 +1,96 @@
+package com.checkout.payment.gateway.loadtest;
+
+import java.io.IOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Year;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+// ./gradlew startupTime -Pst.command="java -jar build/libs/<jar>" -Pst.runs=5
+// ./gradlew startupTime -Pst.command="docker run --rm --network host -e BANK_SIMULATOR_URL <image>"
+// Starts the command, posts a payment every 20 ms until one comes back 201, then stops the
+// process. Reports time-to-first-successful-payment per run, measured from process start.
+// A bank simulator runs in this JVM and its URL is passed to the command as BANK_SIMULATOR_URL.
+public final class StartupTimeMain {
+
+  private static final Duration POLL_INTERVAL = Duration.ofMillis(20);
+
+  private StartupTimeMain() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    String command = System.getProperty("st.command", "");
+    if (command.isBlank()) {
+      throw new IllegalArgumentException("st.command is required");
+    }
+    URI target = URI.create(System.getProperty("st.target", "http://127.0.0.1:8090"));
+    int runs = Integer.parseInt(System.getProperty("st.runs", "5"));
+    Duration timeout = Duration.ofSeconds(Long.parseLong(System.getProperty("st.timeoutSeconds",
+        "120")));
+    Path logDir = Path.of(System.getProperty("st.logDir", "build/reports/startup"));
+    Files.createDirectories(logDir);
+
+    long[] millis = new long[runs];
+    try (BankSimulator simulator = BankSimulator.start(0, new SimulatorProfile(
+        LatencyDistribution.parse("fixed:0ms"), 0, 0, 0, 42))) {
+      HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+      for (int run = 0; run < runs; run++) {
+        Path log = logDir.resolve("run-" + (run + 1) + ".log");
+        millis[run] = measure(command, simulator.url(), client, target, timeout, log);
+        System.out.printf("Run %d: first successful payment after %d ms (output in %s)%n",
+            run + 1, millis[run], log);
+      }
+    }
+    Arrays.sort(millis);
+    System.out.printf("Time to first successful payment over %d runs: min %d ms, median %d ms, "
+        + "max %d ms%n", runs, millis[0], millis[runs / 2], millis[runs - 1]);
+  }
+
+  private static long measure(String command, String bankUrl, HttpClient client, URI target,
+      Duration timeout, Path log) throws IOException, InterruptedException {
+    ProcessBuilder builder = new ProcessBuilder(command.trim().split("\\s+"))
+        .redirectErrorStream(true)
+        .redirectOutput(Redirect.to(log.toFile()));
+    builder.environment().put("BANK_SIMULATOR_URL", bankUrl);
+    HttpRequest request = HttpRequest.newBuilder(target.resolve("/v1/payment"))
+        .timeout(Duration.ofSeconds(5))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString("{\"cardNumber\":\"2222405343248877\","
+            + "\"expiryMonth\":4,\"expiryYear\":" + (Year.now().getValue() + 2)
+            + ",\"currency\":\"GBP\",\"amount\":100,\"cvv\":\"123\"}"))
+        .build();
+
+    long start = System.nanoTime();
+    long deadline = start + timeout.toNanos();
+    Process process = builder.start();
+    try {
+      while (System.nanoTime() < deadline) {
+        if (!process.isAlive()) {
+          throw new IllegalStateException("Command exited with " + process.exitValue()
+              + " before a payment succeeded, see " + log);
+        }
+        try {
+          if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 201) {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+          }
+        } catch (IOException ex) {
+          // not listening yet
+        }
+        Thread.sleep(POLL_INTERVAL.toMillis());
+      }
+      throw new IllegalStateException("No successful payment within " + timeout + ", see " + log);
+    } finally {
+      process.destroy();
+      if (!process.waitFor(30, TimeUnit.SECONDS)) {
+        process.destroyForcibly().waitFor();
+      }
+    }
+  }
+}
@@ -0,0 +1,184 @@
+package com.checkout.payment.gateway.admission;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Concurrency limit with two waiting lines. A freed slot is handed to the oldest priority waiter,
+// then to the oldest normal one, so new authorizations only run once GETs and replays are served.
+// Normal waiters may not take the last priorityReserve places in line, so GETs and replays can
+// still queue when authorizations fill it. The expected wait of a request is the average service
+// time of every waiter ahead of it plus its own, divided by the number of slots. Averages are
+// kept per route class, so a slow export does not make a GET look slow. A request that cannot
+// finish before its deadline is turned away instead of queued.
+final class AdmissionQueue {
+
+  enum Outcome {
+    ADMITTED, QUEUE_FULL, DEADLINE, TIMED_OUT
+  }
+
+  private final int limit;
+  private final int maxQueue;
+  private final int priorityReserve;
+  private final double alpha;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Deque<Waiter> priority = new ArrayDeque<>();
+  private final Deque<Waiter> normal = new ArrayDeque<>();
+  private final double[] serviceNanos = new double[RouteClass.values().length];
+  private int inFlight;
+  // Sum of the expected service times of each line's waiters
+  private double priorityNanos;
+  private double normalNanos;
+
+  AdmissionQueue(int limit, int maxQueue, int priorityReserve, double alpha) {
+    if (limit < 1 || maxQueue < 0) {
+      throw new IllegalArgumentException("Concurrency limit must be positive and queue size >= 0");
+    }
+    if (priorityReserve < 0 || priorityReserve > maxQueue) {
+      throw new IllegalArgumentException("Priority reserve must be between 0 and the queue size: "
+          + priorityReserve);
+    }
+    if (alpha <= 0.0 || alpha > 1.0) {
+      throw new IllegalArgumentException("EWMA alpha must be in (0, 1]: " + alpha);
+    }
+    this.limit = limit;
+    this.maxQueue = maxQueue;
+    this.priorityReserve = priorityReserve;
+    this.alpha = alpha;
+  }
+
+  // Blocks until the request gets a slot or its deadline (System.nanoTime based) passes
+  Outcome acquire(boolean isPriority, RouteClass route, long deadlineNanos) {
+    lock.lock();
+    try {
+      long remaining = deadlineNanos - System.nanoTime();
+      if (remaining <= 0) {
+        return Outcome.DEADLINE;
+      }
+      int ahead = isPriority ? priority.size() : priority.size() + normal.size();
+      if (inFlight < limit && ahead == 0) {
+        inFlight++;
+        return Outcome.ADMITTED;
+      }
+      int waiting = priority.size() + normal.size();
+      if (waiting >= maxQueue || !isPriority && normal.size() >= maxQueue - priorityReserve) {
+        return Outcome.QUEUE_FULL;
+      }
+      double expected = serviceNanos[route.ordinal()];
+      if (estimatedWait(isPriority, route) + (long) expected > remaining) {
+        return Outcome.DEADLINE;
+      }
+      Waiter waiter = new Waiter(lock.newCondition(), isPriority, expected);
+      enqueue(waiter);
+      try {
+        while (!waiter.admitted) {
+          remaining = deadlineNanos - System.nanoTime();
+          if (remaining <= 0) {
+            dequeue(waiter);
+            return Outcome.TIMED_OUT;
+          }
+          waiter.condition.awaitNanos(remaining);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        if (!waiter.admitted) {
+          dequeue(waiter);
+          return Outcome.TIMED_OUT;
+        }
+      }
+      return Outcome.ADMITTED;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // The slot passes straight to the next waiter, so it cannot be taken by a later arrival
+  void release(RouteClass route, long elapsedNanos) {
+    lock.lock();
+    try {
+      serviceNanos[route.ordinal()] += alpha * (elapsedNanos - serviceNanos[route.ordinal()]);
+      Waiter next = priority.peekFirst();
+      if (next == null) {
+        next = normal.peekFirst();
+      }
+      if (next != null) {
+        dequeue(next);
+        next.admitted = true;
+        next.condition.signal();
+      } else {
+        inFlight--;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // Wait a new request of the given class would see behind everyone already queued
+  long estimatedWaitNanos(boolean isPriority, RouteClass route) {
+    lock.lock();
+    try {
+      return estimatedWait(isPriority, route);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  int inFlight() {
+    lock.lock();
+    try {
+      return inFlight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  int queued() {
+    lock.lock();
+    try {
+      return priority.size() + normal.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private long estimatedWait(boolean isPriority, RouteClass route) {
+    double ahead = isPriority ? priorityNanos : priorityNanos + normalNanos;
+    return (long) ((ahead + serviceNanos[route.ordinal()]) / limit);
+  }
+
+  private void enqueue(Waiter waiter) {
+    if (waiter.priority) {
+      priority.addLast(waiter);
+      priorityNanos += waiter.expectedNanos;
+    } else {
+      normal.addLast(waiter);
+      normalNanos += waiter.expectedNanos;
+    }
+  }
+
+  // Empty lines reset their sums, so rounding errors cannot build up
+  private void dequeue(Waiter waiter) {
+    if (waiter.priority) {
+      priority.remove(waiter);
+      priorityNanos = priority.isEmpty() ? 0 : priorityNanos - waiter.expectedNanos;
+    } else {
+      normal.remove(waiter);
+      normalNanos = normal.isEmpty() ? 0 : normalNanos - waiter.expectedNanos;
+    }
+  }
+
+  private static final class Waiter {
+
+    private final Condition condition;
+    private final boolean priority;
+    private final double expectedNanos;
+    private boolean admitted;
+
+    private Waiter(Condition condition, boolean priority, double expectedNanos) {
+      this.condition = condition;
+      this.priority = priority;
+      this.expectedNanos = expectedNanos;
+    }
+  }
+}
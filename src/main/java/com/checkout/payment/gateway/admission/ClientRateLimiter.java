@@ -0,0 +1,63 @@
+package com.checkout.payment.gateway.admission;
+
+import com.checkout.payment.gateway.configuration.RateLimitProperties;
+import com.checkout.payment.gateway.configuration.RateLimitProperties.EndpointLimit;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+// Token buckets per client IP and method. RateLimitFilter takes one token per request and the
+// batch use case takes one per item, both from the same buckets.
+@Component
+public class ClientRateLimiter {
+
+  private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+  private final RateLimitProperties properties;
+
+  public ClientRateLimiter(RateLimitProperties properties) {
+    this.properties = properties;
+  }
+
+  public ConsumptionProbe tryConsume(String clientIp, String method) {
+    return bucket(clientIp, method).tryConsumeAndReturnRemaining(1);
+  }
+
+  // A batch request takes one token for itself, then each item takes one more from the same POST
+  // bucket as it starts, so batching does not raise a client's authorization rate. Items wait
+  // up to maxWait for a token, so a batch larger than the bucket is paced at the refill rate
+  // instead of failing once the first burst is spent.
+  public boolean consumeBatchItem(String clientIp, Duration maxWait) {
+    Bucket bucket = bucket(clientIp, "POST");
+    if (maxWait.isZero() || maxWait.isNegative()) {
+      // Bucket4j rejects a non-positive wait
+      return bucket.tryConsume(1);
+    }
+    try {
+      return bucket.asBlocking().tryConsume(1, maxWait);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  public void clearBuckets() {
+    buckets.clear();
+  }
+
+  private Bucket bucket(String clientIp, String method) {
+    EndpointLimit limit = "POST".equals(method) ? properties.getPost() : properties.getGet();
+    return buckets.computeIfAbsent(clientIp + ":" + method, k -> buildBucket(limit));
+  }
+
+  private Bucket buildBucket(EndpointLimit limit) {
+    return Bucket.builder()
+        .addLimit(Bandwidth.builder()
+            .capacity(limit.getCapacity())
+            .refillGreedy(limit.getRefillRate(), Duration.ofSeconds(1))
+            .build())
+        .build();
+  }
+}
@@ -0,0 +1,82 @@
+package com.checkout.payment.gateway.admission;
+
+import com.checkout.payment.gateway.admission.AdmissionQueue.Outcome;
+import com.checkout.payment.gateway.configuration.LoadSheddingProperties;
+import com.checkout.payment.gateway.exception.ServiceUnavailableException;
+import com.checkout.payment.gateway.metrics.PaymentMetrics;
+import java.util.Locale;
+import java.util.function.Supplier;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.stereotype.Component;
+
+// The gateway's one admission queue. LoadSheddingFilter takes a slot per request and the batch
+// use case takes one per item, so both kinds of work count against the same limit.
+@Component
+public class LoadShedder {
+
+  public static final String OVERLOADED = "Service is overloaded. Try again later.";
+
+  private final LoadSheddingProperties properties;
+  private final PaymentMetrics paymentMetrics;
+  private final AdmissionQueue queue;
+
+  public LoadShedder(LoadSheddingProperties properties, ServerProperties serverProperties,
+      PaymentMetrics paymentMetrics) {
+    this.properties = properties;
+    this.paymentMetrics = paymentMetrics;
+    // Waiters park their worker thread. If running and waiting requests could take every
+    // thread, new GETs and replays would sit in the connector's accept queue and never reach
+    // the priority line.
+    int workerThreads = serverProperties.getTomcat().getThreads().getMax();
+    if (properties.isEnabled()
+        && properties.getMaxConcurrent() + properties.getMaxQueue() >= workerThreads) {
+      throw new IllegalStateException("load-shedding.max-concurrent + max-queue ("
+          + (properties.getMaxConcurrent() + properties.getMaxQueue())
+          + ") must be below server.tomcat.threads.max (" + workerThreads + ")");
+    }
+    this.queue = new AdmissionQueue(properties.getMaxConcurrent(), properties.getMaxQueue(),
+        properties.getPriorityReserve(), properties.getEwmaAlpha());
+    paymentMetrics.registerLoadGauges(queue, AdmissionQueue::inFlight, AdmissionQueue::queued);
+  }
+
+  // Waits for a slot until deadlineNanos on the System.nanoTime clock. Returns false, with the
+  // shed already counted, when the request is turned away.
+  public boolean acquire(boolean priority, RouteClass route, long arrivedNanos,
+      long deadlineNanos) {
+    String priorityTag = priority ? "priority" : "normal";
+    Outcome outcome = queue.acquire(priority, route, deadlineNanos);
+    if (outcome != Outcome.ADMITTED) {
+      paymentMetrics.recordLoadShed(outcome.name().toLowerCase(Locale.ROOT), priorityTag);
+      return false;
+    }
+    paymentMetrics.recordLoadQueueWait(priorityTag, System.nanoTime() - arrivedNanos);
+    return true;
+  }
+
+  public void release(RouteClass route, long startedNanos) {
+    queue.release(route, System.nanoTime() - startedNanos);
+  }
+
+  public long estimatedWaitNanos(boolean priority, RouteClass route) {
+    return queue.estimatedWaitNanos(priority, route);
+  }
+
+  // Each batch item waits for a slot like a new authorization, with the default deadline, so
+  // a batch of a thousand payments costs a thousand slots rather than one
+  public <T> T admitBatchItem(Supplier<T> item) {
+    if (!properties.isEnabled()) {
+      return item.get();
+    }
+    long arrived = System.nanoTime();
+    if (!acquire(false, RouteClass.BATCH, arrived,
+        arrived + properties.getDefaultDeadline().toNanos())) {
+      throw new ServiceUnavailableException(OVERLOADED);
+    }
+    long started = System.nanoTime();
+    try {
+      return item.get();
+    } finally {
+      release(RouteClass.BATCH, started);
+    }
+  }
+}
@@ -0,0 +1,6 @@
+package com.checkout.payment.gateway.admission;
+
+// Kinds of request whose service times are averaged separately when estimating a wait
+public enum RouteClass {
+  READ, WRITE, BATCH, EXPORT
+}
@@ -0,0 +1,51 @@
+package com.checkout.payment.gateway.bin;
+
+import com.checkout.payment.gateway.configuration.BinTableProperties;
+import com.checkout.payment.gateway.model.BinInfo;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+@Component
+public class BinLookupService {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BinLookupService.class);
+
+  private final BinTable table;
+
+  public BinLookupService(BinTableProperties properties, ResourceLoader resourceLoader) {
+    this.table = load(properties.getLocation(), resourceLoader);
+  }
+
+  public Optional<BinInfo> lookup(String cardNumber) {
+    return Optional.ofNullable(table.find(cardNumber));
+  }
+
+  private static BinTable load(String location, ResourceLoader resourceLoader) {
+    if (!StringUtils.hasText(location)) {
+      LOG.info("No BIN table configured — card scheme, issuer and country are not resolved");
+      return BinTable.empty();
+    }
+    Resource resource = resourceLoader.getResource(location);
+    long started = System.nanoTime();
+    try (Reader reader = new InputStreamReader(resource.getInputStream(),
+        StandardCharsets.UTF_8)) {
+      BinTable table = BinTable.load(reader);
+      LOG.info("Loaded {} BIN ranges ({} distinct issuers) from {} in {} ms", table.size(),
+          table.distinctInfos(), location,
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+      return table;
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot read BIN table from " + location, e);
+    }
+  }
+}
@@ -0,0 +1,154 @@
+package com.checkout.payment.gateway.bin;
+
+import com.checkout.payment.gateway.model.BinInfo;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Immutable BIN range table. Ranges are normalised to 8-digit bounds and held in parallel
+// primitive arrays sorted by start, so a lookup is one binary search; identical
+// scheme/issuer/country rows share a single BinInfo.
+public final class BinTable {
+
+  static final int KEY_DIGITS = 8;
+
+  private static final BinTable EMPTY = new BinTable(new int[0], new int[0], new int[0],
+      new BinInfo[0]);
+
+  private final int[] starts;
+  private final int[] ends;
+  private final int[] infoIndexes;
+  private final BinInfo[] infos;
+
+  private BinTable(int[] starts, int[] ends, int[] infoIndexes, BinInfo[] infos) {
+    this.starts = starts;
+    this.ends = ends;
+    this.infoIndexes = infoIndexes;
+    this.infos = infos;
+  }
+
+  public static BinTable empty() {
+    return EMPTY;
+  }
+
+  // CSV rows: start,end,scheme,issuer,country. Bounds are 6-8 digit BIN prefixes; lines not
+  // starting with a digit (header, comments, blanks) are skipped. Fields are not quoted.
+  public static BinTable load(Reader source) throws IOException {
+    BufferedReader reader = source instanceof BufferedReader buffered
+        ? buffered
+        : new BufferedReader(source, 1 << 16);
+    Map<BinInfo, Integer> infoIds = new HashMap<>();
+    List<BinInfo> infos = new ArrayList<>();
+    long[] rows = new long[1024];
+    int[] rowEnds = new int[1024];
+    int[] rowInfos = new int[1024];
+    int count = 0;
+    int lineNumber = 0;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      if (line.isEmpty() || !Character.isDigit(line.charAt(0))) {
+        continue;
+      }
+      String[] fields = line.split(",", -1);
+      if (fields.length != 5) {
+        throw new IllegalArgumentException(
+            "BIN table line " + lineNumber + ": expected 5 fields but found " + fields.length);
+      }
+      int start = bound(fields[0], '0', lineNumber);
+      int end = bound(fields[1], '9', lineNumber);
+      if (start > end) {
+        throw new IllegalArgumentException("BIN table line " + lineNumber + ": start after end");
+      }
+      BinInfo info = new BinInfo(value(fields[2]), value(fields[3]), value(fields[4]));
+      Integer infoId = infoIds.get(info);
+      if (infoId == null) {
+        infoId = infos.size();
+        infoIds.put(info, infoId);
+        infos.add(info);
+      }
+      if (count == rows.length) {
+        rows = Arrays.copyOf(rows, count * 2);
+        rowEnds = Arrays.copyOf(rowEnds, count * 2);
+        rowInfos = Arrays.copyOf(rowInfos, count * 2);
+      }
+      // Sort key: start in the high half, input row in the low half
+      rows[count] = (long) start << 32 | count;
+      rowEnds[count] = end;
+      rowInfos[count] = infoId;
+      count++;
+    }
+
+    Arrays.sort(rows, 0, count);
+    int[] starts = new int[count];
+    int[] ends = new int[count];
+    int[] infoIndexes = new int[count];
+    for (int i = 0; i < count; i++) {
+      int row = (int) rows[i];
+      starts[i] = (int) (rows[i] >>> 32);
+      ends[i] = rowEnds[row];
+      infoIndexes[i] = rowInfos[row];
+      if (i > 0 && starts[i] <= ends[i - 1]) {
+        throw new IllegalArgumentException(
+            "BIN table: range starting " + starts[i] + " overlaps range ending " + ends[i - 1]);
+      }
+    }
+    return new BinTable(starts, ends, infoIndexes, infos.toArray(new BinInfo[0]));
+  }
+
+  public BinInfo find(String cardNumber) {
+    if (cardNumber == null || cardNumber.length() < KEY_DIGITS) {
+      return null;
+    }
+    int key = 0;
+    for (int i = 0; i < KEY_DIGITS; i++) {
+      int digit = cardNumber.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        return null;
+      }
+      key = key * 10 + digit;
+    }
+    int index = Arrays.binarySearch(starts, key);
+    if (index < 0) {
+      index = -index - 2;
+    }
+    return index >= 0 && key <= ends[index] ? infos[infoIndexes[index]] : null;
+  }
+
+  public int size() {
+    return starts.length;
+  }
+
+  public int distinctInfos() {
+    return infos.length;
+  }
+
+  // Pads a 6-8 digit prefix to 8 digits, with 0s for a start bound and 9s for an end bound
+  private static int bound(String field, char fill, int lineNumber) {
+    String prefix = field.trim();
+    if (prefix.length() < 6 || prefix.length() > KEY_DIGITS) {
+      throw new IllegalArgumentException(
+          "BIN table line " + lineNumber + ": BIN must have 6 to 8 digits: " + field);
+    }
+    int value = 0;
+    for (int i = 0; i < KEY_DIGITS; i++) {
+      char c = i < prefix.length() ? prefix.charAt(i) : fill;
+      if (c < '0' || c > '9') {
+        throw new IllegalArgumentException(
+            "BIN table line " + lineNumber + ": BIN must be numeric: " + field);
+      }
+      value = value * 10 + (c - '0');
+    }
+    return value;
+  }
+
+  private static String value(String field) {
+    String trimmed = field.trim();
+    return trimmed.isEmpty() ? null : trimmed.intern();
+  }
+}
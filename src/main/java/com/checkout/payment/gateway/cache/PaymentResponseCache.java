@@ -0,0 +1,53 @@
+package com.checkout.payment.gateway.cache;
+
+import com.checkout.payment.gateway.codec.PaymentFormat;
+import com.checkout.payment.gateway.codec.PaymentResponseWriter;
+import com.checkout.payment.gateway.configuration.ResponseCacheProperties;
+import com.checkout.payment.gateway.model.Payment;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+// Holds the JSON representation only; binary formats are rendered per request with render()
+@Component
+public class PaymentResponseCache {
+
+  static final String CACHE_NAME = "payment-responses";
+
+  private final Cache<UUID, RenderedResponse> cache;
+  private final PaymentResponseWriter responseWriter;
+
+  public PaymentResponseCache(ResponseCacheProperties properties,
+      PaymentResponseWriter responseWriter, MeterRegistry meterRegistry) {
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(properties.getMaximumSize())
+        .recordStats()
+        .build();
+    this.responseWriter = responseWriter;
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  public RenderedResponse get(UUID id, Function<UUID, Payment> loader) {
+    return cache.get(id, key -> render(loader.apply(key), PaymentFormat.JSON));
+  }
+
+  public RenderedResponse put(Payment payment) {
+    RenderedResponse rendered = render(payment, PaymentFormat.JSON);
+    cache.put(payment.getId(), rendered);
+    return rendered;
+  }
+
+  public void evict(UUID id) {
+    cache.invalidate(id);
+  }
+
+  public RenderedResponse render(Payment payment, PaymentFormat format) {
+    byte[] body = responseWriter.write(payment, format);
+    return new RenderedResponse(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+  }
+}
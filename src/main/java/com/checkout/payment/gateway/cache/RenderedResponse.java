@@ -0,0 +1,4 @@
+package com.checkout.payment.gateway.cache;
+
+public record RenderedResponse(byte[] body, String etag) {
+}
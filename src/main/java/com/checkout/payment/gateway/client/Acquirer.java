@@ -0,0 +1,76 @@
+package com.checkout.payment.gateway.client;
+
+import com.checkout.payment.gateway.configuration.RoutingProperties.Route;
+import com.checkout.payment.gateway.model.BinInfo;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.model.PaymentStatus;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import java.util.List;
+import java.util.Set;
+
+final class Acquirer {
+
+  private final String name;
+  private final Set<String> currencies;
+  private final List<String> bins;
+  private final Set<String> schemes;
+  private final Authorizer authorizer;
+  private final CircuitBreaker circuitBreaker;
+  private final AcquirerStats stats;
+
+  Acquirer(Route route, Authorizer authorizer, CircuitBreaker circuitBreaker,
+      AcquirerStats stats) {
+    this.name = route.getName();
+    this.currencies = Set.copyOf(route.getCurrencies());
+    this.bins = List.copyOf(route.getBins());
+    this.schemes = Set.copyOf(route.getSchemes());
+    this.authorizer = authorizer;
+    this.circuitBreaker = circuitBreaker;
+    this.stats = stats;
+  }
+
+  String name() {
+    return name;
+  }
+
+  AcquirerStats stats() {
+    return stats;
+  }
+
+  boolean accepts(Payment payment) {
+    if (!currencies.isEmpty() && !currencies.contains(payment.getCurrency())) {
+      return false;
+    }
+    if (!schemes.isEmpty()) {
+      BinInfo binInfo = payment.getBinInfo();
+      if (binInfo == null || !schemes.contains(binInfo.scheme())) {
+        return false;
+      }
+    }
+    if (bins.isEmpty()) {
+      return true;
+    }
+    for (String bin : bins) {
+      if (payment.getCardNumber().startsWith(bin)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  boolean isAvailable() {
+    CircuitBreaker.State state = circuitBreaker.getState();
+    return state != CircuitBreaker.State.OPEN && state != CircuitBreaker.State.FORCED_OPEN;
+  }
+
+  PaymentStatus authorize(Payment payment, int attempt) {
+    return authorizer.authorize(payment, attempt);
+  }
+
+  // A single call to the acquirer; attempt numbers the router's passes over the candidates
+  @FunctionalInterface
+  interface Authorizer {
+
+    PaymentStatus authorize(Payment payment, int attempt);
+  }
+}
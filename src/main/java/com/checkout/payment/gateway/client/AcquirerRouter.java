@@ -0,0 +1,159 @@
+package com.checkout.payment.gateway.client;
+
+import com.checkout.payment.gateway.client.bank.ApiClient;
+import com.checkout.payment.gateway.client.bank.api.DefaultApi;
+import com.checkout.payment.gateway.configuration.RoutingProperties;
+import com.checkout.payment.gateway.configuration.RoutingProperties.Route;
+import com.checkout.payment.gateway.exception.BankCommunicationException;
+import com.checkout.payment.gateway.metrics.PaymentMetrics;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.model.PaymentStatus;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+// Chooses an acquirer per payment: those whose currency/BIN/scheme filters accept it, with
+// open circuits last and the rest by EWMA latency per successful call, decayed toward a prior
+// between calls. Each candidate gets one attempt; transport failures and open circuits fall
+// through to the next, and declines are final. The bankClient retry repeats the whole pass,
+// re-ranked, so no acquirer's backoff delays the failover or is charged to its latency.
+@Component
+public class AcquirerRouter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AcquirerRouter.class);
+
+  static final String PRIMARY_INSTANCE = "bankClient";
+
+  // Sorts a snapshot taken once per decision. Scores decay while the sort runs and circuits can
+  // change state, so comparing live values can break the comparator's contract.
+  private static final Comparator<Ranked> ROUTING_ORDER = Comparator
+      .comparing((Ranked ranked) -> !ranked.available())
+      .thenComparingDouble(Ranked::score);
+
+  private final List<Acquirer> acquirers;
+  // Null makes a single pass
+  private final Retry retry;
+  private final PaymentMetrics paymentMetrics;
+
+  @Autowired
+  public AcquirerRouter(RoutingProperties properties, BankPaymentAdapter bankPaymentAdapter,
+      RestTemplate restTemplate, CircuitBreakerRegistry circuitBreakerRegistry,
+      RetryRegistry retryRegistry, PaymentMetrics paymentMetrics) {
+    this(acquirers(properties, bankPaymentAdapter, restTemplate, circuitBreakerRegistry),
+        retryRegistry.retry(PRIMARY_INSTANCE), paymentMetrics);
+  }
+
+  AcquirerRouter(List<Acquirer> acquirers, PaymentMetrics paymentMetrics) {
+    this(acquirers, null, paymentMetrics);
+  }
+
+  AcquirerRouter(List<Acquirer> acquirers, Retry retry, PaymentMetrics paymentMetrics) {
+    this.acquirers = List.copyOf(acquirers);
+    this.retry = retry;
+    this.paymentMetrics = paymentMetrics;
+    for (Acquirer acquirer : this.acquirers) {
+      paymentMetrics.registerAcquirerGauges(acquirer.name(), acquirer.stats(),
+          AcquirerStats::latencyMillis, AcquirerStats::successRate);
+    }
+  }
+
+  public PaymentStatus authorize(Payment payment) {
+    List<Acquirer> candidates = candidates(payment);
+    if (candidates.isEmpty()) {
+      throw new BankCommunicationException(
+          "No acquirer accepts currency " + payment.getCurrency(), null);
+    }
+    AtomicInteger passes = new AtomicInteger();
+    Supplier<PaymentStatus> call = () -> {
+      int pass = passes.incrementAndGet();
+      return route(payment, pass == 1 ? candidates : candidates(payment), pass);
+    };
+    if (retry != null) {
+      call = Retry.decorateSupplier(retry, call);
+    }
+    return call.get();
+  }
+
+  private PaymentStatus route(Payment payment, List<Acquirer> candidates, int pass) {
+    BankCommunicationException transportFailure = null;
+    CallNotPermittedException circuitOpen = null;
+    for (int index = 0; index < candidates.size(); index++) {
+      Acquirer acquirer = candidates.get(index);
+      long started = System.nanoTime();
+      RuntimeException failure;
+      try {
+        PaymentStatus status = acquirer.authorize(payment, pass);
+        acquirer.stats().recordSuccess(System.nanoTime() - started);
+        paymentMetrics.recordRoutingDecision(acquirer.name(), pass > 1 || index > 0);
+        LOG.info("Routed to acquirer {} (pass {}, candidate {})", acquirer.name(), pass,
+            index + 1);
+        return status;
+      } catch (BankCommunicationException ex) {
+        acquirer.stats().recordFailure(System.nanoTime() - started);
+        transportFailure = ex;
+        failure = ex;
+      } catch (CallNotPermittedException ex) {
+        circuitOpen = ex;
+        failure = ex;
+      }
+      paymentMetrics.recordAcquirerFailure(acquirer.name());
+      LOG.warn("Acquirer {} failed — {}", acquirer.name(), failure.getMessage());
+    }
+    // Open circuits sort last, so prefer the transport failure, which the retry acts on
+    throw transportFailure != null ? transportFailure : circuitOpen;
+  }
+
+  List<Acquirer> candidates(Payment payment) {
+    List<Ranked> candidates = new ArrayList<>(acquirers.size());
+    for (Acquirer acquirer : acquirers) {
+      if (acquirer.accepts(payment)) {
+        candidates.add(new Ranked(acquirer, acquirer.isAvailable(), acquirer.stats().score()));
+      }
+    }
+    candidates.sort(ROUTING_ORDER);
+    return candidates.stream().map(Ranked::acquirer).toList();
+  }
+
+  // The primary acquirer goes through BankPaymentAdapter's bankClient circuit breaker;
+  // additional acquirers get adapters with breakers named acquirer-<name> that inherit the
+  // primary's configuration unless configured explicitly. None of them retries on its own.
+  private static List<Acquirer> acquirers(RoutingProperties properties,
+      BankPaymentAdapter bankPaymentAdapter, RestTemplate restTemplate,
+      CircuitBreakerRegistry circuitBreakerRegistry) {
+    CircuitBreaker primaryBreaker = circuitBreakerRegistry.circuitBreaker(PRIMARY_INSTANCE);
+    List<Acquirer> acquirers = new ArrayList<>();
+    acquirers.add(new Acquirer(properties.getPrimary(), bankPaymentAdapter::authorize,
+        primaryBreaker, stats(properties)));
+    for (Route route : properties.getAcquirers()) {
+      ApiClient apiClient = new ApiClient(restTemplate);
+      apiClient.setBasePath(route.getUrl());
+      String instance = "acquirer-" + route.getName();
+      CircuitBreaker breaker = circuitBreakerRegistry.circuitBreaker(instance,
+          primaryBreaker.getCircuitBreakerConfig());
+      BankPaymentAdapter adapter =
+          new BankPaymentAdapter(new DefaultApi(apiClient), breaker, null);
+      acquirers.add(new Acquirer(route, adapter::authorize, breaker, stats(properties)));
+    }
+    return acquirers;
+  }
+
+  private static AcquirerStats stats(RoutingProperties properties) {
+    return new AcquirerStats(properties.getEwmaAlpha(), properties.getPriorLatency(),
+        properties.getDecayHalfLife(), System::nanoTime);
+  }
+
+  private record Ranked(Acquirer acquirer, boolean available, double score) {
+  }
+}
@@ -0,0 +1,87 @@
+package com.checkout.payment.gateway.client;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+// Exponentially weighted moving averages of call latency and transport success, updated with
+// a CAS loop so recording never blocks the request path. A new acquirer starts at the prior
+// latency and full success rather than at zero, so it does not take all traffic before it has
+// been measured. Between calls both averages decay back toward that prior with the configured
+// half-life, so an acquirer that stopped being chosen after a bad spell is tried again once its
+// penalty has worn off.
+final class AcquirerStats {
+
+  private static final double MIN_SUCCESS_RATE = 0.01;
+
+  private final double alpha;
+  private final double priorLatencyMillis;
+  private final double halfLifeNanos;
+  private final LongSupplier nanoTime;
+  private final AtomicReference<Snapshot> snapshot;
+
+  AcquirerStats(double alpha, Duration priorLatency, Duration halfLife, LongSupplier nanoTime) {
+    if (alpha <= 0.0 || alpha > 1.0) {
+      throw new IllegalArgumentException("EWMA alpha must be in (0, 1]: " + alpha);
+    }
+    if (priorLatency.isNegative() || halfLife.isNegative() || halfLife.isZero()) {
+      throw new IllegalArgumentException("Prior latency must be >= 0 and half-life positive");
+    }
+    this.alpha = alpha;
+    this.priorLatencyMillis = priorLatency.toNanos() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    this.halfLifeNanos = halfLife.toNanos();
+    this.nanoTime = nanoTime;
+    this.snapshot = new AtomicReference<>(
+        new Snapshot(priorLatencyMillis, 1.0, nanoTime.getAsLong()));
+  }
+
+  void recordSuccess(long elapsedNanos) {
+    record(elapsedNanos, 1.0);
+  }
+
+  void recordFailure(long elapsedNanos) {
+    record(elapsedNanos, 0.0);
+  }
+
+  double latencyMillis() {
+    return decayed(snapshot.get(), nanoTime.getAsLong()).latencyMillis();
+  }
+
+  double successRate() {
+    return decayed(snapshot.get(), nanoTime.getAsLong()).successRate();
+  }
+
+  // Expected latency per successful call; lower is better
+  double score() {
+    Snapshot current = decayed(snapshot.get(), nanoTime.getAsLong());
+    return current.latencyMillis() / Math.max(current.successRate(), MIN_SUCCESS_RATE);
+  }
+
+  private void record(long elapsedNanos, double success) {
+    double latency = elapsedNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    Snapshot current;
+    Snapshot next;
+    do {
+      current = snapshot.get();
+      long now = nanoTime.getAsLong();
+      Snapshot base = decayed(current, now);
+      next = new Snapshot(base.latencyMillis() + alpha * (latency - base.latencyMillis()),
+          base.successRate() + alpha * (success - base.successRate()), now);
+    } while (!snapshot.compareAndSet(current, next));
+  }
+
+  private Snapshot decayed(Snapshot current, long now) {
+    long age = now - current.updatedNanos();
+    if (age <= 0) {
+      return current;
+    }
+    double weight = Math.pow(0.5, age / halfLifeNanos);
+    return new Snapshot(
+        priorLatencyMillis + (current.latencyMillis() - priorLatencyMillis) * weight,
+        1.0 + (current.successRate() - 1.0) * weight, now);
+  }
+
+  private record Snapshot(double latencyMillis, double successRate, long updatedNanos) {
+  }
+}
@@ -6,22 +6,71 @@ import com.checkout.payment.gateway.client.bank.model.BankPaymentResponse;
 import com.checkout.payment.gateway.exception.BankCommunicationException;
 import com.checkout.payment.gateway.model.Payment;
 import com.checkout.payment.gateway.model.PaymentStatus;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import io.github.resilience4j.retry.annotation.Retry;
+import com.checkout.payment.gateway.profiling.BankCallEvent;
+import com.checkout.payment.gateway.profiling.PaymentEvents;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+// Calls the bank through its own circuit breaker and retry, applied here rather than through
+// annotations so that each attempt knows its number: the retry re-invokes the decorated
+// supplier once per attempt, and the supplier counts its own invocations for that call.
 @Component
 public class BankPaymentAdapter {
 
   private final DefaultApi bankApi;
+  // Null leaves the call undecorated, and the circuit out of flight recorder events
+  private final CircuitBreaker circuitBreaker;
+  private final Retry retry;
 
   public BankPaymentAdapter(DefaultApi bankApi) {
+    this(bankApi, null, null);
+  }
+
+  @Autowired
+  public BankPaymentAdapter(DefaultApi bankApi, CircuitBreakerRegistry circuitBreakerRegistry,
+      RetryRegistry retryRegistry) {
+    this(bankApi, circuitBreakerRegistry.circuitBreaker(AcquirerRouter.PRIMARY_INSTANCE),
+        retryRegistry.retry(AcquirerRouter.PRIMARY_INSTANCE));
+  }
+
+  BankPaymentAdapter(DefaultApi bankApi, CircuitBreaker circuitBreaker, Retry retry) {
     this.bankApi = bankApi;
+    this.circuitBreaker = circuitBreaker;
+    this.retry = retry;
   }
 
-  @CircuitBreaker(name = "bankClient")
-  @Retry(name = "bankClient")
   public PaymentStatus authorize(Payment payment) {
+    AtomicInteger attempts = new AtomicInteger();
+    Supplier<PaymentStatus> call = () -> call(payment, attempts.incrementAndGet());
+    if (circuitBreaker != null) {
+      call = CircuitBreaker.decorateSupplier(circuitBreaker, call);
+    }
+    if (retry != null) {
+      call = Retry.decorateSupplier(retry, call);
+    }
+    return call.get();
+  }
+
+  // One call through the circuit breaker without the retry, for AcquirerRouter, which retries
+  // over all its acquirers instead
+  PaymentStatus authorize(Payment payment, int attempt) {
+    Supplier<PaymentStatus> call = () -> call(payment, attempt);
+    if (circuitBreaker != null) {
+      call = CircuitBreaker.decorateSupplier(circuitBreaker, call);
+    }
+    return call.get();
+  }
+
+  private PaymentStatus call(Payment payment, int attempt) {
+    BankCallEvent call = new BankCallEvent();
+    call.begin();
     BankPaymentRequest request = new BankPaymentRequest()
         .cardNumber(payment.getCardNumber())
         .expiryDate(String.format("%02d/%d", payment.getExpiryMonth(), payment.getExpiryYear()))
@@ -30,10 +79,28 @@ public class BankPaymentAdapter {
         .cvv(payment.getCvv());
     try {
       BankPaymentResponse response = bankApi.authorizePayment(request);
-      return Boolean.TRUE.equals(response.getAuthorized())
+      PaymentStatus status = Boolean.TRUE.equals(response.getAuthorized())
           ? PaymentStatus.AUTHORIZED : PaymentStatus.DECLINED;
+      call.outcome = status.name();
+      return status;
     } catch (Exception ex) {
+      call.outcome = "failed";
       throw new BankCommunicationException("Bank communication failed", ex);
+    } finally {
+      if (call.isEnabled()) {
+        record(call, payment, attempt);
+      }
+    }
+  }
+
+  private void record(BankCallEvent call, Payment payment, int attempt) {
+    UUID paymentId = payment.getId();
+    call.paymentId = paymentId != null ? paymentId.toString() : null;
+    call.attempt = attempt;
+    if (circuitBreaker != null) {
+      call.circuitBreaker = circuitBreaker.getName();
+      call.circuitState = circuitBreaker.getState().name();
     }
+    PaymentEvents.commit(call);
   }
 }
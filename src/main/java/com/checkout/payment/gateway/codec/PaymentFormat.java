@@ -0,0 +1,64 @@
+package com.checkout.payment.gateway.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.util.List;
+import java.util.function.Supplier;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+// Representations of the /v1/payment resources. The binary formats carry the same fields as
+// JSON and are read and written by the same Jackson codecs, so validation and field names match.
+public enum PaymentFormat {
+
+  JSON(MediaType.APPLICATION_JSON, null),
+  CBOR(MediaType.APPLICATION_CBOR, CBORFactory::new),
+  SMILE(new MediaType("application", "x-jackson-smile"), SmileFactory::new);
+
+  private final MediaType mediaType;
+  private final Supplier<JsonFactory> factory;
+
+  PaymentFormat(MediaType mediaType, Supplier<JsonFactory> factory) {
+    this.mediaType = mediaType;
+    this.factory = factory;
+  }
+
+  public MediaType mediaType() {
+    return mediaType;
+  }
+
+  // null for JSON, which uses the application ObjectMapper's factory
+  JsonFactory newFactory() {
+    return factory != null ? factory.get() : null;
+  }
+
+  // Most specific, highest quality Accept entry that names one of the formats; JSON when the
+  // header is missing, a wildcard or unparseable
+  public static PaymentFormat negotiate(String accept) {
+    if (accept == null || accept.isBlank()) {
+      return JSON;
+    }
+    List<MediaType> accepted;
+    try {
+      accepted = MediaType.parseMediaTypes(accept);
+      MimeTypeUtils.sortBySpecificity(accepted);
+    } catch (IllegalArgumentException e) {
+      return JSON;
+    }
+    for (MediaType candidate : accepted) {
+      if (candidate.getQualityValue() == 0) {
+        continue;
+      }
+      if (candidate.isWildcardType()) {
+        return JSON;
+      }
+      for (PaymentFormat format : values()) {
+        if (candidate.isCompatibleWith(format.mediaType)) {
+          return format;
+        }
+      }
+    }
+    return JSON;
+  }
+}
@@ -0,0 +1,40 @@
+package com.checkout.payment.gateway.codec;
+
+import com.checkout.payment.gateway.mapper.PaymentApiMapper;
+import com.checkout.payment.gateway.model.Payment;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+
+// Renders a Payment as the generated ProcessPaymentResponse: MapStruct maps it and Jackson
+// serializes the DTO. The binary formats use copies of the application ObjectMapper on their own
+// factories, so every format carries the same fields and settings.
+@Component
+public class PaymentResponseWriter {
+
+  private final Map<PaymentFormat, ObjectMapper> mappers = new EnumMap<>(PaymentFormat.class);
+  private final PaymentApiMapper apiMapper;
+
+  public PaymentResponseWriter(ObjectMapper objectMapper, PaymentApiMapper apiMapper) {
+    for (PaymentFormat format : PaymentFormat.values()) {
+      JsonFactory factory = format.newFactory();
+      mappers.put(format, factory != null ? objectMapper.copyWith(factory) : objectMapper);
+    }
+    this.apiMapper = apiMapper;
+  }
+
+  public byte[] write(Payment payment) {
+    return write(payment, PaymentFormat.JSON);
+  }
+
+  public byte[] write(Payment payment, PaymentFormat format) {
+    try {
+      return mappers.get(format).writeValueAsBytes(apiMapper.toProcessResponse(payment));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to serialize payment response", e);
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package com.checkout.payment.gateway.configuration;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "batch")
+public class BatchProperties {
+
+  private int maxItems = 1000;
+  private int parallelism = 16;
+  // Items not yet started across all batches; a batch that would go over gets 503
+  private int maxQueuedItems = 10_000;
+  // How long an item waits for a token from its client's POST bucket before it fails
+  private Duration rateLimitWait = Duration.ofSeconds(30);
+
+  public int getMaxItems() {
+    return maxItems;
+  }
+
+  public void setMaxItems(int maxItems) {
+    this.maxItems = maxItems;
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  public void setParallelism(int parallelism) {
+    this.parallelism = parallelism;
+  }
+
+  public int getMaxQueuedItems() {
+    return maxQueuedItems;
+  }
+
+  public void setMaxQueuedItems(int maxQueuedItems) {
+    this.maxQueuedItems = maxQueuedItems;
+  }
+
+  public Duration getRateLimitWait() {
+    return rateLimitWait;
+  }
+
+  public void setRateLimitWait(Duration rateLimitWait) {
+    this.rateLimitWait = rateLimitWait;
+  }
+}
@@ -0,0 +1,19 @@
+package com.checkout.payment.gateway.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "bin-table")
+public class BinTableProperties {
+
+  private String location = "classpath:bin/bin-ranges.csv";
+
+  public String getLocation() {
+    return location;
+  }
+
+  public void setLocation(String location) {
+    this.location = location;
+  }
+}
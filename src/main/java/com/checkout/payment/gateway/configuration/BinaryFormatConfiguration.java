@@ -0,0 +1,31 @@
+package com.checkout.payment.gateway.configuration;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+// CBOR and Smile request/response bodies. The beans have the same types as Spring MVC's default
+// converters, so Boot slots them in at the defaults' position after JSON and JSON stays the
+// answer to Accept: */*. Mappers come from Boot's builder to pick up the same settings and
+// @JsonComponent deserializers as the JSON ObjectMapper.
+@Configuration
+public class BinaryFormatConfiguration {
+
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(
+        builder.factory(new CBORFactory()).build());
+  }
+
+  @Bean
+  public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2SmileHttpMessageConverter(
+        builder.factory(new SmileFactory()).build());
+  }
+}
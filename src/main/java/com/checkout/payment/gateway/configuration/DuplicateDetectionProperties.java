@@ -0,0 +1,55 @@
+package com.checkout.payment.gateway.configuration;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "duplicate-detection")
+public class DuplicateDetectionProperties {
+
+  private Mode mode = Mode.OFF;
+  private Duration window = Duration.ofSeconds(30);
+  // Sizes the filter and caps the exact map at peakTps * window entries
+  private int peakTps = 1000;
+  // Share of new payments that need an exact-map lookup when the filter is full
+  private double falsePositiveRate = 0.001;
+
+  public Mode getMode() {
+    return mode;
+  }
+
+  public void setMode(Mode mode) {
+    this.mode = mode;
+  }
+
+  public Duration getWindow() {
+    return window;
+  }
+
+  public void setWindow(Duration window) {
+    this.window = window;
+  }
+
+  public int getPeakTps() {
+    return peakTps;
+  }
+
+  public void setPeakTps(int peakTps) {
+    this.peakTps = peakTps;
+  }
+
+  public double getFalsePositiveRate() {
+    return falsePositiveRate;
+  }
+
+  public void setFalsePositiveRate(double falsePositiveRate) {
+    this.falsePositiveRate = falsePositiveRate;
+  }
+
+  public enum Mode {
+    OFF,
+    FLAG,
+    BLOCK
+  }
+}
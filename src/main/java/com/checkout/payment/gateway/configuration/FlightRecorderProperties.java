@@ -0,0 +1,59 @@
+package com.checkout.payment.gateway.configuration;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@Component
+@ConfigurationProperties(prefix = "flight-recorder")
+public class FlightRecorderProperties {
+
+  // Start the bounded recording when the application starts, not just on request
+  private boolean startOnStartup = true;
+  // JDK settings file: "default" (about 1% overhead) or "profile" (more detail, more cost)
+  private String settings = "default";
+  private Duration maxAge = Duration.ofMinutes(10);
+  private DataSize maxSize = DataSize.ofMegabytes(64);
+  private String dumpDirectory = System.getProperty("java.io.tmpdir");
+
+  public boolean isStartOnStartup() {
+    return startOnStartup;
+  }
+
+  public void setStartOnStartup(boolean startOnStartup) {
+    this.startOnStartup = startOnStartup;
+  }
+
+  public String getSettings() {
+    return settings;
+  }
+
+  public void setSettings(String settings) {
+    this.settings = settings;
+  }
+
+  public Duration getMaxAge() {
+    return maxAge;
+  }
+
+  public void setMaxAge(Duration maxAge) {
+    this.maxAge = maxAge;
+  }
+
+  public DataSize getMaxSize() {
+    return maxSize;
+  }
+
+  public void setMaxSize(DataSize maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  public String getDumpDirectory() {
+    return dumpDirectory;
+  }
+
+  public void setDumpDirectory(String dumpDirectory) {
+    this.dumpDirectory = dumpDirectory;
+  }
+}
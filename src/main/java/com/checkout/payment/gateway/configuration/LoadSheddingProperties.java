@@ -0,0 +1,81 @@
+package com.checkout.payment.gateway.configuration;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "load-shedding")
+public class LoadSheddingProperties {
+
+  private boolean enabled = true;
+  // Requests running past the filter at once; the rest wait, GETs and replays first
+  private int maxConcurrent = 64;
+  // Waiting requests beyond this are shed straight away. Each one holds a Tomcat worker thread,
+  // so max-concurrent + max-queue must stay below server.tomcat.threads.max
+  private int maxQueue = 100;
+  // Places in line only GETs and idempotent replays may take
+  private int priorityReserve = 25;
+  // Client deadline when the request has no X-Request-Timeout header
+  private Duration defaultDeadline = Duration.ofSeconds(10);
+  // Upper bound on X-Request-Timeout; larger values are capped to it
+  private Duration maxDeadline = Duration.ofSeconds(60);
+  // Weight of the newest request in the average service time used to estimate waits
+  private double ewmaAlpha = 0.2;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public int getMaxConcurrent() {
+    return maxConcurrent;
+  }
+
+  public void setMaxConcurrent(int maxConcurrent) {
+    this.maxConcurrent = maxConcurrent;
+  }
+
+  public int getMaxQueue() {
+    return maxQueue;
+  }
+
+  public void setMaxQueue(int maxQueue) {
+    this.maxQueue = maxQueue;
+  }
+
+  public int getPriorityReserve() {
+    return priorityReserve;
+  }
+
+  public void setPriorityReserve(int priorityReserve) {
+    this.priorityReserve = priorityReserve;
+  }
+
+  public Duration getDefaultDeadline() {
+    return defaultDeadline;
+  }
+
+  public void setDefaultDeadline(Duration defaultDeadline) {
+    this.defaultDeadline = defaultDeadline;
+  }
+
+  public Duration getMaxDeadline() {
+    return maxDeadline;
+  }
+
+  public void setMaxDeadline(Duration maxDeadline) {
+    this.maxDeadline = maxDeadline;
+  }
+
+  public double getEwmaAlpha() {
+    return ewmaAlpha;
+  }
+
+  public void setEwmaAlpha(double ewmaAlpha) {
+    this.ewmaAlpha = ewmaAlpha;
+  }
+}
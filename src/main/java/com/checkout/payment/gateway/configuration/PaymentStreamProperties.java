@@ -0,0 +1,69 @@
+package com.checkout.payment.gateway.configuration;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "payment-stream")
+public class PaymentStreamProperties {
+
+  private boolean enabled = true;
+  // Ring buffer size; must be a power of two
+  private int bufferSize = 8192;
+  // Subscribers further behind are disconnected; also how far back Last-Event-ID can resume
+  private int maxLag = 4096;
+  private int deliveryThreads = 16;
+  // A subscriber whose send has blocked this long is disconnected, and the delivery pool starts
+  // a thread in place of the one it holds
+  private Duration stallTimeout = Duration.ofSeconds(2);
+  private Duration timeout = Duration.ofMinutes(30);
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  public void setBufferSize(int bufferSize) {
+    this.bufferSize = bufferSize;
+  }
+
+  public int getMaxLag() {
+    return maxLag;
+  }
+
+  public void setMaxLag(int maxLag) {
+    this.maxLag = maxLag;
+  }
+
+  public int getDeliveryThreads() {
+    return deliveryThreads;
+  }
+
+  public void setDeliveryThreads(int deliveryThreads) {
+    this.deliveryThreads = deliveryThreads;
+  }
+
+  public Duration getStallTimeout() {
+    return stallTimeout;
+  }
+
+  public void setStallTimeout(Duration stallTimeout) {
+    this.stallTimeout = stallTimeout;
+  }
+
+  public Duration getTimeout() {
+    return timeout;
+  }
+
+  public void setTimeout(Duration timeout) {
+    this.timeout = timeout;
+  }
+}
@@ -0,0 +1,19 @@
+package com.checkout.payment.gateway.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "response-cache")
+public class ResponseCacheProperties {
+
+  private long maximumSize = 10_000;
+
+  public long getMaximumSize() {
+    return maximumSize;
+  }
+
+  public void setMaximumSize(long maximumSize) {
+    this.maximumSize = maximumSize;
+  }
+}
@@ -0,0 +1,119 @@
+package com.checkout.payment.gateway.configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "routing")
+public class RoutingProperties {
+
+  // Weight of the newest observation in the latency and success-rate moving averages
+  private double ewmaAlpha = 0.2;
+  // Latency assumed for an acquirer before it is measured, and what its averages decay toward
+  private Duration priorLatency = Duration.ofMillis(250);
+  // Time for an acquirer's averages to move halfway back to the prior when it gets no calls
+  private Duration decayHalfLife = Duration.ofMinutes(1);
+  // The primary acquirer is the bank at bank.simulator.url; its url here is ignored
+  private Route primary = new Route("primary");
+  private List<Route> acquirers = new ArrayList<>();
+
+  public double getEwmaAlpha() {
+    return ewmaAlpha;
+  }
+
+  public void setEwmaAlpha(double ewmaAlpha) {
+    this.ewmaAlpha = ewmaAlpha;
+  }
+
+  public Duration getPriorLatency() {
+    return priorLatency;
+  }
+
+  public void setPriorLatency(Duration priorLatency) {
+    this.priorLatency = priorLatency;
+  }
+
+  public Duration getDecayHalfLife() {
+    return decayHalfLife;
+  }
+
+  public void setDecayHalfLife(Duration decayHalfLife) {
+    this.decayHalfLife = decayHalfLife;
+  }
+
+  public Route getPrimary() {
+    return primary;
+  }
+
+  public void setPrimary(Route primary) {
+    this.primary = primary;
+  }
+
+  public List<Route> getAcquirers() {
+    return acquirers;
+  }
+
+  public void setAcquirers(List<Route> acquirers) {
+    this.acquirers = acquirers;
+  }
+
+  public static class Route {
+
+    private String name;
+    private String url;
+    // Empty lists accept every payment
+    private List<String> currencies = new ArrayList<>();
+    private List<String> bins = new ArrayList<>();
+    private List<String> schemes = new ArrayList<>();
+
+    public Route() {
+    }
+
+    public Route(String name) {
+      this.name = name;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public String getUrl() {
+      return url;
+    }
+
+    public void setUrl(String url) {
+      this.url = url;
+    }
+
+    public List<String> getCurrencies() {
+      return currencies;
+    }
+
+    public void setCurrencies(List<String> currencies) {
+      this.currencies = currencies;
+    }
+
+    public List<String> getBins() {
+      return bins;
+    }
+
+    public void setBins(List<String> bins) {
+      this.bins = bins;
+    }
+
+    public List<String> getSchemes() {
+      return schemes;
+    }
+
+    public void setSchemes(List<String> schemes) {
+      this.schemes = schemes;
+    }
+  }
+}
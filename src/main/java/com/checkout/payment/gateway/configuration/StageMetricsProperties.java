@@ -0,0 +1,34 @@
+package com.checkout.payment.gateway.configuration;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "stage-metrics")
+public class StageMetricsProperties {
+
+  // Publishes the full bucket set so Prometheus can compute any quantile across instances
+  private boolean percentileHistogram = true;
+  // Extra buckets at the latency targets, so SLO ratios are exact rather than interpolated
+  private List<Duration> slo = List.of(Duration.ofMillis(10), Duration.ofMillis(50),
+      Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500),
+      Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofSeconds(5));
+
+  public boolean isPercentileHistogram() {
+    return percentileHistogram;
+  }
+
+  public void setPercentileHistogram(boolean percentileHistogram) {
+    this.percentileHistogram = percentileHistogram;
+  }
+
+  public List<Duration> getSlo() {
+    return slo;
+  }
+
+  public void setSlo(List<Duration> slo) {
+    this.slo = slo;
+  }
+}
@@ -0,0 +1,61 @@
+package com.checkout.payment.gateway.configuration;
+
+import com.checkout.payment.gateway.metrics.PaymentMetrics;
+import com.checkout.payment.gateway.tracing.TailSamplingSpanProcessor;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SdkTracerProviderBuilder;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.tracing.SdkTracerProviderBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+// Replaces the auto-configured sampler and tracer provider. tracing.tail-sampling.enabled is
+// read when the beans are created rather than through @ConditionalOnProperty, which Spring AOT
+// would fix at its build-time value. Off, both match Boot's defaults: a parent-based ratio
+// sampler from management.tracing.sampling.probability, every SpanProcessor bean added as is and
+// every SdkTracerProviderBuilderCustomizer applied. On, every span is recorded so the decision
+// can be made at the end of the trace, and all processors sit behind the tail processor. Boot's
+// exporting otelSpanProcessor is one of them, so it still applies any SpanExportingPredicate,
+// SpanFilter and SpanReporter beans to the spans that are kept. Customizers run in both modes,
+// and a processor added by one is not behind the tail processor.
+@Configuration
+public class TailSamplingConfiguration {
+
+  private static final AttributeKey<String> SERVICE_NAME = AttributeKey.stringKey("service.name");
+  // Boot's default for management.tracing.sampling.probability
+  private static final double DEFAULT_PROBABILITY = 0.1;
+
+  @Bean
+  public Sampler otelSampler(Environment environment, TailSamplingProperties properties) {
+    if (properties.isEnabled()) {
+      return Sampler.alwaysOn();
+    }
+    double probability = environment.getProperty("management.tracing.sampling.probability",
+        Double.class, DEFAULT_PROBABILITY);
+    return Sampler.parentBased(Sampler.traceIdRatioBased(probability));
+  }
+
+  @Bean
+  public SdkTracerProvider otelSdkTracerProvider(Environment environment, Sampler otelSampler,
+      ObjectProvider<SpanProcessor> spanProcessors,
+      ObjectProvider<SdkTracerProviderBuilderCustomizer> customizers,
+      TailSamplingProperties properties, PaymentMetrics paymentMetrics) {
+    SpanProcessor processors = SpanProcessor.composite(spanProcessors.orderedStream().toList());
+    String applicationName = environment.getProperty("spring.application.name", "application");
+    SdkTracerProviderBuilder builder = SdkTracerProvider.builder()
+        .setSampler(otelSampler)
+        .setResource(Resource.getDefault()
+            .merge(Resource.create(Attributes.of(SERVICE_NAME, applicationName))))
+        .addSpanProcessor(properties.isEnabled()
+            ? new TailSamplingSpanProcessor(processors, properties, paymentMetrics)
+            : processors);
+    customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+    return builder.build();
+  }
+}
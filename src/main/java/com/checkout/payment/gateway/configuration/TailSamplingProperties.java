@@ -0,0 +1,61 @@
+package com.checkout.payment.gateway.configuration;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "tracing.tail-sampling")
+public class TailSamplingProperties {
+
+  // Off: management.tracing.sampling.probability decides up front (head sampling)
+  private boolean enabled;
+  // Traces whose local root span takes at least this long are always exported
+  private Duration latencyThreshold = Duration.ofMillis(500);
+  // Share of fast, successful traces exported anyway, chosen by trace id
+  private double sampleRate = 0.01;
+  // Traces buffered while waiting for their root span to end
+  private long maxTraces = 10_000;
+  // A buffered trace whose root never ends is dropped after this
+  private Duration traceTimeout = Duration.ofMinutes(1);
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public Duration getLatencyThreshold() {
+    return latencyThreshold;
+  }
+
+  public void setLatencyThreshold(Duration latencyThreshold) {
+    this.latencyThreshold = latencyThreshold;
+  }
+
+  public double getSampleRate() {
+    return sampleRate;
+  }
+
+  public void setSampleRate(double sampleRate) {
+    this.sampleRate = sampleRate;
+  }
+
+  public long getMaxTraces() {
+    return maxTraces;
+  }
+
+  public void setMaxTraces(long maxTraces) {
+    this.maxTraces = maxTraces;
+  }
+
+  public Duration getTraceTimeout() {
+    return traceTimeout;
+  }
+
+  public void setTraceTimeout(Duration traceTimeout) {
+    this.traceTimeout = traceTimeout;
+  }
+}
@@ -0,0 +1,40 @@
+package com.checkout.payment.gateway.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "tokenization")
+public class TokenizationProperties {
+
+  // Base64 HMAC-SHA256 key for card fingerprints
+  private String fingerprintKey;
+  // Base64 AES key (16, 24 or 32 bytes) for card numbers held in the vault
+  private String vaultKey;
+  // Append-only vault file; empty keeps the vault in memory only
+  private String vaultFile;
+
+  public String getFingerprintKey() {
+    return fingerprintKey;
+  }
+
+  public void setFingerprintKey(String fingerprintKey) {
+    this.fingerprintKey = fingerprintKey;
+  }
+
+  public String getVaultKey() {
+    return vaultKey;
+  }
+
+  public void setVaultKey(String vaultKey) {
+    this.vaultKey = vaultKey;
+  }
+
+  public String getVaultFile() {
+    return vaultFile;
+  }
+
+  public void setVaultFile(String vaultFile) {
+    this.vaultFile = vaultFile;
+  }
+}
@@ -0,0 +1,125 @@
+package com.checkout.payment.gateway.configuration;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "validation-rules")
+public class ValidationRulesProperties {
+
+  // Optional JSON file with the same shape as this class; when set it replaces the inline rules
+  // and is re-read on reload
+  private String location;
+  private List<SchemeRule> schemes = new ArrayList<>();
+  private RuleSet defaults = new RuleSet();
+  private Map<String, RuleSet> currencies = new LinkedHashMap<>();
+
+  public String getLocation() {
+    return location;
+  }
+
+  public void setLocation(String location) {
+    this.location = location;
+  }
+
+  public List<SchemeRule> getSchemes() {
+    return schemes;
+  }
+
+  public void setSchemes(List<SchemeRule> schemes) {
+    this.schemes = schemes;
+  }
+
+  public RuleSet getDefaults() {
+    return defaults;
+  }
+
+  public void setDefaults(RuleSet defaults) {
+    this.defaults = defaults;
+  }
+
+  public Map<String, RuleSet> getCurrencies() {
+    return currencies;
+  }
+
+  public void setCurrencies(Map<String, RuleSet> currencies) {
+    this.currencies = currencies;
+  }
+
+  public static class SchemeRule {
+
+    private String name;
+    // BIN prefixes or equal-length prefix ranges, e.g. "4" or "2221-2720"
+    private List<String> prefixes = new ArrayList<>();
+    private List<Integer> lengths = new ArrayList<>();
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public List<String> getPrefixes() {
+      return prefixes;
+    }
+
+    public void setPrefixes(List<String> prefixes) {
+      this.prefixes = prefixes;
+    }
+
+    public List<Integer> getLengths() {
+      return lengths;
+    }
+
+    public void setLengths(List<Integer> lengths) {
+      this.lengths = lengths;
+    }
+  }
+
+  public static class RuleSet {
+
+    // Empty means every BIN is allowed
+    private List<String> allowedBins = new ArrayList<>();
+    private List<String> blockedBins = new ArrayList<>();
+    private Long minAmount;
+    private Long maxAmount;
+
+    public List<String> getAllowedBins() {
+      return allowedBins;
+    }
+
+    public void setAllowedBins(List<String> allowedBins) {
+      this.allowedBins = allowedBins;
+    }
+
+    public List<String> getBlockedBins() {
+      return blockedBins;
+    }
+
+    public void setBlockedBins(List<String> blockedBins) {
+      this.blockedBins = blockedBins;
+    }
+
+    public Long getMinAmount() {
+      return minAmount;
+    }
+
+    public void setMinAmount(Long minAmount) {
+      this.minAmount = minAmount;
+    }
+
+    public Long getMaxAmount() {
+      return maxAmount;
+    }
+
+    public void setMaxAmount(Long maxAmount) {
+      this.maxAmount = maxAmount;
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package com.checkout.payment.gateway.configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "velocity")
+public class VelocityProperties {
+
+  // Count-min sketch shape shared by every rule; width must be a power of two
+  private int sketchWidth = 2048;
+  private int sketchDepth = 4;
+  private List<Rule> rules = new ArrayList<>();
+
+  public int getSketchWidth() {
+    return sketchWidth;
+  }
+
+  public void setSketchWidth(int sketchWidth) {
+    this.sketchWidth = sketchWidth;
+  }
+
+  public int getSketchDepth() {
+    return sketchDepth;
+  }
+
+  public void setSketchDepth(int sketchDepth) {
+    this.sketchDepth = sketchDepth;
+  }
+
+  public List<Rule> getRules() {
+    return rules;
+  }
+
+  public void setRules(List<Rule> rules) {
+    this.rules = rules;
+  }
+
+  public enum Dimension {
+    CARD,
+    CLIENT
+  }
+
+  public static class Rule {
+
+    private Dimension dimension = Dimension.CARD;
+    private Duration window = Duration.ofMinutes(1);
+    // Time buckets the window is split into, at most 64
+    private int buckets = 12;
+    private Long maxCount;
+    // Minor units, per currency
+    private Long maxAmount;
+
+    public Dimension getDimension() {
+      return dimension;
+    }
+
+    public void setDimension(Dimension dimension) {
+      this.dimension = dimension;
+    }
+
+    public Duration getWindow() {
+      return window;
+    }
+
+    public void setWindow(Duration window) {
+      this.window = window;
+    }
+
+    public int getBuckets() {
+      return buckets;
+    }
+
+    public void setBuckets(int buckets) {
+      this.buckets = buckets;
+    }
+
+    public Long getMaxCount() {
+      return maxCount;
+    }
+
+    public void setMaxCount(Long maxCount) {
+      this.maxCount = maxCount;
+    }
+
+    public Long getMaxAmount() {
+      return maxAmount;
+    }
+
+    public void setMaxAmount(Long maxAmount) {
+      this.maxAmount = maxAmount;
+    }
+  }
+}
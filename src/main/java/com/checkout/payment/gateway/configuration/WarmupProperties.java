@@ -0,0 +1,41 @@
+package com.checkout.payment.gateway.configuration;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "warmup")
+public class WarmupProperties {
+
+  // Run payments through an isolated copy of the pipeline before readiness turns UP
+  private boolean enabled;
+  // Roughly what C2 needs to compile the hot paths; each iteration is a POST and a GET
+  private int iterations = 10_000;
+  // Readiness is not held back longer than this, whatever the iteration count
+  private Duration timeLimit = Duration.ofSeconds(30);
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public int getIterations() {
+    return iterations;
+  }
+
+  public void setIterations(int iterations) {
+    this.iterations = iterations;
+  }
+
+  public Duration getTimeLimit() {
+    return timeLimit;
+  }
+
+  public void setTimeLimit(Duration timeLimit) {
+    this.timeLimit = timeLimit;
+  }
+}
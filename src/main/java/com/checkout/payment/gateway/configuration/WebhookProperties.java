@@ -0,0 +1,108 @@
+package com.checkout.payment.gateway.configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "webhooks")
+public class WebhookProperties {
+
+  private List<Endpoint> endpoints = new ArrayList<>();
+  private int maxBatchSize = 100;
+  // Events waiting per endpoint; when full, new events for that endpoint are dropped
+  private int queueCapacity = 10000;
+  private int maxAttempts = 5;
+  private Duration initialBackoff = Duration.ofMillis(500);
+  private double backoffMultiplier = 2;
+  private Duration connectTimeout = Duration.ofSeconds(2);
+  private Duration requestTimeout = Duration.ofSeconds(5);
+
+  public List<Endpoint> getEndpoints() {
+    return endpoints;
+  }
+
+  public void setEndpoints(List<Endpoint> endpoints) {
+    this.endpoints = endpoints;
+  }
+
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  public void setMaxBatchSize(int maxBatchSize) {
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  public void setQueueCapacity(int queueCapacity) {
+    this.queueCapacity = queueCapacity;
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  public void setMaxAttempts(int maxAttempts) {
+    this.maxAttempts = maxAttempts;
+  }
+
+  public Duration getInitialBackoff() {
+    return initialBackoff;
+  }
+
+  public void setInitialBackoff(Duration initialBackoff) {
+    this.initialBackoff = initialBackoff;
+  }
+
+  public double getBackoffMultiplier() {
+    return backoffMultiplier;
+  }
+
+  public void setBackoffMultiplier(double backoffMultiplier) {
+    this.backoffMultiplier = backoffMultiplier;
+  }
+
+  public Duration getConnectTimeout() {
+    return connectTimeout;
+  }
+
+  public void setConnectTimeout(Duration connectTimeout) {
+    this.connectTimeout = connectTimeout;
+  }
+
+  public Duration getRequestTimeout() {
+    return requestTimeout;
+  }
+
+  public void setRequestTimeout(Duration requestTimeout) {
+    this.requestTimeout = requestTimeout;
+  }
+
+  public static class Endpoint {
+
+    private String name;
+    private String url;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public String getUrl() {
+      return url;
+    }
+
+    public void setUrl(String url) {
+      this.url = url;
+    }
+  }
+}
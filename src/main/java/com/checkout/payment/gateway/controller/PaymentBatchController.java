@@ -0,0 +1,203 @@
+package com.checkout.payment.gateway.controller;
+
+import static com.checkout.payment.gateway.exception.ValidationErrors.BATCH_SIZE_INVALID;
+import static com.checkout.payment.gateway.exception.ValidationErrors.FIELD_REQUEST_BODY;
+import static com.checkout.payment.gateway.exception.ValidationErrors.MALFORMED_JSON;
+import static com.checkout.payment.gateway.exception.ValidationErrors.VALIDATION_FAILED;
+
+import com.checkout.payment.gateway.api.model.BatchPaymentResult;
+import com.checkout.payment.gateway.api.model.BatchPaymentResult.OutcomeEnum;
+import com.checkout.payment.gateway.api.model.FieldError;
+import com.checkout.payment.gateway.api.model.ProcessPaymentRequest;
+import com.checkout.payment.gateway.configuration.BatchProperties;
+import com.checkout.payment.gateway.exception.BankCommunicationException;
+import com.checkout.payment.gateway.exception.PaymentValidationException;
+import com.checkout.payment.gateway.exception.RateLimitExceededException;
+import com.checkout.payment.gateway.exception.ServiceUnavailableException;
+import com.checkout.payment.gateway.mapper.PaymentApiMapper;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.usecase.BatchItemResult;
+import com.checkout.payment.gateway.usecase.ProcessPaymentBatchUseCase;
+import com.checkout.payment.gateway.usecase.ProcessPaymentBatchUseCase.Batch;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class PaymentBatchController {
+
+  private static final String BATCH_PATH = "/v1/payments/batch";
+  private static final String BANK_UNAVAILABLE = "Bank service unavailable";
+  private static final String UNEXPECTED_ERROR =
+      "An unexpected error occurred. Please try again later.";
+
+  private final ProcessPaymentBatchUseCase processPaymentBatchUseCase;
+  private final PaymentApiMapper apiMapper;
+  private final Validator validator;
+  private final ObjectMapper objectMapper;
+  private final BatchProperties properties;
+
+  public PaymentBatchController(ProcessPaymentBatchUseCase processPaymentBatchUseCase,
+      PaymentApiMapper apiMapper, Validator validator, ObjectMapper objectMapper,
+      BatchProperties properties) {
+    this.processPaymentBatchUseCase = processPaymentBatchUseCase;
+    this.apiMapper = apiMapper;
+    this.validator = validator;
+    this.objectMapper = objectMapper;
+    this.properties = properties;
+  }
+
+  @PostMapping(value = BATCH_PATH, consumes = MediaType.APPLICATION_JSON_VALUE)
+  public void processBatch(HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    stream(readArray(request), request.getRemoteAddr(), response);
+  }
+
+  @PostMapping(value = BATCH_PATH, consumes = MediaType.APPLICATION_NDJSON_VALUE)
+  public void processBatchStream(HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    stream(readNdjson(request), request.getRemoteAddr(), response);
+  }
+
+  // Reads the array element by element and stops one past max-items, so an oversized batch is
+  // turned away without the rest of its body being parsed
+  private List<ProcessPaymentRequest> readArray(HttpServletRequest request) throws IOException {
+    List<ProcessPaymentRequest> requests = new ArrayList<>();
+    ObjectReader reader = objectMapper.readerFor(ProcessPaymentRequest.class);
+    try (JsonParser parser = objectMapper.createParser(request.getInputStream())) {
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        throw new HttpMessageNotReadableException(MALFORMED_JSON,
+            new ServletServerHttpRequest(request));
+      }
+      while (requests.size() <= properties.getMaxItems()
+          && parser.nextToken() != JsonToken.END_ARRAY) {
+        requests.add(reader.readValue(parser));
+      }
+    } catch (JsonProcessingException e) {
+      throw new HttpMessageNotReadableException(MALFORMED_JSON, e,
+          new ServletServerHttpRequest(request));
+    }
+    return requests;
+  }
+
+  private List<ProcessPaymentRequest> readNdjson(HttpServletRequest request) throws IOException {
+    List<ProcessPaymentRequest> requests = new ArrayList<>();
+    try (MappingIterator<ProcessPaymentRequest> iterator = objectMapper
+        .readerFor(ProcessPaymentRequest.class)
+        .readValues(request.getInputStream())) {
+      while (requests.size() <= properties.getMaxItems() && iterator.hasNextValue()) {
+        requests.add(iterator.nextValue());
+      }
+    } catch (JsonProcessingException e) {
+      throw new HttpMessageNotReadableException(MALFORMED_JSON, e,
+          new ServletServerHttpRequest(request));
+    }
+    return requests;
+  }
+
+  private void stream(List<ProcessPaymentRequest> requests, String clientIp,
+      HttpServletResponse response) throws IOException {
+    if (requests.isEmpty() || requests.size() > properties.getMaxItems()) {
+      throw new PaymentValidationException(FIELD_REQUEST_BODY,
+          String.format(BATCH_SIZE_INVALID, properties.getMaxItems()));
+    }
+    List<Payment> accepted = new ArrayList<>(requests.size());
+    List<BatchPaymentResult> invalid = new ArrayList<>();
+    int[] positions = new int[requests.size()];
+    for (int i = 0; i < requests.size(); i++) {
+      List<FieldError> errors = validate(requests.get(i));
+      if (errors.isEmpty()) {
+        positions[accepted.size()] = i;
+        Payment payment = apiMapper.toDomain(requests.get(i));
+        payment.setClientIp(clientIp);
+        accepted.add(payment);
+      } else {
+        invalid.add(rejected(i, errors));
+      }
+    }
+
+    // Submitted before anything is written, so a full queue can still answer 503. If the client
+    // goes away, closing the batch drops only the items that have not reached the bank.
+    try (Batch batch = processPaymentBatchUseCase.submit(accepted)) {
+      response.setStatus(HttpStatus.OK.value());
+      response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+      OutputStream out = response.getOutputStream();
+      invalid.forEach(result -> write(out, result));
+      batch.forEachResult(result -> write(out, toBatchResult(positions[result.index()], result)));
+    }
+  }
+
+  private List<FieldError> validate(ProcessPaymentRequest request) {
+    if (request == null) {
+      return List.of(new FieldError().field(FIELD_REQUEST_BODY).message(MALFORMED_JSON));
+    }
+    return validator.validate(request).stream()
+        .map(v -> new FieldError().field(v.getPropertyPath().toString()).message(v.getMessage()))
+        .sorted(Comparator.comparing(FieldError::getField))
+        .toList();
+  }
+
+  private BatchPaymentResult toBatchResult(int index, BatchItemResult result) {
+    if (result.isProcessed()) {
+      return new BatchPaymentResult()
+          .index(index)
+          .outcome(OutcomeEnum.PROCESSED)
+          .payment(apiMapper.toProcessResponse(result.payment()));
+    }
+    RuntimeException failure = result.failure();
+    if (failure instanceof PaymentValidationException pve) {
+      return rejected(index,
+          List.of(new FieldError().field(pve.getField()).message(pve.getMessage())));
+    }
+    if (failure instanceof RateLimitExceededException
+        || failure instanceof ServiceUnavailableException) {
+      return new BatchPaymentResult()
+          .index(index)
+          .outcome(OutcomeEnum.FAILED)
+          .message(failure.getMessage());
+    }
+    boolean bankFailure = failure instanceof BankCommunicationException
+        || failure instanceof CallNotPermittedException;
+    return new BatchPaymentResult()
+        .index(index)
+        .outcome(OutcomeEnum.FAILED)
+        .message(bankFailure ? BANK_UNAVAILABLE : UNEXPECTED_ERROR);
+  }
+
+  private static BatchPaymentResult rejected(int index, List<FieldError> errors) {
+    return new BatchPaymentResult()
+        .index(index)
+        .outcome(OutcomeEnum.REJECTED)
+        .message(VALIDATION_FAILED)
+        .errors(errors);
+  }
+
+  private void write(OutputStream out, BatchPaymentResult result) {
+    try {
+      out.write(objectMapper.writeValueAsBytes(result));
+      out.write('\n');
+      out.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to stream batch result", e);
+    }
+  }
+}
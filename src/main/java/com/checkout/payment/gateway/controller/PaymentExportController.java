@@ -0,0 +1,92 @@
+package com.checkout.payment.gateway.controller;
+
+import static com.checkout.payment.gateway.exception.ValidationErrors.FIELD_LIMIT;
+import static com.checkout.payment.gateway.exception.ValidationErrors.FIELD_STATUS;
+import static com.checkout.payment.gateway.exception.ValidationErrors.LIMIT_INVALID;
+import static com.checkout.payment.gateway.exception.ValidationErrors.STATUS_INVALID;
+
+import com.checkout.payment.gateway.exception.PaymentValidationException;
+import com.checkout.payment.gateway.mapper.PaymentApiMapper;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.model.PaymentStatus;
+import com.checkout.payment.gateway.repository.PaymentQuery;
+import com.checkout.payment.gateway.usecase.ListPaymentsUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+public class PaymentExportController {
+
+  static final int MAX_LIMIT = 10_000;
+
+  private final ListPaymentsUseCase listPaymentsUseCase;
+  private final PaymentApiMapper apiMapper;
+  private final ObjectMapper objectMapper;
+
+  public PaymentExportController(ListPaymentsUseCase listPaymentsUseCase,
+      PaymentApiMapper apiMapper, ObjectMapper objectMapper) {
+    this.listPaymentsUseCase = listPaymentsUseCase;
+    this.apiMapper = apiMapper;
+    this.objectMapper = objectMapper;
+  }
+
+  @GetMapping("/v1/payments")
+  public ResponseEntity<StreamingResponseBody> exportPayments(
+      @RequestParam(required = false) String status,
+      @RequestParam(required = false) String currency,
+      @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) OffsetDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) OffsetDateTime to,
+      @RequestParam(required = false) UUID after,
+      @RequestParam(defaultValue = "1000") int limit) {
+    if (limit < 1 || limit > MAX_LIMIT) {
+      throw new PaymentValidationException(FIELD_LIMIT, String.format(LIMIT_INVALID, MAX_LIMIT));
+    }
+    PaymentQuery query = new PaymentQuery(parseStatus(status), currency,
+        toInstant(from), toInstant(to), after);
+    Stream<Payment> payments = listPaymentsUseCase.execute(query, limit);
+
+    StreamingResponseBody body = out -> {
+      try (payments) {
+        Iterator<Payment> iterator = payments.iterator();
+        while (iterator.hasNext()) {
+          out.write(objectMapper.writeValueAsBytes(apiMapper.toDetailsResponse(iterator.next())));
+          out.write('\n');
+        }
+      }
+    };
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(body);
+  }
+
+  private static PaymentStatus parseStatus(String status) {
+    if (status == null) {
+      return null;
+    }
+    return switch (status) {
+      case "Authorized" -> PaymentStatus.AUTHORIZED;
+      case "Declined" -> PaymentStatus.DECLINED;
+      case "Captured" -> PaymentStatus.CAPTURED;
+      case "Voided" -> PaymentStatus.VOIDED;
+      case "PartiallyRefunded" -> PaymentStatus.PARTIALLY_REFUNDED;
+      case "Refunded" -> PaymentStatus.REFUNDED;
+      default -> throw new PaymentValidationException(FIELD_STATUS, STATUS_INVALID);
+    };
+  }
+
+  private static Instant toInstant(OffsetDateTime dateTime) {
+    return dateTime != null ? dateTime.toInstant() : null;
+  }
+}
@@ -1,50 +1,115 @@
 package com.checkout.payment.gateway.controller;
 
+import static com.checkout.payment.gateway.exception.ValidationErrors.FIELD_IDS;
+import static com.checkout.payment.gateway.exception.ValidationErrors.IDS_COUNT_INVALID;
+
+import com.checkout.payment.gateway.api.model.PaymentLookupResponse;
 import com.checkout.payment.gateway.api.model.ProcessPaymentRequest;
-import com.checkout.payment.gateway.api.model.ProcessPaymentResponse;
+import com.checkout.payment.gateway.cache.PaymentResponseCache;
+import com.checkout.payment.gateway.cache.RenderedResponse;
+import com.checkout.payment.gateway.codec.PaymentFormat;
+import com.checkout.payment.gateway.exception.PaymentValidationException;
 import com.checkout.payment.gateway.mapper.PaymentApiMapper;
+import com.checkout.payment.gateway.metrics.PaymentMetrics;
+import com.checkout.payment.gateway.metrics.PaymentStage;
 import com.checkout.payment.gateway.model.Payment;
 import com.checkout.payment.gateway.usecase.GetPaymentByIdUseCase;
+import com.checkout.payment.gateway.usecase.GetPaymentsByIdsUseCase;
 import com.checkout.payment.gateway.usecase.ProcessPaymentUseCase;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.net.URI;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController("api")
 public class PaymentGatewayController {
 
+  static final int MAX_LOOKUP_IDS = 100;
+
   private final GetPaymentByIdUseCase getPaymentByIdUseCase;
+  private final GetPaymentsByIdsUseCase getPaymentsByIdsUseCase;
   private final ProcessPaymentUseCase processPaymentUseCase;
   private final PaymentApiMapper apiMapper;
+  private final PaymentResponseCache responseCache;
+  private final PaymentMetrics paymentMetrics;
 
   public PaymentGatewayController(GetPaymentByIdUseCase getPaymentByIdUseCase,
-      ProcessPaymentUseCase processPaymentUseCase, PaymentApiMapper apiMapper) {
+      GetPaymentsByIdsUseCase getPaymentsByIdsUseCase,
+      ProcessPaymentUseCase processPaymentUseCase, PaymentApiMapper apiMapper,
+      PaymentResponseCache responseCache, PaymentMetrics paymentMetrics) {
     this.getPaymentByIdUseCase = getPaymentByIdUseCase;
+    this.getPaymentsByIdsUseCase = getPaymentsByIdsUseCase;
     this.processPaymentUseCase = processPaymentUseCase;
     this.apiMapper = apiMapper;
+    this.responseCache = responseCache;
+    this.paymentMetrics = paymentMetrics;
   }
 
+  // ETag / If-None-Match is evaluated by Spring for GET ResponseEntity results (304 on match).
+  // JSON comes from the response cache; CBOR and Smile (per Accept) are rendered on each call.
   @GetMapping("/v1/payment/{id}")
-  public ResponseEntity<ProcessPaymentResponse> getPostPaymentEventById(@PathVariable UUID id) {
-    Payment payment = getPaymentByIdUseCase.execute(id);
-    return ResponseEntity.ok(apiMapper.toProcessResponse(payment));
+  public ResponseEntity<byte[]> getPostPaymentEventById(@PathVariable UUID id,
+      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+    PaymentFormat format = PaymentFormat.negotiate(accept);
+    RenderedResponse rendered = format == PaymentFormat.JSON
+        ? getPaymentByIdUseCase.execute(id, responseCache::get)
+        : responseCache.render(getPaymentByIdUseCase.execute(id), format);
+    return ResponseEntity.ok()
+        .eTag(rendered.etag())
+        .varyBy(HttpHeaders.ACCEPT)
+        .contentType(format.mediaType())
+        .body(rendered.body());
+  }
+
+  @GetMapping("/v1/payments/lookup")
+  public ResponseEntity<PaymentLookupResponse> getPaymentsByIds(
+      @RequestParam(required = false) List<UUID> ids) {
+    if (ids == null || ids.isEmpty() || ids.size() > MAX_LOOKUP_IDS) {
+      throw new PaymentValidationException(FIELD_IDS,
+          String.format(IDS_COUNT_INVALID, MAX_LOOKUP_IDS));
+    }
+    Set<UUID> requested = new LinkedHashSet<>(ids);
+    Map<UUID, Payment> found = getPaymentsByIdsUseCase.execute(requested);
+    return ResponseEntity.ok(new PaymentLookupResponse()
+        .payments(found.values().stream().map(apiMapper::toProcessResponse).toList())
+        .missing(requested.stream().filter(id -> !found.containsKey(id)).toList()));
   }
 
+  // The body may be JSON, CBOR or Smile (Content-Type); all go through the same deserializer
+  // and bean validation
   @PostMapping("/v1/payment")
-  public ResponseEntity<ProcessPaymentResponse> processPayment(
+  public ResponseEntity<byte[]> processPayment(
       @Valid @RequestBody ProcessPaymentRequest request,
-      @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+      @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+      HttpServletRequest servletRequest) {
+    PaymentFormat format = PaymentFormat.negotiate(accept);
     Payment payment = apiMapper.toDomain(request);
     payment.setIdempotencyKey(idempotencyKey);
+    payment.setClientIp(servletRequest.getRemoteAddr());
     Payment result = processPaymentUseCase.execute(payment);
+    RenderedResponse rendered = paymentMetrics.recordStage(PaymentStage.SERIALIZE,
+        () -> format == PaymentFormat.JSON
+            ? responseCache.put(result)
+            : responseCache.render(result, format));
     URI location = URI.create("/v1/payment/" + result.getId());
-    return ResponseEntity.created(location).body(apiMapper.toProcessResponse(result));
+    return ResponseEntity.created(location)
+        .eTag(rendered.etag())
+        .varyBy(HttpHeaders.ACCEPT)
+        .contentType(format.mediaType())
+        .body(rendered.body());
   }
 }
@@ -0,0 +1,75 @@
+package com.checkout.payment.gateway.controller;
+
+import com.checkout.payment.gateway.api.model.PaymentActionRequest;
+import com.checkout.payment.gateway.api.model.PaymentEventsResponse;
+import com.checkout.payment.gateway.api.model.ProcessPaymentResponse;
+import com.checkout.payment.gateway.cache.PaymentResponseCache;
+import com.checkout.payment.gateway.mapper.PaymentApiMapper;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.model.PaymentOperation;
+import com.checkout.payment.gateway.usecase.GetPaymentByIdUseCase;
+import com.checkout.payment.gateway.usecase.PaymentLifecycleUseCase;
+import jakarta.validation.Valid;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class PaymentLifecycleController {
+
+  private final PaymentLifecycleUseCase paymentLifecycleUseCase;
+  private final GetPaymentByIdUseCase getPaymentByIdUseCase;
+  private final PaymentApiMapper apiMapper;
+  private final PaymentResponseCache responseCache;
+
+  public PaymentLifecycleController(PaymentLifecycleUseCase paymentLifecycleUseCase,
+      GetPaymentByIdUseCase getPaymentByIdUseCase, PaymentApiMapper apiMapper,
+      PaymentResponseCache responseCache) {
+    this.paymentLifecycleUseCase = paymentLifecycleUseCase;
+    this.getPaymentByIdUseCase = getPaymentByIdUseCase;
+    this.apiMapper = apiMapper;
+    this.responseCache = responseCache;
+  }
+
+  @PostMapping("/v1/payment/{id}/capture")
+  public ResponseEntity<ProcessPaymentResponse> capture(@PathVariable UUID id,
+      @Valid @RequestBody(required = false) PaymentActionRequest request) {
+    return apply(id, PaymentOperation.CAPTURE, request);
+  }
+
+  @PostMapping("/v1/payment/{id}/void")
+  public ResponseEntity<ProcessPaymentResponse> voidPayment(@PathVariable UUID id) {
+    return apply(id, PaymentOperation.VOID, null);
+  }
+
+  @PostMapping("/v1/payment/{id}/refund")
+  public ResponseEntity<ProcessPaymentResponse> refund(@PathVariable UUID id,
+      @Valid @RequestBody(required = false) PaymentActionRequest request) {
+    return apply(id, PaymentOperation.REFUND, request);
+  }
+
+  @GetMapping("/v1/payment/{id}/events")
+  public ResponseEntity<PaymentEventsResponse> getEvents(@PathVariable UUID id) {
+    Payment payment = getPaymentByIdUseCase.execute(id);
+    return ResponseEntity.ok(new PaymentEventsResponse()
+        .id(payment.getId())
+        .events(payment.getEvents() != null
+            ? payment.getEvents().stream().map(apiMapper::toEventResponse).toList()
+            : List.of()));
+  }
+
+  // Evicting rather than re-populating the rendered response keeps a slower concurrent
+  // operation from caching a stale state; the next GET renders the stored version
+  private ResponseEntity<ProcessPaymentResponse> apply(UUID id, PaymentOperation operation,
+      PaymentActionRequest request) {
+    Payment payment = paymentLifecycleUseCase.execute(id, operation,
+        request != null ? request.getAmount() : null);
+    responseCache.evict(id);
+    return ResponseEntity.ok(apiMapper.toProcessResponse(payment));
+  }
+}
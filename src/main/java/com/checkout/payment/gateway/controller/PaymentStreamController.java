@@ -0,0 +1,40 @@
+package com.checkout.payment.gateway.controller;
+
+import com.checkout.payment.gateway.exception.ServiceUnavailableException;
+import com.checkout.payment.gateway.stream.PaymentEventStream;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+public class PaymentStreamController {
+
+  private final PaymentEventStream paymentEventStream;
+
+  public PaymentStreamController(PaymentEventStream paymentEventStream) {
+    this.paymentEventStream = paymentEventStream;
+  }
+
+  @GetMapping(value = "/v1/payments/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamEvents(
+      @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+    if (!paymentEventStream.isEnabled()) {
+      throw new ServiceUnavailableException("Payment event stream is disabled");
+    }
+    return paymentEventStream.subscribe(parseEventId(lastEventId));
+  }
+
+  // Browsers echo back whatever id they last saw; anything unusable starts a live stream
+  private static Long parseEventId(String lastEventId) {
+    if (lastEventId == null || lastEventId.isBlank()) {
+      return null;
+    }
+    try {
+      return Long.parseLong(lastEventId.trim());
+    } catch (NumberFormatException ex) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package com.checkout.payment.gateway.controller;
+
+import com.checkout.payment.gateway.api.model.ExpiryTotals;
+import com.checkout.payment.gateway.api.model.PaymentSummaryResponse;
+import com.checkout.payment.gateway.api.model.StatusCurrencyTotals;
+import com.checkout.payment.gateway.mapper.PaymentApiMapper;
+import com.checkout.payment.gateway.model.PaymentSummary;
+import com.checkout.payment.gateway.usecase.GetPaymentSummaryUseCase;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class PaymentSummaryController {
+
+  private final GetPaymentSummaryUseCase getPaymentSummaryUseCase;
+  private final PaymentApiMapper apiMapper;
+
+  public PaymentSummaryController(GetPaymentSummaryUseCase getPaymentSummaryUseCase,
+      PaymentApiMapper apiMapper) {
+    this.getPaymentSummaryUseCase = getPaymentSummaryUseCase;
+    this.apiMapper = apiMapper;
+  }
+
+  @GetMapping("/v1/payments/summary")
+  public ResponseEntity<PaymentSummaryResponse> getPaymentSummary() {
+    PaymentSummary summary = getPaymentSummaryUseCase.execute();
+    return ResponseEntity.ok(new PaymentSummaryResponse()
+        .byStatusAndCurrency(summary.byStatusAndCurrency().stream()
+            .map(t -> new StatusCurrencyTotals()
+                .status(apiMapper.mapToProcessStatus(t.status()).getValue())
+                .currency(t.currency())
+                .count(t.count())
+                .amount(t.amount()))
+            .toList())
+        .byExpiry(summary.byExpiry().stream()
+            .map(t -> new ExpiryTotals()
+                .expiry(t.expiry().toString())
+                .currency(t.currency())
+                .count(t.count())
+                .amount(t.amount()))
+            .toList()));
+  }
+}
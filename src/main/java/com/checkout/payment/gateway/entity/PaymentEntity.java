@@ -1,5 +1,8 @@
 package com.checkout.payment.gateway.entity;
 
+import com.checkout.payment.gateway.model.PaymentEvent;
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 public class PaymentEntity {
@@ -7,11 +10,17 @@ public class PaymentEntity {
   private UUID id;
   private String status;
   private String cardNumberLastFour;
+  private String cardFingerprint;
   private int expiryMonth;
   private int expiryYear;
   private String currency;
   private int amount;
   private String idempotencyKey;
+  private Instant createdAt;
+  private long version;
+  private int capturedAmount;
+  private int refundedAmount;
+  private List<PaymentEvent> events;
 
   public UUID getId() {
     return id;
@@ -37,6 +46,14 @@ public class PaymentEntity {
     this.cardNumberLastFour = cardNumberLastFour;
   }
 
+  public String getCardFingerprint() {
+    return cardFingerprint;
+  }
+
+  public void setCardFingerprint(String cardFingerprint) {
+    this.cardFingerprint = cardFingerprint;
+  }
+
   public int getExpiryMonth() {
     return expiryMonth;
   }
@@ -76,4 +93,44 @@ public class PaymentEntity {
   public void setIdempotencyKey(String idempotencyKey) {
     this.idempotencyKey = idempotencyKey;
   }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(Instant createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
+  public int getCapturedAmount() {
+    return capturedAmount;
+  }
+
+  public void setCapturedAmount(int capturedAmount) {
+    this.capturedAmount = capturedAmount;
+  }
+
+  public int getRefundedAmount() {
+    return refundedAmount;
+  }
+
+  public void setRefundedAmount(int refundedAmount) {
+    this.refundedAmount = refundedAmount;
+  }
+
+  public List<PaymentEvent> getEvents() {
+    return events;
+  }
+
+  public void setEvents(List<PaymentEvent> events) {
+    this.events = events;
+  }
 }
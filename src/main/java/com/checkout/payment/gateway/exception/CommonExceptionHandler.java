@@ -37,6 +37,24 @@ public class CommonExceptionHandler {
     return new ResponseEntity<>(errorResponse("Page not found"), HttpStatus.NOT_FOUND);
   }
 
+  @ExceptionHandler(PaymentStateException.class)
+  public ResponseEntity<ErrorResponse> handlePaymentStateException(PaymentStateException ex) {
+    LOG.warn("Payment state conflict: {}", ex.getMessage());
+    return new ResponseEntity<>(errorResponse(ex.getMessage()), HttpStatus.CONFLICT);
+  }
+
+  @ExceptionHandler(ServiceUnavailableException.class)
+  public ResponseEntity<ErrorResponse> handleServiceUnavailable(ServiceUnavailableException ex) {
+    LOG.warn("Service unavailable: {}", ex.getMessage());
+    return new ResponseEntity<>(errorResponse(ex.getMessage()), HttpStatus.SERVICE_UNAVAILABLE);
+  }
+
+  @ExceptionHandler(RateLimitExceededException.class)
+  public ResponseEntity<ErrorResponse> handleRateLimitExceeded(RateLimitExceededException ex) {
+    LOG.warn("Rate limit exceeded: {}", ex.getMessage());
+    return new ResponseEntity<>(errorResponse(ex.getMessage()), HttpStatus.TOO_MANY_REQUESTS);
+  }
+
   @ExceptionHandler(CallNotPermittedException.class)
   public ResponseEntity<ErrorResponse> handleCircuitBreakerOpen(CallNotPermittedException ex) {
     LOG.warn("Circuit breaker open: {}", ex.getMessage());
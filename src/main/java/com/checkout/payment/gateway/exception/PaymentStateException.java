@@ -0,0 +1,7 @@
+package com.checkout.payment.gateway.exception;
+
+public class PaymentStateException extends RuntimeException {
+  public PaymentStateException(String message) {
+    super(message);
+  }
+}
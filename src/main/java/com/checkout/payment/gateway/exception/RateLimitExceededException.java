@@ -0,0 +1,7 @@
+package com.checkout.payment.gateway.exception;
+
+public class RateLimitExceededException extends RuntimeException {
+  public RateLimitExceededException(String message) {
+    super(message);
+  }
+}
@@ -10,14 +10,51 @@ public final class ValidationErrors {
   public static final String FIELD_CARD_NUMBER = "cardNumber";
   public static final String FIELD_EXPIRY_DATE = "expiryDate";
   public static final String FIELD_CURRENCY = "currency";
+  public static final String FIELD_AMOUNT = "amount";
+  public static final String FIELD_CLIENT = "client";
+  public static final String FIELD_STATUS = "status";
+  public static final String FIELD_AFTER = "after";
+  public static final String FIELD_LIMIT = "limit";
+  public static final String FIELD_IDS = "ids";
 
   // Error descriptions
   public static final String CARD_NUMBER_INVALID_LUHN =
       "Card number failed Luhn check";
   public static final String EXPIRY_DATE_IN_FUTURE =
       "Card expiry date must be in the future";
+  public static final String CARD_BIN_NOT_SUPPORTED =
+      "Card BIN is not supported for this currency";
+  public static final String CARD_BIN_BLOCKED =
+      "Card BIN is not accepted";
+  public static final String CARD_NUMBER_LENGTH_INVALID =
+      "Card number length is not valid for the card scheme";
+  public static final String AMOUNT_OUT_OF_RANGE =
+      "Amount is outside the accepted range for this currency";
+  public static final String VELOCITY_CARD_EXCEEDED =
+      "Too many payments with this card, try again later";
+  public static final String VELOCITY_CLIENT_EXCEEDED =
+      "Too many payments from this client, try again later";
+  public static final String DUPLICATE_PAYMENT =
+      "An identical payment was just submitted; retry with an Idempotency-Key";
   public static final String CURRENCY_INVALID =
       "Invalid value. Accepted values are: GBP, USD, EUR";
+  public static final String BATCH_SIZE_INVALID =
+      "Batch must contain between 1 and %d payments";
+  public static final String STATUS_INVALID =
+      "Invalid value. Accepted values are: Authorized, Declined, Captured, Voided,"
+          + " PartiallyRefunded, Refunded";
+  public static final String CAPTURE_AMOUNT_INVALID =
+      "Capture amount must be between 1 and %d";
+  public static final String REFUND_AMOUNT_INVALID =
+      "Refund amount must be between 1 and %d";
+  public static final String TRANSITION_NOT_ALLOWED =
+      "Cannot %s a payment that is %s";
+  public static final String CURSOR_UNKNOWN =
+      "No payment exists with this ID";
+  public static final String LIMIT_INVALID =
+      "Limit must be between 1 and %d";
+  public static final String IDS_COUNT_INVALID =
+      "Between 1 and %d payment IDs must be supplied";
 
   private ValidationErrors() {
   }
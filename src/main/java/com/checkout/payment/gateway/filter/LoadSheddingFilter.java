@@ -0,0 +1,180 @@
+package com.checkout.payment.gateway.filter;
+
+import com.checkout.payment.gateway.admission.LoadShedder;
+import com.checkout.payment.gateway.admission.RouteClass;
+import com.checkout.payment.gateway.configuration.LoadSheddingProperties;
+import com.checkout.payment.gateway.repository.PaymentRepository;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+// Sheds requests that would time out anyway instead of letting them queue behind a slow bank.
+// Each request's deadline comes from X-Request-Timeout (milliseconds) or the configured default,
+// minus any time it already spent upstream according to X-Request-Start. GETs and idempotent
+// replays wait in a line of their own that is served before new authorizations. Runs after
+// rate limiting, so a client over its limit gets 429 without taking a place in line. Batch
+// requests skip the filter; the batch use case queues their items one by one on the same
+// LoadShedder instead. The streamed export keeps its slot until the async response completes,
+// not just the dispatch.
+@Component
+@Order(RateLimitFilter.ORDER + 1)
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+  static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout";
+  static final String REQUEST_START_HEADER = "X-Request-Start";
+  static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+  // Long-lived SSE connections would hold a slot for as long as the client listens
+  private static final String EVENT_STREAM_PATH = "/v1/payments/events";
+  private static final String BATCH_PATH = "/v1/payments/batch";
+  private static final String EXPORT_PATH = "/v1/payments";
+
+  private final LoadSheddingProperties properties;
+  private final LoadShedder loadShedder;
+  private final PaymentRepository paymentRepository;
+  private final Clock clock;
+
+  public LoadSheddingFilter(LoadSheddingProperties properties, LoadShedder loadShedder,
+      PaymentRepository paymentRepository, Clock clock) {
+    this.properties = properties;
+    this.loadShedder = loadShedder;
+    this.paymentRepository = paymentRepository;
+    this.clock = clock;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    String uri = request.getRequestURI();
+    return !properties.isEnabled() || !uri.startsWith("/v1/payment")
+        || uri.startsWith(EVENT_STREAM_PATH) || uri.startsWith(BATCH_PATH);
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    long arrived = System.nanoTime();
+    boolean priority = isPriority(request);
+    RouteClass route = routeClass(request);
+    if (!loadShedder.acquire(priority, route, arrived, arrived + deadlineNanos(request))) {
+      shed(response, loadShedder.estimatedWaitNanos(priority, route));
+      return;
+    }
+    long started = System.nanoTime();
+    boolean async = false;
+    try {
+      filterChain.doFilter(request, response);
+      async = request.isAsyncStarted();
+    } finally {
+      if (async) {
+        request.getAsyncContext().addListener(new ReleaseOnCompletion(route, started));
+      } else {
+        loadShedder.release(route, started);
+      }
+    }
+  }
+
+  private static RouteClass routeClass(HttpServletRequest request) {
+    if (request.getRequestURI().equals(EXPORT_PATH)) {
+      return RouteClass.EXPORT;
+    }
+    String method = request.getMethod();
+    return "GET".equals(method) || "HEAD".equals(method) ? RouteClass.READ : RouteClass.WRITE;
+  }
+
+  private boolean isPriority(HttpServletRequest request) {
+    String method = request.getMethod();
+    if ("GET".equals(method) || "HEAD".equals(method)) {
+      return true;
+    }
+    String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+    return "POST".equals(method) && idempotencyKey != null
+        && paymentRepository.findByIdempotencyKey(idempotencyKey).isPresent();
+  }
+
+  // Time left on the client's clock; malformed or non-positive timeouts fall back to the
+  // default deadline and larger ones are capped, so arrived + deadline cannot overflow
+  private long deadlineNanos(HttpServletRequest request) {
+    long deadline = properties.getDefaultDeadline().toNanos();
+    String timeout = request.getHeader(REQUEST_TIMEOUT_HEADER);
+    if (timeout != null) {
+      try {
+        long timeoutMillis = Long.parseLong(timeout.trim());
+        if (timeoutMillis > 0) {
+          deadline = Math.min(TimeUnit.MILLISECONDS.toNanos(timeoutMillis),
+              properties.getMaxDeadline().toNanos());
+        }
+      } catch (NumberFormatException ex) {
+        // keep the default
+      }
+    }
+    String start = request.getHeader(REQUEST_START_HEADER);
+    if (start != null) {
+      try {
+        // nginx and most load balancers send "t=<epoch millis>"
+        long startMillis = Long.parseLong(start.trim().replaceFirst("^t=", ""));
+        deadline -= TimeUnit.MILLISECONDS.toNanos(Math.max(0, clock.millis() - startMillis));
+      } catch (NumberFormatException ex) {
+        // no upstream queue time
+      }
+    }
+    return deadline;
+  }
+
+  private void shed(HttpServletResponse response, long estimatedWaitNanos) throws IOException {
+    long retryAfterSeconds = TimeUnit.NANOSECONDS.toSeconds(estimatedWaitNanos) + 1;
+    response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+    response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.getWriter().write("{\"message\":\"" + LoadShedder.OVERLOADED + "\"}");
+  }
+
+  // Frees the slot of an async request once its response is done; error and timeout are
+  // followed by complete, so the flag keeps the release to one
+  private final class ReleaseOnCompletion implements AsyncListener {
+
+    private final RouteClass route;
+    private final long started;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    ReleaseOnCompletion(RouteClass route, long started) {
+      this.route = route;
+      this.started = started;
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+      release();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+      release();
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+      release();
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+    }
+
+    private void release() {
+      if (released.compareAndSet(false, true)) {
+        loadShedder.release(route, started);
+      }
+    }
+  }
+}
@@ -1,30 +1,29 @@
 package com.checkout.payment.gateway.filter;
 
-import com.checkout.payment.gateway.configuration.RateLimitProperties;
-import com.checkout.payment.gateway.configuration.RateLimitProperties.EndpointLimit;
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
+import com.checkout.payment.gateway.admission.ClientRateLimiter;
 import io.github.bucket4j.ConsumptionProbe;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.time.Duration;
-import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 @Component
+@Order(RateLimitFilter.ORDER)
 public class RateLimitFilter extends OncePerRequestFilter {
 
-  private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
-  private final RateLimitProperties properties;
+  // LoadSheddingFilter runs right after, so throttled clients never take a place in its line
+  public static final int ORDER = 0;
 
-  public RateLimitFilter(RateLimitProperties properties) {
-    this.properties = properties;
+  private final ClientRateLimiter rateLimiter;
+
+  public RateLimitFilter(ClientRateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter;
   }
 
   @Override
@@ -35,12 +34,7 @@ public class RateLimitFilter extends OncePerRequestFilter {
   @Override
   protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
       FilterChain filterChain) throws ServletException, IOException {
-    String key = request.getRemoteAddr() + ":" + request.getMethod();
-    EndpointLimit limit = "POST".equals(request.getMethod())
-        ? properties.getPost() : properties.getGet();
-    Bucket bucket = buckets.computeIfAbsent(key, k -> buildBucket(limit));
-
-    ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+    ConsumptionProbe probe = rateLimiter.tryConsume(request.getRemoteAddr(), request.getMethod());
     if (probe.isConsumed()) {
       response.setHeader("X-Rate-Limit-Remaining", String.valueOf(probe.getRemainingTokens()));
       filterChain.doFilter(request, response);
@@ -52,17 +46,4 @@ public class RateLimitFilter extends OncePerRequestFilter {
       response.getWriter().write("{\"message\":\"Rate limit exceeded. Try again later.\"}");
     }
   }
-
-  private Bucket buildBucket(EndpointLimit limit) {
-    return Bucket.builder()
-        .addLimit(Bandwidth.builder()
-            .capacity(limit.getCapacity())
-            .refillGreedy(limit.getRefillRate(), Duration.ofSeconds(1))
-            .build())
-        .build();
-  }
-
-  public void clearBuckets() {
-    buckets.clear();
-  }
 }
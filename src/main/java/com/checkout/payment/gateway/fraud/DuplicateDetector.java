@@ -0,0 +1,121 @@
+package com.checkout.payment.gateway.fraud;
+
+import com.checkout.payment.gateway.configuration.DuplicateDetectionProperties;
+import com.checkout.payment.gateway.configuration.DuplicateDetectionProperties.Mode;
+import com.checkout.payment.gateway.metrics.PaymentMetrics;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.validation.ValidationResult;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+// Catches retries sent without an Idempotency-Key: the same card fingerprint, amount, currency
+// and client within the window. Every claim goes into an exact map that expires entries after the
+// window, and only a key found there is a duplicate. A timestamp Bloom filter remembers when each
+// key was last claimed, so the common "not seen within the window" case skips the map lookup.
+// A filter false positive only costs that lookup. Both are sized from peak TPS × window, so
+// memory stays bounded under any load.
+@Component
+public class DuplicateDetector {
+
+  private static final Logger LOG = LoggerFactory.getLogger(DuplicateDetector.class);
+  private static final Screening UNCHECKED = new Screening(ValidationResult.VALID, false);
+  private static final Screening CLAIMED = new Screening(ValidationResult.VALID, true);
+  private static final Screening FLAGGED = new Screening(ValidationResult.VALID, false);
+  private static final Screening BLOCKED =
+      new Screening(ValidationResult.DUPLICATE_PAYMENT, false);
+  private static final int STRIPES = 64;
+
+  private final Mode mode;
+  private final long windowMillis;
+  private final TimestampBloomFilter filter;
+  private final Cache<String, Long> claimed;
+  // Serializes check and claim per key, so of two identical concurrent requests exactly one
+  // passes, without a lock shared by every payment
+  private final Object[] stripes = new Object[STRIPES];
+  private final PaymentMetrics paymentMetrics;
+  private final Clock clock;
+
+  public DuplicateDetector(DuplicateDetectionProperties properties,
+      PaymentMetrics paymentMetrics, Clock clock) {
+    this.mode = properties.getMode();
+    this.windowMillis = properties.getWindow().toMillis();
+    this.paymentMetrics = paymentMetrics;
+    this.clock = clock;
+    if (mode == Mode.OFF) {
+      this.filter = null;
+      this.claimed = null;
+      return;
+    }
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new Object();
+    }
+    long expectedKeys = Math.max(1, properties.getPeakTps() * properties.getWindow().toSeconds());
+    this.filter = new TimestampBloomFilter(expectedKeys, properties.getFalsePositiveRate());
+    this.claimed = Caffeine.newBuilder()
+        .maximumSize(expectedKeys)
+        .expireAfterWrite(properties.getWindow())
+        .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+        .build();
+    LOG.info("Duplicate detection {} — window={}, {} KiB of filter, up to {} exact entries",
+        mode, properties.getWindow(), filter.memoryBytes() / 1024, expectedKeys);
+  }
+
+  // Claims the payment's key; a payment whose key is still claimed within the window is a
+  // duplicate. A filter "maybe" without a claim in the map is a false positive and passes.
+  public Screening screen(Payment payment) {
+    if (mode == Mode.OFF || payment.getIdempotencyKey() != null) {
+      return UNCHECKED;
+    }
+    long now = clock.millis();
+    String key = key(payment);
+    long hash = VelocityChecker.hash(key);
+    synchronized (stripe(hash)) {
+      if (!filter.addedAfter(hash, now - windowMillis)
+          || claimed.getIfPresent(key) == null) {
+        claimed.put(key, now);
+        filter.add(hash, now);
+        return CLAIMED;
+      }
+    }
+    paymentMetrics.recordDuplicateDetected(mode.name());
+    LOG.warn("Duplicate payment within the {} ms window — action={}", windowMillis, mode);
+    return mode == Mode.BLOCK ? BLOCKED : FLAGGED;
+  }
+
+  // Frees the key of a claimed payment that never reached a final status, so a retry is not
+  // blocked. A flagged duplicate holds no claim, so releasing it leaves the original's in place.
+  public void release(Payment payment, Screening screening) {
+    if (!screening.claimant()) {
+      return;
+    }
+    String key = key(payment);
+    synchronized (stripe(VelocityChecker.hash(key))) {
+      claimed.invalidate(key);
+    }
+  }
+
+  int claimedSize() {
+    return claimed.asMap().size();
+  }
+
+  private Object stripe(long hash) {
+    return stripes[(int) hash & (STRIPES - 1)];
+  }
+
+  private static String key(Payment payment) {
+    String card = payment.getCardFingerprint() != null
+        ? payment.getCardFingerprint()
+        : payment.getCardNumber();
+    return card + '|' + payment.getAmount() + '|' + payment.getCurrency() + '|'
+        + payment.getClientIp();
+  }
+
+  // Outcome of screening; only the claimant of a key may release it
+  public record Screening(ValidationResult result, boolean claimant) {
+  }
+}
@@ -0,0 +1,112 @@
+package com.checkout.payment.gateway.fraud;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Count-min sketch per time bucket, held in a ring of buckets covering one window. Memory is
+// fixed at buckets * depth * width longs whatever the number of keys. Estimates never
+// undercount except for adds racing with a bucket being recycled, and may overcount on hash
+// collisions. Writers only touch atomic cells, so there are no locks on the request path.
+final class SlidingWindowSketch {
+
+  private final int width;
+  private final int depth;
+  private final int buckets;
+  private final long bucketMillis;
+  private final AtomicLongArray[] cells;
+  private final AtomicLongArray epochs;
+
+  SlidingWindowSketch(long windowMillis, int buckets, int width, int depth) {
+    if (buckets < 1 || buckets > Long.SIZE) {
+      throw new IllegalArgumentException("Buckets must be between 1 and 64: " + buckets);
+    }
+    if (width < 1 || Integer.bitCount(width) != 1 || depth < 1) {
+      throw new IllegalArgumentException(
+          "Sketch width must be a power of two and depth positive: " + width + "x" + depth);
+    }
+    if (windowMillis < buckets) {
+      throw new IllegalArgumentException("Window too short for " + buckets + " buckets");
+    }
+    this.width = width;
+    this.depth = depth;
+    this.buckets = buckets;
+    this.bucketMillis = windowMillis / buckets;
+    this.cells = new AtomicLongArray[buckets];
+    for (int i = 0; i < buckets; i++) {
+      cells[i] = new AtomicLongArray(width * depth);
+    }
+    this.epochs = new AtomicLongArray(buckets);
+    for (int i = 0; i < buckets; i++) {
+      epochs.set(i, Long.MIN_VALUE);
+    }
+  }
+
+  void add(long hash, long value, long nowMillis) {
+    long epoch = nowMillis / bucketMillis;
+    AtomicLongArray bucket = bucket(epoch);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32) | 1;
+    for (int row = 0; row < depth; row++) {
+      bucket.addAndGet(row * width + ((h1 + row * h2) & (width - 1)), value);
+    }
+  }
+
+  // Takes back an add made at recordedAtMillis. Once that bucket has been recycled the add has
+  // expired with it and nothing is taken; a recycle racing with this can leave its cells short
+  // by value until the slot is recycled again.
+  void remove(long hash, long value, long recordedAtMillis) {
+    long epoch = recordedAtMillis / bucketMillis;
+    int slot = (int) Math.floorMod(epoch, (long) buckets);
+    if (epochs.get(slot) != epoch) {
+      return;
+    }
+    AtomicLongArray bucket = cells[slot];
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32) | 1;
+    for (int row = 0; row < depth; row++) {
+      bucket.addAndGet(row * width + ((h1 + row * h2) & (width - 1)), -value);
+    }
+  }
+
+  long estimate(long hash, long nowMillis) {
+    long epoch = nowMillis / bucketMillis;
+    long live = 0;
+    for (int slot = 0; slot < buckets; slot++) {
+      long bucketEpoch = epochs.get(slot);
+      if (bucketEpoch > epoch - buckets && bucketEpoch <= epoch) {
+        live |= 1L << slot;
+      }
+    }
+    if (live == 0) {
+      return 0;
+    }
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32) | 1;
+    long min = Long.MAX_VALUE;
+    for (int row = 0; row < depth; row++) {
+      int index = row * width + ((h1 + row * h2) & (width - 1));
+      long sum = 0;
+      for (long remaining = live; remaining != 0; remaining &= remaining - 1) {
+        sum += cells[Long.numberOfTrailingZeros(remaining)].get(index);
+      }
+      min = Math.min(min, sum);
+    }
+    return min;
+  }
+
+  long memoryBytes() {
+    return (long) buckets * width * depth * Long.BYTES;
+  }
+
+  // The first writer into a new epoch claims the slot and clears what it held a window ago
+  private AtomicLongArray bucket(long epoch) {
+    int slot = (int) Math.floorMod(epoch, (long) buckets);
+    long current = epochs.get(slot);
+    if (current < epoch && epochs.compareAndSet(slot, current, epoch)) {
+      AtomicLongArray bucket = cells[slot];
+      for (int i = 0; i < bucket.length(); i++) {
+        bucket.set(i, 0);
+      }
+    }
+    return cells[slot];
+  }
+}
@@ -0,0 +1,66 @@
+package com.checkout.payment.gateway.fraud;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bloom filter whose cells hold the time they were last set instead of a single bit. A key can
+// only have been added after a given time if every one of its cells was set after it, so a
+// "not since" answer is exact to the millisecond and nothing has to be rotated or cleared.
+// Memory is fixed at 8 bytes per cell.
+final class TimestampBloomFilter {
+
+  private final int cells;
+  private final int hashes;
+  private final AtomicLongArray times;
+
+  TimestampBloomFilter(long expectedKeys, double falsePositiveRate) {
+    if (expectedKeys < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+      throw new IllegalArgumentException("Expected keys must be positive and the false positive"
+          + " rate between 0 and 1");
+    }
+    double ln2 = Math.log(2);
+    long optimalCells = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate)
+        / (ln2 * ln2));
+    this.cells = (int) Math.min(1 << 30, Math.max(optimalCells, 64));
+    this.hashes = Math.max(1, (int) Math.round((double) cells / expectedKeys * ln2));
+    this.times = new AtomicLongArray(cells);
+    for (int i = 0; i < cells; i++) {
+      times.set(i, Long.MIN_VALUE);
+    }
+  }
+
+  // False only if the key was certainly not added after sinceMillis
+  boolean addedAfter(long hash, long sinceMillis) {
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32) | 1;
+    for (int i = 0; i < hashes; i++) {
+      if (times.get(index(h1 + i * h2)) <= sinceMillis) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  void add(long hash, long nowMillis) {
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32) | 1;
+    for (int i = 0; i < hashes; i++) {
+      int index = index(h1 + i * h2);
+      if (times.get(index) < nowMillis) {
+        times.accumulateAndGet(index, nowMillis, Math::max);
+      }
+    }
+  }
+
+  int hashes() {
+    return hashes;
+  }
+
+  long memoryBytes() {
+    return (long) cells * Long.BYTES;
+  }
+
+  // Maps a 32-bit hash onto [0, cells) with a multiply and shift instead of a division
+  private int index(int hash) {
+    return (int) (((hash & 0xFFFFFFFFL) * cells) >>> 32);
+  }
+}
@@ -0,0 +1,195 @@
+package com.checkout.payment.gateway.fraud;
+
+import com.checkout.payment.gateway.configuration.VelocityProperties;
+import com.checkout.payment.gateway.configuration.VelocityProperties.Dimension;
+import com.checkout.payment.gateway.configuration.VelocityProperties.Rule;
+import com.checkout.payment.gateway.metrics.PaymentMetrics;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.validation.ValidationResult;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+// Pre-authorization velocity screen. Each configured rule keeps a sliding-window sketch of
+// payment counts per card or client IP, and of amounts per card or client IP and currency.
+// Cards are keyed by fingerprint when one is set and only ever stored as hashes.
+@Component
+public class VelocityChecker {
+
+  private static final Logger LOG = LoggerFactory.getLogger(VelocityChecker.class);
+  private static final int STRIPES = 64;
+
+  private final List<Limit> limits;
+  private final Object[] stripes = new Object[STRIPES];
+  private final PaymentMetrics paymentMetrics;
+  private final Clock clock;
+
+  public VelocityChecker(VelocityProperties properties, PaymentMetrics paymentMetrics,
+      Clock clock) {
+    this.paymentMetrics = paymentMetrics;
+    this.clock = clock;
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new Object();
+    }
+    List<Limit> compiled = new ArrayList<>();
+    long memory = 0;
+    for (Rule rule : properties.getRules()) {
+      Limit limit = Limit.of(rule, properties.getSketchWidth(), properties.getSketchDepth());
+      memory += limit.memoryBytes();
+      compiled.add(limit);
+    }
+    this.limits = List.copyOf(compiled);
+    if (!limits.isEmpty()) {
+      LOG.info("Velocity screening enabled — {} rules, {} KiB of sketches", limits.size(),
+          memory / 1024);
+    }
+  }
+
+  // Checks every rule first and only records the payment if all of them pass, so rejected
+  // attempts do not keep a card or client blocked. Check and record run under the stripe locks
+  // of the card and the client, so a parallel burst on one card or IP cannot all pass the check
+  // before any of it is recorded.
+  public ValidationResult screen(Payment payment) {
+    return screen(payment, clock.millis());
+  }
+
+  // As screen(payment), recording a passing payment at screenedAt so it can be released
+  public ValidationResult screen(Payment payment, long screenedAt) {
+    if (limits.isEmpty()) {
+      return ValidationResult.VALID;
+    }
+    long cardKey = hash(payment.getCardFingerprint() != null
+        ? payment.getCardFingerprint()
+        : payment.getCardNumber());
+    long clientKey = payment.getClientIp() != null ? hash(payment.getClientIp()) : cardKey;
+    long currencyKey = hash(payment.getCurrency());
+    // Always lock the lower stripe first, so two screens never wait on each other
+    int cardStripe = (int) cardKey & (STRIPES - 1);
+    int clientStripe = (int) clientKey & (STRIPES - 1);
+    synchronized (stripes[Math.min(cardStripe, clientStripe)]) {
+      synchronized (stripes[Math.max(cardStripe, clientStripe)]) {
+        return screen(payment, cardKey, clientKey, currencyKey, screenedAt);
+      }
+    }
+  }
+
+  // Takes back what a passing screen at screenedAt recorded, for a payment that never got the
+  // bank's decision, so a failed attempt does not use up the card's or client's limits.
+  public void release(Payment payment, long screenedAt) {
+    if (limits.isEmpty()) {
+      return;
+    }
+    long cardKey = hash(payment.getCardFingerprint() != null
+        ? payment.getCardFingerprint()
+        : payment.getCardNumber());
+    long clientKey = payment.getClientIp() != null ? hash(payment.getClientIp()) : cardKey;
+    long currencyKey = hash(payment.getCurrency());
+    int cardStripe = (int) cardKey & (STRIPES - 1);
+    int clientStripe = (int) clientKey & (STRIPES - 1);
+    synchronized (stripes[Math.min(cardStripe, clientStripe)]) {
+      synchronized (stripes[Math.max(cardStripe, clientStripe)]) {
+        for (Limit limit : limits) {
+          if (limit.dimension() == Dimension.CLIENT && payment.getClientIp() == null) {
+            continue;
+          }
+          long key = limit.dimension() == Dimension.CARD ? cardKey : clientKey;
+          limit.remove(key, mix(key ^ currencyKey), payment.getAmount(), screenedAt);
+        }
+      }
+    }
+  }
+
+  private ValidationResult screen(Payment payment, long cardKey, long clientKey,
+      long currencyKey, long now) {
+    for (Limit limit : limits) {
+      if (limit.dimension() == Dimension.CLIENT && payment.getClientIp() == null) {
+        continue;
+      }
+      long key = limit.dimension() == Dimension.CARD ? cardKey : clientKey;
+      if (!limit.allows(key, mix(key ^ currencyKey), payment.getAmount(), now)) {
+        paymentMetrics.recordVelocityRejected(limit.dimension().name(), limit.window());
+        LOG.info("Velocity limit exceeded — dimension={}, window={}",
+            limit.dimension(), limit.window());
+        return limit.dimension() == Dimension.CARD
+            ? ValidationResult.CARD_VELOCITY_EXCEEDED
+            : ValidationResult.CLIENT_VELOCITY_EXCEEDED;
+      }
+    }
+    for (Limit limit : limits) {
+      if (limit.dimension() == Dimension.CLIENT && payment.getClientIp() == null) {
+        continue;
+      }
+      long key = limit.dimension() == Dimension.CARD ? cardKey : clientKey;
+      limit.record(key, mix(key ^ currencyKey), payment.getAmount(), now);
+    }
+    return ValidationResult.VALID;
+  }
+
+  // FNV-1a followed by a 64-bit finalizer so both halves are usable as sketch hashes
+  static long hash(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    return mix(hash);
+  }
+
+  private static long mix(long value) {
+    long h = value;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  private record Limit(Dimension dimension, String window, long maxCount, long maxAmount,
+      SlidingWindowSketch counts, SlidingWindowSketch amounts) {
+
+    static Limit of(Rule rule, int width, int depth) {
+      long windowMillis = rule.getWindow().toMillis();
+      return new Limit(rule.getDimension(), rule.getWindow().toString(),
+          rule.getMaxCount() != null ? rule.getMaxCount() : Long.MAX_VALUE,
+          rule.getMaxAmount() != null ? rule.getMaxAmount() : Long.MAX_VALUE,
+          rule.getMaxCount() != null
+              ? new SlidingWindowSketch(windowMillis, rule.getBuckets(), width, depth)
+              : null,
+          rule.getMaxAmount() != null
+              ? new SlidingWindowSketch(windowMillis, rule.getBuckets(), width, depth)
+              : null);
+    }
+
+    boolean allows(long key, long amountKey, int amount, long now) {
+      return (counts == null || counts.estimate(key, now) + 1 <= maxCount)
+          && (amounts == null || amounts.estimate(amountKey, now) + amount <= maxAmount);
+    }
+
+    void record(long key, long amountKey, int amount, long now) {
+      if (counts != null) {
+        counts.add(key, 1, now);
+      }
+      if (amounts != null) {
+        amounts.add(amountKey, amount, now);
+      }
+    }
+
+    void remove(long key, long amountKey, int amount, long recordedAt) {
+      if (counts != null) {
+        counts.remove(key, 1, recordedAt);
+      }
+      if (amounts != null) {
+        amounts.remove(amountKey, amount, recordedAt);
+      }
+    }
+
+    long memoryBytes() {
+      return (counts != null ? counts.memoryBytes() : 0)
+          + (amounts != null ? amounts.memoryBytes() : 0);
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.checkout.payment.gateway.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import com.checkout.payment.gateway.warmup.WarmupContext;
+import org.slf4j.Marker;
+
+// Drops INFO and below on the warm-up thread, where every synthetic payment would log a few
+// lines. Requests served on other threads meanwhile keep their configured levels.
+public class WarmupLogFilter extends TurboFilter {
+
+  @Override
+  public FilterReply decide(Marker marker, Logger logger, Level level, String format,
+      Object[] params, Throwable t) {
+    return level != null && !level.isGreaterOrEqual(Level.WARN) && WarmupContext.isActive()
+        ? FilterReply.DENY
+        : FilterReply.NEUTRAL;
+  }
+}
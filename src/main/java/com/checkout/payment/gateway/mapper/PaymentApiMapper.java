@@ -1,11 +1,16 @@
 package com.checkout.payment.gateway.mapper;
 
 import com.checkout.payment.gateway.api.model.PaymentDetailsResponse;
+import com.checkout.payment.gateway.api.model.PaymentEventResponse;
 import com.checkout.payment.gateway.api.model.ProcessPaymentRequest;
 import com.checkout.payment.gateway.api.model.ProcessPaymentRequest.CurrencyEnum;
 import com.checkout.payment.gateway.api.model.ProcessPaymentResponse;
 import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.model.PaymentEvent;
 import com.checkout.payment.gateway.model.PaymentStatus;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -15,12 +20,23 @@ public interface PaymentApiMapper {
   @Mapping(target = "id", ignore = true)
   @Mapping(target = "status", ignore = true)
   @Mapping(target = "cardNumberLastFour", ignore = true)
+  @Mapping(target = "cardFingerprint", ignore = true)
+  @Mapping(target = "createdAt", ignore = true)
+  @Mapping(target = "binInfo", ignore = true)
+  @Mapping(target = "clientIp", ignore = true)
+  @Mapping(target = "version", ignore = true)
+  @Mapping(target = "capturedAmount", ignore = true)
+  @Mapping(target = "refundedAmount", ignore = true)
+  @Mapping(target = "events", ignore = true)
   Payment toDomain(ProcessPaymentRequest request);
 
   ProcessPaymentResponse toProcessResponse(Payment payment);
 
   PaymentDetailsResponse toDetailsResponse(Payment payment);
 
+  @Mapping(target = "status", expression = "java(mapToProcessStatus(event.status()).getValue())")
+  PaymentEventResponse toEventResponse(PaymentEvent event);
+
   default String map(CurrencyEnum currency) {
     return switch (currency) {
       case GBP -> "GBP";
@@ -29,11 +45,19 @@ public interface PaymentApiMapper {
     };
   }
 
+  default OffsetDateTime map(Instant instant) {
+    return instant != null ? instant.atOffset(ZoneOffset.UTC) : null;
+  }
+
   default ProcessPaymentResponse.StatusEnum mapToProcessStatus(PaymentStatus status) {
     return switch (status) {
       case AUTHORIZED -> ProcessPaymentResponse.StatusEnum.AUTHORIZED;
       case DECLINED -> ProcessPaymentResponse.StatusEnum.DECLINED;
       case REJECTED -> ProcessPaymentResponse.StatusEnum.REJECTED;
+      case CAPTURED -> ProcessPaymentResponse.StatusEnum.CAPTURED;
+      case VOIDED -> ProcessPaymentResponse.StatusEnum.VOIDED;
+      case PARTIALLY_REFUNDED -> ProcessPaymentResponse.StatusEnum.PARTIALLYREFUNDED;
+      case REFUNDED -> ProcessPaymentResponse.StatusEnum.REFUNDED;
     };
   }
 
@@ -41,6 +65,10 @@ public interface PaymentApiMapper {
     return switch (status) {
       case AUTHORIZED -> PaymentDetailsResponse.StatusEnum.AUTHORIZED;
       case DECLINED -> PaymentDetailsResponse.StatusEnum.DECLINED;
+      case CAPTURED -> PaymentDetailsResponse.StatusEnum.CAPTURED;
+      case VOIDED -> PaymentDetailsResponse.StatusEnum.VOIDED;
+      case PARTIALLY_REFUNDED -> PaymentDetailsResponse.StatusEnum.PARTIALLYREFUNDED;
+      case REFUNDED -> PaymentDetailsResponse.StatusEnum.REFUNDED;
       case REJECTED -> throw new IllegalArgumentException(
           "REJECTED status cannot be mapped to PaymentDetailsResponse");
     };
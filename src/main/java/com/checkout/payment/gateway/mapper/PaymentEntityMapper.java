@@ -13,6 +13,8 @@ public interface PaymentEntityMapper {
 
   @Mapping(target = "cardNumber", ignore = true)
   @Mapping(target = "cvv", ignore = true)
+  @Mapping(target = "binInfo", ignore = true)
+  @Mapping(target = "clientIp", ignore = true)
   Payment toDomain(PaymentEntity entity);
 
   default String map(PaymentStatus status) {
@@ -1,19 +1,45 @@
 package com.checkout.payment.gateway.metrics;
 
+import com.checkout.payment.gateway.configuration.StageMetricsProperties;
+import com.checkout.payment.gateway.model.BinInfo;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
-import java.util.concurrent.Callable;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
 public class PaymentMetrics {
 
+  private static final String UNKNOWN = "unknown";
+
   private final MeterRegistry meterRegistry;
+  private final Map<PaymentStage, Timer> stageTimers = new EnumMap<>(PaymentStage.class);
 
   public PaymentMetrics(MeterRegistry meterRegistry) {
+    this(meterRegistry, new StageMetricsProperties());
+  }
+
+  // Stage timers are registered up front: the hot path only looks them up in an EnumMap, and
+  // every stage shows up in Prometheus with zero counts before its first request
+  @Autowired
+  public PaymentMetrics(MeterRegistry meterRegistry, StageMetricsProperties stageProperties) {
     this.meterRegistry = meterRegistry;
+    for (PaymentStage stage : PaymentStage.values()) {
+      stageTimers.put(stage, Timer.builder("payment.stage.duration")
+          .tag("stage", stage.tag())
+          .publishPercentileHistogram(stageProperties.isPercentileHistogram())
+          .serviceLevelObjectives(stageProperties.getSlo().toArray(Duration[]::new))
+          .register(meterRegistry));
+    }
   }
 
   public void recordPaymentProcessed(String status, String currency) {
@@ -31,16 +57,164 @@ public class PaymentMetrics {
         .record(amount);
   }
 
+  // Issuer is left out on purpose: it would make the tag unbounded
+  public void recordBinLookup(BinInfo binInfo) {
+    Counter.builder("payment.bin.lookup")
+        .tag("scheme", binInfo != null && binInfo.scheme() != null ? binInfo.scheme() : UNKNOWN)
+        .tag("country",
+            binInfo != null && binInfo.country() != null ? binInfo.country() : UNKNOWN)
+        .register(meterRegistry)
+        .increment();
+  }
+
+  public void recordVelocityRejected(String dimension, String window) {
+    Counter.builder("payment.velocity.rejected")
+        .tag("dimension", dimension)
+        .tag("window", window)
+        .register(meterRegistry)
+        .increment();
+  }
+
+  public void recordDuplicateDetected(String action) {
+    Counter.builder("payment.duplicate.detected")
+        .tag("action", action)
+        .register(meterRegistry)
+        .increment();
+  }
+
+  public void recordLifecycleTransition(String operation, String status) {
+    Counter.builder("payment.lifecycle.transition")
+        .tag("operation", operation)
+        .tag("status", status)
+        .register(meterRegistry)
+        .increment();
+  }
+
+  public void recordLifecycleConflict(String operation) {
+    Counter.builder("payment.lifecycle.conflict")
+        .tag("operation", operation)
+        .register(meterRegistry)
+        .increment();
+  }
+
+  public void recordRoutingDecision(String acquirer, boolean failover) {
+    Counter.builder("payment.routing.decision")
+        .tag("acquirer", acquirer)
+        .tag("failover", String.valueOf(failover))
+        .register(meterRegistry)
+        .increment();
+  }
+
+  public void recordAcquirerFailure(String acquirer) {
+    Counter.builder("payment.routing.failure")
+        .tag("acquirer", acquirer)
+        .register(meterRegistry)
+        .increment();
+  }
+
+  public <T> void registerAcquirerGauges(String acquirer, T stats,
+      ToDoubleFunction<T> latencyMillis, ToDoubleFunction<T> successRate) {
+    Gauge.builder("payment.routing.latency.ewma", stats, latencyMillis)
+        .tag("acquirer", acquirer)
+        .baseUnit("milliseconds")
+        .register(meterRegistry);
+    Gauge.builder("payment.routing.success.rate", stats, successRate)
+        .tag("acquirer", acquirer)
+        .register(meterRegistry);
+  }
+
+  public void recordWebhookDelivery(String endpoint, String outcome, int events) {
+    Counter.builder("webhook.delivery")
+        .tag("endpoint", endpoint)
+        .tag("outcome", outcome)
+        .register(meterRegistry)
+        .increment(events);
+  }
+
+  public void recordWebhookBatchSize(String endpoint, int size) {
+    DistributionSummary.builder("webhook.batch.size")
+        .tag("endpoint", endpoint)
+        .register(meterRegistry)
+        .record(size);
+  }
+
+  // Time from the event being written to the outbox until the receiver acknowledged it
+  public void recordWebhookLag(String endpoint, Duration lag) {
+    Timer.builder("webhook.delivery.lag")
+        .tag("endpoint", endpoint)
+        .publishPercentiles(0.5, 0.99)
+        .register(meterRegistry)
+        .record(lag);
+  }
+
+  public <T> void registerWebhookQueueGauge(String endpoint, T queue,
+      ToDoubleFunction<T> depth) {
+    Gauge.builder("webhook.queue.depth", queue, depth)
+        .tag("endpoint", endpoint)
+        .register(meterRegistry);
+  }
+
+  public <T> void registerStreamSubscribersGauge(T subscribers,
+      ToDoubleFunction<T> count) {
+    Gauge.builder("payment.stream.subscribers", subscribers, count)
+        .register(meterRegistry);
+  }
+
+  public void recordStreamDisconnect(String reason) {
+    Counter.builder("payment.stream.disconnected")
+        .tag("reason", reason)
+        .register(meterRegistry)
+        .increment();
+  }
+
+  public void recordTailSamplingDecision(String decision) {
+    Counter.builder("tracing.tail.decision")
+        .tag("decision", decision)
+        .register(meterRegistry)
+        .increment();
+  }
+
+  public void recordLoadShed(String reason, String priority) {
+    Counter.builder("payment.load.shed")
+        .tag("reason", reason)
+        .tag("priority", priority)
+        .register(meterRegistry)
+        .increment();
+  }
+
+  // Time an admitted request waited in the load-shedding filter for a slot
+  public void recordLoadQueueWait(String priority, long nanos) {
+    Timer.builder("payment.load.queue.wait")
+        .tag("priority", priority)
+        .publishPercentiles(0.5, 0.99)
+        .register(meterRegistry)
+        .record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  public <T> void registerLoadGauges(T queue, ToDoubleFunction<T> inFlight,
+      ToDoubleFunction<T> queued) {
+    Gauge.builder("payment.load.inflight", queue, inFlight)
+        .register(meterRegistry);
+    Gauge.builder("payment.load.queued", queue, queued)
+        .register(meterRegistry);
+  }
+
   public void recordPaymentRetrieved(boolean found) {
+    recordPaymentRetrieved(found, 1);
+  }
+
+  public void recordPaymentRetrieved(boolean found, int count) {
     Counter.builder("payment.retrieved")
         .tag("found", String.valueOf(found))
         .register(meterRegistry)
-        .increment();
+        .increment(count);
   }
 
-  public <T> T recordBankCallDuration(Callable<T> callable) throws Exception {
-    Timer timer = Timer.builder("bank.authorization.duration")
-        .register(meterRegistry);
-    return timer.recordCallable(callable);
+  public <T> T recordStage(PaymentStage stage, Supplier<T> supplier) {
+    return stageTimers.get(stage).record(supplier);
+  }
+
+  public void recordStage(PaymentStage stage, Runnable runnable) {
+    stageTimers.get(stage).record(runnable);
   }
 }
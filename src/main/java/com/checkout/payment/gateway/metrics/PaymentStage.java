@@ -0,0 +1,21 @@
+package com.checkout.payment.gateway.metrics;
+
+// Steps of POST /v1/payment timed under payment.stage.duration
+public enum PaymentStage {
+  IDEMPOTENCY_CHECK("idempotency-check"),
+  VALIDATE("validate"),
+  BANK_AUTHORIZE("bank-authorize"),
+  SAVE("save"),
+  // Mapping to the API model and rendering the JSON body
+  SERIALIZE("serialize");
+
+  private final String tag;
+
+  PaymentStage(String tag) {
+    this.tag = tag;
+  }
+
+  public String tag() {
+    return tag;
+  }
+}
@@ -0,0 +1,4 @@
+package com.checkout.payment.gateway.model;
+
+public record BinInfo(String scheme, String issuer, String country) {
+}
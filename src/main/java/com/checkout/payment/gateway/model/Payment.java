@@ -1,5 +1,7 @@
 package com.checkout.payment.gateway.model;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 public class Payment {
@@ -8,12 +10,20 @@ public class Payment {
   private PaymentStatus status;
   private String cardNumber;
   private String cardNumberLastFour;
+  private String cardFingerprint;
   private int expiryMonth;
   private int expiryYear;
   private String currency;
   private int amount;
   private String cvv;
   private String idempotencyKey;
+  private String clientIp;
+  private Instant createdAt;
+  private BinInfo binInfo;
+  private long version;
+  private int capturedAmount;
+  private int refundedAmount;
+  private List<PaymentEvent> events;
 
   public UUID getId() {
     return id;
@@ -47,6 +57,14 @@ public class Payment {
     this.cardNumberLastFour = cardNumberLastFour;
   }
 
+  public String getCardFingerprint() {
+    return cardFingerprint;
+  }
+
+  public void setCardFingerprint(String cardFingerprint) {
+    this.cardFingerprint = cardFingerprint;
+  }
+
   public int getExpiryMonth() {
     return expiryMonth;
   }
@@ -95,6 +113,62 @@ public class Payment {
     this.idempotencyKey = idempotencyKey;
   }
 
+  public String getClientIp() {
+    return clientIp;
+  }
+
+  public void setClientIp(String clientIp) {
+    this.clientIp = clientIp;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(Instant createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public BinInfo getBinInfo() {
+    return binInfo;
+  }
+
+  public void setBinInfo(BinInfo binInfo) {
+    this.binInfo = binInfo;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
+  public int getCapturedAmount() {
+    return capturedAmount;
+  }
+
+  public void setCapturedAmount(int capturedAmount) {
+    this.capturedAmount = capturedAmount;
+  }
+
+  public int getRefundedAmount() {
+    return refundedAmount;
+  }
+
+  public void setRefundedAmount(int refundedAmount) {
+    this.refundedAmount = refundedAmount;
+  }
+
+  public List<PaymentEvent> getEvents() {
+    return events;
+  }
+
+  public void setEvents(List<PaymentEvent> events) {
+    this.events = events;
+  }
+
   @Override
   public String toString() {
     String maskedCardNumber = cardNumber != null
@@ -105,11 +179,17 @@ public class Payment {
         + ", status=" + status
         + ", cardNumber='" + maskedCardNumber + '\''
         + ", cardNumberLastFour='" + cardNumberLastFour + '\''
+        + ", cardFingerprint='" + cardFingerprint + '\''
         + ", expiryMonth=" + expiryMonth
         + ", expiryYear=" + expiryYear
         + ", currency='" + currency + '\''
         + ", amount=" + amount
         + ", cvv='***'"
+        + ", createdAt=" + createdAt
+        + ", binInfo=" + binInfo
+        + ", version=" + version
+        + ", capturedAmount=" + capturedAmount
+        + ", refundedAmount=" + refundedAmount
         + '}';
   }
 }
@@ -0,0 +1,8 @@
+package com.checkout.payment.gateway.model;
+
+import java.time.Instant;
+
+// One entry in a payment's history: the operation, the status it led to and the amount moved
+public record PaymentEvent(PaymentOperation operation, PaymentStatus status, int amount,
+    Instant occurredAt) {
+}
@@ -0,0 +1,8 @@
+package com.checkout.payment.gateway.model;
+
+public enum PaymentOperation {
+  AUTHORIZE,
+  CAPTURE,
+  VOID,
+  REFUND
+}
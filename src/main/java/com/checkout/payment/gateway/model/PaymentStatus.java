@@ -1,3 +1,11 @@
 package com.checkout.payment.gateway.model;
 
-public enum PaymentStatus { AUTHORIZED, DECLINED, REJECTED }
+public enum PaymentStatus {
+  AUTHORIZED,
+  DECLINED,
+  REJECTED,
+  CAPTURED,
+  VOIDED,
+  PARTIALLY_REFUNDED,
+  REFUNDED
+}
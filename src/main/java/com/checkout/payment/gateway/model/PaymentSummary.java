@@ -0,0 +1,13 @@
+package com.checkout.payment.gateway.model;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public record PaymentSummary(List<StatusTotals> byStatusAndCurrency, List<ExpiryTotals> byExpiry) {
+
+  public record StatusTotals(PaymentStatus status, String currency, long count, long amount) {
+  }
+
+  public record ExpiryTotals(YearMonth expiry, String currency, long count, long amount) {
+  }
+}
@@ -0,0 +1,32 @@
+package com.checkout.payment.gateway.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.checkout.payment.gateway.BankCall")
+@Label("Bank Call")
+@Description("One authorization attempt against an acquirer; retries are separate events")
+@Category({"Payment Gateway", "Bank"})
+@StackTrace(false)
+public final class BankCallEvent extends Event {
+
+  @Label("Payment Id")
+  public String paymentId;
+
+  @Label("Circuit Breaker")
+  public String circuitBreaker;
+
+  @Label("Circuit State")
+  public String circuitState;
+
+  @Label("Attempt")
+  public int attempt;
+
+  // AUTHORIZED, DECLINED or failed
+  @Label("Outcome")
+  public String outcome;
+}
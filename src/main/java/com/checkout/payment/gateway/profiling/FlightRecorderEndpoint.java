@@ -0,0 +1,146 @@
+package com.checkout.payment.gateway.profiling;
+
+import com.checkout.payment.gateway.configuration.FlightRecorderProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+// Controls one bounded JFR recording: the JDK's own events plus the payment events in this
+// package. Older data is discarded past max-age or max-size, so it can run permanently and
+// be dumped after a latency spike. POST start, stop or dump; GET shows the recording state.
+@Component
+@Endpoint(id = "flightrecorder")
+public class FlightRecorderEndpoint {
+
+  private static final Logger LOG = LoggerFactory.getLogger(FlightRecorderEndpoint.class);
+
+  static final String RECORDING_NAME = "payment-gateway";
+  private static final List<Class<? extends Event>> PAYMENT_EVENTS = List.of(
+      IdempotencyLookupEvent.class, ValidationEvent.class, BankCallEvent.class,
+      PaymentSaveEvent.class);
+  private static final DateTimeFormatter DUMP_NAME =
+      DateTimeFormatter.ofPattern("'payment-gateway-'yyyyMMdd-HHmmss-SSS'.jfr'");
+
+  private final FlightRecorderProperties properties;
+  private final Clock clock;
+  private Recording recording;
+
+  public FlightRecorderEndpoint(FlightRecorderProperties properties, Clock clock) {
+    this.properties = properties;
+    this.clock = clock;
+  }
+
+  @PostConstruct
+  void startOnStartup() {
+    if (properties.isStartOnStartup()) {
+      start();
+    }
+  }
+
+  @ReadOperation
+  public synchronized Map<String, Object> status() {
+    Map<String, Object> status = new LinkedHashMap<>();
+    status.put("state", recording == null ? "NEW" : recording.getState().name());
+    status.put("settings", properties.getSettings());
+    status.put("maxAge", properties.getMaxAge().toString());
+    status.put("maxSizeBytes", properties.getMaxSize().toBytes());
+    if (recording != null) {
+      status.put("startTime", String.valueOf(recording.getStartTime()));
+      status.put("sizeBytes", recording.getSize());
+    }
+    return status;
+  }
+
+  @WriteOperation
+  public synchronized Map<String, Object> control(@Selector String action) {
+    return switch (action) {
+      case "start" -> start();
+      case "stop" -> stop();
+      case "dump" -> dump();
+      default -> throw new InvalidEndpointRequestException("Unknown action: " + action,
+          "Action must be start, stop or dump");
+    };
+  }
+
+  synchronized Map<String, Object> start() {
+    if (recording != null && recording.getState() == RecordingState.RUNNING) {
+      return status();
+    }
+    close();
+    try {
+      recording = new Recording(Configuration.getConfiguration(properties.getSettings()));
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    } catch (ParseException ex) {
+      throw new IllegalStateException("Invalid JFR settings " + properties.getSettings(), ex);
+    }
+    recording.setName(RECORDING_NAME);
+    recording.setToDisk(true);
+    recording.setMaxAge(properties.getMaxAge());
+    recording.setMaxSize(properties.getMaxSize().toBytes());
+    PAYMENT_EVENTS.forEach(recording::enable);
+    recording.start();
+    LOG.info("Flight recording started — settings={}, maxAge={}, maxSize={}",
+        properties.getSettings(), properties.getMaxAge(), properties.getMaxSize());
+    return status();
+  }
+
+  synchronized Map<String, Object> stop() {
+    if (recording != null && recording.getState() == RecordingState.RUNNING) {
+      recording.stop();
+      LOG.info("Flight recording stopped");
+    }
+    return status();
+  }
+
+  // Works while running (a snapshot of the retained window) and after stop
+  synchronized Map<String, Object> dump() {
+    if (recording == null || recording.getState() == RecordingState.NEW) {
+      throw new InvalidEndpointRequestException("No flight recording to dump",
+          "Start a recording first");
+    }
+    Path file = Path.of(properties.getDumpDirectory())
+        .resolve(LocalDateTime.now(clock).format(DUMP_NAME));
+    try {
+      Files.createDirectories(file.getParent());
+      recording.dump(file);
+      Map<String, Object> status = status();
+      status.put("file", file.toAbsolutePath().toString());
+      status.put("fileSizeBytes", Files.size(file));
+      LOG.info("Flight recording dumped — file={}", file.toAbsolutePath());
+      return status;
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  @PreDestroy
+  synchronized void close() {
+    if (recording != null) {
+      recording.close();
+      recording = null;
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package com.checkout.payment.gateway.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.checkout.payment.gateway.IdempotencyLookup")
+@Label("Idempotency Lookup")
+@Description("Repository lookup of an Idempotency-Key before processing a payment")
+@Category({"Payment Gateway", "Processing"})
+@StackTrace(false)
+public final class IdempotencyLookupEvent extends Event {
+
+  @Label("Hit")
+  public boolean hit;
+}
@@ -0,0 +1,17 @@
+package com.checkout.payment.gateway.profiling;
+
+import com.checkout.payment.gateway.warmup.WarmupContext;
+import jdk.jfr.Event;
+
+public final class PaymentEvents {
+
+  private PaymentEvents() {
+  }
+
+  // Payments made up by the JIT warm-up stay out of the recording
+  public static void commit(Event event) {
+    if (event.shouldCommit() && !WarmupContext.isActive()) {
+      event.commit();
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package com.checkout.payment.gateway.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.checkout.payment.gateway.PaymentSave")
+@Label("Payment Save")
+@Description("Repository write of a processed payment")
+@Category({"Payment Gateway", "Processing"})
+@StackTrace(false)
+public final class PaymentSaveEvent extends Event {
+
+  @Label("Payment Id")
+  public String paymentId;
+
+  @Label("Status")
+  public String status;
+}
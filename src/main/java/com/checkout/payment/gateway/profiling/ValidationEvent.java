@@ -0,0 +1,23 @@
+package com.checkout.payment.gateway.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.checkout.payment.gateway.Validation")
+@Label("Payment Validation")
+@Description("Field validation and scheme rules for one payment")
+@Category({"Payment Gateway", "Processing"})
+@StackTrace(false)
+public final class ValidationEvent extends Event {
+
+  @Label("Valid")
+  public boolean valid;
+
+  // Only the failing field name, never its value
+  @Label("Field")
+  public String field;
+}
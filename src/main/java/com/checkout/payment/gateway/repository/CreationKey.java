@@ -0,0 +1,28 @@
+package com.checkout.payment.gateway.repository;
+
+import com.checkout.payment.gateway.entity.PaymentEntity;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.UUID;
+
+record CreationKey(Instant createdAt, UUID id) implements Comparable<CreationKey> {
+
+  private static final UUID MIN_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+
+  private static final Comparator<CreationKey> ORDER = Comparator
+      .comparing(CreationKey::createdAt)
+      .thenComparing(CreationKey::id);
+
+  static CreationKey of(PaymentEntity entity) {
+    return new CreationKey(entity.getCreatedAt(), entity.getId());
+  }
+
+  static CreationKey startOf(Instant createdAt) {
+    return new CreationKey(createdAt, MIN_ID);
+  }
+
+  @Override
+  public int compareTo(CreationKey other) {
+    return ORDER.compare(this, other);
+  }
+}
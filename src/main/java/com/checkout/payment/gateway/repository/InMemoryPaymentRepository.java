@@ -3,9 +3,20 @@ package com.checkout.payment.gateway.repository;
 import com.checkout.payment.gateway.entity.PaymentEntity;
 import com.checkout.payment.gateway.mapper.PaymentEntityMapper;
 import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.model.PaymentSummary;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -13,29 +24,123 @@ public class InMemoryPaymentRepository implements PaymentRepository {
 
   private final ConcurrentHashMap<UUID, PaymentEntity> payments = new ConcurrentHashMap<>();
   private final ConcurrentHashMap<String, UUID> idempotencyIndex = new ConcurrentHashMap<>();
+  private final ConcurrentSkipListMap<CreationKey, UUID> creationIndex =
+      new ConcurrentSkipListMap<>();
+  private final PaymentAggregates aggregates = new PaymentAggregates();
   private final PaymentEntityMapper entityMapper;
+  private final Clock clock;
 
-  public InMemoryPaymentRepository(PaymentEntityMapper entityMapper) {
+  public InMemoryPaymentRepository(PaymentEntityMapper entityMapper, Clock clock) {
     this.entityMapper = entityMapper;
+    this.clock = clock;
   }
 
   @Override
   public void save(Payment payment) {
     PaymentEntity entity = entityMapper.toEntity(payment);
-    payments.put(entity.getId(), entity);
+    if (entity.getCreatedAt() == null) {
+      PaymentEntity existing = payments.get(entity.getId());
+      entity.setCreatedAt(existing != null ? existing.getCreatedAt() : Instant.now(clock));
+    }
+    PaymentEntity previous = payments.put(entity.getId(), entity);
+    if (previous != null) {
+      aggregates.remove(previous);
+    }
+    aggregates.add(entity);
+    creationIndex.put(CreationKey.of(entity), entity.getId());
     if (entity.getIdempotencyKey() != null) {
       idempotencyIndex.put(entity.getIdempotencyKey(), entity.getId());
     }
   }
 
+  // The entity instance read is the CAS witness: ConcurrentHashMap.replace compares by
+  // identity here, so a concurrent update between the read and the replace makes it fail.
+  @Override
+  public boolean compareAndSave(Payment payment, long expectedVersion) {
+    PaymentEntity current = payments.get(payment.getId());
+    if (current == null || current.getVersion() != expectedVersion) {
+      return false;
+    }
+    PaymentEntity updated = entityMapper.toEntity(payment);
+    updated.setVersion(expectedVersion + 1);
+    updated.setCreatedAt(current.getCreatedAt());
+    updated.setIdempotencyKey(current.getIdempotencyKey());
+    if (!payments.replace(updated.getId(), current, updated)) {
+      return false;
+    }
+    aggregates.remove(current);
+    aggregates.add(updated);
+    return true;
+  }
+
   @Override
   public Optional<Payment> findById(UUID id) {
     return Optional.ofNullable(payments.get(id)).map(entityMapper::toDomain);
   }
 
+  @Override
+  public Map<UUID, Payment> findAllById(Collection<UUID> ids) {
+    Map<UUID, Payment> found = new LinkedHashMap<>();
+    for (UUID id : ids) {
+      PaymentEntity entity = payments.get(id);
+      if (entity != null) {
+        found.put(id, entityMapper.toDomain(entity));
+      }
+    }
+    return found;
+  }
+
   @Override
   public Optional<Payment> findByIdempotencyKey(String idempotencyKey) {
     return Optional.ofNullable(idempotencyIndex.get(idempotencyKey))
         .flatMap(this::findById);
   }
+
+  // Lazily walks the creation-time index; the skip list view is weakly consistent, so
+  // payments saved while the stream is consumed may or may not be included.
+  @Override
+  public Stream<Payment> findAll(PaymentQuery query) {
+    return range(query).values().stream()
+        .map(payments::get)
+        .filter(Objects::nonNull)
+        .filter(entity -> query.status() == null
+            || query.status().name().equals(entity.getStatus()))
+        .filter(entity -> query.currency() == null
+            || query.currency().equals(entity.getCurrency()))
+        .map(entityMapper::toDomain);
+  }
+
+  @Override
+  public PaymentSummary summarize() {
+    return aggregates.snapshot();
+  }
+
+  private NavigableMap<CreationKey, UUID> range(PaymentQuery query) {
+    CreationKey lower = query.from() != null ? CreationKey.startOf(query.from()) : null;
+    boolean lowerInclusive = true;
+    if (query.after() != null) {
+      PaymentEntity cursor = payments.get(query.after());
+      if (cursor != null) {
+        CreationKey afterKey = CreationKey.of(cursor);
+        if (lower == null || afterKey.compareTo(lower) >= 0) {
+          lower = afterKey;
+          lowerInclusive = false;
+        }
+      }
+    }
+    CreationKey upper = query.to() != null ? CreationKey.startOf(query.to()) : null;
+
+    if (lower != null && upper != null) {
+      return lower.compareTo(upper) < 0
+          ? creationIndex.subMap(lower, lowerInclusive, upper, false)
+          : Collections.emptyNavigableMap();
+    }
+    if (lower != null) {
+      return creationIndex.tailMap(lower, lowerInclusive);
+    }
+    if (upper != null) {
+      return creationIndex.headMap(upper, false);
+    }
+    return creationIndex;
+  }
 }
@@ -0,0 +1,77 @@
+package com.checkout.payment.gateway.repository;
+
+import com.checkout.payment.gateway.entity.PaymentEntity;
+import com.checkout.payment.gateway.model.PaymentStatus;
+import com.checkout.payment.gateway.model.PaymentSummary;
+import com.checkout.payment.gateway.model.PaymentSummary.ExpiryTotals;
+import com.checkout.payment.gateway.model.PaymentSummary.StatusTotals;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Running totals maintained on every save, so reports never scan the store. Count and amount
+// are separate adders: a summary taken during concurrent saves can be off by in-flight payments.
+final class PaymentAggregates {
+
+  private final ConcurrentHashMap<StatusKey, Totals> byStatusAndCurrency =
+      new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<ExpiryKey, Totals> byExpiry = new ConcurrentHashMap<>();
+
+  void add(PaymentEntity entity) {
+    apply(entity, 1);
+  }
+
+  void remove(PaymentEntity entity) {
+    apply(entity, -1);
+  }
+
+  PaymentSummary snapshot() {
+    List<StatusTotals> statusTotals = byStatusAndCurrency.entrySet().stream()
+        .map(e -> new StatusTotals(PaymentStatus.valueOf(e.getKey().status()),
+            e.getKey().currency(), e.getValue().count.sum(), e.getValue().amount.sum()))
+        .filter(t -> t.count() > 0)
+        .sorted(Comparator.comparing(StatusTotals::status)
+            .thenComparing(StatusTotals::currency))
+        .toList();
+    List<ExpiryTotals> expiryTotals = byExpiry.entrySet().stream()
+        .map(e -> new ExpiryTotals(e.getKey().expiry(), e.getKey().currency(),
+            e.getValue().count.sum(), e.getValue().amount.sum()))
+        .filter(t -> t.count() > 0)
+        .sorted(Comparator.comparing(ExpiryTotals::expiry)
+            .thenComparing(ExpiryTotals::currency))
+        .toList();
+    return new PaymentSummary(statusTotals, expiryTotals);
+  }
+
+  private void apply(PaymentEntity entity, int sign) {
+    byStatusAndCurrency
+        .computeIfAbsent(new StatusKey(entity.getStatus(), entity.getCurrency()),
+            k -> new Totals())
+        .add(sign, entity.getAmount());
+    byExpiry
+        .computeIfAbsent(new ExpiryKey(
+                YearMonth.of(entity.getExpiryYear(), entity.getExpiryMonth()),
+                entity.getCurrency()),
+            k -> new Totals())
+        .add(sign, entity.getAmount());
+  }
+
+  private record StatusKey(String status, String currency) {
+  }
+
+  private record ExpiryKey(YearMonth expiry, String currency) {
+  }
+
+  private static final class Totals {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder amount = new LongAdder();
+
+    void add(int sign, int value) {
+      count.add(sign);
+      amount.add((long) sign * value);
+    }
+  }
+}
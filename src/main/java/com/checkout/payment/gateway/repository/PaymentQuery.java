@@ -0,0 +1,9 @@
+package com.checkout.payment.gateway.repository;
+
+import com.checkout.payment.gateway.model.PaymentStatus;
+import java.time.Instant;
+import java.util.UUID;
+
+public record PaymentQuery(PaymentStatus status, String currency, Instant from, Instant to,
+    UUID after) {
+}
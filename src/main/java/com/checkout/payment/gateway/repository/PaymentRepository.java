@@ -1,14 +1,28 @@
 package com.checkout.payment.gateway.repository;
 
 import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.model.PaymentSummary;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface PaymentRepository {
 
   void save(Payment payment);
 
+  // Replaces the stored payment only if it is still at expectedVersion, bumping the version.
+  // Returns false when another update got there first.
+  boolean compareAndSave(Payment payment, long expectedVersion);
+
   Optional<Payment> findById(UUID id);
 
+  Map<UUID, Payment> findAllById(Collection<UUID> ids);
+
   Optional<Payment> findByIdempotencyKey(String idempotencyKey);
+
+  Stream<Payment> findAll(PaymentQuery query);
+
+  PaymentSummary summarize();
 }
@@ -0,0 +1,73 @@
+package com.checkout.payment.gateway.stream;
+
+import com.checkout.payment.gateway.webhook.WebhookEvent;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+// Fixed-size ring of the most recent events, written by a single producer and read by any number
+// of consumers, each tracking its own sequence. Sequences start at 1 and have no gaps. A slot
+// carries its sequence, so a reader that fell a full lap behind sees the mismatch instead of a
+// newer event.
+final class PaymentEventRing {
+
+  private final AtomicReferenceArray<Slot> slots;
+  private final int mask;
+  private volatile long cursor;
+
+  PaymentEventRing(int capacity) {
+    if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("Ring capacity must be a power of two: " + capacity);
+    }
+    this.slots = new AtomicReferenceArray<>(capacity);
+    this.mask = capacity - 1;
+  }
+
+  // Single producer only
+  long publish(WebhookEvent event) {
+    long sequence = cursor + 1;
+    slots.set((int) (sequence & mask), new Slot(sequence, event));
+    cursor = sequence;
+    return sequence;
+  }
+
+  // Sequence of the last published event, 0 before the first
+  long cursor() {
+    return cursor;
+  }
+
+  // Null when the sequence has not been published yet or has already been overwritten
+  Slot get(long sequence) {
+    Slot slot = slots.get((int) (sequence & mask));
+    return slot != null && slot.sequence == sequence ? slot : null;
+  }
+
+  static final class Slot {
+
+    private final long sequence;
+    private final WebhookEvent event;
+    private volatile String data;
+
+    private Slot(long sequence, WebhookEvent event) {
+      this.sequence = sequence;
+      this.event = event;
+    }
+
+    long sequence() {
+      return sequence;
+    }
+
+    WebhookEvent event() {
+      return event;
+    }
+
+    // Rendered once, by the first subscriber to read the slot; a race renders it twice at worst
+    String data(Function<WebhookEvent, String> renderer) {
+      String rendered = data;
+      if (rendered == null) {
+        rendered = renderer.apply(event);
+        data = rendered;
+      }
+      return rendered;
+    }
+  }
+}
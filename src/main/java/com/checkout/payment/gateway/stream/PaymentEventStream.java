@@ -0,0 +1,273 @@
+package com.checkout.payment.gateway.stream;
+
+import com.checkout.payment.gateway.configuration.PaymentStreamProperties;
+import com.checkout.payment.gateway.metrics.PaymentMetrics;
+import com.checkout.payment.gateway.webhook.WebhookEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// Fans payment status events out to SSE subscribers. The outbox publishes into a ring buffer
+// and only schedules a fan-out, so it never waits on a subscriber. Each subscriber reads the
+// ring at its own pace on the delivery pool, with at most one delivery task queued per
+// subscriber. Its buffer is the max-lag events behind the head; the fan-out thread disconnects
+// one that overflows it, even while its writer is still blocked. A send blocked for longer than
+// stall-timeout also gets the subscriber disconnected, and the pool starts a thread in place of
+// the stuck one, so a few slow clients cannot hold every delivery thread. Last-Event-ID
+// resumes up to max-lag events back; the rest of the ring is headroom so that a reader within
+// max-lag is never overtaken by the producer mid-run.
+@Component
+public class PaymentEventStream {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PaymentEventStream.class);
+
+  // Events sent per delivery task before yielding the thread to other subscribers
+  private static final int MAX_EVENTS_PER_RUN = 256;
+  private static final long NOT_SENDING = Long.MIN_VALUE;
+
+  private final PaymentEventRing ring;
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  private final AtomicBoolean fanOutScheduled = new AtomicBoolean();
+  private final PaymentStreamProperties properties;
+  private final ObjectMapper objectMapper;
+  private final PaymentMetrics paymentMetrics;
+  private final ThreadPoolExecutor delivery;
+  // Fan-out runs apart from delivery, so it still runs when every writer is blocked
+  private final ExecutorService fanOut;
+  private final AtomicInteger stalledWriters = new AtomicInteger();
+
+  public PaymentEventStream(PaymentStreamProperties properties, ObjectMapper objectMapper,
+      PaymentMetrics paymentMetrics) {
+    this.properties = properties;
+    this.objectMapper = objectMapper;
+    this.paymentMetrics = paymentMetrics;
+    this.ring = new PaymentEventRing(properties.getBufferSize());
+    if (properties.getMaxLag() < 1 || properties.getMaxLag() >= properties.getBufferSize()) {
+      throw new IllegalArgumentException("Stream max lag must be positive and below buffer size");
+    }
+    AtomicInteger threads = new AtomicInteger();
+    // Up to twice the configured threads while writers are stuck in a send
+    this.delivery = new ThreadPoolExecutor(properties.getDeliveryThreads(),
+        2 * properties.getDeliveryThreads(), 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+        runnable -> daemon(runnable, "payment-stream-" + threads.incrementAndGet()));
+    this.fanOut = Executors.newSingleThreadExecutor(
+        runnable -> daemon(runnable, "payment-stream-fanout"));
+    paymentMetrics.registerStreamSubscribersGauge(subscribers, Set::size);
+  }
+
+  public boolean isEnabled() {
+    return properties.isEnabled();
+  }
+
+  public SseEmitter subscribe(Long lastEventId) {
+    SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+    subscribe(lastEventId, emitter);
+    return emitter;
+  }
+
+  // Called by the outbox in order, from one thread at a time
+  public void publish(WebhookEvent event) {
+    ring.publish(event);
+    if (!subscribers.isEmpty() && fanOutScheduled.compareAndSet(false, true)) {
+      execute(fanOut, () -> {
+        fanOutScheduled.set(false);
+        long cursor = ring.cursor();
+        long now = System.nanoTime();
+        subscribers.forEach(subscriber -> subscriber.offer(cursor, now));
+      });
+    }
+  }
+
+  void subscribe(Long lastEventId, SseEmitter emitter) {
+    long cursor = ring.cursor();
+    long next = lastEventId == null || lastEventId >= cursor
+        ? cursor + 1
+        : Math.max(lastEventId + 1, cursor + 1 - properties.getMaxLag());
+    Subscriber subscriber = new Subscriber(emitter, next);
+    emitter.onCompletion(subscriber::close);
+    emitter.onTimeout(subscriber::close);
+    emitter.onError(error -> subscriber.close());
+    subscribers.add(subscriber);
+    LOG.debug("Stream subscriber added — from={}, subscribers={}", next, subscribers.size());
+    subscriber.schedule();
+  }
+
+  int subscriberCount() {
+    return subscribers.size();
+  }
+
+  int deliveryThreads() {
+    return delivery.getCorePoolSize();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    fanOut.shutdownNow();
+    delivery.shutdownNow();
+    subscribers.forEach(Subscriber::shutdown);
+  }
+
+  private static Thread daemon(Runnable runnable, String name) {
+    Thread thread = new Thread(runnable, name);
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  private static void execute(ExecutorService executor, Runnable task) {
+    try {
+      executor.execute(task);
+    } catch (RejectedExecutionException ex) {
+      LOG.debug("Stream delivery pool is shut down");
+    }
+  }
+
+  // One extra thread per writer stuck in a send, up to the pool's maximum
+  private synchronized void resizeDelivery() {
+    int base = properties.getDeliveryThreads();
+    delivery.setCorePoolSize(base + Math.min(stalledWriters.get(), base));
+  }
+
+  private String render(WebhookEvent event) {
+    try {
+      return objectMapper.writeValueAsString(event.payment());
+    } catch (JsonProcessingException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private final class Subscriber implements Runnable {
+
+    private final SseEmitter emitter;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicBoolean stalled = new AtomicBoolean();
+    // Set once disconnected; the writer completes the emitter, since its methods lock while a
+    // send is blocked and would stall whichever thread called them
+    private volatile boolean completePending;
+    private volatile long sendingSince = NOT_SENDING;
+    // Only written by the delivery task, which never runs twice at once for a subscriber
+    private volatile long next;
+
+    Subscriber(SseEmitter emitter, long next) {
+      this.emitter = emitter;
+      this.next = next;
+    }
+
+    void schedule() {
+      if (scheduled.compareAndSet(false, true)) {
+        execute(delivery, this);
+      }
+    }
+
+    // Called on the fan-out thread for every new event. An idle writer checks its own lag when
+    // it runs; one that is blocked in a send is checked here, since it cannot.
+    void offer(long cursor, long now) {
+      long since = sendingSince;
+      if (since == NOT_SENDING) {
+        schedule();
+      } else if (cursor - next >= properties.getMaxLag()) {
+        disconnect("lagging");
+      } else if (now - since > properties.getStallTimeout().toNanos()) {
+        disconnect("stalled");
+        if (stalled.compareAndSet(false, true)) {
+          stalledWriters.incrementAndGet();
+          resizeDelivery();
+        }
+      }
+    }
+
+    @Override
+    public void run() {
+      try {
+        if (!closed.get()) {
+          deliver();
+        }
+        if (completePending) {
+          completePending = false;
+          emitter.complete();
+        }
+      } catch (IOException | IllegalStateException ex) {
+        // Client went away or the emitter already completed
+        if (close()) {
+          paymentMetrics.recordStreamDisconnect("closed");
+        }
+      } catch (RuntimeException ex) {
+        LOG.warn("Stream delivery failed", ex);
+        disconnect("error");
+      } finally {
+        sendingSince = NOT_SENDING;
+        if (stalled.compareAndSet(true, false)) {
+          stalledWriters.decrementAndGet();
+          resizeDelivery();
+        }
+        scheduled.set(false);
+      }
+      if (completePending || !closed.get() && next <= ring.cursor()) {
+        schedule();
+      }
+    }
+
+    private void deliver() throws IOException {
+      long cursor = ring.cursor();
+      if (cursor - next >= properties.getMaxLag()) {
+        disconnect("lagging");
+        return;
+      }
+      for (int sent = 0; next <= cursor && sent < MAX_EVENTS_PER_RUN && !closed.get(); sent++) {
+        PaymentEventRing.Slot slot = ring.get(next);
+        if (slot == null) {
+          disconnect("overrun");
+          return;
+        }
+        sendingSince = System.nanoTime();
+        emitter.send(SseEmitter.event()
+            .id(Long.toString(slot.sequence()))
+            .name(slot.event().type())
+            .data(slot.data(PaymentEventStream.this::render), MediaType.APPLICATION_JSON));
+        sendingSince = NOT_SENDING;
+        next = slot.sequence() + 1;
+      }
+    }
+
+    void disconnect(String reason) {
+      if (close()) {
+        paymentMetrics.recordStreamDisconnect(reason);
+        LOG.info("Stream subscriber disconnected — reason={}, next={}", reason, next);
+        completePending = true;
+        schedule();
+      }
+    }
+
+    void shutdown() {
+      if (close()) {
+        paymentMetrics.recordStreamDisconnect("shutdown");
+        emitter.complete();
+      }
+    }
+
+    boolean close() {
+      if (closed.compareAndSet(false, true)) {
+        subscribers.remove(this);
+        return true;
+      }
+      return false;
+    }
+  }
+}
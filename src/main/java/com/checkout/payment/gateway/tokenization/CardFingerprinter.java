@@ -0,0 +1,63 @@
+package com.checkout.payment.gateway.tokenization;
+
+import com.checkout.payment.gateway.configuration.TokenizationProperties;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.stereotype.Component;
+
+// Keyed HMAC-SHA256 of the card number, truncated to 128 bits and hex encoded. Each thread keeps
+// its own initialised Mac and output buffer, so the only allocation per call is the result.
+@Component
+public class CardFingerprinter {
+
+  static final String ALGORITHM = "HmacSHA256";
+  static final int FINGERPRINT_BYTES = 16;
+
+  private static final HexFormat HEX = HexFormat.of();
+
+  private final ThreadLocal<Hasher> hashers;
+
+  public CardFingerprinter(TokenizationProperties properties) {
+    this(TokenKeys.decode(properties.getFingerprintKey(), "TOKENIZATION_FINGERPRINT_KEY"));
+  }
+
+  CardFingerprinter(byte[] key) {
+    if (key.length < 32) {
+      throw new IllegalArgumentException("Fingerprint key must be at least 32 bytes");
+    }
+    SecretKeySpec secretKey = new SecretKeySpec(key, ALGORITHM);
+    this.hashers = ThreadLocal.withInitial(() -> new Hasher(secretKey));
+  }
+
+  public String fingerprint(String cardNumber) {
+    Hasher hasher = hashers.get();
+    Mac mac = hasher.mac;
+    for (int i = 0; i < cardNumber.length(); i++) {
+      mac.update((byte) cardNumber.charAt(i));
+    }
+    try {
+      mac.doFinal(hasher.output, 0);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Card fingerprinting failed", e);
+    }
+    return HEX.formatHex(hasher.output, 0, FINGERPRINT_BYTES);
+  }
+
+  private static final class Hasher {
+
+    private final Mac mac;
+    private final byte[] output;
+
+    Hasher(SecretKeySpec key) {
+      try {
+        mac = Mac.getInstance(ALGORITHM);
+        mac.init(key);
+      } catch (GeneralSecurityException e) {
+        throw new IllegalStateException("Cannot initialise " + ALGORITHM, e);
+      }
+      output = new byte[mac.getMacLength()];
+    }
+  }
+}
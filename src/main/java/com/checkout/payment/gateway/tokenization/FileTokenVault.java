@@ -0,0 +1,167 @@
+package com.checkout.payment.gateway.tokenization;
+
+import com.checkout.payment.gateway.configuration.TokenizationProperties;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+// AES-GCM vault keyed by card fingerprint. Ciphertexts live in memory and, when a vault file is
+// configured, are appended to it as "fingerprint:base64(iv || ciphertext)" lines and reloaded at
+// startup. The fingerprint is bound in as associated data, so a ciphertext cannot be replayed
+// under another fingerprint. Card numbers seen before are not re-encrypted.
+@Component
+public class FileTokenVault implements TokenVault {
+
+  private static final Logger LOG = LoggerFactory.getLogger(FileTokenVault.class);
+
+  private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+  private static final int IV_BYTES = 12;
+  private static final int TAG_BITS = 128;
+
+  private final SecretKeySpec key;
+  private final ThreadLocal<Cipher> ciphers;
+  private final SecureRandom random = new SecureRandom();
+  private final Map<String, byte[]> entries = new ConcurrentHashMap<>();
+  private final BufferedWriter writer;
+
+  public FileTokenVault(TokenizationProperties properties) {
+    this(TokenKeys.decode(properties.getVaultKey(), "TOKENIZATION_VAULT_KEY"),
+        StringUtils.hasText(properties.getVaultFile()) ? Path.of(properties.getVaultFile()) : null);
+  }
+
+  FileTokenVault(byte[] key, Path file) {
+    if (key.length != 16 && key.length != 24 && key.length != 32) {
+      throw new IllegalArgumentException("Vault key must be 16, 24 or 32 bytes");
+    }
+    this.key = new SecretKeySpec(key, "AES");
+    this.ciphers = ThreadLocal.withInitial(FileTokenVault::newCipher);
+    if (file == null) {
+      LOG.info("Token vault is in memory only — card numbers are lost on restart");
+      this.writer = null;
+      return;
+    }
+    try {
+      load(file);
+      this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+          StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot open token vault " + file, e);
+    }
+    LOG.info("Token vault loaded {} cards from {}", entries.size(), file);
+  }
+
+  @Override
+  public void store(String fingerprint, String cardNumber) {
+    if (entries.containsKey(fingerprint)) {
+      return;
+    }
+    byte[] sealed = seal(fingerprint, cardNumber);
+    if (entries.putIfAbsent(fingerprint, sealed) == null && writer != null) {
+      append(fingerprint, sealed);
+    }
+  }
+
+  @Override
+  public Optional<String> reveal(String fingerprint) {
+    byte[] sealed = entries.get(fingerprint);
+    return sealed != null ? Optional.of(open(fingerprint, sealed)) : Optional.empty();
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  @PreDestroy
+  public void close() throws IOException {
+    if (writer != null) {
+      synchronized (writer) {
+        writer.close();
+      }
+    }
+  }
+
+  private byte[] seal(String fingerprint, String cardNumber) {
+    byte[] sealed = new byte[IV_BYTES + cardNumber.length() + TAG_BITS / 8];
+    byte[] iv = new byte[IV_BYTES];
+    random.nextBytes(iv);
+    System.arraycopy(iv, 0, sealed, 0, IV_BYTES);
+    try {
+      Cipher cipher = ciphers.get();
+      cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+      cipher.updateAAD(fingerprint.getBytes(StandardCharsets.US_ASCII));
+      cipher.doFinal(cardNumber.getBytes(StandardCharsets.US_ASCII), 0, cardNumber.length(),
+          sealed, IV_BYTES);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Card encryption failed", e);
+    }
+    return sealed;
+  }
+
+  private String open(String fingerprint, byte[] sealed) {
+    try {
+      Cipher cipher = ciphers.get();
+      cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, sealed, 0, IV_BYTES));
+      cipher.updateAAD(fingerprint.getBytes(StandardCharsets.US_ASCII));
+      byte[] plain = cipher.doFinal(sealed, IV_BYTES, sealed.length - IV_BYTES);
+      return new String(plain, StandardCharsets.US_ASCII);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Card decryption failed for fingerprint " + fingerprint, e);
+    }
+  }
+
+  private void append(String fingerprint, byte[] sealed) {
+    String line = fingerprint + ':' + Base64.getEncoder().encodeToString(sealed);
+    synchronized (writer) {
+      try {
+        writer.write(line);
+        writer.newLine();
+        writer.flush();
+      } catch (IOException e) {
+        throw new UncheckedIOException("Cannot write to token vault", e);
+      }
+    }
+  }
+
+  private void load(Path file) throws IOException {
+    if (!Files.exists(file)) {
+      return;
+    }
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        int separator = line.indexOf(':');
+        if (separator > 0) {
+          entries.putIfAbsent(line.substring(0, separator),
+              Base64.getDecoder().decode(line.substring(separator + 1)));
+        }
+      }
+    }
+  }
+
+  private static Cipher newCipher() {
+    try {
+      return Cipher.getInstance(TRANSFORMATION);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Cannot initialise " + TRANSFORMATION, e);
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.checkout.payment.gateway.tokenization;
+
+import java.util.Base64;
+import org.springframework.util.StringUtils;
+
+// Tokenization keys have no built-in fallback: a missing or malformed key stops startup instead
+// of the gateway running under a key that is published with the source
+final class TokenKeys {
+
+  private TokenKeys() {
+  }
+
+  static byte[] decode(String base64, String variable) {
+    if (!StringUtils.hasText(base64)) {
+      throw new IllegalStateException(variable + " is not set");
+    }
+    try {
+      return Base64.getDecoder().decode(base64.trim());
+    } catch (IllegalArgumentException e) {
+      throw new IllegalStateException(variable + " is not valid Base64", e);
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package com.checkout.payment.gateway.tokenization;
+
+import java.util.Optional;
+
+// Holds card numbers encrypted, keyed by card fingerprint, apart from payment records
+public interface TokenVault {
+
+  void store(String fingerprint, String cardNumber);
+
+  Optional<String> reveal(String fingerprint);
+}
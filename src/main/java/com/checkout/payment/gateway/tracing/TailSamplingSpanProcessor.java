@@ -0,0 +1,122 @@
+package com.checkout.payment.gateway.tracing;
+
+import com.checkout.payment.gateway.configuration.TailSamplingProperties;
+import com.checkout.payment.gateway.metrics.PaymentMetrics;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Decides whether to export a trace once its local root span ends, so slow and failed
+// payments are always kept while the bulk of fast, successful ones is dropped. Finished child
+// spans are held by reference until then; nothing is copied or serialized for a trace that is
+// dropped. Kept traces are handed to the delegate (the batch exporter) in end order.
+// Spans ending after their root, or whose root never ends before trace-timeout, are dropped.
+public class TailSamplingSpanProcessor implements SpanProcessor {
+
+  static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("outcome");
+
+  private final SpanProcessor delegate;
+  private final PaymentMetrics paymentMetrics;
+  private final long latencyThresholdNanos;
+  private final long sampleBound;
+  private final Cache<String, Queue<ReadableSpan>> pending;
+
+  public TailSamplingSpanProcessor(SpanProcessor delegate, TailSamplingProperties properties,
+      PaymentMetrics paymentMetrics) {
+    if (properties.getSampleRate() < 0 || properties.getSampleRate() > 1) {
+      throw new IllegalArgumentException("Tail sample rate must be between 0 and 1");
+    }
+    this.delegate = delegate;
+    this.paymentMetrics = paymentMetrics;
+    this.latencyThresholdNanos = properties.getLatencyThreshold().toNanos();
+    this.sampleBound = properties.getSampleRate() == 1
+        ? Long.MAX_VALUE
+        : (long) (properties.getSampleRate() * Long.MAX_VALUE);
+    this.pending = Caffeine.newBuilder()
+        .maximumSize(properties.getMaxTraces())
+        .expireAfterAccess(properties.getTraceTimeout())
+        // Evict on the calling thread; the removal listener only bumps a counter
+        .executor(Runnable::run)
+        .<String, Queue<ReadableSpan>>removalListener((traceId, spans, cause) -> {
+          if (cause == RemovalCause.SIZE || cause == RemovalCause.EXPIRED) {
+            paymentMetrics.recordTailSamplingDecision("evicted");
+          }
+        })
+        .build();
+  }
+
+  @Override
+  public void onStart(Context parentContext, ReadWriteSpan span) {
+  }
+
+  @Override
+  public boolean isStartRequired() {
+    return false;
+  }
+
+  @Override
+  public void onEnd(ReadableSpan span) {
+    String traceId = span.getSpanContext().getTraceId();
+    SpanContext parent = span.getParentSpanContext();
+    if (parent.isValid() && !parent.isRemote()) {
+      pending.get(traceId, key -> new ConcurrentLinkedQueue<>()).add(span);
+      return;
+    }
+    Queue<ReadableSpan> children = pending.asMap().remove(traceId);
+    String decision = decide(span, children);
+    paymentMetrics.recordTailSamplingDecision(decision);
+    if (!"dropped".equals(decision)) {
+      if (children != null) {
+        children.forEach(delegate::onEnd);
+      }
+      delegate.onEnd(span);
+    }
+  }
+
+  @Override
+  public boolean isEndRequired() {
+    return true;
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    pending.invalidateAll();
+    return delegate.shutdown();
+  }
+
+  @Override
+  public CompletableResultCode forceFlush() {
+    return delegate.forceFlush();
+  }
+
+  // Cheapest checks first; span status needs a SpanData snapshot, so it is read last
+  private String decide(ReadableSpan root, Queue<ReadableSpan> children) {
+    if (root.getLatencyNanos() >= latencyThresholdNanos) {
+      return "slow";
+    }
+    if ("SERVER_ERROR".equals(root.getAttribute(OUTCOME)) || failed(root)
+        || (children != null && children.stream().anyMatch(TailSamplingSpanProcessor::failed))) {
+      return "error";
+    }
+    // Same rule as the OpenTelemetry ratio sampler, so services sampling by trace id agree
+    long idBits = Long.parseUnsignedLong(root.getSpanContext().getTraceId().substring(16), 16);
+    if (Math.abs(idBits) < sampleBound) {
+      return "sampled";
+    }
+    return "dropped";
+  }
+
+  private static boolean failed(ReadableSpan span) {
+    return span.toSpanData().getStatus().getStatusCode() == StatusCode.ERROR;
+  }
+}
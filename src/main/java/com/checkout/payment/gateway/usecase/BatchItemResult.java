@@ -0,0 +1,18 @@
+package com.checkout.payment.gateway.usecase;
+
+import com.checkout.payment.gateway.model.Payment;
+
+public record BatchItemResult(int index, Payment payment, RuntimeException failure) {
+
+  static BatchItemResult processed(int index, Payment payment) {
+    return new BatchItemResult(index, payment, null);
+  }
+
+  static BatchItemResult failed(int index, RuntimeException failure) {
+    return new BatchItemResult(index, null, failure);
+  }
+
+  public boolean isProcessed() {
+    return failure == null;
+  }
+}
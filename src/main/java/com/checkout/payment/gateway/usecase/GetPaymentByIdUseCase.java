@@ -8,6 +8,8 @@ import io.micrometer.observation.Observation;
 import io.micrometer.observation.ObservationRegistry;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -34,6 +36,23 @@ public class GetPaymentByIdUseCase {
         .observe(() -> doExecute(id));
   }
 
+  // For callers that keep their own copy of the result, such as the response cache. The lookup
+  // gets a loader that reads the repository; a lookup answered without it still counts as a
+  // successful retrieval under the same observation, so metrics do not depend on the hit rate.
+  public <T> T execute(UUID id, BiFunction<UUID, Function<UUID, Payment>, T> lookup) {
+    return Observation.createNotStarted("find-payment", observationRegistry).observe(() -> {
+      boolean[] loaded = {false};
+      T result = lookup.apply(id, key -> {
+        loaded[0] = true;
+        return doExecute(key);
+      });
+      if (!loaded[0]) {
+        paymentMetrics.recordPaymentRetrieved(true);
+      }
+      return result;
+    });
+  }
+
   private Payment doExecute(UUID id) {
     try {
       MDC.put("paymentId", id.toString());
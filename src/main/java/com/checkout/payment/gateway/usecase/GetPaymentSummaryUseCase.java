@@ -0,0 +1,19 @@
+package com.checkout.payment.gateway.usecase;
+
+import com.checkout.payment.gateway.model.PaymentSummary;
+import com.checkout.payment.gateway.repository.PaymentRepository;
+import org.springframework.stereotype.Service;
+
+@Service
+public class GetPaymentSummaryUseCase {
+
+  private final PaymentRepository paymentRepository;
+
+  public GetPaymentSummaryUseCase(PaymentRepository paymentRepository) {
+    this.paymentRepository = paymentRepository;
+  }
+
+  public PaymentSummary execute() {
+    return paymentRepository.summarize();
+  }
+}
@@ -0,0 +1,45 @@
+package com.checkout.payment.gateway.usecase;
+
+import com.checkout.payment.gateway.metrics.PaymentMetrics;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.repository.PaymentRepository;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+@Service
+public class GetPaymentsByIdsUseCase {
+
+  private static final Logger LOG = LoggerFactory.getLogger(GetPaymentsByIdsUseCase.class);
+
+  private final PaymentRepository paymentRepository;
+  private final PaymentMetrics paymentMetrics;
+  private final ObservationRegistry observationRegistry;
+
+  public GetPaymentsByIdsUseCase(PaymentRepository paymentRepository,
+      PaymentMetrics paymentMetrics, ObservationRegistry observationRegistry) {
+    this.paymentRepository = paymentRepository;
+    this.paymentMetrics = paymentMetrics;
+    this.observationRegistry = observationRegistry;
+  }
+
+  public Map<UUID, Payment> execute(Collection<UUID> ids) {
+    return Observation.createNotStarted("find-payments", observationRegistry)
+        .observe(() -> doExecute(ids));
+  }
+
+  private Map<UUID, Payment> doExecute(Collection<UUID> ids) {
+    LOG.debug("Requesting access to {} payments", ids.size());
+
+    Map<UUID, Payment> found = paymentRepository.findAllById(ids);
+    paymentMetrics.recordPaymentRetrieved(true, found.size());
+    paymentMetrics.recordPaymentRetrieved(false, ids.size() - found.size());
+
+    return found;
+  }
+}
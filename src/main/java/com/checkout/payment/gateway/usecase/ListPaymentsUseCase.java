@@ -0,0 +1,33 @@
+package com.checkout.payment.gateway.usecase;
+
+import static com.checkout.payment.gateway.exception.ValidationErrors.CURSOR_UNKNOWN;
+import static com.checkout.payment.gateway.exception.ValidationErrors.FIELD_AFTER;
+
+import com.checkout.payment.gateway.exception.PaymentValidationException;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.repository.PaymentQuery;
+import com.checkout.payment.gateway.repository.PaymentRepository;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ListPaymentsUseCase {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ListPaymentsUseCase.class);
+
+  private final PaymentRepository paymentRepository;
+
+  public ListPaymentsUseCase(PaymentRepository paymentRepository) {
+    this.paymentRepository = paymentRepository;
+  }
+
+  public Stream<Payment> execute(PaymentQuery query, int limit) {
+    LOG.debug("Listing payments — query={}, limit={}", query, limit);
+    if (query.after() != null && paymentRepository.findById(query.after()).isEmpty()) {
+      throw new PaymentValidationException(FIELD_AFTER, CURSOR_UNKNOWN);
+    }
+    return paymentRepository.findAll(query).limit(limit);
+  }
+}
@@ -0,0 +1,83 @@
+package com.checkout.payment.gateway.usecase;
+
+import com.checkout.payment.gateway.exception.EventProcessingException;
+import com.checkout.payment.gateway.metrics.PaymentMetrics;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.model.PaymentOperation;
+import com.checkout.payment.gateway.repository.PaymentRepository;
+import com.checkout.payment.gateway.webhook.PaymentOutbox;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Service;
+
+// Capture, void and refund as optimistic read-apply-CAS loops on the payment's version. When
+// two operations race, the first CAS wins and the loser re-reads and re-validates against the
+// winner's state, so e.g. a capture racing a void always ends with exactly one of them applied
+// and the other rejected with 409.
+@Service
+public class PaymentLifecycleUseCase {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PaymentLifecycleUseCase.class);
+
+  private final PaymentRepository paymentRepository;
+  private final PaymentOutbox paymentOutbox;
+  private final PaymentMetrics paymentMetrics;
+  private final ObservationRegistry observationRegistry;
+  private final Clock clock;
+
+  public PaymentLifecycleUseCase(PaymentRepository paymentRepository,
+      PaymentOutbox paymentOutbox, PaymentMetrics paymentMetrics,
+      ObservationRegistry observationRegistry, Clock clock) {
+    this.paymentRepository = paymentRepository;
+    this.paymentOutbox = paymentOutbox;
+    this.paymentMetrics = paymentMetrics;
+    this.observationRegistry = observationRegistry;
+    this.clock = clock;
+  }
+
+  public Payment execute(UUID id, PaymentOperation operation, Integer amount) {
+    return Observation.createNotStarted("payment-lifecycle", observationRegistry)
+        .lowCardinalityKeyValue("operation", operation.name())
+        .observe(() -> doExecute(id, operation, amount));
+  }
+
+  private Payment doExecute(UUID id, PaymentOperation operation, Integer amount) {
+    try {
+      MDC.put("paymentId", id.toString());
+      while (true) {
+        Payment payment = paymentRepository.findById(id)
+            .orElseThrow(() -> new EventProcessingException("Invalid ID"));
+        long version = payment.getVersion();
+        PaymentStateMachine.apply(payment, operation, amount, Instant.now(clock));
+        // Staged before the CAS so the outbox keeps this payment's events in version order
+        PaymentOutbox.Entry event = paymentOutbox.stage(payment, version + 1);
+        boolean saved = false;
+        try {
+          saved = paymentRepository.compareAndSave(payment, version);
+        } finally {
+          if (saved) {
+            event.commit();
+          } else {
+            event.cancel();
+          }
+        }
+        if (saved) {
+          payment.setVersion(version + 1);
+          paymentMetrics.recordLifecycleTransition(operation.name(), payment.getStatus().name());
+          LOG.info("Payment {} — {} applied, status={}", id, operation, payment.getStatus());
+          return payment;
+        }
+        paymentMetrics.recordLifecycleConflict(operation.name());
+        LOG.debug("Payment {} changed during {} — retrying", id, operation);
+      }
+    } finally {
+      MDC.remove("paymentId");
+    }
+  }
+}
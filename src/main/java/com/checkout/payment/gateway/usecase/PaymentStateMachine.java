@@ -0,0 +1,82 @@
+package com.checkout.payment.gateway.usecase;
+
+import static com.checkout.payment.gateway.exception.ValidationErrors.CAPTURE_AMOUNT_INVALID;
+import static com.checkout.payment.gateway.exception.ValidationErrors.FIELD_AMOUNT;
+import static com.checkout.payment.gateway.exception.ValidationErrors.REFUND_AMOUNT_INVALID;
+import static com.checkout.payment.gateway.exception.ValidationErrors.TRANSITION_NOT_ALLOWED;
+
+import com.checkout.payment.gateway.exception.PaymentStateException;
+import com.checkout.payment.gateway.exception.PaymentValidationException;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.model.PaymentEvent;
+import com.checkout.payment.gateway.model.PaymentOperation;
+import com.checkout.payment.gateway.model.PaymentStatus;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Legal transitions after authorization:
+//   AUTHORIZED --capture(<= amount)--> CAPTURED
+//   AUTHORIZED --void--> VOIDED
+//   CAPTURED | PARTIALLY_REFUNDED --refund(<= captured - refunded)--> PARTIALLY_REFUNDED | REFUNDED
+// A capture is final, so a partial capture releases the rest of the authorization.
+final class PaymentStateMachine {
+
+  private PaymentStateMachine() {
+  }
+
+  // Applies the operation to a freshly read payment; a null amount means the full remainder
+  static void apply(Payment payment, PaymentOperation operation, Integer amount, Instant now) {
+    PaymentStatus status = payment.getStatus();
+    int moved;
+    switch (operation) {
+      case CAPTURE -> {
+        requireStatus(operation, status, PaymentStatus.AUTHORIZED);
+        moved = amount(amount, payment.getAmount(), CAPTURE_AMOUNT_INVALID);
+        payment.setCapturedAmount(moved);
+        payment.setStatus(PaymentStatus.CAPTURED);
+      }
+      case VOID -> {
+        requireStatus(operation, status, PaymentStatus.AUTHORIZED);
+        moved = payment.getAmount();
+        payment.setStatus(PaymentStatus.VOIDED);
+      }
+      case REFUND -> {
+        requireStatus(operation, status, PaymentStatus.CAPTURED,
+            PaymentStatus.PARTIALLY_REFUNDED);
+        int refundable = payment.getCapturedAmount() - payment.getRefundedAmount();
+        moved = amount(amount, refundable, REFUND_AMOUNT_INVALID);
+        payment.setRefundedAmount(payment.getRefundedAmount() + moved);
+        payment.setStatus(payment.getRefundedAmount() == payment.getCapturedAmount()
+            ? PaymentStatus.REFUNDED
+            : PaymentStatus.PARTIALLY_REFUNDED);
+      }
+      default -> throw new IllegalArgumentException("Not a lifecycle operation: " + operation);
+    }
+    List<PaymentEvent> events = payment.getEvents() != null
+        ? new ArrayList<>(payment.getEvents())
+        : new ArrayList<>();
+    events.add(new PaymentEvent(operation, payment.getStatus(), moved, now));
+    payment.setEvents(events);
+  }
+
+  private static void requireStatus(PaymentOperation operation, PaymentStatus status,
+      PaymentStatus... allowed) {
+    for (PaymentStatus candidate : allowed) {
+      if (candidate == status) {
+        return;
+      }
+    }
+    throw new PaymentStateException(String.format(TRANSITION_NOT_ALLOWED,
+        operation.name().toLowerCase(Locale.ROOT), status));
+  }
+
+  private static int amount(Integer requested, int available, String message) {
+    int value = requested != null ? requested : available;
+    if (value < 1 || value > available) {
+      throw new PaymentValidationException(FIELD_AMOUNT, String.format(message, available));
+    }
+    return value;
+  }
+}
@@ -0,0 +1,243 @@
+package com.checkout.payment.gateway.usecase;
+
+import com.checkout.payment.gateway.admission.ClientRateLimiter;
+import com.checkout.payment.gateway.admission.LoadShedder;
+import com.checkout.payment.gateway.configuration.BatchProperties;
+import com.checkout.payment.gateway.exception.RateLimitExceededException;
+import com.checkout.payment.gateway.exception.ServiceUnavailableException;
+import com.checkout.payment.gateway.model.Payment;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+// Runs batch items on a fixed set of workers. Each worker takes one item from the batch at the
+// head of the line and moves that batch to the back, so a large batch gets one turn per round
+// like everyone else instead of filling the pool. Items waiting across all batches are capped
+// at batch.max-queued-items; a batch that would go over is turned away up front. Each item
+// waits for a token from its client's POST bucket and then a load-shedding slot before it
+// starts, and fails without reaching the bank when it cannot get both.
+@Service
+public class ProcessPaymentBatchUseCase {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ProcessPaymentBatchUseCase.class);
+  private static final String QUEUE_FULL = "Too many batch payments queued. Try again later.";
+  private static final String RATE_LIMITED = "Rate limit exceeded. Try again later.";
+  private static final String SHUTTING_DOWN = "Service is shutting down. Try again later.";
+  private static final String ITEM_FAILED = "Batch item failed";
+
+  private final ProcessPaymentUseCase processPaymentUseCase;
+  private final ClientRateLimiter rateLimiter;
+  private final LoadShedder loadShedder;
+  private final int maxQueuedItems;
+  private final Duration rateLimitWait;
+  private final ThreadPoolTaskExecutor workers;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition itemsQueued = lock.newCondition();
+  // Batches with items no worker has started yet
+  private final Deque<Batch> batches = new ArrayDeque<>();
+  private int queuedItems;
+  private boolean stopped;
+
+  public ProcessPaymentBatchUseCase(ProcessPaymentUseCase processPaymentUseCase,
+      ClientRateLimiter rateLimiter, LoadShedder loadShedder, BatchProperties properties) {
+    this.processPaymentUseCase = processPaymentUseCase;
+    this.rateLimiter = rateLimiter;
+    this.loadShedder = loadShedder;
+    this.maxQueuedItems = properties.getMaxQueuedItems();
+    this.rateLimitWait = properties.getRateLimitWait();
+    this.workers = new ThreadPoolTaskExecutor();
+    workers.setCorePoolSize(properties.getParallelism());
+    workers.setMaxPoolSize(properties.getParallelism());
+    workers.setQueueCapacity(0);
+    workers.setThreadNamePrefix("batch-payment-");
+    workers.initialize();
+    for (int i = 0; i < properties.getParallelism(); i++) {
+      workers.execute(this::work);
+    }
+  }
+
+  // Queues the batch and returns straight away. Closing the batch drops the items no worker has
+  // started; items already at the bank run to completion and are stored as usual.
+  public Batch submit(List<Payment> payments) {
+    Batch batch = new Batch(payments, MDC.getCopyOfContextMap());
+    lock.lock();
+    try {
+      if (stopped) {
+        throw new ServiceUnavailableException(SHUTTING_DOWN);
+      }
+      if (queuedItems + payments.size() > maxQueuedItems) {
+        throw new ServiceUnavailableException(QUEUE_FULL);
+      }
+      if (!payments.isEmpty()) {
+        batches.addLast(batch);
+        queuedItems += payments.size();
+        itemsQueued.signalAll();
+      }
+    } finally {
+      lock.unlock();
+    }
+    LOG.info("Processing payment batch — items={}", payments.size());
+    return batch;
+  }
+
+  // Items no worker has started fail with 503, so every open batch still gets a result for each
+  // item and its response can end
+  @PreDestroy
+  public void shutdown() {
+    lock.lock();
+    try {
+      stopped = true;
+      for (Batch batch : batches) {
+        for (int index = batch.started; index < batch.payments.size(); index++) {
+          batch.results.add(
+              BatchItemResult.failed(index, new ServiceUnavailableException(SHUTTING_DOWN)));
+        }
+        batch.started = batch.payments.size();
+      }
+      batches.clear();
+      queuedItems = 0;
+      itemsQueued.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    workers.shutdown();
+  }
+
+  int queuedItems() {
+    lock.lock();
+    try {
+      return queuedItems;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // Workers are started once, so nothing an item throws may end the loop
+  private void work() {
+    Item item;
+    while ((item = next()) != null) {
+      try {
+        run(item);
+      } catch (Throwable ex) {
+        LOG.error("Batch item failed", ex);
+      }
+    }
+  }
+
+  // Next unstarted item, one per batch in turn; null once the use case shuts down
+  private Item next() {
+    lock.lock();
+    try {
+      while (batches.isEmpty() || stopped) {
+        if (stopped) {
+          return null;
+        }
+        itemsQueued.await();
+      }
+      Batch batch = batches.pollFirst();
+      int index = batch.started++;
+      if (batch.started < batch.payments.size()) {
+        batches.addLast(batch);
+      }
+      queuedItems--;
+      return new Item(batch, index);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void run(Item item) {
+    Batch batch = item.batch();
+    int index = item.index();
+    BatchItemResult result = null;
+    try {
+      if (batch.context != null) {
+        MDC.setContextMap(batch.context);
+      }
+      result = admit(index, batch.payments.get(index));
+    } catch (RuntimeException ex) {
+      result = BatchItemResult.failed(index, ex);
+    } finally {
+      // Recorded even when an Error escapes, so forEachResult never waits on this item
+      batch.results.add(result != null ? result
+          : BatchItemResult.failed(index, new IllegalStateException(ITEM_FAILED)));
+      MDC.clear();
+    }
+  }
+
+  private BatchItemResult admit(int index, Payment payment) {
+    if (!rateLimiter.consumeBatchItem(payment.getClientIp(), rateLimitWait)) {
+      throw new RateLimitExceededException(RATE_LIMITED);
+    }
+    return loadShedder.admitBatchItem(() -> process(index, payment));
+  }
+
+  private BatchItemResult process(int index, Payment payment) {
+    try {
+      return BatchItemResult.processed(index, processPaymentUseCase.execute(payment));
+    } catch (RuntimeException ex) {
+      return BatchItemResult.failed(index, ex);
+    }
+  }
+
+  private void cancel(Batch batch) {
+    lock.lock();
+    try {
+      if (batches.remove(batch)) {
+        queuedItems -= batch.payments.size() - batch.started;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public final class Batch implements AutoCloseable {
+
+    private final List<Payment> payments;
+    private final Map<String, String> context;
+    private final BlockingQueue<BatchItemResult> results = new LinkedBlockingQueue<>();
+    // Guarded by the use case's lock
+    private int started;
+
+    private Batch(List<Payment> payments, Map<String, String> context) {
+      this.payments = payments;
+      this.context = context;
+    }
+
+    // Hands each item's result to the consumer in completion order
+    public void forEachResult(Consumer<BatchItemResult> onResult) {
+      try {
+        for (int i = 0; i < payments.size(); i++) {
+          onResult.accept(results.take());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Payment batch interrupted", e);
+      }
+    }
+
+    @Override
+    public void close() {
+      cancel(this);
+    }
+  }
+
+  private record Item(Batch batch, int index) {
+  }
+}
@@ -1,19 +1,33 @@
 package com.checkout.payment.gateway.usecase;
 
-import static com.checkout.payment.gateway.exception.ValidationErrors.CARD_NUMBER_INVALID_LUHN;
-import static com.checkout.payment.gateway.exception.ValidationErrors.EXPIRY_DATE_IN_FUTURE;
-import static com.checkout.payment.gateway.exception.ValidationErrors.FIELD_CARD_NUMBER;
-import static com.checkout.payment.gateway.exception.ValidationErrors.FIELD_EXPIRY_DATE;
-
-import com.checkout.payment.gateway.client.BankPaymentAdapter;
+import com.checkout.payment.gateway.bin.BinLookupService;
+import com.checkout.payment.gateway.client.AcquirerRouter;
 import com.checkout.payment.gateway.exception.PaymentValidationException;
+import com.checkout.payment.gateway.fraud.DuplicateDetector;
+import com.checkout.payment.gateway.fraud.DuplicateDetector.Screening;
+import com.checkout.payment.gateway.fraud.VelocityChecker;
 import com.checkout.payment.gateway.metrics.PaymentMetrics;
+import com.checkout.payment.gateway.metrics.PaymentStage;
 import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.model.PaymentEvent;
+import com.checkout.payment.gateway.model.PaymentOperation;
 import com.checkout.payment.gateway.model.PaymentStatus;
+import com.checkout.payment.gateway.profiling.IdempotencyLookupEvent;
+import com.checkout.payment.gateway.profiling.PaymentEvents;
+import com.checkout.payment.gateway.profiling.PaymentSaveEvent;
+import com.checkout.payment.gateway.profiling.ValidationEvent;
 import com.checkout.payment.gateway.repository.PaymentRepository;
+import com.checkout.payment.gateway.tokenization.CardFingerprinter;
+import com.checkout.payment.gateway.tokenization.TokenVault;
 import com.checkout.payment.gateway.validation.PaymentValidator;
+import com.checkout.payment.gateway.validation.ValidationRuleEngine;
+import com.checkout.payment.gateway.validation.ValidationResult;
+import com.checkout.payment.gateway.webhook.PaymentOutbox;
 import io.micrometer.observation.Observation;
 import io.micrometer.observation.ObservationRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.slf4j.Logger;
@@ -28,18 +42,38 @@ public class ProcessPaymentUseCase {
 
   private final PaymentRepository paymentRepository;
   private final PaymentValidator paymentValidator;
-  private final BankPaymentAdapter bankPaymentAdapter;
+  private final ValidationRuleEngine validationRuleEngine;
+  private final CardFingerprinter cardFingerprinter;
+  private final TokenVault tokenVault;
+  private final DuplicateDetector duplicateDetector;
+  private final VelocityChecker velocityChecker;
+  private final BinLookupService binLookupService;
+  private final AcquirerRouter acquirerRouter;
+  private final PaymentOutbox paymentOutbox;
   private final PaymentMetrics paymentMetrics;
   private final ObservationRegistry observationRegistry;
+  private final Clock clock;
 
   public ProcessPaymentUseCase(PaymentRepository paymentRepository,
-      PaymentValidator paymentValidator, BankPaymentAdapter bankPaymentAdapter,
-      PaymentMetrics paymentMetrics, ObservationRegistry observationRegistry) {
+      PaymentValidator paymentValidator, ValidationRuleEngine validationRuleEngine,
+      CardFingerprinter cardFingerprinter, TokenVault tokenVault,
+      DuplicateDetector duplicateDetector, VelocityChecker velocityChecker,
+      BinLookupService binLookupService, AcquirerRouter acquirerRouter,
+      PaymentOutbox paymentOutbox, PaymentMetrics paymentMetrics,
+      ObservationRegistry observationRegistry, Clock clock) {
     this.paymentRepository = paymentRepository;
     this.paymentValidator = paymentValidator;
-    this.bankPaymentAdapter = bankPaymentAdapter;
+    this.validationRuleEngine = validationRuleEngine;
+    this.cardFingerprinter = cardFingerprinter;
+    this.tokenVault = tokenVault;
+    this.duplicateDetector = duplicateDetector;
+    this.velocityChecker = velocityChecker;
+    this.binLookupService = binLookupService;
+    this.acquirerRouter = acquirerRouter;
+    this.paymentOutbox = paymentOutbox;
     this.paymentMetrics = paymentMetrics;
     this.observationRegistry = observationRegistry;
+    this.clock = clock;
   }
 
   public Payment execute(Payment payment) {
@@ -50,8 +84,12 @@ public class ProcessPaymentUseCase {
   private Payment doExecute(Payment payment) {
     try {
       if (payment.getIdempotencyKey() != null) {
-        Optional<Payment> existing =
-            paymentRepository.findByIdempotencyKey(payment.getIdempotencyKey());
+        IdempotencyLookupEvent lookup = new IdempotencyLookupEvent();
+        lookup.begin();
+        Optional<Payment> existing = paymentMetrics.recordStage(PaymentStage.IDEMPOTENCY_CHECK,
+            () -> paymentRepository.findByIdempotencyKey(payment.getIdempotencyKey()));
+        lookup.hit = existing.isPresent();
+        PaymentEvents.commit(lookup);
         if (existing.isPresent()) {
           LOG.info("Idempotent request — returning cached response for key={}",
               payment.getIdempotencyKey());
@@ -59,66 +97,103 @@ public class ProcessPaymentUseCase {
         }
       }
 
-      Observation.createNotStarted("validate-payment", observationRegistry)
-          .observe(() -> {
-            if (!paymentValidator.isCardNumberValid(payment)) {
-              LOG.info("Payment rejected — Luhn check failed");
-              paymentMetrics.recordPaymentProcessed(
-                  PaymentStatus.REJECTED.name(), payment.getCurrency());
-              throw new PaymentValidationException(
-                  FIELD_CARD_NUMBER, CARD_NUMBER_INVALID_LUHN);
-            }
-            if (!paymentValidator.isValid(payment)) {
-              LOG.info("Payment rejected — validation failed");
-              paymentMetrics.recordPaymentProcessed(
-                  PaymentStatus.REJECTED.name(), payment.getCurrency());
-              throw new PaymentValidationException(
-                  FIELD_EXPIRY_DATE, EXPIRY_DATE_IN_FUTURE);
-            }
-            return null;
-          });
+      ValidationEvent validationEvent = new ValidationEvent();
+      validationEvent.begin();
+      ValidationResult validation = paymentMetrics.recordStage(PaymentStage.VALIDATE,
+          () -> Observation.createNotStarted("validate-payment", observationRegistry)
+              .observe(() -> {
+                ValidationResult result = paymentValidator.validate(payment);
+                return result.isValid() ? validationRuleEngine.evaluate(payment) : result;
+              }));
+      validationEvent.valid = validation.isValid();
+      validationEvent.field = validation.getField();
+      PaymentEvents.commit(validationEvent);
+      if (!validation.isValid()) {
+        throw rejected(payment, validation);
+      }
+      payment.setCardFingerprint(cardFingerprinter.fingerprint(payment.getCardNumber()));
+
+      Screening duplicate = duplicateDetector.screen(payment);
+      if (!duplicate.result().isValid()) {
+        throw rejected(payment, duplicate.result());
+      }
+
+      long screenedAt = clock.millis();
+      ValidationResult screening = Observation
+          .createNotStarted("velocity-check", observationRegistry)
+          .observe(() -> velocityChecker.screen(payment, screenedAt));
+      if (!screening.isValid()) {
+        duplicateDetector.release(payment, duplicate);
+        throw rejected(payment, screening);
+      }
 
       payment.setId(UUID.randomUUID());
+      payment.setCreatedAt(Instant.now(clock));
       MDC.put("paymentId", payment.getId().toString());
 
       payment.setCardNumberLastFour(
           payment.getCardNumber().substring(payment.getCardNumber().length() - 4));
+      payment.setBinInfo(binLookupService.lookup(payment.getCardNumber()).orElse(null));
+      paymentMetrics.recordBinLookup(payment.getBinInfo());
+      tokenVault.store(payment.getCardFingerprint(), payment.getCardNumber());
 
       LOG.info("Requesting bank authorization");
       PaymentStatus bankResult;
       try {
         bankResult = Observation
             .createNotStarted("bank-authorize", observationRegistry)
-            .observe(() -> {
-              try {
-                return paymentMetrics.recordBankCallDuration(
-                    () -> bankPaymentAdapter.authorize(payment));
-              } catch (RuntimeException e) {
-                throw e;
-              } catch (Exception e) {
-                throw new RuntimeException(e);
-              }
-            });
+            .observe(() -> paymentMetrics.recordStage(PaymentStage.BANK_AUTHORIZE,
+                () -> acquirerRouter.authorize(payment)));
       } catch (RuntimeException ex) {
         LOG.error("Bank authorization failed — paymentId={}, cardLast4={},"
                 + " currency={}, amount={}",
             payment.getId(), payment.getCardNumberLastFour(),
             payment.getCurrency(), payment.getAmount(), ex);
+        duplicateDetector.release(payment, duplicate);
+        velocityChecker.release(payment, screenedAt);
         throw ex;
       }
       PaymentStatus status = bankResult != null ? bankResult : PaymentStatus.DECLINED;
       payment.setStatus(status);
+      payment.setEvents(List.of(new PaymentEvent(PaymentOperation.AUTHORIZE, status,
+          payment.getAmount(), Instant.now(clock))));
+      // The card number stays in the vault; nothing downstream needs it or the CVV
+      payment.setCardNumber(null);
+      payment.setCvv(null);
 
       LOG.info("Payment {} — status={}", payment.getId(), status);
       paymentMetrics.recordPaymentProcessed(status.name(), payment.getCurrency());
       paymentMetrics.recordPaymentAmount(payment.getCurrency(), payment.getAmount());
 
-      Observation.createNotStarted("save-payment", observationRegistry)
-          .observe(() -> paymentRepository.save(payment));
+      // The outbox drains strictly from its head, so a staged entry must be resolved whatever
+      // is thrown; cancelling after the commit is a no-op
+      PaymentOutbox.Entry event = null;
+      try {
+        event = paymentOutbox.stage(payment, payment.getVersion());
+        PaymentSaveEvent saveEvent = new PaymentSaveEvent();
+        saveEvent.begin();
+        Observation.createNotStarted("save-payment", observationRegistry)
+            .observe(() -> paymentMetrics.recordStage(PaymentStage.SAVE,
+                () -> paymentRepository.save(payment)));
+        event.commit();
+        saveEvent.paymentId = payment.getId().toString();
+        saveEvent.status = status.name();
+        PaymentEvents.commit(saveEvent);
+      } finally {
+        if (event != null) {
+          event.cancel();
+        }
+      }
 
       return payment;
     } finally {
       MDC.remove("paymentId");
     }
   }
+
+  private PaymentValidationException rejected(Payment payment, ValidationResult result) {
+    LOG.info("Payment rejected — {}", result);
+    paymentMetrics.recordPaymentProcessed(PaymentStatus.REJECTED.name(), payment.getCurrency());
+    return new PaymentValidationException(result.getField(), result.getMessage());
+  }
 }
@@ -0,0 +1,180 @@
+package com.checkout.payment.gateway.validation;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+// Decimal prefix trie over card number digits. Marks are pushed down to every descendant when
+// the trie is built, so a lookup only has to walk to the deepest matching node and read its flags.
+final class BinPrefixTrie {
+
+  private static final int MAX_PREFIX_LENGTH = 18;
+
+  private final Node root;
+  private final int size;
+
+  private BinPrefixTrie(Node root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  Node lookup(String cardNumber) {
+    Node node = root;
+    for (int i = 0; i < cardNumber.length(); i++) {
+      int digit = cardNumber.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        break;
+      }
+      Node next = node.children[digit];
+      if (next == null) {
+        break;
+      }
+      node = next;
+    }
+    return node;
+  }
+
+  int size() {
+    return size;
+  }
+
+  // Expands "4" or an equal-length range such as "2221-2720" into the smallest set of
+  // prefixes covering it, e.g. "400000-499999" becomes just "4".
+  static void forEachPrefix(String spec, Consumer<String> action) {
+    String trimmed = spec.trim();
+    int dash = trimmed.indexOf('-');
+    String from = dash < 0 ? trimmed : trimmed.substring(0, dash).trim();
+    String to = dash < 0 ? trimmed : trimmed.substring(dash + 1).trim();
+    if (!isPrefix(from) || !isPrefix(to) || from.length() != to.length()) {
+      throw new IllegalArgumentException("Invalid BIN prefix or range: " + spec);
+    }
+    if (dash < 0) {
+      action.accept(from);
+      return;
+    }
+    int digits = from.length();
+    long low = Long.parseLong(from);
+    long high = Long.parseLong(to);
+    if (low > high) {
+      throw new IllegalArgumentException("Invalid BIN prefix or range: " + spec);
+    }
+    while (low <= high) {
+      int dropped = 0;
+      long block = 1;
+      while (dropped < digits && low % (block * 10) == 0 && low + block * 10 - 1 <= high) {
+        block *= 10;
+        dropped++;
+      }
+      String padded = String.format("%0" + digits + "d", low);
+      action.accept(padded.substring(0, digits - dropped));
+      low += block;
+    }
+  }
+
+  private static boolean isPrefix(String value) {
+    if (value.isEmpty() || value.length() > MAX_PREFIX_LENGTH) {
+      return false;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static final class Node {
+
+    private final Node[] children = new Node[10];
+    private boolean blocked;
+    private boolean allowed;
+    private Scheme scheme;
+
+    boolean isBlocked() {
+      return blocked;
+    }
+
+    boolean isAllowed() {
+      return allowed;
+    }
+
+    Scheme scheme() {
+      return scheme;
+    }
+  }
+
+  record Scheme(String name, int lengthMask) {
+
+    static Scheme of(String name, List<Integer> lengths) {
+      int mask = 0;
+      for (int length : lengths) {
+        if (length < 1 || length > 30) {
+          throw new IllegalArgumentException(
+              "Invalid card length " + length + " for scheme " + name);
+        }
+        mask |= 1 << length;
+      }
+      return new Scheme(name, mask);
+    }
+
+    boolean accepts(int length) {
+      return length < 31 && (lengthMask & (1 << length)) != 0;
+    }
+  }
+
+  static final class Builder {
+
+    private final Node root = new Node();
+    private int size = 1;
+
+    Builder block(String spec) {
+      forEachPrefix(spec, prefix -> node(prefix).blocked = true);
+      return this;
+    }
+
+    Builder allow(String spec) {
+      forEachPrefix(spec, prefix -> node(prefix).allowed = true);
+      return this;
+    }
+
+    Builder scheme(String spec, Scheme scheme) {
+      forEachPrefix(spec, prefix -> node(prefix).scheme = scheme);
+      return this;
+    }
+
+    BinPrefixTrie build() {
+      inherit(root, false, false, null);
+      return new BinPrefixTrie(root, size);
+    }
+
+    private Node node(String prefix) {
+      Node node = root;
+      for (int i = 0; i < prefix.length(); i++) {
+        int digit = prefix.charAt(i) - '0';
+        if (node.children[digit] == null) {
+          node.children[digit] = new Node();
+          size++;
+        }
+        node = node.children[digit];
+      }
+      return node;
+    }
+
+    // Longest prefix wins for the scheme; blocked/allowed apply to the whole subtree
+    private static void inherit(Node node, boolean blocked, boolean allowed, Scheme scheme) {
+      node.blocked |= blocked;
+      node.allowed |= allowed;
+      if (node.scheme == null) {
+        node.scheme = scheme;
+      }
+      for (Node child : node.children) {
+        if (child != null) {
+          inherit(child, node.blocked, node.allowed, node.scheme);
+        }
+      }
+    }
+  }
+}
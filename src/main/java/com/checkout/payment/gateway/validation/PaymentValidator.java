@@ -2,26 +2,36 @@ package com.checkout.payment.gateway.validation;
 
 import com.checkout.payment.gateway.model.Payment;
 import java.time.Clock;
-import java.time.YearMonth;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
 import org.springframework.stereotype.Component;
 
 @Component
 public class PaymentValidator {
 
+  private static final long MONTH_REFRESH_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+  // Luhn value of a digit in a doubled position: 2n, minus 9 when that exceeds 9
+  private static final int[] DOUBLED = {0, 2, 4, 6, 8, 1, 3, 5, 7, 9};
+
   private final Clock clock;
+  private volatile CurrentMonth currentMonth;
 
   public PaymentValidator(Clock clock) {
     this.clock = clock;
+    this.currentMonth = CurrentMonth.at(clock);
   }
 
-  public boolean isValid(Payment payment) {
-    return isLuhnValid(payment.getCardNumber())
-        && YearMonth.of(payment.getExpiryYear(), payment.getExpiryMonth())
-            .isAfter(YearMonth.now(clock));
-  }
-
-  public boolean isCardNumberValid(Payment payment) {
-    return isLuhnValid(payment.getCardNumber());
+  // Single pass, allocation-free: Luhn over the card digits, then expiry against a cached
+  // month index refreshed at most once a minute and always at the month boundary.
+  public ValidationResult validate(Payment payment) {
+    if (!isLuhnValid(payment.getCardNumber())) {
+      return ValidationResult.CARD_NUMBER_INVALID;
+    }
+    int expiry = monthIndex(payment.getExpiryYear(), payment.getExpiryMonth());
+    return expiry > currentMonthIndex()
+        ? ValidationResult.VALID
+        : ValidationResult.EXPIRED;
   }
 
   static boolean isLuhnValid(String cardNumber) {
@@ -29,18 +39,44 @@ public class PaymentValidator {
       return false;
     }
     int sum = 0;
-    boolean alternate = false;
+    boolean doubled = false;
     for (int i = cardNumber.length() - 1; i >= 0; i--) {
-      int n = cardNumber.charAt(i) - '0';
-      if (alternate) {
-        n *= 2;
-        if (n > 9) {
-          n -= 9;
-        }
+      int digit = cardNumber.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        return false;
       }
-      sum += n;
-      alternate = !alternate;
+      sum += doubled ? DOUBLED[digit] : digit;
+      doubled = !doubled;
     }
     return sum % 10 == 0;
   }
+
+  private int currentMonthIndex() {
+    CurrentMonth month = currentMonth;
+    if (clock.millis() >= month.refreshAtMillis()) {
+      month = CurrentMonth.at(clock);
+      currentMonth = month;
+    }
+    return month.index();
+  }
+
+  private static int monthIndex(int year, int month) {
+    return year * 12 + month - 1;
+  }
+
+  private record CurrentMonth(int index, long refreshAtMillis) {
+
+    static CurrentMonth at(Clock clock) {
+      ZonedDateTime now = ZonedDateTime.now(clock);
+      long nextMonthMillis = now.toLocalDate()
+          .withDayOfMonth(1)
+          .plusMonths(1)
+          .atStartOfDay(now.getZone())
+          .toInstant()
+          .toEpochMilli();
+      long refreshAt = Math.min(now.toInstant().toEpochMilli() + MONTH_REFRESH_INTERVAL_MILLIS,
+          nextMonthMillis);
+      return new CurrentMonth(monthIndex(now.getYear(), now.getMonthValue()), refreshAt);
+    }
+  }
 }
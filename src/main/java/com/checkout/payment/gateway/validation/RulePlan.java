@@ -0,0 +1,95 @@
+package com.checkout.payment.gateway.validation;
+
+import com.checkout.payment.gateway.configuration.ValidationRulesProperties.RuleSet;
+import com.checkout.payment.gateway.configuration.ValidationRulesProperties.SchemeRule;
+import com.checkout.payment.gateway.model.Payment;
+import java.util.ArrayList;
+import java.util.List;
+
+// Rule set for one currency, compiled once: a single trie walk resolves the BIN, then the
+// configured rules run in a fixed order and the first failure wins.
+final class RulePlan {
+
+  private final BinPrefixTrie bins;
+  private final ValidationRule[] rules;
+
+  private RulePlan(BinPrefixTrie bins, ValidationRule[] rules) {
+    this.bins = bins;
+    this.rules = rules;
+  }
+
+  ValidationResult evaluate(Payment payment) {
+    BinPrefixTrie.Node bin = bins.lookup(payment.getCardNumber());
+    for (ValidationRule rule : rules) {
+      ValidationResult result = rule.evaluate(payment, bin);
+      if (!result.isValid()) {
+        return result;
+      }
+    }
+    return ValidationResult.VALID;
+  }
+
+  int binNodes() {
+    return bins.size();
+  }
+
+  int ruleCount() {
+    return rules.length;
+  }
+
+  // Currency overrides replace the default allowed BINs and amount limits, and add to the
+  // default blocked BINs
+  static RulePlan compile(List<SchemeRule> schemes, RuleSet defaults, RuleSet overrides) {
+    BinPrefixTrie.Builder trie = BinPrefixTrie.builder();
+    for (SchemeRule scheme : schemes) {
+      BinPrefixTrie.Scheme compiled = BinPrefixTrie.Scheme.of(scheme.getName(),
+          scheme.getLengths());
+      scheme.getPrefixes().forEach(prefix -> trie.scheme(prefix, compiled));
+    }
+    List<String> allowedBins = overrides != null && !overrides.getAllowedBins().isEmpty()
+        ? overrides.getAllowedBins()
+        : defaults.getAllowedBins();
+    allowedBins.forEach(trie::allow);
+    defaults.getBlockedBins().forEach(trie::block);
+    if (overrides != null) {
+      overrides.getBlockedBins().forEach(trie::block);
+    }
+    Long minAmount = overrides != null && overrides.getMinAmount() != null
+        ? overrides.getMinAmount()
+        : defaults.getMinAmount();
+    Long maxAmount = overrides != null && overrides.getMaxAmount() != null
+        ? overrides.getMaxAmount()
+        : defaults.getMaxAmount();
+
+    List<ValidationRule> rules = new ArrayList<>();
+    if (!allowedBins.isEmpty()) {
+      rules.add((payment, bin) -> bin.isAllowed()
+          ? ValidationResult.VALID
+          : ValidationResult.BIN_NOT_SUPPORTED);
+    }
+    if (!defaults.getBlockedBins().isEmpty()
+        || overrides != null && !overrides.getBlockedBins().isEmpty()) {
+      rules.add((payment, bin) -> bin.isBlocked()
+          ? ValidationResult.BIN_BLOCKED
+          : ValidationResult.VALID);
+    }
+    if (!schemes.isEmpty()) {
+      rules.add((payment, bin) -> bin.scheme() == null
+          || bin.scheme().accepts(payment.getCardNumber().length())
+          ? ValidationResult.VALID
+          : ValidationResult.CARD_LENGTH_INVALID);
+    }
+    if (minAmount != null || maxAmount != null) {
+      long min = minAmount != null ? minAmount : Long.MIN_VALUE;
+      long max = maxAmount != null ? maxAmount : Long.MAX_VALUE;
+      if (min > max) {
+        throw new IllegalArgumentException(
+            "Minimum amount " + min + " exceeds maximum amount " + max);
+      }
+      rules.add((payment, bin) -> payment.getAmount() >= min && payment.getAmount() <= max
+          ? ValidationResult.VALID
+          : ValidationResult.AMOUNT_OUT_OF_RANGE);
+    }
+    return new RulePlan(trie.build(), rules.toArray(new ValidationRule[0]));
+  }
+}
@@ -0,0 +1,50 @@
+package com.checkout.payment.gateway.validation;
+
+import static com.checkout.payment.gateway.exception.ValidationErrors.CARD_BIN_BLOCKED;
+import static com.checkout.payment.gateway.exception.ValidationErrors.CARD_BIN_NOT_SUPPORTED;
+import static com.checkout.payment.gateway.exception.ValidationErrors.CARD_NUMBER_INVALID_LUHN;
+import static com.checkout.payment.gateway.exception.ValidationErrors.CARD_NUMBER_LENGTH_INVALID;
+import static com.checkout.payment.gateway.exception.ValidationErrors.EXPIRY_DATE_IN_FUTURE;
+import static com.checkout.payment.gateway.exception.ValidationErrors.FIELD_AMOUNT;
+import static com.checkout.payment.gateway.exception.ValidationErrors.FIELD_CARD_NUMBER;
+import static com.checkout.payment.gateway.exception.ValidationErrors.FIELD_CLIENT;
+import static com.checkout.payment.gateway.exception.ValidationErrors.FIELD_EXPIRY_DATE;
+import static com.checkout.payment.gateway.exception.ValidationErrors.FIELD_REQUEST_BODY;
+import static com.checkout.payment.gateway.exception.ValidationErrors.VELOCITY_CARD_EXCEEDED;
+import static com.checkout.payment.gateway.exception.ValidationErrors.VELOCITY_CLIENT_EXCEEDED;
+
+import com.checkout.payment.gateway.exception.ValidationErrors;
+
+public enum ValidationResult {
+
+  VALID(null, null),
+  CARD_NUMBER_INVALID(FIELD_CARD_NUMBER, CARD_NUMBER_INVALID_LUHN),
+  EXPIRED(FIELD_EXPIRY_DATE, EXPIRY_DATE_IN_FUTURE),
+  BIN_NOT_SUPPORTED(FIELD_CARD_NUMBER, CARD_BIN_NOT_SUPPORTED),
+  BIN_BLOCKED(FIELD_CARD_NUMBER, CARD_BIN_BLOCKED),
+  CARD_LENGTH_INVALID(FIELD_CARD_NUMBER, CARD_NUMBER_LENGTH_INVALID),
+  AMOUNT_OUT_OF_RANGE(FIELD_AMOUNT, ValidationErrors.AMOUNT_OUT_OF_RANGE),
+  CARD_VELOCITY_EXCEEDED(FIELD_CARD_NUMBER, VELOCITY_CARD_EXCEEDED),
+  CLIENT_VELOCITY_EXCEEDED(FIELD_CLIENT, VELOCITY_CLIENT_EXCEEDED),
+  DUPLICATE_PAYMENT(FIELD_REQUEST_BODY, ValidationErrors.DUPLICATE_PAYMENT);
+
+  private final String field;
+  private final String message;
+
+  ValidationResult(String field, String message) {
+    this.field = field;
+    this.message = message;
+  }
+
+  public boolean isValid() {
+    return this == VALID;
+  }
+
+  public String getField() {
+    return field;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+}
@@ -0,0 +1,9 @@
+package com.checkout.payment.gateway.validation;
+
+import com.checkout.payment.gateway.model.Payment;
+
+@FunctionalInterface
+interface ValidationRule {
+
+  ValidationResult evaluate(Payment payment, BinPrefixTrie.Node bin);
+}
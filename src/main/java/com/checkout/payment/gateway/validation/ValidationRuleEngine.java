@@ -0,0 +1,89 @@
+package com.checkout.payment.gateway.validation;
+
+import com.checkout.payment.gateway.configuration.ValidationRulesProperties;
+import com.checkout.payment.gateway.configuration.ValidationRulesProperties.RuleSet;
+import com.checkout.payment.gateway.model.Payment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+// Requests read a volatile snapshot of compiled plans and never block; reload() compiles a
+// complete new snapshot off to the side and swaps it in only if compilation succeeds.
+@Component
+public class ValidationRuleEngine {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ValidationRuleEngine.class);
+
+  private final ValidationRulesProperties properties;
+  private final ObjectMapper objectMapper;
+  private final Clock clock;
+  private volatile Snapshot snapshot;
+
+  public ValidationRuleEngine(ValidationRulesProperties properties, ObjectMapper objectMapper,
+      Clock clock) {
+    this.properties = properties;
+    this.objectMapper = objectMapper;
+    this.clock = clock;
+    this.snapshot = compile(1);
+  }
+
+  public ValidationResult evaluate(Payment payment) {
+    Snapshot current = snapshot;
+    RulePlan plan = current.currencies().get(payment.getCurrency());
+    return (plan != null ? plan : current.defaults()).evaluate(payment);
+  }
+
+  public synchronized Map<String, Object> reload() {
+    snapshot = compile(snapshot.version() + 1);
+    LOG.info("Validation rules reloaded — version={}, source={}",
+        snapshot.version(), snapshot.source());
+    return describe();
+  }
+
+  public Map<String, Object> describe() {
+    Snapshot current = snapshot;
+    Map<String, Object> currencies = new HashMap<>();
+    current.currencies().forEach((currency, plan) -> currencies.put(currency,
+        Map.of("rules", plan.ruleCount(), "binNodes", plan.binNodes())));
+    return Map.of(
+        "version", current.version(),
+        "loadedAt", current.loadedAt().toString(),
+        "source", current.source(),
+        "defaults", Map.of("rules", current.defaults().ruleCount(),
+            "binNodes", current.defaults().binNodes()),
+        "currencies", currencies);
+  }
+
+  private Snapshot compile(long version) {
+    String location = properties.getLocation();
+    ValidationRulesProperties rules = StringUtils.hasText(location) ? read(location) : properties;
+    RuleSet defaults = rules.getDefaults() != null ? rules.getDefaults() : new RuleSet();
+    Map<String, RulePlan> currencies = new HashMap<>();
+    rules.getCurrencies().forEach((currency, overrides) -> currencies.put(currency,
+        RulePlan.compile(rules.getSchemes(), defaults, overrides)));
+    RulePlan fallback = RulePlan.compile(rules.getSchemes(), defaults, null);
+    return new Snapshot(version, Instant.now(clock),
+        StringUtils.hasText(location) ? location : "application properties",
+        Map.copyOf(currencies), fallback);
+  }
+
+  private ValidationRulesProperties read(String location) {
+    try {
+      return objectMapper.readValue(Path.of(location).toFile(), ValidationRulesProperties.class);
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot read validation rules from " + location, e);
+    }
+  }
+
+  private record Snapshot(long version, Instant loadedAt, String source,
+      Map<String, RulePlan> currencies, RulePlan defaults) {
+  }
+}
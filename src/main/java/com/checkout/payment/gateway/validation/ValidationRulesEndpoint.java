@@ -0,0 +1,28 @@
+package com.checkout.payment.gateway.validation;
+
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "validationrules")
+public class ValidationRulesEndpoint {
+
+  private final ValidationRuleEngine ruleEngine;
+
+  public ValidationRulesEndpoint(ValidationRuleEngine ruleEngine) {
+    this.ruleEngine = ruleEngine;
+  }
+
+  @ReadOperation
+  public Map<String, Object> rules() {
+    return ruleEngine.describe();
+  }
+
+  @WriteOperation
+  public Map<String, Object> reload() {
+    return ruleEngine.reload();
+  }
+}
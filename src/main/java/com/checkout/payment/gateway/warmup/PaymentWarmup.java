@@ -0,0 +1,258 @@
+package com.checkout.payment.gateway.warmup;
+
+import com.checkout.payment.gateway.api.model.ProcessPaymentRequest;
+import com.checkout.payment.gateway.cache.PaymentResponseCache;
+import com.checkout.payment.gateway.client.AcquirerRouter;
+import com.checkout.payment.gateway.client.BankPaymentAdapter;
+import com.checkout.payment.gateway.client.bank.api.DefaultApi;
+import com.checkout.payment.gateway.client.bank.model.BankPaymentRequest;
+import com.checkout.payment.gateway.client.bank.model.BankPaymentResponse;
+import com.checkout.payment.gateway.codec.PaymentResponseWriter;
+import com.checkout.payment.gateway.configuration.PaymentStreamProperties;
+import com.checkout.payment.gateway.configuration.ResponseCacheProperties;
+import com.checkout.payment.gateway.configuration.RoutingProperties;
+import com.checkout.payment.gateway.configuration.StageMetricsProperties;
+import com.checkout.payment.gateway.configuration.TokenizationProperties;
+import com.checkout.payment.gateway.configuration.VelocityProperties;
+import com.checkout.payment.gateway.configuration.WarmupProperties;
+import com.checkout.payment.gateway.configuration.WebhookProperties;
+import com.checkout.payment.gateway.exception.PaymentValidationException;
+import com.checkout.payment.gateway.fraud.DuplicateDetector;
+import com.checkout.payment.gateway.fraud.VelocityChecker;
+import com.checkout.payment.gateway.logging.MaskingConverter;
+import com.checkout.payment.gateway.mapper.PaymentApiMapper;
+import com.checkout.payment.gateway.metrics.PaymentMetrics;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.repository.InMemoryPaymentRepository;
+import com.checkout.payment.gateway.stream.PaymentEventStream;
+import com.checkout.payment.gateway.tokenization.FileTokenVault;
+import com.checkout.payment.gateway.usecase.GetPaymentByIdUseCase;
+import com.checkout.payment.gateway.usecase.ProcessPaymentUseCase;
+import com.checkout.payment.gateway.webhook.PaymentOutbox;
+import com.checkout.payment.gateway.webhook.WebhookDispatcher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Year;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+// Runs POST and GET payments through a private copy of the pipeline before readiness turns UP,
+// so the JIT has compiled the hot paths when real traffic arrives. Application runners finish
+// before Spring Boot publishes ReadinessState.ACCEPTING_TRAFFIC.
+//
+// The use cases are built from their own classes by a throwaway bean factory whose parent is
+// the application context, so they follow constructor changes. Collaborators that keep state,
+// report or call out are registered there as primary, private instances: the repository,
+// duplicate and velocity screening, token vault, outbox, response cache, bank (a stub) and a
+// PaymentMetrics on its own registry. Observations are no-ops. Everything else comes from the
+// application. The warm-up thread is marked with WarmupContext: INFO logs from it are dropped
+// and its JFR payment events are not committed. Requests served meanwhile are unaffected.
+@Component
+public class PaymentWarmup implements ApplicationRunner {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PaymentWarmup.class);
+
+  private static final String BEAN_PREFIX = "warmup.";
+  // The simulator's BIN; the rest of the card number comes from the iteration
+  private static final String CARD_PREFIX = "222240";
+
+  private static final String[] CURRENCIES = {"GBP", "USD", "EUR"};
+
+  private final WarmupProperties properties;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final PaymentApiMapper apiMapper;
+  private final PaymentResponseWriter responseWriter;
+  private final TokenizationProperties tokenizationProperties;
+  private final StageMetricsProperties stageMetricsProperties;
+  private final BeanFactory beanFactory;
+  private final Clock clock;
+  private volatile Result lastResult;
+
+  public PaymentWarmup(WarmupProperties properties, ObjectMapper objectMapper,
+      Validator validator, PaymentApiMapper apiMapper, PaymentResponseWriter responseWriter,
+      TokenizationProperties tokenizationProperties,
+      StageMetricsProperties stageMetricsProperties, BeanFactory beanFactory, Clock clock) {
+    this.properties = properties;
+    this.objectMapper = objectMapper;
+    this.validator = validator;
+    this.apiMapper = apiMapper;
+    this.responseWriter = responseWriter;
+    this.tokenizationProperties = tokenizationProperties;
+    this.stageMetricsProperties = stageMetricsProperties;
+    this.beanFactory = beanFactory;
+    this.clock = clock;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (properties.isEnabled() && properties.getIterations() > 0) {
+      lastResult = warmUp();
+    }
+  }
+
+  Result lastResult() {
+    return lastResult;
+  }
+
+  // Created per run and destroyed afterwards, so nothing from it outlives the warm-up
+  private DefaultListableBeanFactory sandbox() {
+    DefaultListableBeanFactory sandbox = new DefaultListableBeanFactory(beanFactory);
+    PaymentMetrics metrics = new PaymentMetrics(new SimpleMeterRegistry(), stageMetricsProperties);
+    TokenizationProperties vault = new TokenizationProperties();
+    vault.setVaultKey(tokenizationProperties.getVaultKey());
+    PaymentStreamProperties stream = new PaymentStreamProperties();
+    stream.setEnabled(false);
+    replace(sandbox, PaymentMetrics.class, () -> metrics);
+    replace(sandbox, ObservationRegistry.class, () -> ObservationRegistry.NOOP);
+    replace(sandbox, InMemoryPaymentRepository.class, null);
+    replace(sandbox, FileTokenVault.class, () -> new FileTokenVault(vault));
+    replace(sandbox, DuplicateDetector.class, null);
+    // No rules: every iteration comes from 127.0.0.1, so a client rule would start rejecting
+    // them before routing, save and GET were warmed
+    replace(sandbox, VelocityChecker.class,
+        () -> new VelocityChecker(new VelocityProperties(), metrics, clock));
+    replace(sandbox, AcquirerRouter.class, () -> new AcquirerRouter(new RoutingProperties(),
+        new BankPaymentAdapter(new StubBankApi(), CircuitBreakerRegistry.ofDefaults(),
+            RetryRegistry.ofDefaults()),
+        new RestTemplate(), CircuitBreakerRegistry.ofDefaults(), RetryRegistry.ofDefaults(),
+        metrics));
+    replace(sandbox, PaymentOutbox.class, () -> new PaymentOutbox(
+        new WebhookDispatcher(new WebhookProperties(), objectMapper, metrics, clock),
+        new PaymentEventStream(stream, objectMapper, metrics), apiMapper, clock));
+    replace(sandbox, PaymentResponseCache.class, () -> new PaymentResponseCache(
+        new ResponseCacheProperties(), responseWriter, new SimpleMeterRegistry()));
+    define(sandbox, ProcessPaymentUseCase.class);
+    define(sandbox, GetPaymentByIdUseCase.class);
+    return sandbox;
+  }
+
+  // Takes precedence over the application's bean of the same type; without a supplier the
+  // instance is built from its constructor, resolving the sandbox first
+  private static <T> void replace(DefaultListableBeanFactory sandbox, Class<T> type,
+      Supplier<T> supplier) {
+    RootBeanDefinition definition = new RootBeanDefinition(type, supplier);
+    definition.setAutowireMode(AbstractBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+    definition.setPrimary(true);
+    sandbox.registerBeanDefinition(BEAN_PREFIX + type.getSimpleName(), definition);
+  }
+
+  private static void define(DefaultListableBeanFactory sandbox, Class<?> type) {
+    RootBeanDefinition definition = new RootBeanDefinition(type);
+    definition.setAutowireMode(AbstractBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+    sandbox.registerBeanDefinition(BEAN_PREFIX + type.getSimpleName(), definition);
+  }
+
+  private static <T> T bean(DefaultListableBeanFactory sandbox, Class<T> type) {
+    return sandbox.getBean(BEAN_PREFIX + type.getSimpleName(), type);
+  }
+
+  private Result warmUp() {
+    DefaultListableBeanFactory sandbox = sandbox();
+    Pipeline pipeline = new Pipeline(bean(sandbox, ProcessPaymentUseCase.class),
+        bean(sandbox, GetPaymentByIdUseCase.class), bean(sandbox, PaymentResponseCache.class));
+    long start = System.nanoTime();
+    long deadline = start + properties.getTimeLimit().toNanos();
+    int expiryYear = Year.now(clock).getValue() + 2;
+    int completed = 0;
+    int rejected = 0;
+    WarmupContext.enter();
+    try {
+      for (; completed < properties.getIterations() && System.nanoTime() < deadline;
+          completed++) {
+        if (!iteration(pipeline, completed, expiryYear)) {
+          rejected++;
+        }
+      }
+    } finally {
+      WarmupContext.exit();
+      sandbox.destroySingletons();
+    }
+    Result result = new Result(completed, rejected, (System.nanoTime() - start) / 1_000_000);
+    LOG.info("JIT warm-up finished — {} iterations ({} rejected) in {} ms", result.iterations(),
+        result.rejected(), result.millis());
+    return result;
+  }
+
+  // Same steps as POST /v1/payment then GET /v1/payment/{id}; false if the payment was rejected
+  private boolean iteration(Pipeline pipeline, int i, int expiryYear) {
+    String cardNumber = cardNumber(i);
+    byte[] body = ("{\"cardNumber\":\"" + cardNumber + "\",\"expiryMonth\":" + (i % 12 + 1)
+        + ",\"expiryYear\":" + expiryYear + ",\"currency\":\"" + CURRENCIES[i % 3]
+        + "\",\"amount\":" + (i % 5000 + 1) + ",\"cvv\":\"123\"}")
+        .getBytes(StandardCharsets.UTF_8);
+    MaskingConverter.mask("Received payment request cardNumber=" + cardNumber + " cvv=123");
+    try {
+      ProcessPaymentRequest request = objectMapper.readValue(body, ProcessPaymentRequest.class);
+      if (!validator.validate(request).isEmpty()) {
+        return false;
+      }
+      Payment payment = apiMapper.toDomain(request);
+      // Half carry a key, and every fourth replays the previous key to hit the idempotent path
+      payment.setIdempotencyKey(i % 4 == 3 ? "warmup-" + (i - 1)
+          : i % 2 == 0 ? "warmup-" + i : null);
+      payment.setClientIp("127.0.0.1");
+      Payment result = pipeline.process().execute(payment);
+      pipeline.cache().put(result);
+      pipeline.cache().evict(result.getId());
+      pipeline.getById().execute(result.getId(), pipeline.cache()::get);
+      responseWriter.write(pipeline.getById().execute(result.getId()));
+      return true;
+    } catch (PaymentValidationException e) {
+      return false;
+    } catch (IOException e) {
+      throw new IllegalStateException("Warm-up request could not be read", e);
+    }
+  }
+
+  // Distinct Luhn-valid card per iteration, so duplicate screening passes
+  static String cardNumber(int i) {
+    String partial = CARD_PREFIX + String.format("%09d", i);
+    int sum = 0;
+    for (int pos = 0; pos < partial.length(); pos++) {
+      int digit = partial.charAt(partial.length() - 1 - pos) - '0';
+      if (pos % 2 == 0) {
+        digit *= 2;
+        if (digit > 9) {
+          digit -= 9;
+        }
+      }
+      sum += digit;
+    }
+    return partial + (10 - sum % 10) % 10;
+  }
+
+  record Result(int iterations, int rejected, long millis) {
+  }
+
+  private record Pipeline(ProcessPaymentUseCase process, GetPaymentByIdUseCase getById,
+      PaymentResponseCache cache) {
+  }
+
+  // Authorizes odd final digits and declines even ones, like the bank simulator, without I/O
+  private static final class StubBankApi extends DefaultApi {
+
+    @Override
+    public BankPaymentResponse authorizePayment(BankPaymentRequest request) {
+      String cardNumber = request.getCardNumber();
+      boolean authorized = (cardNumber.charAt(cardNumber.length() - 1) - '0') % 2 == 1;
+      return new BankPaymentResponse().authorized(authorized);
+    }
+  }
+}
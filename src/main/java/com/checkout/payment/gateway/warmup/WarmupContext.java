@@ -0,0 +1,25 @@
+package com.checkout.payment.gateway.warmup;
+
+import org.slf4j.MDC;
+
+// Marks the thread running the JIT warm-up. It lives in the MDC, so the logging filter sees it
+// and any warm-up line that does get through carries warmup=true.
+public final class WarmupContext {
+
+  public static final String MDC_KEY = "warmup";
+
+  private WarmupContext() {
+  }
+
+  public static boolean isActive() {
+    return MDC.get(MDC_KEY) != null;
+  }
+
+  static void enter() {
+    MDC.put(MDC_KEY, "true");
+  }
+
+  static void exit() {
+    MDC.remove(MDC_KEY);
+  }
+}
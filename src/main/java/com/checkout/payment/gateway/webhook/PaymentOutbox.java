@@ -0,0 +1,115 @@
+package com.checkout.payment.gateway.webhook;
+
+import com.checkout.payment.gateway.mapper.PaymentApiMapper;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.stream.PaymentEventStream;
+import java.time.Clock;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+
+// Status events written alongside the store. A writer stages its event before saving and then
+// commits or cancels it, so outbox order follows save order: a later version of a payment can
+// only be saved after the earlier one, which was staged before that. Entries leave the outbox
+// strictly from the head, once resolved, and are handed to the webhook dispatcher and the SSE
+// stream in that order. Draining is exclusive, which makes it the stream's single producer.
+@Component
+public class PaymentOutbox {
+
+  private static final int PENDING = 0;
+  private static final int COMMITTED = 1;
+  private static final int CANCELLED = 2;
+
+  private final Queue<Entry> entries = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean draining = new AtomicBoolean();
+  private final AtomicLong sequence = new AtomicLong();
+  private final WebhookDispatcher dispatcher;
+  private final PaymentEventStream eventStream;
+  private final PaymentApiMapper apiMapper;
+  private final Clock clock;
+
+  public PaymentOutbox(WebhookDispatcher dispatcher, PaymentEventStream eventStream,
+      PaymentApiMapper apiMapper, Clock clock) {
+    this.dispatcher = dispatcher;
+    this.eventStream = eventStream;
+    this.apiMapper = apiMapper;
+    this.clock = clock;
+  }
+
+  // Snapshot of the payment as it is about to be saved at the given version
+  public Entry stage(Payment payment, long version) {
+    if (!dispatcher.isEnabled() && !eventStream.isEnabled()) {
+      return Entry.NONE;
+    }
+    WebhookEvent event = new WebhookEvent(sequence.incrementAndGet(),
+        "payment." + payment.getStatus().name().toLowerCase(Locale.ROOT), version,
+        clock.instant(), apiMapper.toProcessResponse(payment));
+    Entry entry = new Entry(this, event);
+    entries.add(entry);
+    return entry;
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  private void drain() {
+    while (draining.compareAndSet(false, true)) {
+      try {
+        Entry head;
+        while ((head = entries.peek()) != null && head.state != PENDING) {
+          entries.poll();
+          if (head.state == COMMITTED) {
+            if (dispatcher.isEnabled()) {
+              dispatcher.dispatch(head.event);
+            }
+            if (eventStream.isEnabled()) {
+              eventStream.publish(head.event);
+            }
+          }
+        }
+      } finally {
+        draining.set(false);
+      }
+      // Re-check: an entry resolved while we were releasing would otherwise wait for the next
+      Entry head = entries.peek();
+      if (head == null || head.state == PENDING) {
+        return;
+      }
+    }
+  }
+
+  public static final class Entry {
+
+    static final Entry NONE = new Entry(null, null);
+
+    private final PaymentOutbox outbox;
+    private final WebhookEvent event;
+    private volatile int state = PENDING;
+
+    private Entry(PaymentOutbox outbox, WebhookEvent event) {
+      this.outbox = outbox;
+      this.event = event;
+    }
+
+    public void commit() {
+      resolve(COMMITTED);
+    }
+
+    // No-op once committed, so callers can cancel unconditionally in a finally block
+    public void cancel() {
+      resolve(CANCELLED);
+    }
+
+    // Only the owning writer resolves an entry, so the state check needs no compare-and-set
+    private void resolve(int resolved) {
+      if (outbox != null && state == PENDING) {
+        state = resolved;
+        outbox.drain();
+      }
+    }
+  }
+}
@@ -0,0 +1,160 @@
+package com.checkout.payment.gateway.webhook;
+
+import com.checkout.payment.gateway.configuration.WebhookProperties;
+import com.checkout.payment.gateway.metrics.PaymentMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+// Delivers outbox events to every configured endpoint as JSON arrays. Each endpoint has its own
+// bounded queue and at most one batch in flight, retried with exponential backoff until it is
+// acknowledged or gives up, so events arrive in outbox order. All endpoints share one
+// non-blocking HttpClient and its keep-alive connection pool.
+@Component
+public class WebhookDispatcher {
+
+  private static final Logger LOG = LoggerFactory.getLogger(WebhookDispatcher.class);
+
+  private final List<Target> targets;
+  private final WebhookProperties properties;
+  private final ObjectMapper objectMapper;
+  private final PaymentMetrics paymentMetrics;
+  private final Clock clock;
+  private final HttpClient httpClient;
+  private final ScheduledExecutorService retryScheduler;
+
+  public WebhookDispatcher(WebhookProperties properties, ObjectMapper objectMapper,
+      PaymentMetrics paymentMetrics, Clock clock) {
+    this.properties = properties;
+    this.objectMapper = objectMapper;
+    this.paymentMetrics = paymentMetrics;
+    this.clock = clock;
+    List<Target> configured = new ArrayList<>();
+    for (WebhookProperties.Endpoint endpoint : properties.getEndpoints()) {
+      Target target = new Target(endpoint.getName(), URI.create(endpoint.getUrl()),
+          new ArrayBlockingQueue<>(properties.getQueueCapacity()), new AtomicBoolean());
+      paymentMetrics.registerWebhookQueueGauge(target.name(), target.queue(),
+          BlockingQueue::size);
+      configured.add(target);
+    }
+    this.targets = List.copyOf(configured);
+    if (targets.isEmpty()) {
+      this.httpClient = null;
+      this.retryScheduler = null;
+      return;
+    }
+    this.httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(properties.getConnectTimeout())
+        .build();
+    this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "webhook-retry");
+      thread.setDaemon(true);
+      return thread;
+    });
+    LOG.info("Webhook delivery enabled — {} endpoints, batches of up to {}", targets.size(),
+        properties.getMaxBatchSize());
+  }
+
+  public boolean isEnabled() {
+    return !targets.isEmpty();
+  }
+
+  // Called by the outbox in order, from one thread at a time
+  void dispatch(WebhookEvent event) {
+    for (Target target : targets) {
+      if (!target.queue().offer(event)) {
+        paymentMetrics.recordWebhookDelivery(target.name(), "dropped", 1);
+        LOG.warn("Webhook queue full for {} — dropped event {}", target.name(), event.id());
+      }
+      sendNext(target);
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    if (retryScheduler != null) {
+      retryScheduler.shutdownNow();
+    }
+  }
+
+  private void sendNext(Target target) {
+    while (!target.queue().isEmpty() && target.sending().compareAndSet(false, true)) {
+      List<WebhookEvent> batch = new ArrayList<>(properties.getMaxBatchSize());
+      target.queue().drainTo(batch, properties.getMaxBatchSize());
+      if (!batch.isEmpty()) {
+        paymentMetrics.recordWebhookBatchSize(target.name(), batch.size());
+        send(target, batch, 1);
+        return;
+      }
+      target.sending().set(false);
+    }
+  }
+
+  private void send(Target target, List<WebhookEvent> batch, int attempt) {
+    HttpRequest request;
+    try {
+      request = HttpRequest.newBuilder(target.uri())
+          .timeout(properties.getRequestTimeout())
+          .header("Content-Type", "application/json")
+          .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(batch)))
+          .build();
+    } catch (JsonProcessingException ex) {
+      LOG.error("Could not serialize webhook batch for {}", target.name(), ex);
+      finish(target, batch, "failed");
+      return;
+    }
+    httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+        .whenComplete((response, failure) -> {
+          if (failure == null && response.statusCode() / 100 == 2) {
+            Instant now = clock.instant();
+            for (WebhookEvent event : batch) {
+              paymentMetrics.recordWebhookLag(target.name(),
+                  Duration.between(event.occurredAt(), now));
+            }
+            finish(target, batch, "delivered");
+          } else if (attempt < properties.getMaxAttempts()) {
+            long delay = (long) (properties.getInitialBackoff().toMillis()
+                * Math.pow(properties.getBackoffMultiplier(), attempt - 1));
+            LOG.debug("Webhook batch to {} failed (attempt {}) — retrying in {} ms",
+                target.name(), attempt, delay);
+            paymentMetrics.recordWebhookDelivery(target.name(), "retried", batch.size());
+            retryScheduler.schedule(() -> send(target, batch, attempt + 1), delay,
+                TimeUnit.MILLISECONDS);
+          } else {
+            LOG.warn("Webhook batch of {} to {} failed after {} attempts — status={}",
+                batch.size(), target.name(), attempt,
+                failure == null ? response.statusCode() : failure.toString());
+            finish(target, batch, "failed");
+          }
+        });
+  }
+
+  private void finish(Target target, List<WebhookEvent> batch, String outcome) {
+    paymentMetrics.recordWebhookDelivery(target.name(), outcome, batch.size());
+    target.sending().set(false);
+    sendNext(target);
+  }
+
+  private record Target(String name, URI uri, BlockingQueue<WebhookEvent> queue,
+      AtomicBoolean sending) {
+  }
+}
@@ -0,0 +1,9 @@
+package com.checkout.payment.gateway.webhook;
+
+import com.checkout.payment.gateway.api.model.ProcessPaymentResponse;
+import java.time.Instant;
+
+// Webhook payload item. id increases with outbox order; version orders events of one payment.
+public record WebhookEvent(long id, String type, long version, Instant occurredAt,
+    ProcessPaymentResponse payment) {
+}
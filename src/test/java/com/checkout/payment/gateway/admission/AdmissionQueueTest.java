@@ -0,0 +1,123 @@
+package com.checkout.payment.gateway.admission;
+
+import static com.checkout.payment.gateway.admission.RouteClass.EXPORT;
+import static com.checkout.payment.gateway.admission.RouteClass.READ;
+import static com.checkout.payment.gateway.admission.RouteClass.WRITE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.checkout.payment.gateway.admission.AdmissionQueue.Outcome;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.Test;
+
+class AdmissionQueueTest {
+
+  @Test
+  void acquire_admitsUpToLimitAndRejectsWhenQueueFull() {
+    AdmissionQueue queue = new AdmissionQueue(2, 0, 0, 0.2);
+
+    assertThat(queue.acquire(false, WRITE, deadline(1000))).isEqualTo(Outcome.ADMITTED);
+    assertThat(queue.acquire(true, READ, deadline(1000))).isEqualTo(Outcome.ADMITTED);
+    assertThat(queue.acquire(true, READ, deadline(1000))).isEqualTo(Outcome.QUEUE_FULL);
+    assertThat(queue.inFlight()).isEqualTo(2);
+
+    queue.release(WRITE, 0);
+    assertThat(queue.acquire(false, WRITE, deadline(1000))).isEqualTo(Outcome.ADMITTED);
+  }
+
+  @Test
+  void acquire_whenExpectedWaitExceedsDeadline_shedsWithoutQueueing() {
+    AdmissionQueue queue = new AdmissionQueue(1, 10, 0, 1.0);
+    queue.acquire(false, WRITE, deadline(1000));
+    queue.release(WRITE, TimeUnit.SECONDS.toNanos(2));
+    queue.acquire(false, WRITE, deadline(10_000));
+
+    // One slot busy and two seconds per request: four seconds to wait and run
+    assertThat(queue.estimatedWaitNanos(false, WRITE)).isEqualTo(TimeUnit.SECONDS.toNanos(2));
+    assertThat(queue.acquire(false, WRITE, deadline(3000))).isEqualTo(Outcome.DEADLINE);
+    assertThat(queue.acquire(false, WRITE, deadline(-1))).isEqualTo(Outcome.DEADLINE);
+    assertThat(queue.queued()).isZero();
+  }
+
+  @Test
+  void estimatedWait_isTrackedPerRouteClass() {
+    AdmissionQueue queue = new AdmissionQueue(1, 10, 0, 1.0);
+    queue.acquire(false, EXPORT, deadline(1000));
+    queue.release(EXPORT, TimeUnit.SECONDS.toNanos(5));
+    queue.acquire(true, READ, deadline(1000));
+    queue.release(READ, TimeUnit.MILLISECONDS.toNanos(10));
+
+    assertThat(queue.estimatedWaitNanos(true, READ)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(10));
+    assertThat(queue.estimatedWaitNanos(false, EXPORT)).isEqualTo(TimeUnit.SECONDS.toNanos(5));
+  }
+
+  @Test
+  void acquire_normalRequestsLeavePriorityReserveFree() throws Exception {
+    AdmissionQueue queue = new AdmissionQueue(1, 2, 1, 0.2);
+    queue.acquire(false, WRITE, deadline(1000));
+    Thread waiting = waiter(queue, false, "normal", new CopyOnWriteArrayList<>());
+    awaitTrue(() -> queue.queued() == 1);
+
+    assertThat(queue.acquire(false, WRITE, deadline(1000))).isEqualTo(Outcome.QUEUE_FULL);
+    // The reserved place is free, so the GET queues and only gives up at its deadline
+    assertThat(queue.acquire(true, READ, deadline(50))).isEqualTo(Outcome.TIMED_OUT);
+
+    queue.release(WRITE, 0);
+    waiting.join(5000);
+  }
+
+  @Test
+  void acquire_whenDeadlinePassesWhileWaiting_timesOut() {
+    AdmissionQueue queue = new AdmissionQueue(1, 10, 0, 0.2);
+    queue.acquire(false, WRITE, deadline(1000));
+
+    assertThat(queue.acquire(false, WRITE, deadline(50))).isEqualTo(Outcome.TIMED_OUT);
+    assertThat(queue.queued()).isZero();
+    assertThat(queue.inFlight()).isEqualTo(1);
+  }
+
+  @Test
+  void release_handsSlotToPriorityWaitersFirst() throws Exception {
+    AdmissionQueue queue = new AdmissionQueue(1, 10, 0, 0.2);
+    queue.acquire(false, WRITE, deadline(1000));
+    List<String> admitted = new CopyOnWriteArrayList<>();
+
+    Thread normal = waiter(queue, false, "normal", admitted);
+    awaitTrue(() -> queue.queued() == 1);
+    Thread priority = waiter(queue, true, "priority", admitted);
+    awaitTrue(() -> queue.queued() == 2);
+
+    queue.release(WRITE, 0);
+    priority.join(5000);
+    assertThat(admitted).containsExactly("priority");
+    queue.release(WRITE, 0);
+    normal.join(5000);
+    assertThat(admitted).containsExactly("priority", "normal");
+    assertThat(queue.inFlight()).isEqualTo(1);
+  }
+
+  private static Thread waiter(AdmissionQueue queue, boolean priority, String name,
+      List<String> admitted) {
+    Thread thread = new Thread(() -> {
+      if (queue.acquire(priority, priority ? READ : WRITE, deadline(10_000)) == Outcome.ADMITTED) {
+        admitted.add(name);
+      }
+    });
+    thread.start();
+    return thread;
+  }
+
+  private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+    long deadline = deadline(5000);
+    while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(condition.getAsBoolean()).isTrue();
+  }
+
+  private static long deadline(long millis) {
+    return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+}
@@ -0,0 +1,35 @@
+package com.checkout.payment.gateway.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.checkout.payment.gateway.configuration.RateLimitProperties;
+import com.checkout.payment.gateway.configuration.RateLimitProperties.EndpointLimit;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class ClientRateLimiterTest {
+
+  @Test
+  void consumeBatchItem_waitsForRefillInsteadOfFailing() {
+    RateLimitProperties properties = new RateLimitProperties();
+    properties.setPost(new EndpointLimit(2, 50));
+    ClientRateLimiter rateLimiter = new ClientRateLimiter(properties);
+
+    for (int i = 0; i < 10; i++) {
+      assertThat(rateLimiter.consumeBatchItem("10.0.0.1", Duration.ofSeconds(5))).isTrue();
+    }
+    assertThat(rateLimiter.consumeBatchItem("10.0.0.1", Duration.ZERO)).isFalse();
+  }
+
+  @Test
+  void consumeBatchItem_givesUpWhenTheWaitWouldExceedMaxWait() {
+    RateLimitProperties properties = new RateLimitProperties();
+    properties.setPost(new EndpointLimit(1, 1));
+    ClientRateLimiter rateLimiter = new ClientRateLimiter(properties);
+
+    assertThat(rateLimiter.consumeBatchItem("10.0.0.1", Duration.ZERO)).isTrue();
+    long started = System.nanoTime();
+    assertThat(rateLimiter.consumeBatchItem("10.0.0.1", Duration.ofMillis(100))).isFalse();
+    assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(500));
+  }
+}
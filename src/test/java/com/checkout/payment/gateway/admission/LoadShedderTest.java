@@ -0,0 +1,69 @@
+package com.checkout.payment.gateway.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.checkout.payment.gateway.configuration.LoadSheddingProperties;
+import com.checkout.payment.gateway.exception.ServiceUnavailableException;
+import com.checkout.payment.gateway.metrics.PaymentMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+
+class LoadShedderTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final LoadSheddingProperties properties = new LoadSheddingProperties();
+  private LoadShedder loadShedder;
+
+  @BeforeEach
+  void setUp() {
+    properties.setMaxConcurrent(1);
+    properties.setMaxQueue(0);
+    properties.setPriorityReserve(0);
+    loadShedder = new LoadShedder(properties, new ServerProperties(),
+        new PaymentMetrics(meterRegistry));
+  }
+
+  @Test
+  void admitBatchItem_takesASlotPerItemAndShedsWhenBusy() {
+    assertThat(loadShedder.admitBatchItem(() -> "done")).isEqualTo("done");
+    assertThat(meterRegistry.get("payment.load.inflight").gauge().value()).isZero();
+
+    long arrived = System.nanoTime();
+    assertThat(loadShedder.acquire(true, RouteClass.READ, arrived, arrived + 1_000_000_000L))
+        .isTrue();
+    assertThatThrownBy(() -> loadShedder.admitBatchItem(() -> "never"))
+        .isInstanceOf(ServiceUnavailableException.class)
+        .hasMessage(LoadShedder.OVERLOADED);
+    loadShedder.release(RouteClass.READ, arrived);
+
+    assertThat(meterRegistry.get("payment.load.shed").tag("reason", "queue_full")
+        .tag("priority", "normal").counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("payment.load.inflight").gauge().value()).isZero();
+  }
+
+  @Test
+  void admitBatchItem_whenDisabled_runsWithoutASlot() {
+    properties.setEnabled(false);
+    long arrived = System.nanoTime();
+    loadShedder.acquire(true, RouteClass.READ, arrived, arrived + 1_000_000_000L);
+
+    assertThat(loadShedder.admitBatchItem(() -> "done")).isEqualTo("done");
+  }
+
+  @Test
+  void constructor_queueThatCouldParkEveryWorkerThread_isRejected() {
+    LoadSheddingProperties tooLarge = new LoadSheddingProperties();
+    tooLarge.setMaxConcurrent(64);
+    tooLarge.setMaxQueue(136);
+    ServerProperties serverProperties = new ServerProperties();
+    serverProperties.getTomcat().getThreads().setMax(200);
+
+    assertThatThrownBy(() -> new LoadShedder(tooLarge, serverProperties,
+        new PaymentMetrics(meterRegistry)))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("server.tomcat.threads.max");
+  }
+}
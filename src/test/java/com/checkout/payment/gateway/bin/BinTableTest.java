@@ -0,0 +1,100 @@
+package com.checkout.payment.gateway.bin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.checkout.payment.gateway.model.BinInfo;
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.jupiter.api.Test;
+
+class BinTableTest {
+
+  @Test
+  void find_cardInsideRange_returnsInfo() throws IOException {
+    BinTable table = load("""
+        start,end,scheme,issuer,country
+        222100,272099,MASTERCARD,,
+        41111100,41111199,VISA,Test Issuer,US
+        """);
+
+    assertEquals(new BinInfo("MASTERCARD", null, null), table.find("2222405343248877"));
+    assertEquals(new BinInfo("VISA", "Test Issuer", "US"), table.find("4111111111111111"));
+  }
+
+  @Test
+  void find_rangeBoundaries_areInclusive() throws IOException {
+    BinTable table = load("222100,272099,MASTERCARD,,\n");
+
+    assertEquals("MASTERCARD", table.find("2221000000000000").scheme());
+    assertEquals("MASTERCARD", table.find("2720999999999999").scheme());
+    assertNull(table.find("2220999999999999"));
+    assertNull(table.find("2721000000000000"));
+  }
+
+  @Test
+  void find_gapBetweenRanges_returnsNull() throws IOException {
+    BinTable table = load("""
+        400000,409999,VISA,,
+        420000,429999,VISA,,
+        """);
+
+    assertNull(table.find("4100000000000000"));
+    assertNull(table.find("3999999999999999"));
+  }
+
+  @Test
+  void find_invalidCardNumber_returnsNull() throws IOException {
+    BinTable table = load("400000,499999,VISA,,\n");
+
+    assertNull(table.find(null));
+    assertNull(table.find("4111"));
+    assertNull(table.find("41x1111111111111"));
+  }
+
+  @Test
+  void load_unsortedRows_areSorted() throws IOException {
+    BinTable table = load("""
+        510000,559999,MASTERCARD,,
+        400000,499999,VISA,,
+        340000,349999,AMEX,,
+        """);
+
+    assertEquals(3, table.size());
+    assertEquals("AMEX", table.find("340000000000000").scheme());
+    assertEquals("VISA", table.find("4000000000000000").scheme());
+    assertEquals("MASTERCARD", table.find("5500000000000004").scheme());
+  }
+
+  @Test
+  void load_repeatedInfo_isShared() throws IOException {
+    BinTable table = load("""
+        400000,409999,VISA,Bank,GB
+        420000,429999,VISA,Bank,GB
+        """);
+
+    assertEquals(1, table.distinctInfos());
+    assertSame(table.find("4000000000000000"), table.find("4200000000000000"));
+  }
+
+  @Test
+  void load_overlappingRanges_throws() {
+    assertThrows(IllegalArgumentException.class, () -> load("""
+        400000,499999,VISA,,
+        41111100,41111199,VISA,Test Issuer,US
+        """));
+  }
+
+  @Test
+  void load_malformedRow_throws() {
+    assertThrows(IllegalArgumentException.class, () -> load("400000,499999,VISA\n"));
+    assertThrows(IllegalArgumentException.class, () -> load("4000,499999,VISA,,\n"));
+    assertThrows(IllegalArgumentException.class, () -> load("499999,400000,VISA,,\n"));
+  }
+
+  private static BinTable load(String csv) throws IOException {
+    return BinTable.load(new StringReader(csv));
+  }
+}
@@ -0,0 +1,130 @@
+package com.checkout.payment.gateway.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.checkout.payment.gateway.codec.PaymentResponseWriter;
+import com.checkout.payment.gateway.configuration.ResponseCacheProperties;
+import com.checkout.payment.gateway.exception.EventProcessingException;
+import com.checkout.payment.gateway.mapper.PaymentApiMapper;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.model.PaymentStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+class PaymentResponseCacheTest {
+
+  private SimpleMeterRegistry registry;
+  private PaymentResponseCache cache;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    PaymentResponseWriter writer = new PaymentResponseWriter(new ObjectMapper(),
+        Mappers.getMapper(PaymentApiMapper.class));
+    cache = new PaymentResponseCache(new ResponseCacheProperties(), writer, registry);
+  }
+
+  @Test
+  void get_renderedOnceThenServedFromCache() {
+    UUID id = UUID.randomUUID();
+    AtomicInteger loads = new AtomicInteger();
+
+    RenderedResponse first = cache.get(id, key -> {
+      loads.incrementAndGet();
+      return payment(key, PaymentStatus.AUTHORIZED, 100);
+    });
+    RenderedResponse second = cache.get(id, key -> {
+      loads.incrementAndGet();
+      return payment(key, PaymentStatus.AUTHORIZED, 100);
+    });
+
+    assertEquals(1, loads.get());
+    assertSame(first, second);
+    assertTrue(body(first).contains("\"amount\":100"));
+  }
+
+  @Test
+  void get_loaderFailure_isNotCached() {
+    UUID id = UUID.randomUUID();
+
+    assertThrows(EventProcessingException.class, () -> cache.get(id, key -> {
+      throw new EventProcessingException("Invalid ID");
+    }));
+    RenderedResponse rendered = cache.get(id, key -> payment(key, PaymentStatus.AUTHORIZED, 1));
+
+    assertTrue(body(rendered).contains("\"amount\":1,"));
+  }
+
+  @Test
+  void put_replacesEntryAndChangesEtag() {
+    UUID id = UUID.randomUUID();
+
+    RenderedResponse before = cache.put(payment(id, PaymentStatus.AUTHORIZED, 100));
+    RenderedResponse after = cache.put(payment(id, PaymentStatus.DECLINED, 100));
+
+    assertNotEquals(before.etag(), after.etag());
+    assertArrayEquals(after.body(), cache.get(id, key -> new Payment()).body());
+  }
+
+  @Test
+  void evict_forcesReload() {
+    UUID id = UUID.randomUUID();
+    cache.put(payment(id, PaymentStatus.AUTHORIZED, 1));
+
+    cache.evict(id);
+    RenderedResponse rendered = cache.get(id, key -> payment(key, PaymentStatus.AUTHORIZED, 2));
+
+    assertTrue(body(rendered).contains("\"amount\":2,"));
+  }
+
+  @Test
+  void etag_isQuotedContentHash() {
+    UUID id = UUID.randomUUID();
+    RenderedResponse rendered = cache.put(payment(id, PaymentStatus.AUTHORIZED, 1));
+
+    assertTrue(rendered.etag().startsWith("\"") && rendered.etag().endsWith("\""));
+    cache.evict(id);
+    assertEquals(rendered.etag(), cache.put(payment(id, PaymentStatus.AUTHORIZED, 1)).etag());
+  }
+
+  @Test
+  void recordsHitAndMissMetrics() {
+    UUID id = UUID.randomUUID();
+    cache.get(id, key -> payment(key, PaymentStatus.AUTHORIZED, 1));
+    cache.get(id, key -> payment(key, PaymentStatus.AUTHORIZED, 1));
+
+    assertEquals(1.0, registry.get("cache.gets")
+        .tag("cache", PaymentResponseCache.CACHE_NAME).tag("result", "hit")
+        .functionCounter().count());
+    assertEquals(1.0, registry.get("cache.gets")
+        .tag("cache", PaymentResponseCache.CACHE_NAME).tag("result", "miss")
+        .functionCounter().count());
+  }
+
+  private static Payment payment(UUID id, PaymentStatus status, int amount) {
+    Payment payment = new Payment();
+    payment.setId(id);
+    payment.setStatus(status);
+    payment.setCardNumberLastFour("8877");
+    payment.setExpiryMonth(4);
+    payment.setExpiryYear(2030);
+    payment.setCurrency("GBP");
+    payment.setAmount(amount);
+    return payment;
+  }
+
+  private static String body(RenderedResponse rendered) {
+    return new String(rendered.body(), StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,321 @@
+package com.checkout.payment.gateway.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import com.checkout.payment.gateway.configuration.RoutingProperties.Route;
+import com.checkout.payment.gateway.exception.BankCommunicationException;
+import com.checkout.payment.gateway.metrics.PaymentMetrics;
+import com.checkout.payment.gateway.model.BinInfo;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.model.PaymentStatus;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import org.junit.jupiter.api.Test;
+
+class AcquirerRouterTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final PaymentMetrics metrics = new PaymentMetrics(registry);
+  private final List<String> calls = new ArrayList<>();
+
+  @Test
+  void authorize_currencyFilter_skipsAcquirersThatDoNotAcceptCurrency() {
+    Acquirer euro = acquirer(route("euro", List.of("EUR"), List.of(), List.of()), authorized());
+    Acquirer any = acquirer(route("any", List.of(), List.of(), List.of()), authorized());
+    AcquirerRouter router = new AcquirerRouter(List.of(euro, any), metrics);
+
+    router.authorize(payment("GBP"));
+
+    assertThat(calls).containsExactly("any");
+  }
+
+  @Test
+  void candidates_binAndSchemeFilters_selectMatchingAcquirers() {
+    Acquirer bins = acquirer(route("bins", List.of(), List.of("2222"), List.of()), authorized());
+    Acquirer visa = acquirer(route("visa", List.of(), List.of(), List.of("VISA")), authorized());
+    Acquirer mastercard = acquirer(route("mc", List.of(), List.of(), List.of("MASTERCARD")),
+        authorized());
+    AcquirerRouter router = new AcquirerRouter(List.of(bins, visa, mastercard), metrics);
+    Payment payment = payment("GBP");
+    payment.setBinInfo(new BinInfo("MASTERCARD", null, null));
+
+    assertThat(router.candidates(payment)).extracting(Acquirer::name)
+        .containsExactly("bins", "mc");
+  }
+
+  @Test
+  void authorize_bankFailure_failsOverToNextAcquirer() {
+    Acquirer failing = acquirer(route("failing", List.of(), List.of(), List.of()), unreachable());
+    Acquirer backup = acquirer(route("backup", List.of(), List.of(), List.of()), authorized());
+    AcquirerRouter router = new AcquirerRouter(List.of(failing, backup), metrics);
+
+    PaymentStatus status = router.authorize(payment("GBP"));
+
+    assertThat(status).isEqualTo(PaymentStatus.AUTHORIZED);
+    assertThat(calls).containsExactly("failing", "backup");
+    assertThat(failing.stats().successRate()).isLessThan(1.0);
+    assertThat(registry.find("payment.routing.failure").tag("acquirer", "failing")
+        .counter().count()).isEqualTo(1.0);
+    assertThat(registry.find("payment.routing.decision").tag("acquirer", "backup")
+        .tag("failover", "true").counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  void authorize_decline_doesNotFailOver() {
+    Acquirer declining = acquirer(route("declining", List.of(), List.of(), List.of()),
+        payment -> PaymentStatus.DECLINED);
+    Acquirer backup = acquirer(route("backup", List.of(), List.of(), List.of()), authorized());
+    AcquirerRouter router = new AcquirerRouter(List.of(declining, backup), metrics);
+
+    assertThat(router.authorize(payment("GBP"))).isEqualTo(PaymentStatus.DECLINED);
+    assertThat(calls).containsExactly("declining");
+  }
+
+  @Test
+  void authorize_allAcquirersFail_throwsLastFailure() {
+    Acquirer first = acquirer(route("first", List.of(), List.of(), List.of()), unreachable());
+    Acquirer second = acquirer(route("second", List.of(), List.of(), List.of()), unreachable());
+    AcquirerRouter router = new AcquirerRouter(List.of(first, second), metrics);
+
+    assertThatThrownBy(() -> router.authorize(payment("GBP")))
+        .isInstanceOf(BankCommunicationException.class);
+    assertThat(calls).containsExactly("first", "second");
+  }
+
+  @Test
+  void authorize_withRetry_triesEveryAcquirerOncePerPass() {
+    Acquirer first = acquirer(route("first", List.of(), List.of(), List.of()), unreachable());
+    Acquirer second = acquirer(route("second", List.of(), List.of(), List.of()), unreachable());
+    AcquirerRouter router = new AcquirerRouter(List.of(first, second), retry(2), metrics);
+
+    assertThatThrownBy(() -> router.authorize(payment("GBP")))
+        .isInstanceOf(BankCommunicationException.class);
+    assertThat(calls).hasSize(4).containsOnly("first", "second");
+  }
+
+  @Test
+  void authorize_withRetry_nextPassSucceeds() {
+    AtomicInteger attempts = new AtomicInteger();
+    Acquirer flaky = acquirer(route("flaky", List.of(), List.of(), List.of()), payment -> {
+      if (attempts.incrementAndGet() == 1) {
+        throw new BankCommunicationException("Bank communication failed", null);
+      }
+      return PaymentStatus.AUTHORIZED;
+    });
+    AcquirerRouter router = new AcquirerRouter(List.of(flaky), retry(3), metrics);
+
+    assertThat(router.authorize(payment("GBP"))).isEqualTo(PaymentStatus.AUTHORIZED);
+    assertThat(calls).containsExactly("flaky", "flaky");
+    assertThat(registry.find("payment.routing.decision").tag("acquirer", "flaky")
+        .tag("failover", "true").counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  void authorize_withRetry_recordsEachAttemptWithoutTheBackoff() {
+    Acquirer failing = acquirer(route("failing", List.of(), List.of(), List.of()), unreachable());
+    Retry retry = Retry.of("router", RetryConfig.custom()
+        .maxAttempts(2)
+        .waitDuration(Duration.ofMillis(300))
+        .build());
+    AcquirerRouter router = new AcquirerRouter(List.of(failing), retry, metrics);
+
+    assertThatThrownBy(() -> router.authorize(payment("GBP")))
+        .isInstanceOf(BankCommunicationException.class);
+    // Two failed attempts of about 0ms each pull the 100ms prior down; the 300ms wait between
+    // them would have pushed it up
+    assertThat(failing.stats().successRate()).isCloseTo(0.64, within(0.01));
+    assertThat(failing.stats().latencyMillis()).isLessThan(100.0);
+  }
+
+  @Test
+  void authorize_openCircuitTriedLast_transportFailureIsRetried() {
+    CircuitBreaker open = CircuitBreaker.ofDefaults("open");
+    open.transitionToOpenState();
+    Acquirer broken = new Acquirer(route("broken", List.of(), List.of(), List.of()),
+        (payment, attempt) -> {
+          throw CallNotPermittedException.createCallNotPermittedException(open);
+        }, open, stats(System::nanoTime));
+    AtomicInteger attempts = new AtomicInteger();
+    Acquirer flaky = acquirer(route("flaky", List.of(), List.of(), List.of()), payment -> {
+      if (attempts.incrementAndGet() == 1) {
+        throw new BankCommunicationException("Bank communication failed", null);
+      }
+      return PaymentStatus.AUTHORIZED;
+    });
+    AcquirerRouter router = new AcquirerRouter(List.of(broken, flaky), retry(2), metrics);
+
+    assertThat(router.authorize(payment("GBP"))).isEqualTo(PaymentStatus.AUTHORIZED);
+    assertThat(calls).containsExactly("flaky", "flaky");
+  }
+
+  @Test
+  void authorize_noAcquirerAcceptsPayment_throwsBankCommunicationException() {
+    Acquirer euro = acquirer(route("euro", List.of("EUR"), List.of(), List.of()), authorized());
+    AcquirerRouter router = new AcquirerRouter(List.of(euro), metrics);
+
+    assertThatThrownBy(() -> router.authorize(payment("GBP")))
+        .isInstanceOf(BankCommunicationException.class);
+  }
+
+  @Test
+  void candidates_lowerLatency_isPreferred() {
+    Acquirer slow = acquirer(route("slow", List.of(), List.of(), List.of()), authorized());
+    Acquirer fast = acquirer(route("fast", List.of(), List.of(), List.of()), authorized());
+    slow.stats().recordSuccess(TimeUnit.MILLISECONDS.toNanos(200));
+    fast.stats().recordSuccess(TimeUnit.MILLISECONDS.toNanos(20));
+    AcquirerRouter router = new AcquirerRouter(List.of(slow, fast), metrics);
+
+    assertThat(router.candidates(payment("GBP"))).extracting(Acquirer::name)
+        .containsExactly("fast", "slow");
+  }
+
+  @Test
+  void candidates_unmeasuredAcquirer_startsAtPriorInsteadOfZero() {
+    Acquirer measured = acquirer(route("measured", List.of(), List.of(), List.of()), authorized());
+    Acquirer added = acquirer(route("added", List.of(), List.of(), List.of()), authorized());
+    measured.stats().recordSuccess(TimeUnit.MILLISECONDS.toNanos(50));
+    AcquirerRouter router = new AcquirerRouter(List.of(added, measured), metrics);
+
+    assertThat(added.stats().latencyMillis()).isEqualTo(100.0);
+    assertThat(router.candidates(payment("GBP"))).extracting(Acquirer::name)
+        .containsExactly("measured", "added");
+  }
+
+  @Test
+  void candidates_failedAcquirer_recoversAsItsAveragesDecayTowardPrior() {
+    AtomicLong now = new AtomicLong();
+    Acquirer flaky = acquirer(route("flaky", List.of(), List.of(), List.of()), authorized(),
+        now::get);
+    Acquirer steady = acquirer(route("steady", List.of(), List.of(), List.of()), authorized(),
+        now::get);
+    for (int i = 0; i < 10; i++) {
+      flaky.stats().recordFailure(TimeUnit.MILLISECONDS.toNanos(80));
+      steady.stats().recordSuccess(TimeUnit.MILLISECONDS.toNanos(150));
+    }
+    AcquirerRouter router = new AcquirerRouter(List.of(flaky, steady), metrics);
+    assertThat(router.candidates(payment("GBP"))).extracting(Acquirer::name)
+        .containsExactly("steady", "flaky");
+
+    // steady keeps being called; flaky gets nothing and drifts back to the prior
+    for (int minute = 0; minute < 5; minute++) {
+      now.addAndGet(TimeUnit.MINUTES.toNanos(1));
+      steady.stats().recordSuccess(TimeUnit.MILLISECONDS.toNanos(150));
+    }
+
+    assertThat(flaky.stats().successRate()).isGreaterThan(0.95);
+    assertThat(router.candidates(payment("GBP"))).extracting(Acquirer::name)
+        .containsExactly("flaky", "steady");
+  }
+
+  @Test
+  void candidates_openCircuit_isTriedLast() {
+    CircuitBreaker open = CircuitBreaker.ofDefaults("open");
+    open.transitionToOpenState();
+    Acquirer broken = new Acquirer(route("broken", List.of(), List.of(), List.of()),
+        (payment, attempt) -> PaymentStatus.AUTHORIZED, open, stats(System::nanoTime));
+    Acquirer healthy = acquirer(route("healthy", List.of(), List.of(), List.of()), authorized());
+    healthy.stats().recordSuccess(TimeUnit.MILLISECONDS.toNanos(500));
+    AcquirerRouter router = new AcquirerRouter(List.of(broken, healthy), metrics);
+
+    assertThat(router.candidates(payment("GBP"))).extracting(Acquirer::name)
+        .containsExactly("healthy", "broken");
+  }
+
+  @Test
+  void candidates_readsEachScoreOncePerDecision() {
+    AtomicLong clockReads = new AtomicLong();
+    AtomicLong now = new AtomicLong();
+    // Every read moves the clock, so each comparison would otherwise see a new score
+    LongSupplier ticking = () -> {
+      clockReads.incrementAndGet();
+      return now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    };
+    List<Acquirer> acquirers = new ArrayList<>();
+    for (int i = 0; i < 64; i++) {
+      Acquirer acquirer = acquirer(route("acquirer-" + i, List.of(), List.of(), List.of()),
+          authorized(), ticking);
+      acquirer.stats().recordSuccess(TimeUnit.MILLISECONDS.toNanos(i % 7 * 100L));
+      acquirers.add(acquirer);
+    }
+    AcquirerRouter router = new AcquirerRouter(acquirers, metrics);
+    clockReads.set(0);
+
+    assertThat(router.candidates(payment("GBP"))).hasSize(64);
+    assertThat(clockReads).hasValue(64);
+  }
+
+  @Test
+  void registersGaugesPerAcquirer() {
+    new AcquirerRouter(List.of(
+        acquirer(route("gauged", List.of(), List.of(), List.of()), authorized())), metrics);
+
+    assertThat(registry.find("payment.routing.success.rate").tag("acquirer", "gauged")
+        .gauge().value()).isEqualTo(1.0);
+    assertThat(registry.find("payment.routing.latency.ewma").tag("acquirer", "gauged")
+        .gauge()).isNotNull();
+  }
+
+  private Acquirer acquirer(Route route, Function<Payment, PaymentStatus> authorizer) {
+    return acquirer(route, authorizer, System::nanoTime);
+  }
+
+  private Acquirer acquirer(Route route, Function<Payment, PaymentStatus> authorizer,
+      LongSupplier nanoTime) {
+    return new Acquirer(route, (payment, attempt) -> {
+      calls.add(route.getName());
+      return authorizer.apply(payment);
+    }, CircuitBreaker.ofDefaults(route.getName()), stats(nanoTime));
+  }
+
+  private static Retry retry(int maxAttempts) {
+    return Retry.of("router", RetryConfig.custom()
+        .maxAttempts(maxAttempts)
+        .waitDuration(Duration.ofMillis(1))
+        .retryExceptions(BankCommunicationException.class)
+        .build());
+  }
+
+  private static AcquirerStats stats(LongSupplier nanoTime) {
+    return new AcquirerStats(0.2, Duration.ofMillis(100), Duration.ofMinutes(1), nanoTime);
+  }
+
+  private Function<Payment, PaymentStatus> authorized() {
+    return payment -> PaymentStatus.AUTHORIZED;
+  }
+
+  private Function<Payment, PaymentStatus> unreachable() {
+    return payment -> {
+      throw new BankCommunicationException("Bank communication failed", null);
+    };
+  }
+
+  private static Route route(String name, List<String> currencies, List<String> bins,
+      List<String> schemes) {
+    Route route = new Route(name);
+    route.setCurrencies(currencies);
+    route.setBins(bins);
+    route.setSchemes(schemes);
+    return route;
+  }
+
+  private static Payment payment(String currency) {
+    Payment payment = new Payment();
+    payment.setCardNumber("2222405343248877");
+    payment.setCurrency(currency);
+    payment.setAmount(100);
+    return payment;
+  }
+}
@@ -12,10 +12,10 @@ import com.checkout.payment.gateway.client.bank.model.BankPaymentResponse;
 import com.checkout.payment.gateway.exception.BankCommunicationException;
 import com.checkout.payment.gateway.model.Payment;
 import com.checkout.payment.gateway.model.PaymentStatus;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.client.RestClientException;
@@ -26,9 +26,13 @@ class BankPaymentAdapterTest {
   @Mock
   private DefaultApi bankApi;
 
-  @InjectMocks
   private BankPaymentAdapter bankPaymentAdapter;
 
+  @BeforeEach
+  void setUp() {
+    bankPaymentAdapter = new BankPaymentAdapter(bankApi);
+  }
+
   @Test
   void authorize_bankReturnsAuthorized_returnsAuthorizedStatus() {
     Payment payment = createPayment();
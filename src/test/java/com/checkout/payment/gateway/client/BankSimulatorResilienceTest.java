@@ -0,0 +1,102 @@
+package com.checkout.payment.gateway.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.checkout.payment.gateway.client.bank.ApiClient;
+import com.checkout.payment.gateway.client.bank.api.DefaultApi;
+import com.checkout.payment.gateway.exception.BankCommunicationException;
+import com.checkout.payment.gateway.loadtest.BankSimulator;
+import com.checkout.payment.gateway.loadtest.SimulatorProfile;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.model.PaymentStatus;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import java.time.Duration;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+// BankPaymentAdapter with the retry and circuit breaker wiring of the bankClient bean, minus
+// the registries, against the in-process simulator instead of mocks
+class BankSimulatorResilienceTest {
+
+  private final Retry retry = Retry.of("simulator", RetryConfig.custom()
+      .maxAttempts(3)
+      .waitDuration(Duration.ofMillis(1))
+      .build());
+  private final CircuitBreaker breaker = CircuitBreaker.of("simulator",
+      CircuitBreakerConfig.custom()
+          .slidingWindowSize(10)
+          .minimumNumberOfCalls(10)
+          .failureRateThreshold(50)
+          .build());
+
+  @Test
+  void shortBursts_areAbsorbedByRetries() throws Exception {
+    try (BankSimulator simulator = BankSimulator.start(0,
+        SimulatorProfile.instant().withBursts(5, 2))) {
+      Function<Payment, PaymentStatus> authorizer = authorizer(simulator);
+
+      for (int i = 0; i < 10; i++) {
+        assertThat(authorizer.apply(payment("2222405343248877")))
+            .isEqualTo(PaymentStatus.AUTHORIZED);
+      }
+      // Requests 0-1, 5-6, 10-11 and 15-16 hit a burst; calls 1, 4, 7 and 10 retry through it
+      assertThat(simulator.requests()).isEqualTo(18);
+      assertThat(simulator.unavailable()).isEqualTo(8);
+      assertThat(retry.getMetrics().getNumberOfSuccessfulCallsWithRetryAttempt()).isEqualTo(4);
+      assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+  }
+
+  @Test
+  void sustainedOutage_opensCircuit() throws Exception {
+    try (BankSimulator simulator = BankSimulator.start(0,
+        SimulatorProfile.instant().withBursts(1, 1))) {
+      Function<Payment, PaymentStatus> authorizer = authorizer(simulator);
+
+      for (int i = 0; i < 3; i++) {
+        assertThatThrownBy(() -> authorizer.apply(payment("2222405343248877")))
+            .isInstanceOf(BankCommunicationException.class);
+      }
+      // The tenth failed attempt fills the window and opens the circuit mid-retry
+      assertThatThrownBy(() -> authorizer.apply(payment("2222405343248877")))
+          .isInstanceOf(CallNotPermittedException.class);
+
+      assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+      assertThat(simulator.requests()).isEqualTo(10);
+    }
+  }
+
+  @Test
+  void declinedCard_isNotRetried() throws Exception {
+    try (BankSimulator simulator = BankSimulator.start(0, SimulatorProfile.instant())) {
+      assertThat(authorizer(simulator).apply(payment("2222405343248878")))
+          .isEqualTo(PaymentStatus.DECLINED);
+      assertThat(simulator.requests()).isEqualTo(1);
+    }
+  }
+
+  private Function<Payment, PaymentStatus> authorizer(BankSimulator simulator) {
+    ApiClient apiClient = new ApiClient(new RestTemplate());
+    apiClient.setBasePath(simulator.url());
+    BankPaymentAdapter adapter = new BankPaymentAdapter(new DefaultApi(apiClient));
+    return Retry.decorateFunction(retry,
+        CircuitBreaker.decorateFunction(breaker, adapter::authorize));
+  }
+
+  private static Payment payment(String cardNumber) {
+    Payment payment = new Payment();
+    payment.setCardNumber(cardNumber);
+    payment.setExpiryMonth(4);
+    payment.setExpiryYear(2027);
+    payment.setCurrency("GBP");
+    payment.setAmount(100);
+    payment.setCvv("123");
+    return payment;
+  }
+}
@@ -6,8 +6,8 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.checkout.payment.gateway.admission.ClientRateLimiter;
 import com.checkout.payment.gateway.client.bank.api.DefaultApi;
-import com.checkout.payment.gateway.filter.RateLimitFilter;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import org.junit.jupiter.api.AfterEach;
@@ -45,12 +45,12 @@ class CircuitBreakerTest {
   private CircuitBreakerRegistry circuitBreakerRegistry;
 
   @Autowired
-  private RateLimitFilter rateLimitFilter;
+  private ClientRateLimiter rateLimiter;
 
   @AfterEach
   void tearDown() {
     circuitBreakerRegistry.circuitBreaker("bankClient").reset();
-    rateLimitFilter.clearBuckets();
+    rateLimiter.clearBuckets();
   }
 
   @Test
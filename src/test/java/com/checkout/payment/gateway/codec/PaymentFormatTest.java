@@ -0,0 +1,28 @@
+package com.checkout.payment.gateway.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PaymentFormatTest {
+
+  @Test
+  void negotiate_missingWildcardOrInvalidAccept_isJson() {
+    assertThat(PaymentFormat.negotiate(null)).isEqualTo(PaymentFormat.JSON);
+    assertThat(PaymentFormat.negotiate("*/*")).isEqualTo(PaymentFormat.JSON);
+    assertThat(PaymentFormat.negotiate("application/*")).isEqualTo(PaymentFormat.JSON);
+    assertThat(PaymentFormat.negotiate("not a media type")).isEqualTo(PaymentFormat.JSON);
+    assertThat(PaymentFormat.negotiate("text/html")).isEqualTo(PaymentFormat.JSON);
+  }
+
+  @Test
+  void negotiate_picksMostPreferredBinaryFormat() {
+    assertThat(PaymentFormat.negotiate("application/cbor")).isEqualTo(PaymentFormat.CBOR);
+    assertThat(PaymentFormat.negotiate("*/*, application/x-jackson-smile"))
+        .isEqualTo(PaymentFormat.SMILE);
+    assertThat(PaymentFormat.negotiate("application/cbor;q=0.5, application/x-jackson-smile"))
+        .isEqualTo(PaymentFormat.SMILE);
+    assertThat(PaymentFormat.negotiate("application/cbor;q=0, application/json"))
+        .isEqualTo(PaymentFormat.JSON);
+  }
+}
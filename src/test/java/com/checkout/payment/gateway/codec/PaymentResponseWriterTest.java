@@ -0,0 +1,63 @@
+package com.checkout.payment.gateway.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.checkout.payment.gateway.mapper.PaymentApiMapper;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.model.PaymentStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+class PaymentResponseWriterTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final PaymentApiMapper apiMapper = Mappers.getMapper(PaymentApiMapper.class);
+  private final PaymentResponseWriter writer = new PaymentResponseWriter(objectMapper, apiMapper);
+
+  @Test
+  void write_matchesObjectMapperOutputForMappedResponse() throws Exception {
+    for (PaymentStatus status : PaymentStatus.values()) {
+      Payment payment = payment();
+      payment.setStatus(status);
+      payment.setCapturedAmount(600);
+      payment.setRefundedAmount(250);
+
+      assertThat(writer.write(payment)).as(status.name())
+          .isEqualTo(objectMapper.writeValueAsBytes(apiMapper.toProcessResponse(payment)));
+    }
+  }
+
+  @Test
+  void write_missingIdAndStatus_areWrittenAsNull() {
+    Payment payment = payment();
+    payment.setId(null);
+
+    assertThat(new String(writer.write(payment)))
+        .startsWith("{\"id\":null,\"status\":null,\"cardNumberLastFour\":\"8877\",");
+  }
+
+  @Test
+  void write_binaryFormat_carriesTheSameFields() throws Exception {
+    Payment payment = payment();
+    payment.setStatus(PaymentStatus.AUTHORIZED);
+
+    byte[] cbor = writer.write(payment, PaymentFormat.CBOR);
+
+    assertThat(new ObjectMapper(new CBORFactory()).readTree(cbor))
+        .isEqualTo(objectMapper.readTree(writer.write(payment)));
+  }
+
+  private static Payment payment() {
+    Payment payment = new Payment();
+    payment.setId(UUID.randomUUID());
+    payment.setCardNumberLastFour("8877");
+    payment.setExpiryMonth(4);
+    payment.setExpiryYear(2030);
+    payment.setCurrency("GBP");
+    payment.setAmount(1050);
+    return payment;
+  }
+}
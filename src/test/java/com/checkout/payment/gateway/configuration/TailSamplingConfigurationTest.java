@@ -0,0 +1,91 @@
+package com.checkout.payment.gateway.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SpanLimits;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.tracing.SdkTracerProviderBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+@SpringBootTest(properties = {
+    "tracing.tail-sampling.enabled=true",
+    "tracing.tail-sampling.sample-rate=0",
+    "tracing.tail-sampling.latency-threshold=1m"})
+class TailSamplingConfigurationTest {
+
+  @Autowired
+  private Tracer tracer;
+
+  @Autowired
+  private SdkTracerProvider tracerProvider;
+
+  @Autowired
+  private CapturingSpanExporter exporter;
+
+  @Test
+  void tailSampling_exportsOnlyDecidedTraces() {
+    Span fast = tracer.nextSpan().name("fast").start();
+    fast.end();
+    Span failed = tracer.nextSpan().name("failed").start();
+    failed.error(new IllegalStateException("bank unavailable"));
+    failed.end();
+
+    tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+
+    assertThat(exporter.spans).extracting(SpanData::getName).containsExactly("failed");
+  }
+
+  @Test
+  void builderCustomizers_areApplied() {
+    assertThat(tracerProvider.getSpanLimits().getMaxNumberOfAttributes()).isEqualTo(64);
+  }
+
+  @TestConfiguration
+  static class CapturingExporterConfiguration {
+
+    @Bean
+    CapturingSpanExporter capturingSpanExporter() {
+      return new CapturingSpanExporter();
+    }
+
+    @Bean
+    SdkTracerProviderBuilderCustomizer spanLimitsCustomizer() {
+      return builder -> builder.setSpanLimits(
+          SpanLimits.builder().setMaxNumberOfAttributes(64).build());
+    }
+  }
+
+  static class CapturingSpanExporter implements SpanExporter {
+
+    private final List<SpanData> spans = new CopyOnWriteArrayList<>();
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> batch) {
+      spans.addAll(batch);
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+      return CompletableResultCode.ofSuccess();
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package com.checkout.payment.gateway.controller;
+
+import static com.checkout.payment.gateway.controller.JsonFixture.readFixture;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.checkout.payment.gateway.client.bank.api.DefaultApi;
+import com.checkout.payment.gateway.client.bank.model.BankPaymentResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.web.client.RestClientException;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+    "duplicate-detection.mode=BLOCK",
+    "duplicate-detection.window=30s",
+    "resilience4j.retry.instances.bankClient.max-attempts=1"
+})
+class DuplicateDetectionTest {
+
+  @Autowired
+  private MockMvc mvc;
+
+  @MockBean
+  private DefaultApi bankApi;
+
+  @Test
+  void postPayment_identicalRetryWithoutIdempotencyKey_returns400WithoutCallingBank()
+      throws Exception {
+    when(bankApi.authorizePayment(any())).thenReturn(
+        new BankPaymentResponse().authorized(true).authorizationCode("auth-duplicate"));
+
+    post("4111111111111111", 100).andExpect(status().isCreated());
+    post("4111111111111111", 100)
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.status").value("Rejected"))
+        .andExpect(jsonPath("$.errors[0].field").value("requestBody"));
+    post("4111111111111111", 101).andExpect(status().isCreated());
+
+    verify(bankApi, times(2)).authorizePayment(any());
+  }
+
+  @Test
+  void postPayment_retryAfterBankFailure_isProcessed() throws Exception {
+    when(bankApi.authorizePayment(any()))
+        .thenThrow(new RestClientException("Connection refused"))
+        .thenReturn(new BankPaymentResponse().authorized(true).authorizationCode("auth-retry"));
+
+    post("5500000000000004", 250).andExpect(status().isBadGateway());
+    post("5500000000000004", 250).andExpect(status().isCreated());
+  }
+
+  private ResultActions post(String cardNumber, int amount) throws Exception {
+    String body = readFixture("/fixtures/valid-payment.json")
+        .replace("2222405343248877", cardNumber)
+        .replace("\"amount\": 100", "\"amount\": " + amount);
+    return mvc.perform(MockMvcRequestBuilders.post("/v1/payment")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(body));
+  }
+}
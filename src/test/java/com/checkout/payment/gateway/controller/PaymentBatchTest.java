@@ -0,0 +1,162 @@
+package com.checkout.payment.gateway.controller;
+
+import static com.checkout.payment.gateway.controller.JsonFixture.readFixture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.checkout.payment.gateway.client.bank.api.DefaultApi;
+import com.checkout.payment.gateway.client.bank.model.BankPaymentResponse;
+import com.jayway.jsonpath.JsonPath;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.web.client.RestClientException;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "batch.max-items=3")
+class PaymentBatchTest {
+
+  @Autowired
+  private MockMvc mvc;
+
+  @MockBean
+  private DefaultApi bankApi;
+
+  @Test
+  void postBatch_jsonArray_streamsOneResultPerItem() throws Exception {
+    when(bankApi.authorizePayment(any())).thenReturn(
+        new BankPaymentResponse().authorized(true).authorizationCode("auth-batch"));
+
+    String body = "[" + compact("/fixtures/valid-payment.json") + ","
+        + compact("/fixtures/luhn-invalid-payment.json") + ","
+        + compact("/fixtures/invalid-card-number-payment.json") + "]";
+
+    Map<Integer, String> results = postBatch(MediaType.APPLICATION_JSON, body);
+
+    assertEquals(3, results.size());
+    assertEquals("Processed", JsonPath.read(results.get(0), "$.outcome"));
+    assertEquals("Authorized", JsonPath.read(results.get(0), "$.payment.status"));
+    assertEquals("Rejected", JsonPath.read(results.get(1), "$.outcome"));
+    assertEquals("Card number failed Luhn check",
+        JsonPath.read(results.get(1), "$.errors[0].message"));
+    assertEquals("Rejected", JsonPath.read(results.get(2), "$.outcome"));
+    assertEquals("cardNumber", JsonPath.read(results.get(2), "$.errors[0].field"));
+    verify(bankApi, times(1)).authorizePayment(any());
+  }
+
+  @Test
+  void postBatch_ndjson_processesEachLine() throws Exception {
+    when(bankApi.authorizePayment(any())).thenReturn(
+        new BankPaymentResponse().authorized(false).authorizationCode(""));
+
+    String body = compact("/fixtures/valid-payment.json") + "\n"
+        + compact("/fixtures/valid-payment.json") + "\n";
+
+    Map<Integer, String> results = postBatch(MediaType.APPLICATION_NDJSON, body);
+
+    assertEquals(2, results.size());
+    assertEquals("Declined", JsonPath.read(results.get(0), "$.payment.status"));
+    assertEquals("Declined", JsonPath.read(results.get(1), "$.payment.status"));
+    verify(bankApi, times(2)).authorizePayment(any());
+  }
+
+  @Test
+  void postBatch_bankError_marksItemFailed() throws Exception {
+    when(bankApi.authorizePayment(any())).thenThrow(new RestClientException("unavailable"));
+
+    Map<Integer, String> results = postBatch(MediaType.APPLICATION_JSON,
+        "[" + compact("/fixtures/valid-payment.json") + "]");
+
+    assertEquals("Failed", JsonPath.read(results.get(0), "$.outcome"));
+    assertEquals("Bank service unavailable", JsonPath.read(results.get(0), "$.message"));
+  }
+
+  @Test
+  void postBatch_tooManyItems_returns400() throws Exception {
+    String item = compact("/fixtures/valid-payment.json");
+    String body = "[" + String.join(",", List.of(item, item, item, item)) + "]";
+
+    mvc.perform(MockMvcRequestBuilders.post("/v1/payments/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(body))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errors[0].field").value("requestBody"))
+        .andExpect(jsonPath("$.errors[0].message")
+            .value("Batch must contain between 1 and 3 payments"));
+  }
+
+  @Test
+  void postBatch_tooManyItems_isRejectedWithoutReadingTheRest() throws Exception {
+    String item = compact("/fixtures/valid-payment.json");
+    // Never parsed: reading stops one item past the limit
+    String body = "[" + String.join(",", List.of(item, item, item, item)) + ",{\"cardNumber\": ";
+
+    mvc.perform(MockMvcRequestBuilders.post("/v1/payments/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(body))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errors[0].message")
+            .value("Batch must contain between 1 and 3 payments"));
+  }
+
+  @Test
+  void postBatch_jsonObjectInsteadOfArray_returns400() throws Exception {
+    mvc.perform(MockMvcRequestBuilders.post("/v1/payments/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(compact("/fixtures/valid-payment.json")))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.status").value("Rejected"));
+  }
+
+  @Test
+  void postBatch_emptyArray_returns400() throws Exception {
+    mvc.perform(MockMvcRequestBuilders.post("/v1/payments/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[]"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.status").value("Rejected"));
+  }
+
+  @Test
+  void postBatch_malformedNdjson_returns400() throws Exception {
+    mvc.perform(MockMvcRequestBuilders.post("/v1/payments/batch")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .content("{\"cardNumber\": "))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.status").value("Rejected"));
+  }
+
+  private Map<Integer, String> postBatch(MediaType contentType, String body) throws Exception {
+    String response = mvc.perform(MockMvcRequestBuilders.post("/v1/payments/batch")
+            .contentType(contentType)
+            .content(body))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+        .andReturn().getResponse().getContentAsString();
+    return Arrays.stream(response.split("\n"))
+        .collect(Collectors.toMap(line -> JsonPath.<Integer>read(line, "$.index"),
+            Function.identity()));
+  }
+
+  private static String compact(String fixture) {
+    return readFixture(fixture).replaceAll("\\s+", "");
+  }
+}
@@ -0,0 +1,147 @@
+package com.checkout.payment.gateway.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.checkout.payment.gateway.client.bank.api.DefaultApi;
+import com.checkout.payment.gateway.client.bank.model.BankPaymentResponse;
+import com.checkout.payment.gateway.codec.PaymentFormat;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PaymentBinaryFormatTest {
+
+  private static final MediaType CBOR = PaymentFormat.CBOR.mediaType();
+  private static final MediaType SMILE = PaymentFormat.SMILE.mediaType();
+
+  private final ObjectMapper cborMapper = new CBORMapper();
+  private final ObjectMapper smileMapper = new SmileMapper();
+
+  @Autowired
+  private MockMvc mvc;
+
+  @MockBean
+  private DefaultApi bankApi;
+
+  @BeforeEach
+  void setUp() {
+    when(bankApi.authorizePayment(any())).thenReturn(
+        new BankPaymentResponse().authorized(true).authorizationCode("auth-123"));
+  }
+
+  @Test
+  void postPayment_cborRequestAndAccept_returnsCborResponse() throws Exception {
+    MvcResult result = mvc.perform(MockMvcRequestBuilders.post("/v1/payment")
+            .contentType(CBOR)
+            .accept(CBOR)
+            .content(cborMapper.writeValueAsBytes(request())))
+        .andExpect(status().isCreated())
+        .andExpect(content().contentType(CBOR))
+        .andExpect(header().string("Vary", "Accept"))
+        .andReturn();
+
+    Map<String, Object> response = cborMapper.readValue(
+        result.getResponse().getContentAsByteArray(), new TypeReference<>() {});
+    assertThat(response).containsEntry("status", "Authorized")
+        .containsEntry("cardNumberLastFour", "8877")
+        .containsEntry("currency", "GBP")
+        .containsEntry("amount", 100)
+        .containsKey("id");
+  }
+
+  @Test
+  void postPayment_smileRequestWithoutAccept_returnsJson() throws Exception {
+    mvc.perform(MockMvcRequestBuilders.post("/v1/payment")
+            .contentType(SMILE)
+            .accept(MediaType.ALL)
+            .content(smileMapper.writeValueAsBytes(request())))
+        .andExpect(status().isCreated())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$.status").value("Authorized"));
+  }
+
+  @Test
+  void postPayment_invalidCborRequest_isRejectedLikeJson() throws Exception {
+    Map<String, Object> request = request();
+    request.put("cvv", "12");
+    request.put("currency", "JPY");
+
+    mvc.perform(MockMvcRequestBuilders.post("/v1/payment")
+            .contentType(CBOR)
+            .accept(MediaType.APPLICATION_JSON)
+            .content(cborMapper.writeValueAsBytes(request)))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.status").value("Rejected"))
+        .andExpect(jsonPath("$.errors[0].field").value("currency"));
+
+    request.put("currency", "GBP");
+    mvc.perform(MockMvcRequestBuilders.post("/v1/payment")
+            .contentType(CBOR)
+            .accept(MediaType.APPLICATION_JSON)
+            .content(cborMapper.writeValueAsBytes(request)))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errors[0].field").value("cvv"));
+
+    verify(bankApi, never()).authorizePayment(any());
+  }
+
+  @Test
+  void getPayment_smileAccept_returnsSameFieldsAsJsonWithOwnEtag() throws Exception {
+    MvcResult created = mvc.perform(MockMvcRequestBuilders.post("/v1/payment")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(new ObjectMapper().writeValueAsBytes(request())))
+        .andExpect(status().isCreated())
+        .andReturn();
+    String location = created.getResponse().getHeader("Location");
+
+    MvcResult json = mvc.perform(MockMvcRequestBuilders.get(location))
+        .andExpect(status().isOk())
+        .andReturn();
+    MvcResult smile = mvc.perform(MockMvcRequestBuilders.get(location)
+            .accept(SMILE, MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(SMILE))
+        .andReturn();
+
+    assertThat(smileMapper.readValue(smile.getResponse().getContentAsByteArray(), Map.class))
+        .isEqualTo(new ObjectMapper().readValue(json.getResponse().getContentAsByteArray(),
+            Map.class));
+    assertThat(smile.getResponse().getHeader("ETag"))
+        .isNotEqualTo(json.getResponse().getHeader("ETag"));
+  }
+
+  private static Map<String, Object> request() {
+    Map<String, Object> request = new HashMap<>();
+    request.put("cardNumber", "2222405343248877");
+    request.put("expiryMonth", 4);
+    request.put("expiryYear", YearMonth.now().getYear() + 2);
+    request.put("currency", "GBP");
+    request.put("amount", 100);
+    request.put("cvv", "123");
+    return request;
+  }
+}
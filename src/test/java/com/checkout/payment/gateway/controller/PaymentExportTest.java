@@ -0,0 +1,155 @@
+package com.checkout.payment.gateway.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.model.PaymentStatus;
+import com.checkout.payment.gateway.repository.PaymentRepository;
+import com.jayway.jsonpath.JsonPath;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PaymentExportTest {
+
+  @Autowired
+  private MockMvc mvc;
+
+  @Autowired
+  private PaymentRepository paymentRepository;
+
+  // Each test works in its own time window so payments saved by other tests are excluded
+  private Instant windowStart;
+
+  @BeforeEach
+  void setUp() {
+    windowStart = Instant.parse("2001-01-01T00:00:00Z")
+        .plus(ThreadLocalRandom.current().nextInt(1_000_000), ChronoUnit.HOURS);
+  }
+
+  @Test
+  void export_streamsPaymentsInCreationOrder() throws Exception {
+    Payment second = save(PaymentStatus.DECLINED, "USD", 2);
+    Payment first = save(PaymentStatus.AUTHORIZED, "GBP", 1);
+
+    List<String> lines = export(window());
+
+    assertEquals(2, lines.size());
+    assertEquals(first.getId().toString(), JsonPath.read(lines.get(0), "$.id"));
+    assertEquals("Authorized", JsonPath.read(lines.get(0), "$.status"));
+    assertEquals(second.getId().toString(), JsonPath.read(lines.get(1), "$.id"));
+    assertEquals("Declined", JsonPath.read(lines.get(1), "$.status"));
+  }
+
+  @Test
+  void export_filtersByStatusAndCurrency() throws Exception {
+    save(PaymentStatus.AUTHORIZED, "GBP", 1);
+    Payment match = save(PaymentStatus.DECLINED, "GBP", 2);
+    save(PaymentStatus.DECLINED, "USD", 3);
+
+    List<String> lines = export(window().param("status", "Declined").param("currency", "GBP"));
+
+    assertEquals(1, lines.size());
+    assertEquals(match.getId().toString(), JsonPath.read(lines.get(0), "$.id"));
+  }
+
+  @Test
+  void export_cursorPagination_walksAllPages() throws Exception {
+    Payment p1 = save(PaymentStatus.AUTHORIZED, "GBP", 1);
+    Payment p2 = save(PaymentStatus.AUTHORIZED, "GBP", 2);
+    Payment p3 = save(PaymentStatus.AUTHORIZED, "GBP", 3);
+
+    List<String> page1 = export(window().param("limit", "2"));
+    String cursor = JsonPath.read(page1.get(1), "$.id");
+    List<String> page2 = export(window().param("limit", "2").param("after", cursor));
+
+    assertEquals(2, page1.size());
+    assertEquals(p1.getId().toString(), JsonPath.read(page1.get(0), "$.id"));
+    assertEquals(p2.getId().toString(), cursor);
+    assertEquals(1, page2.size());
+    assertEquals(p3.getId().toString(), JsonPath.read(page2.get(0), "$.id"));
+  }
+
+  @Test
+  void export_includesCreatedAt() throws Exception {
+    save(PaymentStatus.AUTHORIZED, "EUR", 5);
+
+    List<String> lines = export(window());
+
+    assertEquals(windowStart.plusSeconds(5),
+        Instant.parse(JsonPath.read(lines.get(0), "$.createdAt")));
+  }
+
+  @Test
+  void export_unknownCursor_returns400() throws Exception {
+    mvc.perform(MockMvcRequestBuilders.get("/v1/payments")
+            .param("after", UUID.randomUUID().toString()))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errors[0].field").value("after"));
+  }
+
+  @Test
+  void export_invalidStatus_returns400() throws Exception {
+    mvc.perform(MockMvcRequestBuilders.get("/v1/payments").param("status", "Rejected"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errors[0].field").value("status"));
+  }
+
+  @Test
+  void export_limitOutOfRange_returns400() throws Exception {
+    mvc.perform(MockMvcRequestBuilders.get("/v1/payments").param("limit", "0"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errors[0].field").value("limit"));
+  }
+
+  private MockHttpServletRequestBuilder window() {
+    return MockMvcRequestBuilders.get("/v1/payments")
+        .param("from", windowStart.toString())
+        .param("to", windowStart.plus(1, ChronoUnit.HOURS).toString());
+  }
+
+  private List<String> export(MockHttpServletRequestBuilder builder) throws Exception {
+    MvcResult started = mvc.perform(builder)
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    String body = mvc.perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+        .andReturn().getResponse().getContentAsString();
+    return body.isEmpty() ? List.of() : Arrays.asList(body.split("\n"));
+  }
+
+  private Payment save(PaymentStatus status, String currency, int secondsIntoWindow) {
+    Payment payment = new Payment();
+    payment.setId(UUID.randomUUID());
+    payment.setStatus(status);
+    payment.setCardNumberLastFour("8877");
+    payment.setExpiryMonth(4);
+    payment.setExpiryYear(2030);
+    payment.setCurrency(currency);
+    payment.setAmount(100);
+    payment.setCreatedAt(windowStart.plusSeconds(secondsIntoWindow));
+    paymentRepository.save(payment);
+    return payment;
+  }
+}
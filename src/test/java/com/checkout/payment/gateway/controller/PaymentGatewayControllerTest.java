@@ -1,13 +1,18 @@
 package com.checkout.payment.gateway.controller;
 
-
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.checkout.payment.gateway.model.Payment;
 import com.checkout.payment.gateway.model.PaymentStatus;
 import com.checkout.payment.gateway.repository.PaymentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -24,6 +29,8 @@ class PaymentGatewayControllerTest {
   private MockMvc mvc;
   @Autowired
   PaymentRepository paymentRepository;
+  @Autowired
+  MeterRegistry meterRegistry;
 
   @Test
   void whenPaymentWithIdExistThenCorrectPaymentIsReturned() throws Exception {
@@ -48,10 +55,109 @@ class PaymentGatewayControllerTest {
         .andExpect(jsonPath("$.amount").value(payment.getAmount()));
   }
 
+  @Test
+  void whenPaymentIsRetrievedThenEtagHeaderIsReturned() throws Exception {
+    Payment payment = storedPayment();
+
+    mvc.perform(MockMvcRequestBuilders.get("/v1/payment/" + payment.getId()))
+        .andExpect(status().isOk())
+        .andExpect(header().exists("ETag"));
+  }
+
+  @Test
+  void whenIfNoneMatchMatchesEtagThen304IsReturned() throws Exception {
+    Payment payment = storedPayment();
+
+    String etag = mvc.perform(MockMvcRequestBuilders.get("/v1/payment/" + payment.getId()))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader("ETag");
+
+    mvc.perform(MockMvcRequestBuilders.get("/v1/payment/" + payment.getId())
+            .header("If-None-Match", etag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", etag));
+  }
+
+  @Test
+  void whenIfNoneMatchDoesNotMatchThenFullResponseIsReturned() throws Exception {
+    Payment payment = storedPayment();
+
+    mvc.perform(MockMvcRequestBuilders.get("/v1/payment/" + payment.getId())
+            .header("If-None-Match", "\"stale\""))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.id").value(payment.getId().toString()));
+  }
+
+  @Test
+  void whenPaymentIsServedFromCacheThenRetrievalIsStillCounted() throws Exception {
+    Payment payment = storedPayment();
+    double before = retrievedCount();
+
+    for (int i = 0; i < 3; i++) {
+      mvc.perform(MockMvcRequestBuilders.get("/v1/payment/" + payment.getId()))
+          .andExpect(status().isOk());
+    }
+
+    assertEquals(before + 3, retrievedCount());
+  }
+
   @Test
   void whenPaymentWithIdDoesNotExistThen404IsReturned() throws Exception {
     mvc.perform(MockMvcRequestBuilders.get("/v1/payment/" + UUID.randomUUID()))
         .andExpect(status().isNotFound())
         .andExpect(jsonPath("$.message").value("Page not found"));
   }
+
+  @Test
+  void whenLookingUpManyIdsThenFoundAndMissingAreReturned() throws Exception {
+    Payment first = storedPayment();
+    Payment second = storedPayment();
+    UUID unknown = UUID.randomUUID();
+
+    mvc.perform(MockMvcRequestBuilders.get("/v1/payments/lookup")
+            .param("ids", first.getId() + "," + unknown + "," + second.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.payments.length()").value(2))
+        .andExpect(jsonPath("$.payments[0].id").value(first.getId().toString()))
+        .andExpect(jsonPath("$.payments[1].id").value(second.getId().toString()))
+        .andExpect(jsonPath("$.missing.length()").value(1))
+        .andExpect(jsonPath("$.missing[0]").value(unknown.toString()));
+  }
+
+  @Test
+  void whenLookingUpWithoutIdsThen400IsReturned() throws Exception {
+    mvc.perform(MockMvcRequestBuilders.get("/v1/payments/lookup"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errors[0].field").value("ids"));
+  }
+
+  @Test
+  void whenLookingUpTooManyIdsThen400IsReturned() throws Exception {
+    String ids = Stream.generate(UUID::randomUUID)
+        .limit(PaymentGatewayController.MAX_LOOKUP_IDS + 1)
+        .map(UUID::toString)
+        .collect(Collectors.joining(","));
+
+    mvc.perform(MockMvcRequestBuilders.get("/v1/payments/lookup").param("ids", ids))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errors[0].field").value("ids"));
+  }
+
+  private double retrievedCount() {
+    Counter counter = meterRegistry.find("payment.retrieved").tag("found", "true").counter();
+    return counter != null ? counter.count() : 0;
+  }
+
+  private Payment storedPayment() {
+    Payment payment = new Payment();
+    payment.setId(UUID.randomUUID());
+    payment.setStatus(PaymentStatus.AUTHORIZED);
+    payment.setCardNumberLastFour("4321");
+    payment.setExpiryMonth(12);
+    payment.setExpiryYear(2024);
+    payment.setCurrency("USD");
+    payment.setAmount(10);
+    paymentRepository.save(payment);
+    return payment;
+  }
 }
@@ -0,0 +1,104 @@
+package com.checkout.payment.gateway.controller;
+
+import static com.checkout.payment.gateway.controller.JsonFixture.readFixture;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.checkout.payment.gateway.client.bank.api.DefaultApi;
+import com.checkout.payment.gateway.client.bank.model.BankPaymentResponse;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PaymentLifecycleTest {
+
+  @Autowired
+  private MockMvc mvc;
+
+  @MockBean
+  private DefaultApi bankApi;
+
+  @Test
+  void captureThenRefund_updatesStatusAndHistory() throws Exception {
+    String id = authorizedPayment();
+    // Prime the response cache so the capture has to evict it
+    mvc.perform(MockMvcRequestBuilders.get("/v1/payment/" + id))
+        .andExpect(jsonPath("$.status").value("Authorized"));
+
+    mvc.perform(MockMvcRequestBuilders.post("/v1/payment/" + id + "/capture")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"amount\": 60}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("Captured"))
+        .andExpect(jsonPath("$.capturedAmount").value(60));
+    mvc.perform(MockMvcRequestBuilders.get("/v1/payment/" + id))
+        .andExpect(jsonPath("$.status").value("Captured"));
+
+    mvc.perform(MockMvcRequestBuilders.post("/v1/payment/" + id + "/refund")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"amount\": 20}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("PartiallyRefunded"))
+        .andExpect(jsonPath("$.refundedAmount").value(20));
+
+    mvc.perform(MockMvcRequestBuilders.get("/v1/payment/" + id + "/events"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.events.length()").value(3))
+        .andExpect(jsonPath("$.events[0].operation").value("Authorize"))
+        .andExpect(jsonPath("$.events[1].operation").value("Capture"))
+        .andExpect(jsonPath("$.events[1].amount").value(60))
+        .andExpect(jsonPath("$.events[2].status").value("PartiallyRefunded"));
+  }
+
+  @Test
+  void captureAfterVoid_returns409() throws Exception {
+    String id = authorizedPayment();
+
+    mvc.perform(MockMvcRequestBuilders.post("/v1/payment/" + id + "/void"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("Voided"));
+    mvc.perform(MockMvcRequestBuilders.post("/v1/payment/" + id + "/capture"))
+        .andExpect(status().isConflict())
+        .andExpect(jsonPath("$.message").value("Cannot capture a payment that is VOIDED"));
+  }
+
+  @Test
+  void captureMoreThanAuthorized_returns400() throws Exception {
+    String id = authorizedPayment();
+
+    mvc.perform(MockMvcRequestBuilders.post("/v1/payment/" + id + "/capture")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"amount\": 101}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errors[0].field").value("amount"));
+  }
+
+  @Test
+  void voidUnknownPayment_returns404() throws Exception {
+    mvc.perform(MockMvcRequestBuilders.post(
+            "/v1/payment/00000000-0000-0000-0000-000000000000/void"))
+        .andExpect(status().isNotFound());
+  }
+
+  private String authorizedPayment() throws Exception {
+    when(bankApi.authorizePayment(any())).thenReturn(
+        new BankPaymentResponse().authorized(true).authorizationCode("auth-lifecycle"));
+    MvcResult result = mvc.perform(MockMvcRequestBuilders.post("/v1/payment")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(readFixture("/fixtures/valid-payment.json")))
+        .andExpect(status().isCreated())
+        .andReturn();
+    return JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+  }
+}
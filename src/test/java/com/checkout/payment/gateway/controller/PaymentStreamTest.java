@@ -0,0 +1,99 @@
+package com.checkout.payment.gateway.controller;
+
+import static com.checkout.payment.gateway.controller.JsonFixture.readFixture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.checkout.payment.gateway.client.bank.api.DefaultApi;
+import com.checkout.payment.gateway.client.bank.model.BankPaymentResponse;
+import com.jayway.jsonpath.JsonPath;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PaymentStreamTest {
+
+  @Autowired
+  private MockMvc mvc;
+
+  @MockBean
+  private DefaultApi bankApi;
+
+  @Test
+  void subscriber_receivesAuthorizationAndCaptureEvents() throws Exception {
+    MvcResult stream = mvc.perform(MockMvcRequestBuilders.get("/v1/payments/events")
+            .accept(MediaType.TEXT_EVENT_STREAM))
+        .andExpect(request().asyncStarted())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+        .andReturn();
+
+    String id = authorizedPayment();
+    mvc.perform(MockMvcRequestBuilders.post("/v1/payment/" + id + "/capture"))
+        .andExpect(status().isOk());
+
+    String events = awaitContent(stream.getResponse(), "event:payment.captured");
+    int authorized = events.indexOf("event:payment.authorized\ndata:{\"id\":\"" + id);
+    int captured = events.indexOf("event:payment.captured\ndata:{\"id\":\"" + id);
+    assertThat(authorized).isNotNegative();
+    assertThat(captured).isGreaterThan(authorized);
+  }
+
+  @Test
+  void subscriber_withLastEventId_replaysMissedEvents() throws Exception {
+    MvcResult first = mvc.perform(MockMvcRequestBuilders.get("/v1/payments/events"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    String id = authorizedPayment();
+    String events = awaitContent(first.getResponse(), id);
+    String lastEventId = events.substring(events.lastIndexOf("id:") + 3,
+        events.indexOf('\n', events.lastIndexOf("id:")));
+
+    mvc.perform(MockMvcRequestBuilders.post("/v1/payment/" + id + "/void"))
+        .andExpect(status().isOk());
+    MvcResult resumed = mvc.perform(MockMvcRequestBuilders.get("/v1/payments/events")
+            .header("Last-Event-ID", lastEventId))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    String replayed = awaitContent(resumed.getResponse(), "event:payment.voided");
+    assertThat(replayed).startsWith("id:" + (Long.parseLong(lastEventId) + 1) + "\n")
+        .doesNotContain("event:payment.authorized");
+  }
+
+  private String authorizedPayment() throws Exception {
+    when(bankApi.authorizePayment(any())).thenReturn(
+        new BankPaymentResponse().authorized(true).authorizationCode("auth-stream"));
+    MvcResult result = mvc.perform(MockMvcRequestBuilders.post("/v1/payment")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(readFixture("/fixtures/valid-payment.json")))
+        .andExpect(status().isCreated())
+        .andReturn();
+    return JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+  }
+
+  private static String awaitContent(MockHttpServletResponse response, String expected)
+      throws Exception {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    String content = response.getContentAsString();
+    while (!content.contains(expected)) {
+      assertThat(System.nanoTime()).as("no event containing " + expected).isLessThan(deadline);
+      Thread.sleep(10);
+      content = response.getContentAsString();
+    }
+    return content;
+  }
+}
@@ -0,0 +1,87 @@
+package com.checkout.payment.gateway.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.model.PaymentStatus;
+import com.checkout.payment.gateway.repository.PaymentRepository;
+import com.jayway.jsonpath.JsonPath;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PaymentSummaryTest {
+
+  @Autowired
+  private MockMvc mvc;
+
+  @Autowired
+  private PaymentRepository paymentRepository;
+
+  // Each test uses a currency no other test saves, so totals are unaffected by the rest of
+  // the suite
+  @Test
+  void summary_aggregatesByStatusCurrencyAndExpiry() throws Exception {
+    String currency = "SMA";
+    save(currency, PaymentStatus.AUTHORIZED, 100, 4, 2030);
+    save(currency, PaymentStatus.AUTHORIZED, 250, 4, 2030);
+    save(currency, PaymentStatus.DECLINED, 50, 5, 2031);
+
+    String body = mvc.perform(MockMvcRequestBuilders.get("/v1/payments/summary"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+
+    assertEquals(List.of(2), JsonPath.read(body, byStatus("Authorized", currency) + ".count"));
+    assertEquals(List.of(350), JsonPath.read(body, byStatus("Authorized", currency) + ".amount"));
+    assertEquals(List.of(1), JsonPath.read(body, byStatus("Declined", currency) + ".count"));
+    assertEquals(List.of(50), JsonPath.read(body, byStatus("Declined", currency) + ".amount"));
+    assertEquals(List.of(2), JsonPath.read(body, byExpiry("2030-04", currency) + ".count"));
+    assertEquals(List.of(350), JsonPath.read(body, byExpiry("2030-04", currency) + ".amount"));
+    assertEquals(List.of(1), JsonPath.read(body, byExpiry("2031-05", currency) + ".count"));
+  }
+
+  @Test
+  void summary_resavingPaymentDoesNotDoubleCount() throws Exception {
+    String currency = "SMB";
+    Payment payment = save(currency, PaymentStatus.AUTHORIZED, 700, 9, 2035);
+    paymentRepository.save(payment);
+
+    String body = mvc.perform(MockMvcRequestBuilders.get("/v1/payments/summary"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+
+    assertEquals(List.of(1), JsonPath.read(body, byExpiry("2035-09", currency) + ".count"));
+    assertEquals(List.of(700), JsonPath.read(body, byExpiry("2035-09", currency) + ".amount"));
+  }
+
+  private static String byStatus(String status, String currency) {
+    return "$.byStatusAndCurrency[?(@.status == '" + status + "' && @.currency == '"
+        + currency + "')]";
+  }
+
+  private static String byExpiry(String expiry, String currency) {
+    return "$.byExpiry[?(@.expiry == '" + expiry + "' && @.currency == '" + currency + "')]";
+  }
+
+  private Payment save(String currency, PaymentStatus status, int amount, int expiryMonth,
+      int expiryYear) {
+    Payment payment = new Payment();
+    payment.setId(UUID.randomUUID());
+    payment.setStatus(status);
+    payment.setCardNumberLastFour("8877");
+    payment.setExpiryMonth(expiryMonth);
+    payment.setExpiryYear(expiryYear);
+    payment.setCurrency(currency);
+    payment.setAmount(amount);
+    paymentRepository.save(payment);
+    return payment;
+  }
+}
@@ -0,0 +1,98 @@
+package com.checkout.payment.gateway.controller;
+
+import static com.checkout.payment.gateway.controller.JsonFixture.readFixture;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.checkout.payment.gateway.client.bank.api.DefaultApi;
+import com.checkout.payment.gateway.client.bank.model.BankPaymentResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.web.client.RestClientException;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+    "velocity.rules[0].dimension=CARD",
+    "velocity.rules[0].window=1m",
+    "velocity.rules[0].buckets=6",
+    "velocity.rules[0].max-count=2",
+    "velocity.rules[1].dimension=CLIENT",
+    "velocity.rules[1].window=1m",
+    "velocity.rules[1].buckets=6",
+    "velocity.rules[1].max-count=2",
+    "resilience4j.retry.instances.bankClient.max-attempts=1"
+})
+class VelocityTest {
+
+  @Autowired
+  private MockMvc mvc;
+
+  @MockBean
+  private DefaultApi bankApi;
+
+  @Test
+  void postPayment_cardOverVelocityLimit_returns400WithoutCallingBank() throws Exception {
+    when(bankApi.authorizePayment(any())).thenReturn(
+        new BankPaymentResponse().authorized(true).authorizationCode("auth-velocity"));
+
+    post("4111111111111111", "10.0.1.1").andExpect(status().isCreated());
+    post("4111111111111111", "10.0.1.2").andExpect(status().isCreated());
+    post("4111111111111111", "10.0.1.3")
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.status").value("Rejected"))
+        .andExpect(jsonPath("$.errors[0].field").value("cardNumber"));
+
+    verify(bankApi, times(2)).authorizePayment(any());
+  }
+
+  @Test
+  void postPayment_clientOverVelocityLimit_returns400() throws Exception {
+    when(bankApi.authorizePayment(any())).thenReturn(
+        new BankPaymentResponse().authorized(true).authorizationCode("auth-velocity"));
+
+    post("5500000000000004", "10.0.2.1").andExpect(status().isCreated());
+    post("4242424242424242", "10.0.2.1").andExpect(status().isCreated());
+    post("378282246310005", "10.0.2.1")
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errors[0].field").value("client"));
+  }
+
+  @Test
+  void postPayment_bankFailure_doesNotCountTowardVelocity() throws Exception {
+    when(bankApi.authorizePayment(any()))
+        .thenThrow(new RestClientException("Connection refused"))
+        .thenThrow(new RestClientException("Connection refused"))
+        .thenReturn(new BankPaymentResponse().authorized(true).authorizationCode("auth-velocity"));
+
+    post("4012888888881881", "10.0.3.1").andExpect(status().isBadGateway());
+    post("4012888888881881", "10.0.3.2").andExpect(status().isBadGateway());
+    post("4012888888881881", "10.0.3.3").andExpect(status().isCreated());
+    post("4012888888881881", "10.0.3.4").andExpect(status().isCreated());
+    post("4012888888881881", "10.0.3.5").andExpect(status().isBadRequest());
+  }
+
+  private ResultActions post(String cardNumber, String clientIp) throws Exception {
+    String body = readFixture("/fixtures/valid-payment.json")
+        .replace("2222405343248877", cardNumber);
+    return mvc.perform(MockMvcRequestBuilders.post("/v1/payment")
+        .with(request -> {
+          request.setRemoteAddr(clientIp);
+          return request;
+        })
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(body));
+  }
+}
@@ -39,6 +39,15 @@ class CommonExceptionHandlerTest {
     assertNotNull(response.getBody().getTimestamp());
   }
 
+  @Test
+  void handleServiceUnavailable_returns503WithMessage() {
+    ResponseEntity<ErrorResponse> response = handler.handleServiceUnavailable(
+        new ServiceUnavailableException("Payment event stream is disabled"));
+
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+    assertEquals("Payment event stream is disabled", response.getBody().getMessage());
+  }
+
   @Test
   void handlePaymentValidationException_returns400WithFieldError() {
     PaymentValidationException ex =
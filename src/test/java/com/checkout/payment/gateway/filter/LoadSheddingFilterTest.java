@@ -0,0 +1,170 @@
+package com.checkout.payment.gateway.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.checkout.payment.gateway.admission.LoadShedder;
+import com.checkout.payment.gateway.configuration.LoadSheddingProperties;
+import com.checkout.payment.gateway.exception.ServiceUnavailableException;
+import com.checkout.payment.gateway.metrics.PaymentMetrics;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.repository.PaymentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class LoadSheddingFilterTest {
+
+  private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-15T10:00:00Z"),
+      ZoneOffset.UTC);
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+  private final LoadSheddingProperties properties = new LoadSheddingProperties();
+  private LoadShedder loadShedder;
+  private LoadSheddingFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    properties.setMaxConcurrent(1);
+    properties.setMaxQueue(0);
+    properties.setPriorityReserve(0);
+    loadShedder = new LoadShedder(properties, new ServerProperties(),
+        new PaymentMetrics(meterRegistry));
+    filter = new LoadSheddingFilter(properties, loadShedder, paymentRepository, CLOCK);
+  }
+
+  @Test
+  void admittedRequest_passesThroughAndRecordsQueueWait() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilterInternal(new MockHttpServletRequest("GET", "/v1/payment/123"), response,
+        new MockFilterChain());
+
+    assertThat(response.getStatus()).isEqualTo(200);
+    assertThat(meterRegistry.get("payment.load.queue.wait").tag("priority", "priority").timer()
+        .count()).isEqualTo(1);
+    assertThat(meterRegistry.get("payment.load.inflight").gauge().value()).isZero();
+  }
+
+  @Test
+  void deadlineSpentUpstream_shedsWith503AndRetryAfter() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/payment");
+    request.addHeader(LoadSheddingFilter.REQUEST_TIMEOUT_HEADER, "1000");
+    request.addHeader(LoadSheddingFilter.REQUEST_START_HEADER, "t=" + (CLOCK.millis() - 5000));
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilterInternal(request, response, new MockFilterChain());
+
+    assertThat(response.getStatus()).isEqualTo(503);
+    assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+    assertThat(response.getContentAsString()).contains("overloaded");
+    assertThat(shed("deadline", "normal")).isEqualTo(1);
+  }
+
+  @Test
+  void requestTimeout_outOfRange_isClampedInsteadOfShed() throws Exception {
+    for (String timeout : new String[] {String.valueOf(Long.MAX_VALUE), "-1", "0"}) {
+      MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/payment");
+      request.addHeader(LoadSheddingFilter.REQUEST_TIMEOUT_HEADER, timeout);
+      MockHttpServletResponse response = new MockHttpServletResponse();
+
+      filter.doFilterInternal(request, response, new MockFilterChain());
+
+      assertThat(response.getStatus()).as(timeout).isEqualTo(200);
+    }
+    assertThat(meterRegistry.find("payment.load.shed").counters()).isEmpty();
+  }
+
+  @Test
+  void asyncExport_holdsSlotUntilResponseCompletes() throws Exception {
+    MockHttpServletRequest export = new MockHttpServletRequest("GET", "/v1/payments");
+    export.setAsyncSupported(true);
+
+    filter.doFilterInternal(export, new MockHttpServletResponse(),
+        (req, res) -> req.startAsync());
+
+    assertThat(meterRegistry.get("payment.load.inflight").gauge().value()).isEqualTo(1);
+    MockHttpServletResponse nested = new MockHttpServletResponse();
+    filter.doFilterInternal(new MockHttpServletRequest("POST", "/v1/payment"), nested,
+        new MockFilterChain());
+    assertThat(nested.getStatus()).isEqualTo(503);
+
+    export.getAsyncContext().complete();
+    assertThat(meterRegistry.get("payment.load.inflight").gauge().value()).isZero();
+  }
+
+  @Test
+  void busySlot_shedsNewAuthorizationWhenQueueIsFull() throws Exception {
+    MockHttpServletResponse nested = new MockHttpServletResponse();
+
+    filter.doFilterInternal(new MockHttpServletRequest("GET", "/v1/payment/123"),
+        new MockHttpServletResponse(), (req, res) -> filter.doFilterInternal(
+            new MockHttpServletRequest("POST", "/v1/payment"), nested, new MockFilterChain()));
+
+    assertThat(nested.getStatus()).isEqualTo(503);
+    assertThat(shed("queue_full", "normal")).isEqualTo(1);
+  }
+
+  @Test
+  void idempotentReplay_isClassifiedAsPriority() throws Exception {
+    when(paymentRepository.findByIdempotencyKey("replay-1")).thenReturn(Optional.of(new Payment()));
+    MockHttpServletRequest replay = new MockHttpServletRequest("POST", "/v1/payment");
+    replay.addHeader(LoadSheddingFilter.IDEMPOTENCY_KEY_HEADER, "replay-1");
+    MockHttpServletRequest fresh = new MockHttpServletRequest("POST", "/v1/payment");
+    fresh.addHeader(LoadSheddingFilter.IDEMPOTENCY_KEY_HEADER, "new-1");
+
+    filter.doFilterInternal(replay, new MockHttpServletResponse(), new MockFilterChain());
+    filter.doFilterInternal(fresh, new MockHttpServletResponse(), new MockFilterChain());
+
+    assertThat(meterRegistry.get("payment.load.queue.wait").tag("priority", "priority").timer()
+        .count()).isEqualTo(1);
+    assertThat(meterRegistry.get("payment.load.queue.wait").tag("priority", "normal").timer()
+        .count()).isEqualTo(1);
+  }
+
+  @Test
+  void batchItems_shareTheFiltersSlots() throws Exception {
+    assertThat(loadShedder.admitBatchItem(() -> "done")).isEqualTo("done");
+    assertThat(meterRegistry.get("payment.load.inflight").gauge().value()).isZero();
+
+    filter.doFilterInternal(new MockHttpServletRequest("POST", "/v1/payment"),
+        new MockHttpServletResponse(), (req, res) -> assertThatThrownBy(
+            () -> loadShedder.admitBatchItem(() -> "never"))
+            .isInstanceOf(ServiceUnavailableException.class)
+            .hasMessageContaining("overloaded"));
+
+    assertThat(shed("queue_full", "normal")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldNotFilter_eventStreamBatchOtherPathsAndWhenDisabled() {
+    assertThat(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/v1/payments/events")))
+        .isTrue();
+    assertThat(filter.shouldNotFilter(new MockHttpServletRequest("POST", "/v1/payments/batch")))
+        .isTrue();
+    assertThat(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/actuator/health")))
+        .isTrue();
+    assertThat(filter.shouldNotFilter(new MockHttpServletRequest("POST", "/v1/payment")))
+        .isFalse();
+
+    properties.setEnabled(false);
+    assertThat(filter.shouldNotFilter(new MockHttpServletRequest("POST", "/v1/payment")))
+        .isTrue();
+  }
+
+  private double shed(String reason, String priority) {
+    return meterRegistry.get("payment.load.shed").tag("reason", reason)
+        .tag("priority", priority).counter().count();
+  }
+}
@@ -1,11 +1,14 @@
 package com.checkout.payment.gateway.filter;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.checkout.payment.gateway.admission.ClientRateLimiter;
 import com.checkout.payment.gateway.configuration.RateLimitProperties;
 import com.checkout.payment.gateway.configuration.RateLimitProperties.EndpointLimit;
+import java.time.Duration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.mock.web.MockFilterChain;
@@ -14,6 +17,7 @@ import org.springframework.mock.web.MockHttpServletResponse;
 
 class RateLimitFilterTest {
 
+  private ClientRateLimiter rateLimiter;
   private RateLimitFilter filter;
 
   @BeforeEach
@@ -21,7 +25,8 @@ class RateLimitFilterTest {
     RateLimitProperties properties = new RateLimitProperties();
     properties.setPost(new EndpointLimit(2, 1));
     properties.setGet(new EndpointLimit(2, 1));
-    filter = new RateLimitFilter(properties);
+    rateLimiter = new ClientRateLimiter(properties);
+    filter = new RateLimitFilter(rateLimiter);
   }
 
   @Test
@@ -94,6 +99,16 @@ class RateLimitFilterTest {
     assertEquals("1", response.getHeader("X-Rate-Limit-Remaining"));
   }
 
+  @Test
+  void batchItemsDrawOnTheClientsPostBucket() throws Exception {
+    MockHttpServletRequest batch = new MockHttpServletRequest("POST", "/v1/payments/batch");
+    filter.doFilterInternal(batch, new MockHttpServletResponse(), new MockFilterChain());
+
+    assertTrue(rateLimiter.consumeBatchItem(batch.getRemoteAddr(), Duration.ZERO));
+    assertFalse(rateLimiter.consumeBatchItem(batch.getRemoteAddr(), Duration.ZERO));
+    assertTrue(rateLimiter.consumeBatchItem("10.0.0.2", Duration.ZERO));
+  }
+
   @Test
   void shouldNotFilterNonPaymentPaths() {
     MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/health");
@@ -4,6 +4,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.checkout.payment.gateway.admission.ClientRateLimiter;
 import com.checkout.payment.gateway.client.bank.api.DefaultApi;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -29,14 +30,14 @@ class RateLimitIntegrationTest {
   private MockMvc mvc;
 
   @Autowired
-  private RateLimitFilter rateLimitFilter;
+  private ClientRateLimiter rateLimiter;
 
   @MockBean
   private DefaultApi bankApi;
 
   @AfterEach
   void tearDown() {
-    rateLimitFilter.clearBuckets();
+    rateLimiter.clearBuckets();
   }
 
   @Test
@@ -0,0 +1,222 @@
+package com.checkout.payment.gateway.fraud;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.checkout.payment.gateway.configuration.DuplicateDetectionProperties;
+import com.checkout.payment.gateway.configuration.DuplicateDetectionProperties.Mode;
+import com.checkout.payment.gateway.fraud.DuplicateDetector.Screening;
+import com.checkout.payment.gateway.metrics.PaymentMetrics;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.validation.ValidationResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class DuplicateDetectorTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final MutableClock clock = new MutableClock(Instant.parse("2025-06-15T12:00:00Z"));
+
+  @Test
+  void screen_off_neverRejects() {
+    DuplicateDetector detector = detector(Mode.OFF);
+
+    assertEquals(ValidationResult.VALID, detector.screen(payment("fp-1", 100)).result());
+    assertEquals(ValidationResult.VALID, detector.screen(payment("fp-1", 100)).result());
+  }
+
+  @Test
+  void screen_block_rejectsRepeatWithinWindow() {
+    DuplicateDetector detector = detector(Mode.BLOCK);
+
+    assertEquals(ValidationResult.VALID, detector.screen(payment("fp-1", 100)).result());
+    assertEquals(ValidationResult.DUPLICATE_PAYMENT,
+        detector.screen(payment("fp-1", 100)).result());
+    assertEquals(ValidationResult.VALID, detector.screen(payment("fp-1", 101)).result());
+    assertEquals(ValidationResult.VALID, detector.screen(payment("fp-2", 100)).result());
+    assertEquals(1.0, registry.find("payment.duplicate.detected").tag("action", "BLOCK")
+        .counter().count());
+  }
+
+  @Test
+  void screen_block_allowsRepeatAfterWindow() {
+    DuplicateDetector detector = detector(Mode.BLOCK);
+
+    assertEquals(ValidationResult.VALID, detector.screen(payment("fp-1", 100)).result());
+    clock.advance(Duration.ofSeconds(30));
+    assertEquals(ValidationResult.VALID, detector.screen(payment("fp-1", 100)).result());
+    clock.advance(Duration.ofSeconds(10));
+    assertEquals(ValidationResult.DUPLICATE_PAYMENT,
+        detector.screen(payment("fp-1", 100)).result());
+  }
+
+  @Test
+  void screen_flag_countsButAllows() {
+    DuplicateDetector detector = detector(Mode.FLAG);
+
+    assertEquals(ValidationResult.VALID, detector.screen(payment("fp-1", 100)).result());
+    assertEquals(ValidationResult.VALID, detector.screen(payment("fp-1", 100)).result());
+    assertEquals(1.0, registry.find("payment.duplicate.detected").tag("action", "FLAG")
+        .counter().count());
+  }
+
+  @Test
+  void screen_idempotencyKey_isSkipped() {
+    DuplicateDetector detector = detector(Mode.BLOCK);
+    Payment first = payment("fp-1", 100);
+    first.setIdempotencyKey("key-1");
+    Payment second = payment("fp-1", 100);
+    second.setIdempotencyKey("key-2");
+
+    assertEquals(ValidationResult.VALID, detector.screen(first).result());
+    assertEquals(ValidationResult.VALID, detector.screen(second).result());
+  }
+
+  @Test
+  void release_letsRetryThrough() {
+    DuplicateDetector detector = detector(Mode.BLOCK);
+    Payment payment = payment("fp-1", 100);
+
+    Screening screening = detector.screen(payment);
+    assertEquals(ValidationResult.VALID, screening.result());
+    detector.release(payment, screening);
+    assertEquals(ValidationResult.VALID, detector.screen(payment("fp-1", 100)).result());
+    assertEquals(ValidationResult.DUPLICATE_PAYMENT,
+        detector.screen(payment("fp-1", 100)).result());
+  }
+
+  @Test
+  void release_ofFlaggedDuplicate_keepsOriginalClaim() {
+    DuplicateDetector detector = detector(Mode.FLAG);
+    Payment original = payment("fp-1", 100);
+    Payment duplicate = payment("fp-1", 100);
+
+    assertTrue(detector.screen(original).claimant());
+    Screening flagged = detector.screen(duplicate);
+    assertEquals(ValidationResult.VALID, flagged.result());
+    assertFalse(flagged.claimant());
+    detector.release(duplicate, flagged);
+
+    assertFalse(detector.screen(payment("fp-1", 100)).claimant());
+    assertEquals(2.0, registry.find("payment.duplicate.detected").tag("action", "FLAG")
+        .counter().count());
+  }
+
+  @Test
+  void screen_filterFalsePositive_passesDistinctPayment() {
+    // A filter sized for 30 keys at 50 % saturates well within the loop, so most "maybe" answers
+    // are false positives
+    DuplicateDetector detector = detector(Mode.BLOCK, 1, 0.5);
+
+    for (int i = 0; i < 200; i++) {
+      Screening screening = detector.screen(payment("fp-" + i, 100));
+      assertEquals(ValidationResult.VALID, screening.result());
+      assertTrue(screening.claimant());
+    }
+    assertEquals(0, registry.find("payment.duplicate.detected").counters().size());
+  }
+
+  @Test
+  void release_removesClaimFromExactMap() {
+    DuplicateDetector detector = detector(Mode.BLOCK);
+    Payment payment = payment("fp-1", 100);
+
+    Screening screening = detector.screen(payment);
+    assertEquals(1, detector.claimedSize());
+    detector.release(payment, screening);
+
+    assertEquals(0, detector.claimedSize());
+  }
+
+  @Test
+  void screen_concurrentIdenticalPayments_exactlyOnePasses() throws Exception {
+    DuplicateDetector detector = detector(Mode.BLOCK);
+    int threads = 8;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<ValidationResult>> results = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        Callable<ValidationResult> task = () -> {
+          start.await();
+          return detector.screen(payment("fp-race", 100)).result();
+        };
+        results.add(executor.submit(task));
+      }
+      start.countDown();
+
+      int passed = 0;
+      for (Future<ValidationResult> result : results) {
+        if (result.get().isValid()) {
+          passed++;
+        }
+      }
+      assertEquals(1, passed);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private DuplicateDetector detector(Mode mode) {
+    return detector(mode, 100, 0.001);
+  }
+
+  private DuplicateDetector detector(Mode mode, int peakTps, double falsePositiveRate) {
+    DuplicateDetectionProperties properties = new DuplicateDetectionProperties();
+    properties.setMode(mode);
+    properties.setWindow(Duration.ofSeconds(30));
+    properties.setPeakTps(peakTps);
+    properties.setFalsePositiveRate(falsePositiveRate);
+    return new DuplicateDetector(properties, new PaymentMetrics(registry), clock);
+  }
+
+  private static Payment payment(String fingerprint, int amount) {
+    Payment payment = new Payment();
+    payment.setCardFingerprint(fingerprint);
+    payment.setCurrency("GBP");
+    payment.setAmount(amount);
+    payment.setClientIp("10.0.0.1");
+    return payment;
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private volatile Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
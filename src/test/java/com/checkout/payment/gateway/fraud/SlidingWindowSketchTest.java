@@ -0,0 +1,90 @@
+package com.checkout.payment.gateway.fraud;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowSketchTest {
+
+  private static final long WINDOW = 60_000;
+  private static final long START = 1_700_000_040_000L;
+
+  private final SlidingWindowSketch sketch = new SlidingWindowSketch(WINDOW, 6, 1024, 4);
+
+  @Test
+  void estimate_sumsValuesWithinWindow() {
+    long key = VelocityChecker.hash("4111111111111111");
+
+    sketch.add(key, 1, START);
+    sketch.add(key, 1, START + 15_000);
+    sketch.add(key, 1, START + 45_000);
+
+    assertEquals(3, sketch.estimate(key, START + 50_000));
+  }
+
+  @Test
+  void estimate_unknownKey_returnsZero() {
+    sketch.add(VelocityChecker.hash("4111111111111111"), 5, START);
+
+    assertEquals(0, sketch.estimate(VelocityChecker.hash("5500000000000004"), START));
+  }
+
+  @Test
+  void estimate_dropsBucketsOlderThanWindow() {
+    long key = VelocityChecker.hash("4111111111111111");
+
+    sketch.add(key, 1, START);
+    sketch.add(key, 1, START + 30_000);
+
+    assertEquals(1, sketch.estimate(key, START + WINDOW));
+    assertEquals(0, sketch.estimate(key, START + WINDOW + 30_000));
+  }
+
+  @Test
+  void add_recycledBucket_startsFromZero() {
+    long key = VelocityChecker.hash("4111111111111111");
+
+    sketch.add(key, 7, START);
+    sketch.add(key, 2, START + WINDOW);
+
+    assertEquals(2, sketch.estimate(key, START + WINDOW));
+  }
+
+  @Test
+  void remove_takesBackAnAddFromAnEarlierBucket() {
+    long key = VelocityChecker.hash("4111111111111111");
+
+    sketch.add(key, 1, START);
+    sketch.add(key, 1, START + 15_000);
+    sketch.remove(key, 1, START);
+
+    assertEquals(1, sketch.estimate(key, START + 20_000));
+  }
+
+  @Test
+  void remove_afterBucketRecycled_takesNothing() {
+    long key = VelocityChecker.hash("4111111111111111");
+
+    sketch.add(key, 1, START);
+    sketch.add(key, 2, START + WINDOW);
+    sketch.remove(key, 1, START);
+
+    assertEquals(2, sketch.estimate(key, START + WINDOW));
+  }
+
+  @Test
+  void memoryBytes_isFixedByShape() {
+    assertEquals(6L * 1024 * 4 * Long.BYTES, sketch.memoryBytes());
+  }
+
+  @Test
+  void constructor_invalidShape_throws() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new SlidingWindowSketch(WINDOW, 65, 1024, 4));
+    assertThrows(IllegalArgumentException.class,
+        () -> new SlidingWindowSketch(WINDOW, 6, 1000, 4));
+    assertThrows(IllegalArgumentException.class,
+        () -> new SlidingWindowSketch(WINDOW, 6, 1024, 0));
+  }
+}
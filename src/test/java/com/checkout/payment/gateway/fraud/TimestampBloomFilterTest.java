@@ -0,0 +1,63 @@
+package com.checkout.payment.gateway.fraud;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class TimestampBloomFilterTest {
+
+  private static final long WINDOW = 30_000;
+
+  @Test
+  void addedAfter_addedKey_isFound() {
+    TimestampBloomFilter filter = new TimestampBloomFilter(1000, 0.01);
+
+    filter.add(VelocityChecker.hash("a"), 1000);
+
+    assertTrue(filter.addedAfter(VelocityChecker.hash("a"), 999));
+    assertFalse(filter.addedAfter(VelocityChecker.hash("b"), 999));
+  }
+
+  @Test
+  void addedAfter_isExactAtTheWindowBoundary() {
+    TimestampBloomFilter filter = new TimestampBloomFilter(1000, 0.01);
+    long hash = VelocityChecker.hash("a");
+
+    filter.add(hash, 5000);
+
+    // Seen within the window one millisecond before it closes, not once it has
+    assertTrue(filter.addedAfter(hash, 5000 + WINDOW - 1 - WINDOW));
+    assertFalse(filter.addedAfter(hash, 5000 + WINDOW - WINDOW));
+    // Re-adding moves the key forward; an older add never moves it back
+    filter.add(hash, 7000);
+    filter.add(hash, 6000);
+    assertTrue(filter.addedAfter(hash, 6999));
+  }
+
+  @Test
+  void falsePositiveRate_staysNearTarget() {
+    TimestampBloomFilter filter = new TimestampBloomFilter(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filter.add(VelocityChecker.hash("in-" + i), 1000);
+    }
+
+    int falsePositives = 0;
+    for (int i = 0; i < 100_000; i++) {
+      if (filter.addedAfter(VelocityChecker.hash("out-" + i), 0)) {
+        falsePositives++;
+      }
+    }
+
+    assertTrue(falsePositives < 1500, "false positives: " + falsePositives);
+  }
+
+  @Test
+  void memory_isEightBytesPerCell() {
+    TimestampBloomFilter filter = new TimestampBloomFilter(30_000, 0.01);
+
+    assertEquals(7, filter.hashes());
+    assertEquals(287_552L * Long.BYTES, filter.memoryBytes());
+  }
+}
@@ -0,0 +1,174 @@
+package com.checkout.payment.gateway.fraud;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.checkout.payment.gateway.configuration.VelocityProperties;
+import com.checkout.payment.gateway.configuration.VelocityProperties.Dimension;
+import com.checkout.payment.gateway.configuration.VelocityProperties.Rule;
+import com.checkout.payment.gateway.metrics.PaymentMetrics;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.validation.ValidationResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class VelocityCheckerTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final Clock clock = Clock.fixed(Instant.parse("2025-06-15T12:00:30Z"), ZoneOffset.UTC);
+
+  @Test
+  void screen_noRules_returnsValid() {
+    VelocityChecker checker = checker();
+
+    assertEquals(ValidationResult.VALID, checker.screen(payment("4111111111111111", "GBP", 100)));
+  }
+
+  @Test
+  void screen_cardCountExceeded_rejects() {
+    VelocityChecker checker = checker(rule(Dimension.CARD, 2L, null));
+
+    assertEquals(ValidationResult.VALID, checker.screen(payment("4111111111111111", "GBP", 100)));
+    assertEquals(ValidationResult.VALID, checker.screen(payment("4111111111111111", "GBP", 100)));
+    assertEquals(ValidationResult.CARD_VELOCITY_EXCEEDED,
+        checker.screen(payment("4111111111111111", "GBP", 100)));
+    assertEquals(ValidationResult.VALID, checker.screen(payment("5500000000000004", "GBP", 100)));
+    assertEquals(1.0, registry.find("payment.velocity.rejected").tag("dimension", "CARD")
+        .tag("window", "PT1M").counter().count());
+  }
+
+  @Test
+  void screen_amountExceeded_isTrackedPerCurrency() {
+    VelocityChecker checker = checker(rule(Dimension.CARD, null, 1000L));
+
+    assertEquals(ValidationResult.VALID, checker.screen(payment("4111111111111111", "GBP", 600)));
+    assertEquals(ValidationResult.CARD_VELOCITY_EXCEEDED,
+        checker.screen(payment("4111111111111111", "GBP", 600)));
+    assertEquals(ValidationResult.VALID, checker.screen(payment("4111111111111111", "USD", 600)));
+  }
+
+  @Test
+  void screen_clientCountExceeded_rejectsAcrossCards() {
+    VelocityChecker checker = checker(rule(Dimension.CLIENT, 1L, null));
+    Payment first = payment("4111111111111111", "GBP", 100);
+    first.setClientIp("10.0.0.1");
+    Payment second = payment("5500000000000004", "GBP", 100);
+    second.setClientIp("10.0.0.1");
+    Payment other = payment("5500000000000004", "GBP", 100);
+    other.setClientIp("10.0.0.2");
+
+    assertEquals(ValidationResult.VALID, checker.screen(first));
+    assertEquals(ValidationResult.CLIENT_VELOCITY_EXCEEDED, checker.screen(second));
+    assertEquals(ValidationResult.VALID, checker.screen(other));
+  }
+
+  @Test
+  void screen_rejectedAttempt_isNotRecorded() {
+    VelocityChecker checker = checker(rule(Dimension.CARD, null, 1000L),
+        rule(Dimension.CARD, 2L, null));
+
+    assertEquals(ValidationResult.VALID, checker.screen(payment("4111111111111111", "GBP", 900)));
+    assertEquals(ValidationResult.CARD_VELOCITY_EXCEEDED,
+        checker.screen(payment("4111111111111111", "GBP", 900)));
+    assertEquals(ValidationResult.VALID, checker.screen(payment("4111111111111111", "GBP", 50)));
+  }
+
+  @Test
+  void release_takesBackCountAndAmount() {
+    VelocityChecker checker = checker(rule(Dimension.CARD, 1L, null),
+        rule(Dimension.CLIENT, null, 100L));
+    Payment failed = payment("4111111111111111", "GBP", 100);
+    failed.setClientIp("10.0.0.1");
+    Payment retried = payment("4111111111111111", "GBP", 100);
+    retried.setClientIp("10.0.0.1");
+
+    assertEquals(ValidationResult.VALID, checker.screen(failed, clock.millis()));
+    checker.release(failed, clock.millis());
+
+    assertEquals(ValidationResult.VALID, checker.screen(retried));
+    assertEquals(ValidationResult.CARD_VELOCITY_EXCEEDED,
+        checker.screen(payment("4111111111111111", "GBP", 100)));
+  }
+
+  @Test
+  void release_onlyTakesBackThatPayment() {
+    VelocityChecker checker = checker(rule(Dimension.CARD, 2L, null));
+    Payment failed = payment("4111111111111111", "GBP", 100);
+
+    assertEquals(ValidationResult.VALID, checker.screen(payment("4111111111111111", "GBP", 100)));
+    assertEquals(ValidationResult.VALID, checker.screen(failed, clock.millis()));
+    checker.release(failed, clock.millis());
+
+    assertEquals(ValidationResult.VALID, checker.screen(payment("4111111111111111", "GBP", 100)));
+    assertEquals(ValidationResult.CARD_VELOCITY_EXCEEDED,
+        checker.screen(payment("4111111111111111", "GBP", 100)));
+  }
+
+  @Test
+  void screen_concurrentBurstOnOneCard_neverExceedsLimits() throws Exception {
+    VelocityChecker checker = checker(rule(Dimension.CARD, 5L, null),
+        rule(Dimension.CLIENT, null, 400L));
+    int threads = 16;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<ValidationResult>> results = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        Callable<ValidationResult> task = () -> {
+          Payment payment = payment("4111111111111111", "GBP", 100);
+          payment.setClientIp("10.0.0.1");
+          start.await();
+          return checker.screen(payment);
+        };
+        results.add(executor.submit(task));
+      }
+      start.countDown();
+
+      int passed = 0;
+      for (Future<ValidationResult> result : results) {
+        if (result.get().isValid()) {
+          passed++;
+        }
+      }
+      // The client's 400 amount cap binds before the card's count of 5
+      assertEquals(4, passed);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private VelocityChecker checker(Rule... rules) {
+    VelocityProperties properties = new VelocityProperties();
+    properties.setSketchWidth(1024);
+    properties.setRules(List.of(rules));
+    return new VelocityChecker(properties, new PaymentMetrics(registry), clock);
+  }
+
+  private static Rule rule(Dimension dimension, Long maxCount, Long maxAmount) {
+    Rule rule = new Rule();
+    rule.setDimension(dimension);
+    rule.setWindow(Duration.ofMinutes(1));
+    rule.setBuckets(6);
+    rule.setMaxCount(maxCount);
+    rule.setMaxAmount(maxAmount);
+    return rule;
+  }
+
+  private static Payment payment(String cardNumber, String currency, int amount) {
+    Payment payment = new Payment();
+    payment.setCardNumber(cardNumber);
+    payment.setCurrency(currency);
+    payment.setAmount(amount);
+    return payment;
+  }
+}
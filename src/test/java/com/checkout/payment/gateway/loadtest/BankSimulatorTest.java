@@ -0,0 +1,147 @@
+package com.checkout.payment.gateway.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+class BankSimulatorTest {
+
+  private final HttpClient client = HttpClient.newHttpClient();
+
+  @Test
+  void cardNumberRules_matchImposter() throws Exception {
+    try (BankSimulator simulator = BankSimulator.start(0, SimulatorProfile.instant())) {
+      HttpResponse<String> authorized = post(simulator, payment("2222405343248877"));
+      HttpResponse<String> declined = post(simulator, payment("2222405343248878"));
+      HttpResponse<String> unavailable = post(simulator, payment("2222405343248870"));
+      HttpResponse<String> incomplete = post(simulator, "{\"card_number\":\"2222405343248877\"}");
+
+      assertThat(authorized.statusCode()).isEqualTo(200);
+      assertThat(authorized.body()).contains("\"authorized\":true")
+          .containsPattern("\"authorization_code\":\"[0-9a-f-]{36}\"");
+      assertThat(declined.statusCode()).isEqualTo(200);
+      assertThat(declined.body()).contains("\"authorized\":false");
+      assertThat(unavailable.statusCode()).isEqualTo(503);
+      assertThat(incomplete.statusCode()).isEqualTo(400);
+      assertThat(simulator.authorized()).isEqualTo(1);
+      assertThat(simulator.declined()).isEqualTo(1);
+      assertThat(simulator.unavailable()).isEqualTo(1);
+      assertThat(simulator.rejected()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void bursts_answer503ForConfiguredShareOfRequests() throws Exception {
+    SimulatorProfile profile = SimulatorProfile.instant().withBursts(10, 3);
+    try (BankSimulator simulator = BankSimulator.start(0, profile)) {
+      List<Integer> statuses = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        statuses.add(post(simulator, payment("2222405343248877")).statusCode());
+      }
+
+      assertThat(statuses.subList(0, 10)).containsExactly(503, 503, 503, 200, 200, 200, 200,
+          200, 200, 200);
+      assertThat(statuses.subList(10, 20)).isEqualTo(statuses.subList(0, 10));
+    }
+  }
+
+  @Test
+  void errorRate_isReproducibleForSameSeed() throws Exception {
+    SimulatorProfile profile = SimulatorProfile.instant().withErrorRate(0.3).withSeed(7);
+    List<Integer> first = statuses(profile, 200);
+    List<Integer> second = statuses(profile, 200);
+
+    assertThat(first).isEqualTo(second);
+    assertThat(first.stream().filter(status -> status == 500).count()).isBetween(40L, 80L);
+  }
+
+  @Test
+  void latency_delaysResponseWithoutBlockingOthers() throws Exception {
+    SimulatorProfile profile = SimulatorProfile.instant()
+        .withLatency(LatencyDistribution.fixed(Duration.ofMillis(200)));
+    try (BankSimulator simulator = BankSimulator.start(0, profile)) {
+      long started = System.nanoTime();
+      List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        responses.add(client.sendAsync(request(simulator, payment("2222405343248877")),
+            HttpResponse.BodyHandlers.ofString()));
+      }
+      responses.forEach(CompletableFuture::join);
+      long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+      // 20 requests on 2 acceptor threads finish in about one delay, not ten
+      assertThat(elapsedMillis).isBetween(200L, 1500L);
+    }
+  }
+
+  @Test
+  void lognormal_hasConfiguredMedian() {
+    LatencyDistribution latency = LatencyDistribution.lognormal(Duration.ofMillis(20), 0.5);
+    SplittableRandom random = new SplittableRandom(1);
+    long[] samples = new long[10_001];
+    for (int i = 0; i < samples.length; i++) {
+      samples[i] = latency.sampleMicros(random);
+    }
+    Arrays.sort(samples);
+
+    assertThat(samples[5_000]).isBetween(19_000L, 21_000L);
+    assertThat(samples[9_900]).isBetween(55_000L, 75_000L);
+  }
+
+  @Test
+  void bimodal_slowFractionComesFromSlowMode() {
+    LatencyDistribution latency = LatencyDistribution.parse("bimodal:10ms:0.1:500ms:0.05");
+    SplittableRandom random = new SplittableRandom(3);
+    int slow = 0;
+    for (int i = 0; i < 10_000; i++) {
+      if (latency.sampleMicros(random) > 200_000) {
+        slow++;
+      }
+    }
+
+    assertThat(slow).isBetween(400, 600);
+  }
+
+  @Test
+  void parse_unknownDistribution_throws() {
+    assertThatThrownBy(() -> LatencyDistribution.parse("uniform:10ms"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private List<Integer> statuses(SimulatorProfile profile, int count) throws Exception {
+    try (BankSimulator simulator = BankSimulator.start(0, profile)) {
+      List<Integer> statuses = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+        statuses.add(post(simulator, payment("2222405343248877")).statusCode());
+      }
+      return statuses;
+    }
+  }
+
+  private HttpResponse<String> post(BankSimulator simulator, String body) throws Exception {
+    return client.send(request(simulator, body), HttpResponse.BodyHandlers.ofString());
+  }
+
+  private static HttpRequest request(BankSimulator simulator, String body) {
+    return HttpRequest.newBuilder(URI.create(simulator.url() + "/payments"))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(body))
+        .build();
+  }
+
+  private static String payment(String cardNumber) {
+    return "{\"card_number\":\"" + cardNumber + "\",\"expiry_date\":\"04/2027\","
+        + "\"currency\":\"GBP\",\"amount\":100,\"cvv\":\"123\"}";
+  }
+}
@@ -0,0 +1,109 @@
+package com.checkout.payment.gateway.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class LoadGeneratorTest {
+
+  private final AtomicInteger requests = new AtomicInteger();
+  private HttpServer server;
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  void run_recordsOnlyMeasuredArrivalsAndBreaksDownErrors() throws Exception {
+    start(true, exchange -> requests.get() % 10 == 0 ? 503 : 0);
+
+    LoadTestReport report = new LoadGenerator(config(Duration.ofMillis(500))).run();
+
+    LoadTestReport.OperationResult post = report.operations().get(LoadGenerator.POST);
+    LoadTestReport.OperationResult get = report.operations().get(LoadGenerator.GET);
+    assertThat(report.issued()).isEqualTo(500);
+    assertThat(post.count() + get.count()).isEqualTo(400);
+    assertThat(get.count()).isPositive();
+    assertThat(post.throughput() + get.throughput()).isEqualTo(200.0);
+    assertThat(report.errors()).containsOnlyKeys(LoadGenerator.POST + " 503",
+        LoadGenerator.GET + " 503");
+    assertThat(post.errors() + get.errors()).isBetween(35L, 55L);
+  }
+
+  @Test
+  void run_serverStall_isChargedToEveryRequestScheduledDuringIt() throws Exception {
+    // One dispatcher thread: a 500 ms stall holds up everything that arrives behind it
+    start(false, exchange -> {
+      if (requests.get() == 200) {
+        Thread.sleep(500);
+      }
+      return 0;
+    });
+
+    LoadTestReport report = new LoadGenerator(config(Duration.ZERO)).run();
+
+    // About a quarter of the 400 arrivals land in the stall. Timing from the actual send
+    // would record a single slow request; timing from the intended start puts the whole
+    // backlog into the tail.
+    LoadTestReport.OperationResult post = report.operations().get(LoadGenerator.POST);
+    assertThat(report.errors()).isEmpty();
+    assertThat(post.max()).isGreaterThanOrEqualTo(450.0);
+    assertThat(post.p90()).isGreaterThanOrEqualTo(200.0);
+    assertThat(post.p50()).isLessThan(100.0);
+  }
+
+  private LoadTestConfig config(Duration warmup) {
+    return new LoadTestConfig("http://127.0.0.1:" + server.getAddress().getPort(), 200, warmup,
+        Duration.ofSeconds(2), 0.3, Duration.ofSeconds(5), 7);
+  }
+
+  private void start(boolean pooled, Handler handler) throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+    if (pooled) {
+      server.setExecutor(Executors.newFixedThreadPool(4));
+    }
+    server.createContext("/v1/payment", exchange -> {
+      try (InputStream body = exchange.getRequestBody()) {
+        body.readAllBytes();
+        int status = handler.status(exchange);
+        requests.incrementAndGet();
+        boolean post = "POST".equals(exchange.getRequestMethod());
+        respond(exchange, status != 0 ? status : post ? 201 : 200,
+            "{\"id\":\"" + UUID.randomUUID() + "\",\"status\":\"Authorized\"}");
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      } finally {
+        exchange.close();
+      }
+    });
+    server.start();
+  }
+
+  private static void respond(HttpExchange exchange, int status, String body)
+      throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  private interface Handler {
+
+    int status(HttpExchange exchange) throws InterruptedException;
+  }
+}
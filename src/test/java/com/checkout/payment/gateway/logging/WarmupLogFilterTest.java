@@ -0,0 +1,40 @@
+package com.checkout.payment.gateway.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.core.spi.FilterReply;
+import com.checkout.payment.gateway.warmup.WarmupContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+class WarmupLogFilterTest {
+
+  private final WarmupLogFilter filter = new WarmupLogFilter();
+
+  @AfterEach
+  void tearDown() {
+    MDC.remove(WarmupContext.MDC_KEY);
+  }
+
+  @Test
+  void decide_outsideWarmup_isNeutral() {
+    assertEquals(FilterReply.NEUTRAL, decide(Level.INFO));
+    assertEquals(FilterReply.NEUTRAL, decide(Level.DEBUG));
+  }
+
+  @Test
+  void decide_onWarmupThread_dropsInfoButKeepsWarnings() {
+    MDC.put(WarmupContext.MDC_KEY, "true");
+
+    assertEquals(FilterReply.DENY, decide(Level.INFO));
+    assertEquals(FilterReply.DENY, decide(Level.DEBUG));
+    assertEquals(FilterReply.NEUTRAL, decide(Level.WARN));
+    assertEquals(FilterReply.NEUTRAL, decide(Level.ERROR));
+  }
+
+  private FilterReply decide(Level level) {
+    return filter.decide(null, null, level, "message", null, null);
+  }
+}
@@ -21,6 +21,7 @@ class PaymentEntityMapperTest {
     payment.setStatus(PaymentStatus.AUTHORIZED);
     payment.setCardNumber("2222405343248877");
     payment.setCardNumberLastFour("8877");
+    payment.setCardFingerprint("3f2a9c");
     payment.setExpiryMonth(4);
     payment.setExpiryYear(2027);
     payment.setCurrency("GBP");
@@ -32,6 +33,7 @@ class PaymentEntityMapperTest {
     assertEquals(payment.getId(), entity.getId());
     assertEquals("AUTHORIZED", entity.getStatus());
     assertEquals("8877", entity.getCardNumberLastFour());
+    assertEquals("3f2a9c", entity.getCardFingerprint());
     assertEquals(4, entity.getExpiryMonth());
     assertEquals(2027, entity.getExpiryYear());
     assertEquals("GBP", entity.getCurrency());
@@ -3,10 +3,16 @@ package com.checkout.payment.gateway.metrics;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
+import com.checkout.payment.gateway.configuration.StageMetricsProperties;
+import com.checkout.payment.gateway.model.BinInfo;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -63,12 +69,58 @@ class PaymentMetricsTest {
   }
 
   @Test
-  void recordBankCallDuration_recordsTimer() throws Exception {
-    String result = metrics.recordBankCallDuration(() -> "OK");
+  void recordPaymentRetrieved_withCount_incrementsByCount() {
+    metrics.recordPaymentRetrieved(true, 3);
+    metrics.recordPaymentRetrieved(false, 2);
+
+    assertEquals(3.0, registry.find("payment.retrieved").tag("found", "true")
+        .counter().count());
+    assertEquals(2.0, registry.find("payment.retrieved").tag("found", "false")
+        .counter().count());
+  }
+
+  @Test
+  void recordBinLookup_tagsSchemeAndCountry() {
+    metrics.recordBinLookup(new BinInfo("VISA", "Test Issuer", "US"));
+    metrics.recordBinLookup(null);
+
+    assertEquals(1.0, registry.find("payment.bin.lookup").tag("scheme", "VISA")
+        .tag("country", "US").counter().count());
+    assertEquals(1.0, registry.find("payment.bin.lookup").tag("scheme", "unknown")
+        .tag("country", "unknown").counter().count());
+  }
+
+  @Test
+  void recordStage_recordsPreRegisteredStageTimer() {
+    String result = metrics.recordStage(PaymentStage.BANK_AUTHORIZE, () -> "OK");
 
     assertEquals("OK", result);
-    Timer timer = registry.find("bank.authorization.duration").timer();
+    Timer timer = registry.find("payment.stage.duration").tag("stage", "bank-authorize").timer();
     assertNotNull(timer);
     assertEquals(1, timer.count());
   }
+
+  @Test
+  void stageTimers_registeredUpFrontWithSloBuckets() {
+    for (PaymentStage stage : PaymentStage.values()) {
+      Timer timer = registry.find("payment.stage.duration").tag("stage", stage.tag()).timer();
+      assertNotNull(timer);
+      assertEquals(0, timer.count());
+    }
+
+    StageMetricsProperties properties = new StageMetricsProperties();
+    properties.setPercentileHistogram(false);
+    properties.setSlo(List.of(Duration.ofMillis(20), Duration.ofMillis(200)));
+    SimpleMeterRegistry custom = new SimpleMeterRegistry();
+    PaymentMetrics customMetrics = new PaymentMetrics(custom, properties);
+    customMetrics.recordStage(PaymentStage.SAVE, () -> { });
+
+    Timer save = custom.find("payment.stage.duration").tag("stage", "save").timer();
+    assertNotNull(save);
+    assertEquals(1, save.count());
+    assertEquals(List.of(20.0, 200.0),
+        Arrays.stream(save.takeSnapshot().histogramCounts())
+            .map(bucket -> bucket.bucket(TimeUnit.MILLISECONDS))
+            .toList());
+  }
 }
@@ -0,0 +1,142 @@
+package com.checkout.payment.gateway.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.checkout.payment.gateway.client.BankPaymentAdapter;
+import com.checkout.payment.gateway.client.bank.api.DefaultApi;
+import com.checkout.payment.gateway.client.bank.model.BankPaymentResponse;
+import com.checkout.payment.gateway.configuration.FlightRecorderProperties;
+import com.checkout.payment.gateway.exception.BankCommunicationException;
+import com.checkout.payment.gateway.model.Payment;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.web.client.RestClientException;
+
+class FlightRecorderEndpointTest {
+
+  @TempDir
+  Path dumpDirectory;
+
+  private FlightRecorderEndpoint endpoint;
+
+  @BeforeEach
+  void setUp() {
+    FlightRecorderProperties properties = new FlightRecorderProperties();
+    properties.setStartOnStartup(false);
+    properties.setDumpDirectory(dumpDirectory.toString());
+    endpoint = new FlightRecorderEndpoint(properties, Clock.systemUTC());
+  }
+
+  @AfterEach
+  void tearDown() {
+    endpoint.close();
+  }
+
+  @Test
+  void dump_containsBankCallsWithAttemptNumberAndCircuitState() throws Exception {
+    DefaultApi bankApi = mock(DefaultApi.class);
+    when(bankApi.authorizePayment(any()))
+        .thenThrow(new RestClientException("Connection reset"))
+        .thenReturn(new BankPaymentResponse().authorized(true));
+    RetryRegistry retryRegistry = RetryRegistry.of(RetryConfig.custom()
+        .maxAttempts(2)
+        .waitDuration(Duration.ofMillis(1))
+        .retryExceptions(BankCommunicationException.class)
+        .build());
+    BankPaymentAdapter adapter =
+        new BankPaymentAdapter(bankApi, CircuitBreakerRegistry.ofDefaults(), retryRegistry);
+    Payment payment = payment();
+    endpoint.control("start");
+
+    adapter.authorize(payment);
+    adapter.authorize(payment);
+    Map<String, Object> dumped = endpoint.control("dump");
+
+    List<RecordedEvent> calls = events(dumped, "com.checkout.payment.gateway.BankCall");
+    assertThat(calls).extracting(event -> event.getInt("attempt")).containsExactly(1, 2, 1);
+    assertThat(calls).extracting(event -> event.getString("outcome"))
+        .containsExactly("failed", "AUTHORIZED", "AUTHORIZED");
+    assertThat(calls).allSatisfy(event -> {
+      assertThat(event.getString("paymentId")).isEqualTo(payment.getId().toString());
+      assertThat(event.getString("circuitBreaker")).isEqualTo("bankClient");
+      assertThat(event.getString("circuitState")).isEqualTo("CLOSED");
+    });
+  }
+
+  @Test
+  void dump_containsProcessingStageEvents() throws Exception {
+    endpoint.control("start");
+
+    IdempotencyLookupEvent lookup = new IdempotencyLookupEvent();
+    lookup.hit = true;
+    lookup.commit();
+    ValidationEvent validation = new ValidationEvent();
+    validation.field = "cvv";
+    validation.commit();
+    Map<String, Object> dumped = endpoint.control("dump");
+
+    assertThat(events(dumped, "com.checkout.payment.gateway.IdempotencyLookup"))
+        .singleElement().satisfies(event -> assertThat(event.getBoolean("hit")).isTrue());
+    assertThat(events(dumped, "com.checkout.payment.gateway.Validation"))
+        .singleElement().satisfies(event -> {
+          assertThat(event.getBoolean("valid")).isFalse();
+          assertThat(event.getString("field")).isEqualTo("cvv");
+        });
+  }
+
+  @Test
+  void control_startStopAndStatus_reportRecordingState() {
+    assertThat(endpoint.status()).containsEntry("state", "NEW");
+
+    assertThat(endpoint.control("start")).containsEntry("state", "RUNNING")
+        .containsKey("startTime");
+    assertThat(endpoint.control("start")).containsEntry("state", "RUNNING");
+    assertThat(endpoint.control("stop")).containsEntry("state", "STOPPED");
+    assertThat(endpoint.control("dump")).containsKey("file");
+  }
+
+  @Test
+  void control_invalidRequests_areRejected() {
+    assertThatThrownBy(() -> endpoint.control("dump"))
+        .isInstanceOf(InvalidEndpointRequestException.class);
+    assertThatThrownBy(() -> endpoint.control("restart"))
+        .isInstanceOf(InvalidEndpointRequestException.class);
+  }
+
+  private static List<RecordedEvent> events(Map<String, Object> dumped, String type)
+      throws Exception {
+    return RecordingFile.readAllEvents(Path.of((String) dumped.get("file"))).stream()
+        .filter(event -> event.getEventType().getName().equals(type))
+        .toList();
+  }
+
+  private static Payment payment() {
+    Payment payment = new Payment();
+    payment.setId(UUID.randomUUID());
+    payment.setCardNumber("2222405343248877");
+    payment.setExpiryMonth(4);
+    payment.setExpiryYear(2030);
+    payment.setCurrency("GBP");
+    payment.setAmount(100);
+    payment.setCvv("123");
+    return payment;
+  }
+}
@@ -0,0 +1,61 @@
+package com.checkout.payment.gateway.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.checkout.payment.gateway.webhook.WebhookEvent;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class PaymentEventRingTest {
+
+  @Test
+  void publish_assignsGapFreeSequencesFromOne() {
+    PaymentEventRing ring = new PaymentEventRing(4);
+
+    assertThat(ring.cursor()).isZero();
+    assertThat(ring.publish(event(10))).isEqualTo(1);
+    assertThat(ring.publish(event(11))).isEqualTo(2);
+
+    assertThat(ring.cursor()).isEqualTo(2);
+    assertThat(ring.get(1).event().id()).isEqualTo(10);
+    assertThat(ring.get(2).event().id()).isEqualTo(11);
+    assertThat(ring.get(3)).isNull();
+  }
+
+  @Test
+  void get_overwrittenSequence_returnsNull() {
+    PaymentEventRing ring = new PaymentEventRing(4);
+    for (int i = 1; i <= 6; i++) {
+      ring.publish(event(i));
+    }
+
+    assertThat(ring.get(2)).isNull();
+    assertThat(ring.get(3).event().id()).isEqualTo(3);
+    assertThat(ring.get(6).event().id()).isEqualTo(6);
+  }
+
+  @Test
+  void data_isRenderedOncePerSlot() {
+    PaymentEventRing ring = new PaymentEventRing(4);
+    ring.publish(event(1));
+    int[] renders = new int[1];
+
+    for (int i = 0; i < 3; i++) {
+      ring.get(1).data(event -> "rendered-" + ++renders[0]);
+    }
+
+    assertThat(ring.get(1).data(event -> "again")).isEqualTo("rendered-1");
+    assertThat(renders[0]).isEqualTo(1);
+  }
+
+  @Test
+  void constructor_capacityNotPowerOfTwo_throws() {
+    assertThatThrownBy(() -> new PaymentEventRing(100))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static WebhookEvent event(long id) {
+    return new WebhookEvent(id, "payment.authorized", 0, Instant.EPOCH, null);
+  }
+}
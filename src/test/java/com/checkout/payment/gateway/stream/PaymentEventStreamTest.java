@@ -0,0 +1,224 @@
+package com.checkout.payment.gateway.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.checkout.payment.gateway.api.model.ProcessPaymentResponse;
+import com.checkout.payment.gateway.configuration.PaymentStreamProperties;
+import com.checkout.payment.gateway.metrics.PaymentMetrics;
+import com.checkout.payment.gateway.webhook.WebhookEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class PaymentEventStreamTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final PaymentStreamProperties properties = new PaymentStreamProperties();
+  private PaymentEventStream stream;
+  private long published;
+
+  @AfterEach
+  void tearDown() {
+    stream.shutdown();
+  }
+
+  @Test
+  void subscribe_withoutLastEventId_receivesOnlyNewEventsInOrder() throws Exception {
+    stream = stream();
+    publish(3);
+    RecordingEmitter emitter = new RecordingEmitter();
+
+    stream.subscribe(null, emitter);
+    publish(5);
+
+    await(() -> emitter.ids.size() == 5);
+    assertThat(emitter.ids).containsExactly(4L, 5L, 6L, 7L, 8L);
+    assertThat(emitter.events.get(0)).contains("event:payment.authorized")
+        .contains("\"amount\":4");
+  }
+
+  @Test
+  void subscribe_withLastEventId_replaysFromRingThenContinuesLive() throws Exception {
+    stream = stream();
+    publish(10);
+    RecordingEmitter emitter = new RecordingEmitter();
+
+    stream.subscribe(4L, emitter);
+    await(() -> emitter.ids.size() == 6);
+    publish(1);
+
+    await(() -> emitter.ids.size() == 7);
+    assertThat(emitter.ids).containsExactlyElementsOf(range(5, 11));
+  }
+
+  @Test
+  void subscribe_lastEventIdOlderThanMaxLag_resumesFromMaxLagBack() throws Exception {
+    properties.setBufferSize(16);
+    properties.setMaxLag(8);
+    stream = stream();
+    publish(20);
+    RecordingEmitter emitter = new RecordingEmitter();
+
+    stream.subscribe(2L, emitter);
+
+    await(() -> emitter.ids.size() == 8);
+    assertThat(emitter.ids).containsExactlyElementsOf(range(13, 20));
+  }
+
+  @Test
+  void slowSubscriber_fallsBehind_isDisconnectedWithoutBlockingOthers() throws Exception {
+    properties.setBufferSize(64);
+    properties.setMaxLag(32);
+    properties.setDeliveryThreads(2);
+    stream = stream();
+    CountDownLatch release = new CountDownLatch(1);
+    RecordingEmitter slow = new RecordingEmitter(release);
+    RecordingEmitter fast = new RecordingEmitter();
+    stream.subscribe(null, slow);
+    stream.subscribe(null, fast);
+
+    publish(1);
+    await(() -> slow.ids.size() == 1);
+    publish(100);
+    await(() -> fast.ids.size() == 101);
+    release.countDown();
+
+    await(() -> slow.completed);
+    assertThat(fast.ids).containsExactlyElementsOf(range(1, 101));
+    assertThat(fast.completed).isFalse();
+    assertThat(stream.subscriberCount()).isEqualTo(1);
+    assertThat(registry.find("payment.stream.disconnected").tag("reason", "lagging")
+        .counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  void stalledSend_disconnectsSubscriberAndStartsAThreadForOthers() throws Exception {
+    properties.setDeliveryThreads(1);
+    properties.setStallTimeout(Duration.ofMillis(50));
+    stream = stream();
+    CountDownLatch release = new CountDownLatch(1);
+    RecordingEmitter stuck = new RecordingEmitter(release);
+    stream.subscribe(null, stuck);
+    publish(1);
+    await(() -> stuck.ids.size() == 1);
+    // Its first delivery task queues behind the stuck one on the only thread
+    RecordingEmitter waiting = new RecordingEmitter();
+    stream.subscribe(null, waiting);
+    Thread.sleep(100);
+
+    publish(5);
+
+    await(() -> waiting.ids.size() == 5);
+    assertThat(waiting.ids).containsExactlyElementsOf(range(2, 6));
+    assertThat(stream.subscriberCount()).isEqualTo(1);
+    assertThat(stream.deliveryThreads()).isEqualTo(2);
+    assertThat(registry.find("payment.stream.disconnected").tag("reason", "stalled")
+        .counter().count()).isEqualTo(1.0);
+
+    release.countDown();
+    await(() -> stuck.completed);
+    await(() -> stream.deliveryThreads() == 1);
+    assertThat(stuck.ids).containsExactly(1L);
+  }
+
+  @Test
+  void manySubscribers_allReceiveEveryEventInOrder() throws Exception {
+    stream = stream();
+    List<RecordingEmitter> emitters = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      RecordingEmitter emitter = new RecordingEmitter();
+      stream.subscribe(null, emitter);
+      emitters.add(emitter);
+    }
+    assertThat(registry.find("payment.stream.subscribers").gauge().value()).isEqualTo(5000);
+
+    long started = System.nanoTime();
+    publish(100);
+    long publishNanos = System.nanoTime() - started;
+
+    await(() -> emitters.stream().allMatch(emitter -> emitter.ids.size() == 100));
+    List<Long> expected = range(1, 100);
+    assertThat(emitters).allSatisfy(emitter ->
+        assertThat(emitter.ids).containsExactlyElementsOf(expected));
+    // Publishing only writes the ring and schedules one fan-out task
+    assertThat(TimeUnit.NANOSECONDS.toMillis(publishNanos)).isLessThan(1000);
+  }
+
+  private PaymentEventStream stream() {
+    return new PaymentEventStream(properties, new ObjectMapper().findAndRegisterModules(),
+        new PaymentMetrics(registry));
+  }
+
+  private void publish(int count) {
+    for (int i = 0; i < count; i++) {
+      published++;
+      stream.publish(new WebhookEvent(published, "payment.authorized", 0, Instant.EPOCH,
+          new ProcessPaymentResponse().amount((int) published)));
+    }
+  }
+
+  private static List<Long> range(long from, long to) {
+    return LongStream.rangeClosed(from, to).boxed().toList();
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+    while (!condition.getAsBoolean()) {
+      assertThat(System.nanoTime()).as("timed out waiting for condition").isLessThan(deadline);
+      Thread.sleep(5);
+    }
+  }
+
+  private static final class RecordingEmitter extends SseEmitter {
+
+    private static final Pattern ID = Pattern.compile("id:(\\d+)");
+
+    private final List<Long> ids = new CopyOnWriteArrayList<>();
+    private final List<String> events = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release;
+    private volatile boolean completed;
+
+    RecordingEmitter() {
+      this(new CountDownLatch(0));
+    }
+
+    RecordingEmitter(CountDownLatch release) {
+      this.release = release;
+    }
+
+    @Override
+    public void send(SseEventBuilder builder) throws IOException {
+      StringBuilder text = new StringBuilder();
+      builder.build().forEach(part -> text.append(part.getData()));
+      Matcher matcher = ID.matcher(text);
+      assertThat(matcher.find()).isTrue();
+      ids.add(Long.parseLong(matcher.group(1)));
+      events.add(text.toString());
+      try {
+        release.await(30, TimeUnit.SECONDS);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new IOException(ex);
+      }
+    }
+
+    @Override
+    public void complete() {
+      completed = true;
+    }
+  }
+}
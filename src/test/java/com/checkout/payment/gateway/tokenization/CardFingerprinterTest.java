@@ -0,0 +1,68 @@
+package com.checkout.payment.gateway.tokenization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.checkout.payment.gateway.configuration.TokenizationProperties;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.Test;
+
+class CardFingerprinterTest {
+
+  private static final byte[] KEY = "0123456789abcdef0123456789abcdef".getBytes(
+      StandardCharsets.US_ASCII);
+
+  @Test
+  void fingerprint_matchesTruncatedHmac() throws Exception {
+    Mac mac = Mac.getInstance("HmacSHA256");
+    mac.init(new SecretKeySpec(KEY, "HmacSHA256"));
+    byte[] expected = mac.doFinal("2222405343248877".getBytes(StandardCharsets.US_ASCII));
+
+    String fingerprint = new CardFingerprinter(KEY).fingerprint("2222405343248877");
+
+    assertEquals(HexFormat.of().formatHex(expected, 0, 16), fingerprint);
+    assertEquals(32, fingerprint.length());
+  }
+
+  @Test
+  void fingerprint_isStableAcrossCallsAndThreads() throws Exception {
+    CardFingerprinter fingerprinter = new CardFingerprinter(KEY);
+    String first = fingerprinter.fingerprint("4111111111111111");
+    fingerprinter.fingerprint("5500000000000004");
+    String[] other = new String[1];
+    Thread thread = new Thread(() -> other[0] = fingerprinter.fingerprint("4111111111111111"));
+    thread.start();
+    thread.join();
+
+    assertEquals(first, fingerprinter.fingerprint("4111111111111111"));
+    assertEquals(first, other[0]);
+  }
+
+  @Test
+  void fingerprint_dependsOnKey() {
+    byte[] otherKey = "fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.US_ASCII);
+
+    assertNotEquals(new CardFingerprinter(KEY).fingerprint("4111111111111111"),
+        new CardFingerprinter(otherKey).fingerprint("4111111111111111"));
+  }
+
+  @Test
+  void constructor_shortKey_throws() {
+    assertThrows(IllegalArgumentException.class, () -> new CardFingerprinter(new byte[16]));
+  }
+
+  @Test
+  void constructor_missingOrMalformedKey_throws() {
+    TokenizationProperties properties = new TokenizationProperties();
+    IllegalStateException missing = assertThrows(IllegalStateException.class,
+        () -> new CardFingerprinter(properties));
+    assertEquals("TOKENIZATION_FINGERPRINT_KEY is not set", missing.getMessage());
+
+    properties.setFingerprintKey("not base64!");
+    assertThrows(IllegalStateException.class, () -> new CardFingerprinter(properties));
+  }
+}
@@ -0,0 +1,89 @@
+package com.checkout.payment.gateway.tokenization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.checkout.payment.gateway.configuration.TokenizationProperties;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileTokenVaultTest {
+
+  private static final byte[] KEY = "0123456789abcdef0123456789abcdef".getBytes(
+      StandardCharsets.US_ASCII);
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void reveal_storedCard_returnsCardNumber() {
+    FileTokenVault vault = new FileTokenVault(KEY, null);
+
+    vault.store("fp-1", "2222405343248877");
+
+    assertEquals(Optional.of("2222405343248877"), vault.reveal("fp-1"));
+    assertEquals(Optional.empty(), vault.reveal("fp-2"));
+  }
+
+  @Test
+  void store_sameFingerprintTwice_writesOnce() throws IOException {
+    Path file = directory.resolve("vault.dat");
+    FileTokenVault vault = new FileTokenVault(KEY, file);
+
+    vault.store("fp-1", "2222405343248877");
+    vault.store("fp-1", "2222405343248877");
+    vault.close();
+
+    assertEquals(1, vault.size());
+    assertEquals(1, Files.readAllLines(file).size());
+  }
+
+  @Test
+  void vaultFile_holdsCiphertextAndSurvivesRestart() throws IOException {
+    Path file = directory.resolve("vault.dat");
+    FileTokenVault vault = new FileTokenVault(KEY, file);
+    vault.store("fp-1", "2222405343248877");
+    vault.store("fp-2", "4111111111111111");
+    vault.close();
+
+    String contents = Files.readString(file);
+    assertFalse(contents.contains("2222405343248877"));
+    assertFalse(contents.contains("4111111111111111"));
+
+    FileTokenVault reopened = new FileTokenVault(KEY, file);
+    assertEquals(Optional.of("2222405343248877"), reopened.reveal("fp-1"));
+    assertEquals(Optional.of("4111111111111111"), reopened.reveal("fp-2"));
+    reopened.close();
+  }
+
+  @Test
+  void reveal_ciphertextMovedToOtherFingerprint_fails() throws IOException {
+    Path file = directory.resolve("vault.dat");
+    FileTokenVault vault = new FileTokenVault(KEY, file);
+    vault.store("fp-1", "2222405343248877");
+    vault.close();
+    String line = Files.readAllLines(file).get(0);
+    Files.write(file, List.of("fp-2" + line.substring(line.indexOf(':'))));
+
+    FileTokenVault tampered = new FileTokenVault(KEY, file);
+
+    assertEquals(1, tampered.size());
+    assertThrows(IllegalStateException.class, () -> tampered.reveal("fp-2"));
+    tampered.close();
+  }
+
+  @Test
+  void constructor_missingOrWrongLengthKey_throws() {
+    TokenizationProperties properties = new TokenizationProperties();
+    assertThrows(IllegalStateException.class, () -> new FileTokenVault(properties));
+
+    assertThrows(IllegalArgumentException.class, () -> new FileTokenVault(new byte[20], null));
+  }
+}
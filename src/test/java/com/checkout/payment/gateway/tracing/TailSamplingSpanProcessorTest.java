@@ -0,0 +1,167 @@
+package com.checkout.payment.gateway.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.checkout.payment.gateway.configuration.TailSamplingProperties;
+import com.checkout.payment.gateway.metrics.PaymentMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class TailSamplingSpanProcessorTest {
+
+  private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final TailSamplingProperties properties = new TailSamplingProperties();
+  private SdkTracerProvider tracerProvider;
+  private Tracer tracer;
+
+  @AfterEach
+  void tearDown() {
+    tracerProvider.close();
+  }
+
+  @Test
+  void fastSuccessfulTrace_isDropped() {
+    properties.setSampleRate(0);
+    start();
+
+    trace(10, false);
+
+    assertThat(exporter.getFinishedSpanItems()).isEmpty();
+    assertThat(decisions("dropped")).isEqualTo(1.0);
+  }
+
+  @Test
+  void slowTrace_isExportedWithAllItsSpans() {
+    properties.setSampleRate(0);
+    start();
+
+    trace(800, false);
+
+    assertThat(exporter.getFinishedSpanItems()).extracting(SpanData::getName)
+        .containsExactly("validate-payment", "bank-authorize", "http post /v1/payment");
+    assertThat(decisions("slow")).isEqualTo(1.0);
+  }
+
+  @Test
+  void traceWithFailedChildSpan_isExported() {
+    properties.setSampleRate(0);
+    start();
+
+    trace(10, true);
+
+    assertThat(exporter.getFinishedSpanItems()).hasSize(3);
+    assertThat(decisions("error")).isEqualTo(1.0);
+  }
+
+  @Test
+  void serverErrorOutcomeOnRoot_isExported() {
+    properties.setSampleRate(0);
+    start();
+
+    Span root = tracer.spanBuilder("http post /v1/payment").setNoParent()
+        .setStartTimestamp(0, TimeUnit.MILLISECONDS)
+        .setAttribute(TailSamplingSpanProcessor.OUTCOME, "SERVER_ERROR")
+        .startSpan();
+    root.end(10, TimeUnit.MILLISECONDS);
+
+    assertThat(exporter.getFinishedSpanItems()).hasSize(1);
+    assertThat(decisions("error")).isEqualTo(1.0);
+  }
+
+  @Test
+  void sampleRate_exportsThatShareOfFastTraces() {
+    properties.setSampleRate(0.1);
+    start();
+
+    for (int i = 0; i < 2000; i++) {
+      trace(10, false);
+    }
+
+    assertThat(decisions("sampled")).isBetween(140.0, 260.0);
+    assertThat(exporter.getFinishedSpanItems()).hasSize((int) decisions("sampled") * 3);
+  }
+
+  @Test
+  void spanWithRemoteParent_isTreatedAsLocalRoot() {
+    properties.setSampleRate(0);
+    start();
+    SpanContext remote = SpanContext.createFromRemoteParent("0af7651916cd43dd8448eb211c80319c",
+        "b7ad6b7169203331", TraceFlags.getSampled(), TraceState.getDefault());
+
+    Span root = tracer.spanBuilder("http post /v1/payment")
+        .setParent(Context.root().with(Span.wrap(remote)))
+        .setStartTimestamp(0, TimeUnit.MILLISECONDS)
+        .startSpan();
+    root.end(900, TimeUnit.MILLISECONDS);
+
+    assertThat(exporter.getFinishedSpanItems()).singleElement()
+        .extracting(SpanData::getTraceId).isEqualTo("0af7651916cd43dd8448eb211c80319c");
+  }
+
+  @Test
+  void rootThatNeverEnds_isEvictedOnceBufferIsFull() {
+    properties.setSampleRate(0);
+    properties.setMaxTraces(10);
+    start();
+
+    for (int i = 0; i < 50; i++) {
+      Span root = tracer.spanBuilder("abandoned").setNoParent().startSpan();
+      tracer.spanBuilder("child").setParent(Context.root().with(root)).startSpan().end();
+    }
+
+    tracerProvider.forceFlush();
+    assertThat(exporter.getFinishedSpanItems()).isEmpty();
+    assertThat(decisions("evicted")).isPositive();
+  }
+
+  private void start() {
+    properties.setLatencyThreshold(Duration.ofMillis(500));
+    PaymentMetrics metrics = new PaymentMetrics(registry);
+    tracerProvider = SdkTracerProvider.builder()
+        .setSampler(Sampler.alwaysOn())
+        .addSpanProcessor(new TailSamplingSpanProcessor(SimpleSpanProcessor.create(exporter),
+            properties, metrics))
+        .build();
+    tracer = tracerProvider.get("test");
+  }
+
+  // Root span lasting rootMillis with two children that end before it
+  private void trace(long rootMillis, boolean failChild) {
+    Span root = tracer.spanBuilder("http post /v1/payment").setNoParent()
+        .setStartTimestamp(0, TimeUnit.MILLISECONDS)
+        .startSpan();
+    Context context = Context.root().with(root);
+    tracer.spanBuilder("validate-payment").setParent(context)
+        .setStartTimestamp(1, TimeUnit.MILLISECONDS).startSpan()
+        .end(2, TimeUnit.MILLISECONDS);
+    Span bank = tracer.spanBuilder("bank-authorize").setParent(context)
+        .setStartTimestamp(2, TimeUnit.MILLISECONDS).startSpan();
+    if (failChild) {
+      bank.setStatus(StatusCode.ERROR, "Bank unavailable");
+    }
+    bank.end(rootMillis - 1, TimeUnit.MILLISECONDS);
+    root.end(rootMillis, TimeUnit.MILLISECONDS);
+  }
+
+  private double decisions(String decision) {
+    Counter counter = registry.find("tracing.tail.decision").tag("decision", decision).counter();
+    return counter == null ? 0 : counter.count();
+  }
+}
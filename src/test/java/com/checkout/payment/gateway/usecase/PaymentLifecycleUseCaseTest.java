@@ -0,0 +1,215 @@
+package com.checkout.payment.gateway.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.checkout.payment.gateway.configuration.PaymentStreamProperties;
+import com.checkout.payment.gateway.configuration.WebhookProperties;
+import com.checkout.payment.gateway.exception.EventProcessingException;
+import com.checkout.payment.gateway.exception.PaymentStateException;
+import com.checkout.payment.gateway.exception.PaymentValidationException;
+import com.checkout.payment.gateway.mapper.PaymentApiMapper;
+import com.checkout.payment.gateway.mapper.PaymentEntityMapper;
+import com.checkout.payment.gateway.metrics.PaymentMetrics;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.model.PaymentEvent;
+import com.checkout.payment.gateway.model.PaymentOperation;
+import com.checkout.payment.gateway.model.PaymentStatus;
+import com.checkout.payment.gateway.repository.InMemoryPaymentRepository;
+import com.checkout.payment.gateway.stream.PaymentEventStream;
+import com.checkout.payment.gateway.webhook.PaymentOutbox;
+import com.checkout.payment.gateway.webhook.WebhookDispatcher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+class PaymentLifecycleUseCaseTest {
+
+  private final Clock clock = Clock.fixed(Instant.parse("2025-06-15T12:00:00Z"), ZoneOffset.UTC);
+  private final InMemoryPaymentRepository repository =
+      new InMemoryPaymentRepository(Mappers.getMapper(PaymentEntityMapper.class), clock);
+  private final PaymentMetrics metrics = new PaymentMetrics(new SimpleMeterRegistry());
+  private final PaymentOutbox outbox = new PaymentOutbox(
+      new WebhookDispatcher(new WebhookProperties(), new ObjectMapper(), metrics, clock),
+      new PaymentEventStream(new PaymentStreamProperties(), new ObjectMapper(), metrics),
+      Mappers.getMapper(PaymentApiMapper.class), clock);
+  private final PaymentLifecycleUseCase useCase =
+      new PaymentLifecycleUseCase(repository, outbox, metrics, ObservationRegistry.NOOP, clock);
+
+  @Test
+  void capture_partialAmount_capturesAndRecordsEvent() {
+    UUID id = authorized(1000);
+
+    Payment captured = useCase.execute(id, PaymentOperation.CAPTURE, 600);
+
+    assertThat(captured.getStatus()).isEqualTo(PaymentStatus.CAPTURED);
+    assertThat(captured.getCapturedAmount()).isEqualTo(600);
+    assertThat(captured.getVersion()).isEqualTo(1);
+    Payment stored = repository.findById(id).orElseThrow();
+    assertThat(stored.getVersion()).isEqualTo(1);
+    assertThat(stored.getEvents()).extracting(PaymentEvent::operation, PaymentEvent::amount)
+        .containsExactly(tuple(PaymentOperation.AUTHORIZE, 1000),
+            tuple(PaymentOperation.CAPTURE, 600));
+  }
+
+  @Test
+  void refund_partialThenRest_endsRefunded() {
+    UUID id = authorized(1000);
+    useCase.execute(id, PaymentOperation.CAPTURE, null);
+
+    assertThat(useCase.execute(id, PaymentOperation.REFUND, 300).getStatus())
+        .isEqualTo(PaymentStatus.PARTIALLY_REFUNDED);
+    Payment refunded = useCase.execute(id, PaymentOperation.REFUND, null);
+
+    assertThat(refunded.getStatus()).isEqualTo(PaymentStatus.REFUNDED);
+    assertThat(refunded.getRefundedAmount()).isEqualTo(1000);
+    assertThatThrownBy(() -> useCase.execute(id, PaymentOperation.REFUND, 1))
+        .isInstanceOf(PaymentStateException.class);
+  }
+
+  @Test
+  void refund_moreThanCaptured_isRejected() {
+    UUID id = authorized(1000);
+    useCase.execute(id, PaymentOperation.CAPTURE, 400);
+
+    assertThatThrownBy(() -> useCase.execute(id, PaymentOperation.REFUND, 401))
+        .isInstanceOf(PaymentValidationException.class)
+        .hasMessage("Refund amount must be between 1 and 400");
+  }
+
+  @Test
+  void illegalTransitions_areRejected() {
+    UUID id = authorized(1000);
+    useCase.execute(id, PaymentOperation.VOID, null);
+
+    assertThatThrownBy(() -> useCase.execute(id, PaymentOperation.CAPTURE, null))
+        .isInstanceOf(PaymentStateException.class)
+        .hasMessage("Cannot capture a payment that is VOIDED");
+    assertThatThrownBy(() -> useCase.execute(authorized(1000), PaymentOperation.REFUND, null))
+        .isInstanceOf(PaymentStateException.class);
+    assertThatThrownBy(() -> useCase.execute(UUID.randomUUID(), PaymentOperation.VOID, null))
+        .isInstanceOf(EventProcessingException.class);
+  }
+
+  @Test
+  void compareAndSave_staleVersion_fails() {
+    UUID id = authorized(1000);
+    Payment stale = repository.findById(id).orElseThrow();
+    useCase.execute(id, PaymentOperation.VOID, null);
+
+    stale.setStatus(PaymentStatus.CAPTURED);
+
+    assertThat(repository.compareAndSave(stale, 0)).isFalse();
+    assertThat(repository.findById(id).orElseThrow().getStatus())
+        .isEqualTo(PaymentStatus.VOIDED);
+  }
+
+  @Test
+  void concurrentCaptureAndVoid_exactlyOneWins() throws Exception {
+    int rounds = 200;
+    int threads = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      for (int round = 0; round < rounds; round++) {
+        UUID id = authorized(1000);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Payment>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+          PaymentOperation operation = i % 2 == 0
+              ? PaymentOperation.CAPTURE
+              : PaymentOperation.VOID;
+          Callable<Payment> task = () -> {
+            start.await();
+            return useCase.execute(id, operation, null);
+          };
+          results.add(executor.submit(task));
+        }
+        start.countDown();
+
+        List<Payment> winners = new ArrayList<>();
+        for (Future<Payment> result : results) {
+          try {
+            winners.add(result.get());
+          } catch (ExecutionException e) {
+            assertThat(e.getCause()).isInstanceOf(PaymentStateException.class);
+          }
+        }
+
+        assertThat(winners).hasSize(1);
+        Payment stored = repository.findById(id).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(winners.get(0).getStatus());
+        assertThat(stored.getVersion()).isEqualTo(1);
+        assertThat(stored.getEvents()).hasSize(2);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void concurrentPartialRefunds_neverExceedCapturedAmount() throws Exception {
+    UUID id = authorized(1000);
+    useCase.execute(id, PaymentOperation.CAPTURE, null);
+    int threads = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<Payment>> results = new ArrayList<>();
+      for (int i = 0; i < threads * 4; i++) {
+        results.add(executor.submit(() -> {
+          start.await();
+          return useCase.execute(id, PaymentOperation.REFUND, 100);
+        }));
+      }
+      start.countDown();
+
+      int succeeded = 0;
+      for (Future<Payment> result : results) {
+        try {
+          result.get();
+          succeeded++;
+        } catch (ExecutionException e) {
+          assertThat(e.getCause()).isInstanceOf(PaymentStateException.class);
+        }
+      }
+
+      Payment stored = repository.findById(id).orElseThrow();
+      assertThat(succeeded).isEqualTo(10);
+      assertThat(stored.getRefundedAmount()).isEqualTo(1000);
+      assertThat(stored.getStatus()).isEqualTo(PaymentStatus.REFUNDED);
+      assertThat(stored.getEvents()).hasSize(12);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private UUID authorized(int amount) {
+    Payment payment = new Payment();
+    payment.setId(UUID.randomUUID());
+    payment.setStatus(PaymentStatus.AUTHORIZED);
+    payment.setCardNumberLastFour("8877");
+    payment.setExpiryMonth(4);
+    payment.setExpiryYear(2030);
+    payment.setCurrency("GBP");
+    payment.setAmount(amount);
+    payment.setEvents(List.of(new PaymentEvent(PaymentOperation.AUTHORIZE,
+        PaymentStatus.AUTHORIZED, amount, Instant.now(clock))));
+    repository.save(payment);
+    return payment.getId();
+  }
+}
@@ -0,0 +1,186 @@
+package com.checkout.payment.gateway.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.checkout.payment.gateway.admission.ClientRateLimiter;
+import com.checkout.payment.gateway.admission.LoadShedder;
+import com.checkout.payment.gateway.configuration.BatchProperties;
+import com.checkout.payment.gateway.exception.RateLimitExceededException;
+import com.checkout.payment.gateway.exception.ServiceUnavailableException;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.usecase.ProcessPaymentBatchUseCase.Batch;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProcessPaymentBatchUseCaseTest {
+
+  private final ProcessPaymentUseCase processPaymentUseCase = mock(ProcessPaymentUseCase.class);
+  private final ClientRateLimiter rateLimiter = mock(ClientRateLimiter.class);
+  private final LoadShedder loadShedder = mock(LoadShedder.class);
+  private final List<String> processed = new CopyOnWriteArrayList<>();
+  private final CountDownLatch firstStarted = new CountDownLatch(1);
+  private final CountDownLatch releaseFirst = new CountDownLatch(1);
+  private ProcessPaymentBatchUseCase useCase;
+
+  @BeforeEach
+  void setUp() {
+    when(rateLimiter.consumeBatchItem(any(), any())).thenReturn(true);
+    when(loadShedder.admitBatchItem(any()))
+        .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+  }
+
+  @AfterEach
+  void tearDown() {
+    releaseFirst.countDown();
+    useCase.shutdown();
+  }
+
+  @Test
+  void submit_takesOneItemFromEachBatchInTurn() throws Exception {
+    useCase = useCase(1, 100);
+    blockFirstItem();
+
+    try (Batch large = useCase.submit(payments("A", 3))) {
+      assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+      try (Batch small = useCase.submit(payments("B", 2))) {
+        releaseFirst.countDown();
+        large.forEachResult(result -> { });
+        small.forEachResult(result -> { });
+      }
+    }
+
+    assertThat(processed).containsExactly("A0", "A1", "B0", "A2", "B1");
+  }
+
+  @Test
+  void close_dropsUnstartedItemsAndLetsStartedOnesFinish() throws Exception {
+    useCase = useCase(1, 100);
+    blockFirstItem();
+
+    Batch batch = useCase.submit(payments("A", 3));
+    assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+    batch.close();
+    assertThat(useCase.queuedItems()).isZero();
+    releaseFirst.countDown();
+
+    try (Batch next = useCase.submit(payments("B", 1))) {
+      next.forEachResult(result -> assertThat(result.isProcessed()).isTrue());
+    }
+    assertThat(processed).containsExactly("A0", "B0");
+  }
+
+  @Test
+  void submit_overQueuedItemLimit_isRejected() throws Exception {
+    useCase = useCase(1, 3);
+    blockFirstItem();
+
+    try (Batch first = useCase.submit(payments("A", 3))) {
+      assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+      assertThatThrownBy(() -> useCase.submit(payments("B", 2)))
+          .isInstanceOf(ServiceUnavailableException.class);
+      assertThat(useCase.submit(payments("C", 1))).isNotNull();
+    }
+  }
+
+  @Test
+  void admissionFailure_failsTheItemWithoutProcessingIt() {
+    useCase = useCase(2, 100);
+    when(rateLimiter.consumeBatchItem(eq("10.0.0.1"), any())).thenReturn(false);
+    when(loadShedder.admitBatchItem(any()))
+        .thenThrow(new ServiceUnavailableException("Service is overloaded. Try again later."));
+    List<Payment> payments = payments("A", 2);
+    payments.get(0).setClientIp("10.0.0.1");
+    List<BatchItemResult> results = new ArrayList<>();
+
+    try (Batch batch = useCase.submit(payments)) {
+      batch.forEachResult(results::add);
+    }
+
+    assertThat(results).hasSize(2).noneMatch(BatchItemResult::isProcessed);
+    assertThat(results).extracting(BatchItemResult::failure)
+        .hasAtLeastOneElementOfType(RateLimitExceededException.class)
+        .hasAtLeastOneElementOfType(ServiceUnavailableException.class);
+    assertThat(processed).isEmpty();
+  }
+
+  @Test
+  void errorInItem_failsThatItemAndKeepsTheWorker() {
+    useCase = useCase(1, 100);
+    when(processPaymentUseCase.execute(any()))
+        .thenThrow(new StackOverflowError())
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    List<BatchItemResult> results = new ArrayList<>();
+
+    try (Batch batch = useCase.submit(payments("A", 2))) {
+      batch.forEachResult(results::add);
+    }
+
+    assertThat(results).extracting(BatchItemResult::index).containsExactly(0, 1);
+    assertThat(results.get(0).failure()).isInstanceOf(IllegalStateException.class);
+    assertThat(results.get(1).isProcessed()).isTrue();
+  }
+
+  @Test
+  void shutdown_failsUnstartedItemsSoOpenBatchesFinish() throws Exception {
+    useCase = useCase(1, 100);
+    blockFirstItem();
+    List<BatchItemResult> results = new ArrayList<>();
+
+    try (Batch batch = useCase.submit(payments("A", 3))) {
+      assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+      useCase.shutdown();
+      batch.forEachResult(results::add);
+    }
+
+    assertThat(results).hasSize(3);
+    assertThat(results).filteredOn(result -> result.index() > 0)
+        .extracting(BatchItemResult::failure)
+        .allMatch(ServiceUnavailableException.class::isInstance);
+    assertThatThrownBy(() -> useCase.submit(payments("B", 1)))
+        .isInstanceOf(ServiceUnavailableException.class);
+  }
+
+  private ProcessPaymentBatchUseCase useCase(int parallelism, int maxQueuedItems) {
+    BatchProperties properties = new BatchProperties();
+    properties.setParallelism(parallelism);
+    properties.setMaxQueuedItems(maxQueuedItems);
+    return new ProcessPaymentBatchUseCase(processPaymentUseCase, rateLimiter, loadShedder,
+        properties);
+  }
+
+  // The first item holds the only worker until the test lets it go, so the order in which the
+  // remaining items start is decided while they all wait
+  private void blockFirstItem() {
+    when(processPaymentUseCase.execute(any())).thenAnswer(invocation -> {
+      Payment payment = invocation.getArgument(0);
+      if (processed.isEmpty()) {
+        firstStarted.countDown();
+        releaseFirst.await(5, TimeUnit.SECONDS);
+      }
+      processed.add(payment.getIdempotencyKey());
+      return payment;
+    });
+  }
+
+  private static List<Payment> payments(String batch, int count) {
+    List<Payment> payments = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      Payment payment = new Payment();
+      payment.setIdempotencyKey(batch + i);
+      payments.add(payment);
+    }
+    return payments;
+  }
+}
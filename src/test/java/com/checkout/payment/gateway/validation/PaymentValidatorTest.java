@@ -1,11 +1,14 @@
 package com.checkout.payment.gateway.validation;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.checkout.payment.gateway.model.Payment;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZoneOffset;
 import org.junit.jupiter.api.Test;
 
@@ -16,64 +19,88 @@ class PaymentValidatorTest {
   private final PaymentValidator validator = new PaymentValidator(fixedClock);
 
   @Test
-  void isValid_futureExpiry_returnsTrue() {
+  void validate_futureExpiry_returnsValid() {
     Payment payment = validPayment();
     payment.setExpiryMonth(7);
     payment.setExpiryYear(2025);
 
-    assertTrue(validator.isValid(payment));
+    assertEquals(ValidationResult.VALID, validator.validate(payment));
   }
 
   @Test
-  void isValid_pastExpiry_returnsFalse() {
+  void validate_pastExpiry_returnsExpired() {
     Payment payment = validPayment();
     payment.setExpiryMonth(5);
     payment.setExpiryYear(2025);
 
-    assertFalse(validator.isValid(payment));
+    assertEquals(ValidationResult.EXPIRED, validator.validate(payment));
   }
 
   @Test
-  void isValid_currentMonth_returnsFalse() {
+  void validate_currentMonth_returnsExpired() {
     Payment payment = validPayment();
     payment.setExpiryMonth(6);
     payment.setExpiryYear(2025);
 
-    assertFalse(validator.isValid(payment));
+    assertEquals(ValidationResult.EXPIRED, validator.validate(payment));
   }
 
   @Test
-  void isValid_luhnValidCard_returnsTrue() {
+  void validate_decemberToJanuary_returnsValid() {
+    PaymentValidator decemberValidator = new PaymentValidator(Clock.fixed(
+        Instant.parse("2025-12-31T12:00:00Z"), ZoneOffset.UTC));
     Payment payment = validPayment();
-    payment.setExpiryMonth(7);
-    payment.setExpiryYear(2025);
+    payment.setExpiryMonth(1);
+    payment.setExpiryYear(2026);
 
-    assertTrue(validator.isValid(payment));
+    assertEquals(ValidationResult.VALID, decemberValidator.validate(payment));
   }
 
   @Test
-  void isValid_luhnInvalidCard_returnsFalse() {
+  void validate_luhnInvalidCard_returnsCardNumberInvalid() {
     Payment payment = validPayment();
     payment.setCardNumber("11111111111111");
     payment.setExpiryMonth(7);
     payment.setExpiryYear(2025);
 
-    assertFalse(validator.isValid(payment));
+    assertEquals(ValidationResult.CARD_NUMBER_INVALID, validator.validate(payment));
   }
 
   @Test
-  void isCardNumberValid_luhnValidCard_returnsTrue() {
+  void validate_luhnInvalidAndExpired_reportsCardNumberFirst() {
     Payment payment = validPayment();
+    payment.setCardNumber("11111111111111");
+    payment.setExpiryMonth(1);
+    payment.setExpiryYear(2020);
 
-    assertTrue(validator.isCardNumberValid(payment));
+    assertEquals(ValidationResult.CARD_NUMBER_INVALID, validator.validate(payment));
   }
 
   @Test
-  void isCardNumberValid_luhnInvalidCard_returnsFalse() {
+  void validate_monthRollsOver_picksUpNewMonth() {
+    MutableClock clock = new MutableClock(Instant.parse("2025-06-30T23:59:59Z"));
+    PaymentValidator rollingValidator = new PaymentValidator(clock);
     Payment payment = validPayment();
-    payment.setCardNumber("11111111111111");
+    payment.setExpiryMonth(7);
+    payment.setExpiryYear(2025);
 
-    assertFalse(validator.isCardNumberValid(payment));
+    assertEquals(ValidationResult.VALID, rollingValidator.validate(payment));
+
+    clock.advance(Duration.ofSeconds(2));
+
+    assertEquals(ValidationResult.EXPIRED, rollingValidator.validate(payment));
+  }
+
+  @Test
+  void validationResult_carriesFieldAndMessage() {
+    assertTrue(ValidationResult.VALID.isValid());
+    assertFalse(ValidationResult.EXPIRED.isValid());
+    assertEquals("expiryDate", ValidationResult.EXPIRED.getField());
+    assertEquals("Card expiry date must be in the future",
+        ValidationResult.EXPIRED.getMessage());
+    assertEquals("cardNumber", ValidationResult.CARD_NUMBER_INVALID.getField());
+    assertEquals("Card number failed Luhn check",
+        ValidationResult.CARD_NUMBER_INVALID.getMessage());
   }
 
   @Test
@@ -85,6 +112,11 @@ class PaymentValidatorTest {
     assertFalse(PaymentValidator.isLuhnValid("11111111111111"));
   }
 
+  @Test
+  void isLuhnValid_nonDigit_returnsFalse() {
+    assertFalse(PaymentValidator.isLuhnValid("41111111111a1111"));
+  }
+
   @Test
   void isLuhnValid_nullOrEmpty_returnsFalse() {
     assertFalse(PaymentValidator.isLuhnValid(null));
@@ -96,4 +128,32 @@ class PaymentValidatorTest {
     payment.setCardNumber("2222405343248877");
     return payment;
   }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant instant;
+
+    MutableClock(Instant instant) {
+      this.instant = instant;
+    }
+
+    void advance(Duration duration) {
+      instant = instant.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
 }
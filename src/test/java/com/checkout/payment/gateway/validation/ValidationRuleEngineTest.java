@@ -0,0 +1,201 @@
+package com.checkout.payment.gateway.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.checkout.payment.gateway.configuration.ValidationRulesProperties;
+import com.checkout.payment.gateway.configuration.ValidationRulesProperties.RuleSet;
+import com.checkout.payment.gateway.configuration.ValidationRulesProperties.SchemeRule;
+import com.checkout.payment.gateway.model.Payment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ValidationRuleEngineTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Clock clock = Clock.systemUTC();
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void evaluate_noRules_returnsValid() {
+    ValidationRuleEngine engine = engine(new ValidationRulesProperties());
+
+    assertEquals(ValidationResult.VALID, engine.evaluate(payment("2222405343248877", "GBP", 100)));
+  }
+
+  @Test
+  void evaluate_schemeLength_rejectsWrongLength() {
+    ValidationRulesProperties properties = withSchemes();
+    ValidationRuleEngine engine = engine(properties);
+
+    assertEquals(ValidationResult.VALID, engine.evaluate(payment("2222405343248877", "GBP", 100)));
+    assertEquals(ValidationResult.CARD_LENGTH_INVALID,
+        engine.evaluate(payment("222240534324887", "GBP", 100)));
+    assertEquals(ValidationResult.VALID, engine.evaluate(payment("378282246310005", "GBP", 100)));
+  }
+
+  @Test
+  void evaluate_unknownScheme_returnsValid() {
+    ValidationRuleEngine engine = engine(withSchemes());
+
+    assertEquals(ValidationResult.VALID,
+        engine.evaluate(payment("60110000000000", "GBP", 100)));
+  }
+
+  @Test
+  void evaluate_blockedRange_rejectsCardsInRange() {
+    ValidationRulesProperties properties = withSchemes();
+    properties.getDefaults().setBlockedBins(List.of("411100-411199"));
+    ValidationRuleEngine engine = engine(properties);
+
+    assertEquals(ValidationResult.BIN_BLOCKED,
+        engine.evaluate(payment("4111111111111111", "GBP", 100)));
+    assertEquals(ValidationResult.VALID,
+        engine.evaluate(payment("4112111111111111", "GBP", 100)));
+  }
+
+  @Test
+  void evaluate_allowedBins_rejectsOtherBins() {
+    ValidationRulesProperties properties = new ValidationRulesProperties();
+    properties.getDefaults().setAllowedBins(List.of("2221-2720"));
+    ValidationRuleEngine engine = engine(properties);
+
+    assertEquals(ValidationResult.VALID, engine.evaluate(payment("2222405343248877", "GBP", 100)));
+    assertEquals(ValidationResult.BIN_NOT_SUPPORTED,
+        engine.evaluate(payment("2721405343248877", "GBP", 100)));
+  }
+
+  @Test
+  void evaluate_currencyOverride_replacesAmountLimitAndAddsBlockedBins() {
+    ValidationRulesProperties properties = new ValidationRulesProperties();
+    properties.getDefaults().setMaxAmount(1000L);
+    properties.getDefaults().setBlockedBins(List.of("4"));
+    RuleSet gbp = new RuleSet();
+    gbp.setMaxAmount(500L);
+    gbp.setBlockedBins(List.of("2222"));
+    properties.getCurrencies().put("GBP", gbp);
+    ValidationRuleEngine engine = engine(properties);
+
+    assertEquals(ValidationResult.AMOUNT_OUT_OF_RANGE,
+        engine.evaluate(payment("5500000000000004", "GBP", 501)));
+    assertEquals(ValidationResult.VALID,
+        engine.evaluate(payment("5500000000000004", "USD", 501)));
+    assertEquals(ValidationResult.AMOUNT_OUT_OF_RANGE,
+        engine.evaluate(payment("5500000000000004", "USD", 1001)));
+    assertEquals(ValidationResult.BIN_BLOCKED,
+        engine.evaluate(payment("2222405343248877", "GBP", 100)));
+    assertEquals(ValidationResult.BIN_BLOCKED,
+        engine.evaluate(payment("4111111111111111", "GBP", 100)));
+    assertEquals(ValidationResult.VALID,
+        engine.evaluate(payment("2222405343248877", "USD", 100)));
+  }
+
+  @Test
+  void evaluate_multipleFailures_returnsFirstInRuleOrder() {
+    ValidationRulesProperties properties = withSchemes();
+    properties.getDefaults().setBlockedBins(List.of("2222"));
+    properties.getDefaults().setMaxAmount(10L);
+    ValidationRuleEngine engine = engine(properties);
+
+    assertEquals(ValidationResult.BIN_BLOCKED,
+        engine.evaluate(payment("222240534324887", "GBP", 100)));
+  }
+
+  @Test
+  void reload_fromFile_swapsRules() throws IOException {
+    Path rules = tempDir.resolve("rules.json");
+    Files.writeString(rules, "{\"defaults\": {\"maxAmount\": 1000}}");
+    ValidationRulesProperties properties = new ValidationRulesProperties();
+    properties.setLocation(rules.toString());
+    ValidationRuleEngine engine = engine(properties);
+    Payment payment = payment("2222405343248877", "GBP", 500);
+
+    assertEquals(ValidationResult.VALID, engine.evaluate(payment));
+
+    Files.writeString(rules, "{\"defaults\": {\"maxAmount\": 100}}");
+    engine.reload();
+
+    assertEquals(ValidationResult.AMOUNT_OUT_OF_RANGE, engine.evaluate(payment));
+    assertEquals(2L, engine.describe().get("version"));
+  }
+
+  @Test
+  void reload_invalidRules_keepsCurrentRules() throws IOException {
+    Path rules = tempDir.resolve("rules.json");
+    Files.writeString(rules, "{\"defaults\": {\"maxAmount\": 100}}");
+    ValidationRulesProperties properties = new ValidationRulesProperties();
+    properties.setLocation(rules.toString());
+    ValidationRuleEngine engine = engine(properties);
+
+    Files.writeString(rules, "{\"defaults\": {\"blockedBins\": [\"4x\"]}}");
+
+    assertThrows(IllegalArgumentException.class, engine::reload);
+    assertEquals(ValidationResult.AMOUNT_OUT_OF_RANGE,
+        engine.evaluate(payment("2222405343248877", "GBP", 500)));
+    assertEquals(1L, engine.describe().get("version"));
+  }
+
+  @Test
+  void forEachPrefix_range_expandsToMinimalCover() {
+    List<String> prefixes = new ArrayList<>();
+
+    BinPrefixTrie.forEachPrefix("400000-499999", prefixes::add);
+    assertEquals(List.of("4"), prefixes);
+
+    prefixes.clear();
+    BinPrefixTrie.forEachPrefix("2221-2720", prefixes::add);
+    assertEquals(List.of("2221", "2222", "2223", "2224", "2225", "2226", "2227", "2228", "2229",
+        "223", "224", "225", "226", "227", "228", "229", "23", "24", "25", "26", "270", "271",
+        "2720"), prefixes);
+  }
+
+  @Test
+  void forEachPrefix_invalidSpec_throws() {
+    List<String> ignored = new ArrayList<>();
+
+    assertThrows(IllegalArgumentException.class,
+        () -> BinPrefixTrie.forEachPrefix("55-5", ignored::add));
+    assertThrows(IllegalArgumentException.class,
+        () -> BinPrefixTrie.forEachPrefix("56-55", ignored::add));
+    assertThrows(IllegalArgumentException.class,
+        () -> BinPrefixTrie.forEachPrefix("abc", ignored::add));
+  }
+
+  private ValidationRuleEngine engine(ValidationRulesProperties properties) {
+    return new ValidationRuleEngine(properties, objectMapper, clock);
+  }
+
+  private static ValidationRulesProperties withSchemes() {
+    ValidationRulesProperties properties = new ValidationRulesProperties();
+    properties.setSchemes(List.of(
+        scheme("visa", List.of("4"), List.of(13, 16, 19)),
+        scheme("mastercard", List.of("51-55", "2221-2720"), List.of(16)),
+        scheme("amex", List.of("34", "37"), List.of(15))));
+    return properties;
+  }
+
+  private static SchemeRule scheme(String name, List<String> prefixes, List<Integer> lengths) {
+    SchemeRule scheme = new SchemeRule();
+    scheme.setName(name);
+    scheme.setPrefixes(prefixes);
+    scheme.setLengths(lengths);
+    return scheme;
+  }
+
+  private static Payment payment(String cardNumber, String currency, int amount) {
+    Payment payment = new Payment();
+    payment.setCardNumber(cardNumber);
+    payment.setCurrency(currency);
+    payment.setAmount(amount);
+    return payment;
+  }
+}
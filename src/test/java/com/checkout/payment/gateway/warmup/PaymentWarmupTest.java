@@ -0,0 +1,76 @@
+package com.checkout.payment.gateway.warmup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.checkout.payment.gateway.client.bank.api.DefaultApi;
+import com.checkout.payment.gateway.repository.PaymentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+@SpringBootTest(properties = {"warmup.enabled=true", "warmup.iterations=50",
+    "velocity.rules[0].dimension=CLIENT", "velocity.rules[0].max-count=5"})
+class PaymentWarmupTest {
+
+  @Autowired
+  private PaymentWarmup warmup;
+
+  @Autowired
+  private PaymentRepository paymentRepository;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Autowired
+  private ApplicationAvailability availability;
+
+  @MockBean
+  private DefaultApi bankApi;
+
+  @Test
+  void warmup_runsBeforeReadinessWithoutTouchingRealState() {
+    assertThat(warmup.lastResult().iterations()).isEqualTo(50);
+    assertThat(warmup.lastResult().rejected()).isZero();
+    assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+
+    assertThat(paymentRepository.summarize().byStatusAndCurrency()).isEmpty();
+    assertThat(meterRegistry.find("payment.processed").counters())
+        .allSatisfy(counter -> assertThat(counter.count()).isZero());
+    assertThat(meterRegistry.find("payment.stage.duration").timers())
+        .allSatisfy(timer -> assertThat(timer.count()).isZero());
+    verifyNoInteractions(bankApi);
+  }
+
+  @Test
+  void warmup_clientVelocityRule_doesNotRejectIterations() {
+    // Every iteration uses one client IP, ten times the rule's limit
+    assertThat(warmup.lastResult().iterations()).isGreaterThan(5);
+    assertThat(warmup.lastResult().rejected()).isZero();
+  }
+
+  @Test
+  void cardNumber_isLuhnValidAndDistinctPerIteration() {
+    assertThat(PaymentWarmup.cardNumber(0)).hasSize(16).startsWith("222240");
+    assertThat(PaymentWarmup.cardNumber(1)).isNotEqualTo(PaymentWarmup.cardNumber(2));
+    for (int i = 0; i < 100; i++) {
+      assertThat(luhnValid(PaymentWarmup.cardNumber(i))).isTrue();
+    }
+  }
+
+  private static boolean luhnValid(String number) {
+    int sum = 0;
+    for (int pos = 0; pos < number.length(); pos++) {
+      int digit = number.charAt(number.length() - 1 - pos) - '0';
+      if (pos % 2 == 1) {
+        digit = digit * 2 > 9 ? digit * 2 - 9 : digit * 2;
+      }
+      sum += digit;
+    }
+    return sum % 10 == 0;
+  }
+}
@@ -0,0 +1,219 @@
+package com.checkout.payment.gateway.webhook;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.checkout.payment.gateway.configuration.PaymentStreamProperties;
+import com.checkout.payment.gateway.configuration.WebhookProperties;
+import com.checkout.payment.gateway.mapper.PaymentApiMapper;
+import com.checkout.payment.gateway.metrics.PaymentMetrics;
+import com.checkout.payment.gateway.model.Payment;
+import com.checkout.payment.gateway.model.PaymentStatus;
+import com.checkout.payment.gateway.stream.PaymentEventStream;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+class WebhookDeliveryTest {
+
+  private final Clock clock = Clock.fixed(Instant.parse("2025-06-15T12:00:00Z"), ZoneOffset.UTC);
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final BlockingQueue<JsonNode> batches = new LinkedBlockingQueue<>();
+  private final AtomicInteger failuresLeft = new AtomicInteger();
+  private final CountDownLatch firstRequestRelease = new CountDownLatch(1);
+  private volatile boolean holdFirstRequest;
+  private HttpServer receiver;
+  private WebhookDispatcher dispatcher;
+
+  @AfterEach
+  void tearDown() {
+    if (dispatcher != null) {
+      dispatcher.shutdown();
+    }
+    if (receiver != null) {
+      receiver.stop(0);
+    }
+  }
+
+  @Test
+  void outbox_eventsCommittedOutOfOrder_areDeliveredInStagingOrder() throws Exception {
+    PaymentOutbox outbox = outbox();
+    Payment payment = payment();
+
+    PaymentOutbox.Entry authorized = outbox.stage(payment, 0);
+    payment.setStatus(PaymentStatus.CAPTURED);
+    PaymentOutbox.Entry captured = outbox.stage(payment, 1);
+    PaymentOutbox.Entry abandoned = outbox.stage(payment, 2);
+    captured.commit();
+    abandoned.cancel();
+
+    assertThat(batches.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    authorized.commit();
+
+    List<JsonNode> events = received(2);
+    assertThat(events).extracting(event -> event.get("version").asLong())
+        .containsExactly(0L, 1L);
+    assertThat(events).extracting(event -> event.get("type").asText())
+        .containsExactly("payment.authorized", "payment.captured");
+    assertThat(outbox.size()).isZero();
+  }
+
+  @Test
+  void outbox_cancelledHead_doesNotStallLaterEvents() throws Exception {
+    PaymentOutbox outbox = outbox();
+
+    PaymentOutbox.Entry failed = outbox.stage(payment(), 0);
+    PaymentOutbox.Entry next = outbox.stage(payment(), 0);
+    next.commit();
+    assertThat(batches.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    // What a writer's finally block does when its save throws
+    failed.cancel();
+
+    assertThat(received(1)).extracting(event -> event.get("id").asLong())
+        .containsExactly(2L);
+    assertThat(outbox.size()).isZero();
+  }
+
+  @Test
+  void outbox_cancelAfterCommit_isIgnored() throws Exception {
+    PaymentOutbox outbox = outbox();
+
+    PaymentOutbox.Entry entry = outbox.stage(payment(), 0);
+    entry.commit();
+    entry.cancel();
+
+    assertThat(received(1)).hasSize(1);
+    assertThat(outbox.size()).isZero();
+  }
+
+  @Test
+  void dispatcher_eventsQueuedWhileBatchInFlight_areSentAsOneBatch() throws Exception {
+    holdFirstRequest = true;
+    PaymentOutbox outbox = outbox();
+
+    for (int i = 0; i < 50; i++) {
+      outbox.stage(payment(), 0).commit();
+    }
+    firstRequestRelease.countDown();
+
+    JsonNode first = batches.poll(5, TimeUnit.SECONDS);
+    JsonNode second = batches.poll(5, TimeUnit.SECONDS);
+    assertThat(first).hasSize(1);
+    assertThat(second).hasSize(49);
+    List<Long> ids = new ArrayList<>();
+    first.forEach(event -> ids.add(event.get("id").asLong()));
+    second.forEach(event -> ids.add(event.get("id").asLong()));
+    assertThat(ids).isSorted().doesNotHaveDuplicates();
+    assertThat(registry.find("webhook.batch.size").summary().max()).isEqualTo(49.0);
+  }
+
+  @Test
+  void dispatcher_receiverFailing_retriesBatchUntilAcknowledged() throws Exception {
+    failuresLeft.set(2);
+    PaymentOutbox outbox = outbox();
+
+    outbox.stage(payment(), 0).commit();
+
+    assertThat(batches.poll(5, TimeUnit.SECONDS)).hasSize(1);
+    assertThat(batches.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    assertThat(registry.find("webhook.delivery").tag("outcome", "retried").counter().count())
+        .isEqualTo(2.0);
+    assertThat(registry.find("webhook.delivery").tag("outcome", "delivered").counter()
+        .count()).isEqualTo(1.0);
+    assertThat(registry.find("webhook.delivery.lag").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void outbox_noEndpointsConfigured_stagesNothing() {
+    PaymentMetrics metrics = new PaymentMetrics(registry);
+    PaymentOutbox outbox = new PaymentOutbox(
+        new WebhookDispatcher(new WebhookProperties(), objectMapper, metrics, clock),
+        disabledStream(metrics), Mappers.getMapper(PaymentApiMapper.class), clock);
+
+    outbox.stage(payment(), 0).commit();
+
+    assertThat(outbox.size()).isZero();
+  }
+
+  private PaymentOutbox outbox() throws IOException {
+    receiver = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    AtomicInteger requests = new AtomicInteger();
+    receiver.createContext("/hooks", exchange -> {
+      try (InputStream body = exchange.getRequestBody()) {
+        JsonNode batch = objectMapper.readTree(body);
+        if (holdFirstRequest && requests.getAndIncrement() == 0) {
+          firstRequestRelease.await(5, TimeUnit.SECONDS);
+        }
+        if (failuresLeft.getAndDecrement() > 0) {
+          exchange.sendResponseHeaders(503, -1);
+        } else {
+          batches.add(batch);
+          exchange.sendResponseHeaders(204, -1);
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      } finally {
+        exchange.close();
+      }
+    });
+    receiver.start();
+
+    WebhookProperties.Endpoint endpoint = new WebhookProperties.Endpoint();
+    endpoint.setName("local");
+    endpoint.setUrl("http://127.0.0.1:" + receiver.getAddress().getPort() + "/hooks");
+    WebhookProperties properties = new WebhookProperties();
+    properties.setEndpoints(List.of(endpoint));
+    properties.setInitialBackoff(Duration.ofMillis(10));
+    PaymentMetrics metrics = new PaymentMetrics(registry);
+    dispatcher = new WebhookDispatcher(properties, objectMapper, metrics, clock);
+    return new PaymentOutbox(dispatcher, disabledStream(metrics),
+        Mappers.getMapper(PaymentApiMapper.class), clock);
+  }
+
+  private PaymentEventStream disabledStream(PaymentMetrics metrics) {
+    PaymentStreamProperties properties = new PaymentStreamProperties();
+    properties.setEnabled(false);
+    return new PaymentEventStream(properties, objectMapper, metrics);
+  }
+
+  private List<JsonNode> received(int count) throws InterruptedException {
+    List<JsonNode> events = new ArrayList<>();
+    while (events.size() < count) {
+      JsonNode batch = batches.poll(5, TimeUnit.SECONDS);
+      assertThat(batch).isNotNull();
+      batch.forEach(events::add);
+    }
+    return events;
+  }
+
+  private static Payment payment() {
+    Payment payment = new Payment();
+    payment.setId(UUID.randomUUID());
+    payment.setStatus(PaymentStatus.AUTHORIZED);
+    payment.setCardNumberLastFour("8877");
+    payment.setExpiryMonth(4);
+    payment.setExpiryYear(2027);
+    payment.setCurrency("GBP");
+    payment.setAmount(100);
+    return payment;
+  }
+}